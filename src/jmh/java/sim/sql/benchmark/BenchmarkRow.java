@@ -0,0 +1,88 @@
+package sim.sql.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 基准测试数据，仿ExampleDTO：包装类型、基本类型、字符串各一列，外加分组列
+ * <p>intValue、longValue、doubleValue、strValue均匀分布在[0, 1000)，按阈值过滤即可控制命中率
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 21:00
+ */
+
+public class BenchmarkRow {
+
+    /**
+     * 值域，过滤阈值为 命中率 * VALUE_RANGE
+     */
+    static final int VALUE_RANGE = 1000;
+
+    private final String strValue;
+    private final Integer intValue;
+    private final long longValue;
+    private final double doubleValue;
+    private final int groupValue;
+
+    public BenchmarkRow(String strValue, Integer intValue, long longValue, double doubleValue, int groupValue) {
+        this.strValue = strValue;
+        this.intValue = intValue;
+        this.longValue = longValue;
+        this.doubleValue = doubleValue;
+        this.groupValue = groupValue;
+    }
+
+    public String getStrValue() {
+        return strValue;
+    }
+
+    public Integer getIntValue() {
+        return intValue;
+    }
+
+    public long getLongValue() {
+        return longValue;
+    }
+
+    public double getDoubleValue() {
+        return doubleValue;
+    }
+
+    public int getGroupValue() {
+        return groupValue;
+    }
+
+    /**
+     * 定长字符串，字典序与数值序一致
+     */
+    static String strOf(int value) {
+        return String.format("v%04d", value);
+    }
+
+    /**
+     * 固定种子生成数据，各次运行一致
+     *
+     * @param size             行数
+     * @param groupCardinality 分组列取值个数
+     * @return 数据
+     */
+    static List<BenchmarkRow> generate(int size, int groupCardinality) {
+        final SplittableRandom random = new SplittableRandom(size * 31L + groupCardinality);
+        final String[] strings = new String[VALUE_RANGE];
+        for (int i = 0; i < VALUE_RANGE; i++) {
+            strings[i] = strOf(i);
+        }
+        final List<BenchmarkRow> data = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            data.add(new BenchmarkRow(
+                    strings[random.nextInt(VALUE_RANGE)],
+                    random.nextInt(VALUE_RANGE),
+                    random.nextInt(VALUE_RANGE),
+                    random.nextDouble() * VALUE_RANGE,
+                    random.nextInt(groupCardinality)
+            ));
+        }
+        return data;
+    }
+}
@@ -0,0 +1,50 @@
+package sim.sql.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * 基准测试入口，默认附带GC profiler，同时输出吞吐量与分配速率（gc.alloc.rate.norm）
+ * <p>参数同JMH命令行，如：java -jar target/benchmarks.jar QueryBenchmark -p size=100000 -rf json
+ * <li>-l、-lp、-h、-lprof、-lrf等只列出信息的参数交给{@link Main}处理
+ * <li>-Dbenchmark.gc=false不附带GC profiler，已指定-prof gc时不重复附带
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 21:00
+ */
+
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException, CommandLineOptionException {
+        final CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        final OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine);
+        if (gcProfilerEnabled(commandLine)) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+
+    private static boolean gcProfilerEnabled(CommandLineOptions commandLine) {
+        if (!Boolean.parseBoolean(System.getProperty("benchmark.gc", "true"))) {
+            return false;
+        }
+        return commandLine.getProfilers().stream()
+                .noneMatch(o -> "gc".equals(o.getKlass()) || GCProfiler.class.getName().equals(o.getKlass()));
+    }
+}
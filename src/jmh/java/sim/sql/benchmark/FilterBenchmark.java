@@ -0,0 +1,92 @@
+package sim.sql.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sim.sql.keyword.Column;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * where阶段：不同数据量、命中率、列类型
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 21:00
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    /**
+     * 命中率
+     */
+    @Param({"0.01", "0.1", "0.5", "0.9"})
+    private double selectivity;
+
+    @Param({"int", "long", "double", "string"})
+    private String columnType;
+
+    private List<BenchmarkRow> data;
+    private Where where;
+
+    @Setup
+    public void setup() {
+        data = BenchmarkRow.generate(size, 16);
+        final int threshold = (int) (selectivity * BenchmarkRow.VALUE_RANGE);
+        switch (columnType) {
+            case "int":
+                where = Where.newCondition().add(Column.of("intValue").isLessThan(threshold));
+                break;
+            case "long":
+                where = Where.newCondition().add(Column.of("longValue").isLessThan((long) threshold));
+                break;
+            case "double":
+                where = Where.newCondition().add(Column.of("doubleValue").isLessThan((double) threshold));
+                break;
+            case "string":
+                where = Where.newCondition().add(Column.of("strValue").isLessThan(BenchmarkRow.strOf(threshold)));
+                break;
+            default:
+                throw new RuntimeException("列类型无效：" + columnType);
+        }
+    }
+
+    @Benchmark
+    public List<BenchmarkRow> filter() {
+        return SimSqlQueryUtil.query(data, where, OrderBy.none(), GroupBy.none(), Limit.none(), BenchmarkRow.class);
+    }
+
+    /**
+     * 与或组合：(条件 and intValue >= 0) or longValue = -1
+     */
+    @Benchmark
+    public List<BenchmarkRow> filterOr() {
+        final Where compound = Where.newCondition()
+                .add(where)
+                .add(Column.of("intValue").isGreaterThanOrEqual(0))
+                .or(Column.of("longValue").isEqualTo(-1L));
+        return SimSqlQueryUtil.query(data, compound, OrderBy.none(), GroupBy.none(), Limit.none(), BenchmarkRow.class);
+    }
+}
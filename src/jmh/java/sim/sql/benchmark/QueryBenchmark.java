@@ -0,0 +1,125 @@
+package sim.sql.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sim.sql.aggregate.AggregateRow;
+import sim.sql.keyword.Aggregate;
+import sim.sql.keyword.Column;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+import sim.sql.util.LazyQuery;
+import sim.sql.util.Parallelism;
+import sim.sql.util.PreparedQuery;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 各阶段与完整查询：不同数据量、分组基数，并对比串行、并行、预编译、惰性几种执行方式
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 21:00
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    /**
+     * 分组列取值个数
+     */
+    @Param({"16", "4096", "262144"})
+    private int groupCardinality;
+
+    private List<BenchmarkRow> data;
+
+    /**
+     * 命中约一半：intValue < 500 or strValue like 'v09%'
+     */
+    private final Where where = Where.newCondition()
+            .add(Column.of("intValue").isLessThan(BenchmarkRow.VALUE_RANGE / 2))
+            .or(Column.of("strValue").likeLeft("v09"));
+    private final OrderBy orderBy = OrderBy.column("longValue", OrderBy.Sort.DESC)
+            .thenOrderBy("strValue", OrderBy.Sort.ASC);
+    private final GroupBy groupBy = GroupBy.column("groupValue");
+    private final Limit limit = Limit.of(10, 100);
+    private PreparedQuery<BenchmarkRow> prepared;
+
+    @Setup
+    public void setup() {
+        data = BenchmarkRow.generate(size, groupCardinality);
+        prepared = PreparedQuery.of(where, orderBy, groupBy, limit, BenchmarkRow.class);
+    }
+
+    @Benchmark
+    public List<BenchmarkRow> query() {
+        return SimSqlQueryUtil.query(data, where, orderBy, groupBy, limit, BenchmarkRow.class);
+    }
+
+    @Benchmark
+    public List<BenchmarkRow> queryParallel() {
+        return SimSqlQueryUtil.query(data, where, orderBy, groupBy, limit, BenchmarkRow.class, Parallelism.common());
+    }
+
+    @Benchmark
+    public List<BenchmarkRow> queryPrepared() {
+        return prepared.execute(data);
+    }
+
+    @Benchmark
+    public List<BenchmarkRow> queryLazy() {
+        return LazyQuery.stream(data, where, orderBy, groupBy, limit, BenchmarkRow.class).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<BenchmarkRow> orderBy() {
+        return SimSqlQueryUtil.query(data, orderBy, GroupBy.none(), Limit.none(), BenchmarkRow.class);
+    }
+
+    @Benchmark
+    public List<BenchmarkRow> groupBy() {
+        return SimSqlQueryUtil.query(data, OrderBy.none(), groupBy, Limit.none(), BenchmarkRow.class);
+    }
+
+    /**
+     * 无排序，只截取
+     */
+    @Benchmark
+    public List<BenchmarkRow> limit() {
+        return SimSqlQueryUtil.query(data, OrderBy.none(), GroupBy.none(), limit, BenchmarkRow.class);
+    }
+
+    /**
+     * 排序后截取，走top-k
+     */
+    @Benchmark
+    public List<BenchmarkRow> topK() {
+        return SimSqlQueryUtil.query(data, orderBy, GroupBy.none(), limit, BenchmarkRow.class);
+    }
+
+    @Benchmark
+    public List<AggregateRow> aggregate() {
+        final GroupBy aggregation = groupBy.aggregate(Aggregate.count(), Aggregate.sum("longValue"), Aggregate.max("doubleValue"));
+        return SimSqlQueryUtil.aggregate(data, where, aggregation, OrderBy.none(), Limit.none(), BenchmarkRow.class);
+    }
+}
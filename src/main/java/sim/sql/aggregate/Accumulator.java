@@ -0,0 +1,30 @@
+package sim.sql.aggregate;
+
+/**
+ * 单个分组单个聚合函数的累加器，逐行累加，内部状态为基础类型
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 15:20
+ */
+
+public interface Accumulator {
+
+    /**
+     * 累加一行
+     *
+     * @param row 单条数据
+     */
+    void add(Object row);
+
+    /**
+     * 合并同一聚合函数的另一累加器，用于分片聚合
+     *
+     * @param other 同类型累加器
+     */
+    void merge(Accumulator other);
+
+    /**
+     * @return 聚合结果
+     */
+    Object result();
+}
@@ -0,0 +1,391 @@
+package sim.sql.aggregate;
+
+import sim.sql.keyword.Aggregate;
+import sim.sql.util.ColumnAccessor;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 按聚合函数与列类型选择累加器实现
+ * <li>整数列：long累加
+ * <li>浮点列及其他Number：double累加
+ * <li>min/max非数值列：按Comparable比较
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 15:20
+ */
+
+final class Accumulators {
+
+    private Accumulators() {
+    }
+
+    /**
+     * @param aggregate 聚合函数
+     * @param accessor  聚合列访问器，count(*)时为null
+     * @return 累加器工厂
+     */
+    static Supplier<Accumulator> factoryOf(Aggregate aggregate, ColumnAccessor accessor) {
+        final Aggregate.Function function = aggregate.getFunction();
+        if (null == accessor) {
+            if (Aggregate.Function.COUNT != function) {
+                throw new RuntimeException("聚合字段无效：" + aggregate.getAlias());
+            }
+            return CountAll::new;
+        }
+        final Class<?> type = accessor.getType();
+        final boolean primitive = type.isPrimitive();
+        switch (function) {
+            case COUNT:
+                return () -> new CountColumn(accessor, primitive);
+            case COUNT_DISTINCT:
+                return () -> new CountDistinct(accessor);
+            case SUM:
+                return isIntegral(type)
+                        ? () -> new SumLong(accessor, primitive, false)
+                        : () -> new SumDouble(accessor, primitive, false);
+            case AVG:
+                return isIntegral(type)
+                        ? () -> new SumLong(accessor, primitive, true)
+                        : () -> new SumDouble(accessor, primitive, true);
+            case MIN:
+            case MAX:
+                final boolean max = Aggregate.Function.MAX == function;
+                if (isIntegral(type)) {
+                    return () -> new ExtremeLong(accessor, primitive, max);
+                }
+                if (isFloating(type)) {
+                    return () -> new ExtremeDouble(accessor, primitive, max);
+                }
+                return () -> new ExtremeComparable(accessor, max);
+            default:
+                throw new RuntimeException("不支持的聚合函数：" + function);
+        }
+    }
+
+    static boolean isIntegral(Class<?> type) {
+        return int.class == type || long.class == type || short.class == type || byte.class == type
+                || Integer.class == type || Long.class == type || Short.class == type || Byte.class == type;
+    }
+
+    static boolean isFloating(Class<?> type) {
+        return double.class == type || float.class == type || Double.class == type || Float.class == type;
+    }
+
+    /**
+     * long还原为列类型
+     */
+    private static Object castIntegral(long value, Class<?> type) {
+        if (int.class == type || Integer.class == type) {
+            return (int) value;
+        }
+        if (short.class == type || Short.class == type) {
+            return (short) value;
+        }
+        if (byte.class == type || Byte.class == type) {
+            return (byte) value;
+        }
+        return value;
+    }
+
+    private static final class CountAll implements Accumulator {
+        private long count;
+
+        @Override
+        public void add(Object row) {
+            count++;
+        }
+
+        @Override
+        public void merge(Accumulator other) {
+            count += ((CountAll) other).count;
+        }
+
+        @Override
+        public Object result() {
+            return count;
+        }
+    }
+
+    private static final class CountColumn implements Accumulator {
+        private final ColumnAccessor accessor;
+        private final boolean primitive;
+        private long count;
+
+        private CountColumn(ColumnAccessor accessor, boolean primitive) {
+            this.accessor = accessor;
+            this.primitive = primitive;
+        }
+
+        @Override
+        public void add(Object row) {
+            if (primitive || null != accessor.get(row)) {
+                count++;
+            }
+        }
+
+        @Override
+        public void merge(Accumulator other) {
+            count += ((CountColumn) other).count;
+        }
+
+        @Override
+        public Object result() {
+            return count;
+        }
+    }
+
+    private static final class CountDistinct implements Accumulator {
+        private final ColumnAccessor accessor;
+        private final Set<Object> values = new HashSet<>();
+
+        private CountDistinct(ColumnAccessor accessor) {
+            this.accessor = accessor;
+        }
+
+        @Override
+        public void add(Object row) {
+            final Object value = accessor.get(row);
+            if (null != value) {
+                values.add(value);
+            }
+        }
+
+        @Override
+        public void merge(Accumulator other) {
+            values.addAll(((CountDistinct) other).values);
+        }
+
+        @Override
+        public Object result() {
+            return (long) values.size();
+        }
+    }
+
+    private static final class SumLong implements Accumulator {
+        private final ColumnAccessor accessor;
+        private final boolean primitive;
+        private final boolean average;
+        private long sum;
+        private long count;
+
+        private SumLong(ColumnAccessor accessor, boolean primitive, boolean average) {
+            this.accessor = accessor;
+            this.primitive = primitive;
+            this.average = average;
+        }
+
+        @Override
+        public void add(Object row) {
+            if (primitive) {
+                sum += accessor.getLong(row);
+                count++;
+                return;
+            }
+            final Object value = accessor.get(row);
+            if (null != value) {
+                sum += ((Number) value).longValue();
+                count++;
+            }
+        }
+
+        @Override
+        public void merge(Accumulator other) {
+            sum += ((SumLong) other).sum;
+            count += ((SumLong) other).count;
+        }
+
+        @Override
+        public Object result() {
+            if (0 == count) {
+                return null;
+            }
+            return average ? (Object) ((double) sum / count) : (Object) sum;
+        }
+    }
+
+    private static final class SumDouble implements Accumulator {
+        private final ColumnAccessor accessor;
+        private final boolean primitive;
+        private final boolean average;
+        private double sum;
+        private long count;
+
+        private SumDouble(ColumnAccessor accessor, boolean primitive, boolean average) {
+            this.accessor = accessor;
+            this.primitive = primitive;
+            this.average = average;
+        }
+
+        @Override
+        public void add(Object row) {
+            if (primitive) {
+                sum += accessor.getDouble(row);
+                count++;
+                return;
+            }
+            final Object value = accessor.get(row);
+            if (null != value) {
+                sum += ((Number) value).doubleValue();
+                count++;
+            }
+        }
+
+        @Override
+        public void merge(Accumulator other) {
+            sum += ((SumDouble) other).sum;
+            count += ((SumDouble) other).count;
+        }
+
+        @Override
+        public Object result() {
+            if (0 == count) {
+                return null;
+            }
+            return average ? sum / count : sum;
+        }
+    }
+
+    private static final class ExtremeLong implements Accumulator {
+        private final ColumnAccessor accessor;
+        private final boolean primitive;
+        private final boolean max;
+        private long value;
+        private boolean present;
+
+        private ExtremeLong(ColumnAccessor accessor, boolean primitive, boolean max) {
+            this.accessor = accessor;
+            this.primitive = primitive;
+            this.max = max;
+        }
+
+        @Override
+        public void add(Object row) {
+            final long current;
+            if (primitive) {
+                current = accessor.getLong(row);
+            } else {
+                final Object boxed = accessor.get(row);
+                if (null == boxed) {
+                    return;
+                }
+                current = ((Number) boxed).longValue();
+            }
+            accept(current);
+        }
+
+        private void accept(long current) {
+            if (!present || (max ? current > value : current < value)) {
+                value = current;
+                present = true;
+            }
+        }
+
+        @Override
+        public void merge(Accumulator other) {
+            if (((ExtremeLong) other).present) {
+                accept(((ExtremeLong) other).value);
+            }
+        }
+
+        @Override
+        public Object result() {
+            return present ? castIntegral(value, accessor.getType()) : null;
+        }
+    }
+
+    private static final class ExtremeDouble implements Accumulator {
+        private final ColumnAccessor accessor;
+        private final boolean primitive;
+        private final boolean max;
+        private double value;
+        private boolean present;
+
+        private ExtremeDouble(ColumnAccessor accessor, boolean primitive, boolean max) {
+            this.accessor = accessor;
+            this.primitive = primitive;
+            this.max = max;
+        }
+
+        @Override
+        public void add(Object row) {
+            final double current;
+            if (primitive) {
+                current = accessor.getDouble(row);
+            } else {
+                final Object boxed = accessor.get(row);
+                if (null == boxed) {
+                    return;
+                }
+                current = ((Number) boxed).doubleValue();
+            }
+            accept(current);
+        }
+
+        private void accept(double current) {
+            if (!present || (max ? Double.compare(current, value) > 0 : Double.compare(current, value) < 0)) {
+                value = current;
+                present = true;
+            }
+        }
+
+        @Override
+        public void merge(Accumulator other) {
+            if (((ExtremeDouble) other).present) {
+                accept(((ExtremeDouble) other).value);
+            }
+        }
+
+        @Override
+        public Object result() {
+            if (!present) {
+                return null;
+            }
+            final Class<?> type = accessor.getType();
+            return float.class == type || Float.class == type ? (Object) (float) value : (Object) value;
+        }
+    }
+
+    private static final class ExtremeComparable implements Accumulator {
+        private final ColumnAccessor accessor;
+        private final boolean max;
+        private Object value;
+
+        private ExtremeComparable(ColumnAccessor accessor, boolean max) {
+            this.accessor = accessor;
+            this.max = max;
+        }
+
+        @Override
+        public void add(Object row) {
+            accept(accessor.get(row));
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private void accept(Object current) {
+            if (null == current) {
+                return;
+            }
+            if (null == value) {
+                value = current;
+                return;
+            }
+            final int compareResult = ((Comparable) current).compareTo(value);
+            if (max ? compareResult > 0 : compareResult < 0) {
+                value = current;
+            }
+        }
+
+        @Override
+        public void merge(Accumulator other) {
+            accept(((ExtremeComparable) other).value);
+        }
+
+        @Override
+        public Object result() {
+            return value;
+        }
+    }
+}
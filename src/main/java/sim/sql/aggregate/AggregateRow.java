@@ -0,0 +1,72 @@
+package sim.sql.aggregate;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 聚合结果行：分组列 + 聚合列，按列名取值
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 15:20
+ */
+
+public final class AggregateRow {
+
+    /**
+     * 列名 -> 值，分组列在前，聚合列按声明顺序在后
+     */
+    private final Map<String, Object> values;
+
+    AggregateRow(Map<String, Object> values) {
+        this.values = values;
+    }
+
+    /**
+     * @param column 分组列名或聚合列别名
+     * @return 值
+     */
+    public Object get(String column) {
+        return values.get(column);
+    }
+
+    public Long getLong(String column) {
+        final Object value = values.get(column);
+        return null == value ? null : ((Number) value).longValue();
+    }
+
+    public Double getDouble(String column) {
+        final Object value = values.get(column);
+        return null == value ? null : ((Number) value).doubleValue();
+    }
+
+    /**
+     * @return 列名 -> 值，只读
+     */
+    public Map<String, Object> toMap() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof AggregateRow && values.equals(((AggregateRow) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(values);
+    }
+
+    @Override
+    public String toString() {
+        return "AggregateRow" + values;
+    }
+
+    static AggregateRow of(LinkedHashMap<String, Object> values) {
+        return new AggregateRow(values);
+    }
+}
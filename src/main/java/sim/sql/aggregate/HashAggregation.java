@@ -0,0 +1,172 @@
+package sim.sql.aggregate;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.keyword.Aggregate;
+import sim.sql.keyword.GroupBy;
+import sim.sql.util.ColumnAccessor;
+import sim.sql.util.GroupKeyTable;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 单遍哈希聚合，分组顺序为首次出现顺序
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 15:20
+ */
+
+public final class HashAggregation {
+
+    private final List<String> columns;
+    private final ColumnAccessor[] keyAccessors;
+    private final List<Aggregate> aggregates;
+    private final List<Supplier<Accumulator>> factories;
+
+    private HashAggregation(List<String> columns, ColumnAccessor[] keyAccessors, List<Aggregate> aggregates,
+                            List<Supplier<Accumulator>> factories) {
+        this.columns = columns;
+        this.keyAccessors = keyAccessors;
+        this.aggregates = aggregates;
+        this.factories = factories;
+    }
+
+    /**
+     * 按数据类型解析分组列与聚合列
+     *
+     * @param groupBy 分组及聚合函数
+     * @param klass   数据类型
+     * @return 可重复使用的聚合
+     */
+    public static HashAggregation of(@NonNull GroupBy groupBy, @NonNull Class<?> klass) {
+        final List<String> columns = groupBy.getGroupBy();
+        final ColumnAccessor[] keyAccessors = new ColumnAccessor[columns.size()];
+        for (int i = 0; i < keyAccessors.length; i++) {
+            keyAccessors[i] = SimSqlQueryUtil.accessorOf(klass, columns.get(i));
+            if (null == keyAccessors[i]) {
+                throw new RuntimeException("group by字段无效");
+            }
+        }
+        final List<Supplier<Accumulator>> factories = new ArrayList<>(groupBy.getAggregates().size());
+        for (Aggregate aggregate : groupBy.getAggregates()) {
+            final ColumnAccessor accessor = null == aggregate.getColumn()
+                    ? null
+                    : SimSqlQueryUtil.accessorOf(klass, aggregate.getColumn());
+            if (null != aggregate.getColumn() && null == accessor) {
+                throw new RuntimeException("聚合字段无效：" + aggregate.getAlias());
+            }
+            factories.add(Accumulators.factoryOf(aggregate, accessor));
+        }
+        return new HashAggregation(columns, keyAccessors, groupBy.getAggregates(), factories);
+    }
+
+    /**
+     * 聚合
+     *
+     * @param data 已过滤的数据
+     * @return 每组一行，无分组列时恰好一行
+     */
+    public List<AggregateRow> aggregate(@NonNull List<?> data) {
+        final State state = new State(data.size() / (1 << 3));
+        for (Object row : data) {
+            state.add(row);
+        }
+        return state.rows();
+    }
+
+    /**
+     * @return 空的增量聚合状态，逐行添加，随时可取结果
+     */
+    public State newState() {
+        return new State(0);
+    }
+
+    private Accumulator[] newAccumulators() {
+        final Accumulator[] accumulators = new Accumulator[factories.size()];
+        for (int i = 0; i < accumulators.length; i++) {
+            accumulators[i] = factories.get(i).get();
+        }
+        return accumulators;
+    }
+
+    /**
+     * @param keys   分组键，无分组列时为null
+     * @param groups 按组号排列的累加器
+     */
+    private List<AggregateRow> toRows(GroupKeyTable keys, List<Accumulator[]> groups) {
+        final List<AggregateRow> rows = new ArrayList<>(groups.size());
+        for (int group = 0; group < groups.size(); group++) {
+            final LinkedHashMap<String, Object> values = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                values.put(columns.get(i), keys.key(group, i));
+            }
+            final Accumulator[] accumulators = groups.get(group);
+            for (int i = 0; i < accumulators.length; i++) {
+                values.put(aggregates.get(i).getAlias(), accumulators[i].result());
+            }
+            rows.add(AggregateRow.of(values));
+        }
+        return rows;
+    }
+
+    /**
+     * 增量聚合状态，非线程安全
+     */
+    public final class State {
+        /**
+         * 分组键，无分组列时为null
+         */
+        private final GroupKeyTable keys;
+
+        /**
+         * 按组号排列的累加器
+         */
+        private final List<Accumulator[]> groups = new ArrayList<>();
+
+        private State(int expectedGroups) {
+            if (0 == keyAccessors.length) {
+                // 无分组列：全表一组，空数据也返回一行
+                this.keys = null;
+                groups.add(newAccumulators());
+            } else {
+                this.keys = GroupKeyTable.of(keyAccessors, expectedGroups);
+            }
+        }
+
+        /**
+         * @param row 已过滤的数据
+         */
+        public void add(Object row) {
+            final Accumulator[] accumulators;
+            if (null == keys) {
+                accumulators = groups.get(0);
+            } else {
+                final int group = keys.groupOf(row);
+                if (group == groups.size()) {
+                    groups.add(newAccumulators());
+                }
+                accumulators = groups.get(group);
+            }
+            for (Accumulator accumulator : accumulators) {
+                accumulator.add(row);
+            }
+        }
+
+        /**
+         * @return 组数
+         */
+        public int size() {
+            return groups.size();
+        }
+
+        /**
+         * @return 每组一行，分组顺序为首次出现顺序
+         */
+        public List<AggregateRow> rows() {
+            return toRows(keys, groups);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package sim.sql.bitmap;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.condition.ColumnCondition;
+import sim.sql.condition.Condition;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 按集合求值where的数据集快照
+ * <li>由{@link sim.sql.keyword.Column}生成的谓词对全部行求值一次得到位图，按谓词缓存，后续查询再出现时直接复用
+ * <li>add为位图交集，or为并集，or只补充尚未命中的行
+ * <li>自定义条件只在当前候选行上逐行判定，不缓存
+ * <p>存活行按行号顺序进入order by、group by，结果与{@link SimSqlQueryUtil#query(List, Where, OrderBy, GroupBy, Limit, Class)}一致
+ * <p>快照不感知源数据变化，数据刷新后需重新生成
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 00:20
+ */
+
+public final class BitmapDataset<T> {
+
+    private static final int DEFAULT_CACHED_PREDICATES = 1 << 8;
+
+    private final Class<T> klass;
+    private final List<T> rows;
+    private final RowBitmap all;
+
+    /**
+     * 谓词 -> 全部行上的命中位图
+     */
+    private final Cache<ColumnCondition, RowBitmap> cache;
+
+    private BitmapDataset(Class<T> klass, List<T> rows, long cachedPredicates) {
+        this.klass = klass;
+        this.rows = rows;
+        this.all = RowBitmap.all(rows.size());
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cachedPredicates)
+                .recordStats()
+                .build();
+    }
+
+    public static <T> BitmapDataset<T> of(@NonNull List<T> data, @NonNull Class<T> klass) {
+        return of(data, klass, DEFAULT_CACHED_PREDICATES);
+    }
+
+    /**
+     * @param data             源数据
+     * @param klass            data类型
+     * @param cachedPredicates 最多缓存的谓词位图数，0为不缓存
+     * @param <T>              data类型
+     * @return 数据集
+     */
+    public static <T> BitmapDataset<T> of(@NonNull List<T> data, @NonNull Class<T> klass, long cachedPredicates) {
+        return new BitmapDataset<>(klass, Collections.unmodifiableList(new ArrayList<>(data)), cachedPredicates);
+    }
+
+    public List<T> rows() {
+        return rows;
+    }
+
+    /**
+     * @param where where
+     * @return 满足条件的行号
+     */
+    public RowBitmap filter(@NonNull Where where) {
+        return evaluate(where, all);
+    }
+
+    /**
+     * @param bitmap 行号
+     * @return 按行号顺序的行
+     */
+    public List<T> select(@NonNull RowBitmap bitmap) {
+        final List<T> result = new ArrayList<>(bitmap.cardinality());
+        bitmap.forEach(row -> result.add(rows.get(row)));
+        return result;
+    }
+
+    /**
+     * 类SQL查询
+     *
+     * @param where   where
+     * @param orderBy 排序字段
+     * @param groupBy 分组字段
+     * @param limit   limit字段
+     * @return 查询结果，分组内以第一条为准
+     */
+    public List<T> query(@NonNull Where where, @NonNull OrderBy orderBy, @NonNull GroupBy groupBy,
+                         @NonNull Limit limit) {
+        return SimSqlQueryUtil.query(select(filter(where)), orderBy, groupBy, limit, klass);
+    }
+
+    /**
+     * @return 谓词位图缓存的命中统计
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return candidates中满足条件的行
+     */
+    private RowBitmap evaluate(Condition condition, RowBitmap candidates) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        if (condition instanceof Where) {
+            return evaluateWhere((Where) condition, candidates);
+        }
+        if (condition instanceof ColumnCondition && null != ((ColumnCondition) condition).getPredicate()) {
+            return cache.get((ColumnCondition) condition, o -> scan(o, all)).and(candidates);
+        }
+        return scan(condition, candidates);
+    }
+
+    /**
+     * (全部add) or (任一or)
+     */
+    private RowBitmap evaluateWhere(Where where, RowBitmap candidates) {
+        final List<Condition> adds = where.getAddConditions();
+        final List<Condition> ors = where.getOrConditions();
+        if (adds.isEmpty() && ors.isEmpty()) {
+            return candidates;
+        }
+        RowBitmap matched = RowBitmap.empty();
+        if (!adds.isEmpty()) {
+            matched = candidates;
+            for (Condition condition : adds) {
+                matched = evaluate(condition, matched);
+            }
+        }
+        for (Condition condition : ors) {
+            matched = matched.or(evaluate(condition, candidates.andNot(matched)));
+        }
+        return matched;
+    }
+
+    private RowBitmap scan(Condition condition, RowBitmap candidates) {
+        final Condition bound = condition.bind(klass);
+        final RowBitmap.Builder builder = RowBitmap.builder();
+        candidates.forEach(row -> {
+            if (bound.match(rows.get(row))) {
+                builder.add(row);
+            }
+        });
+        return builder.build();
+    }
+}
@@ -0,0 +1,413 @@
+package sim.sql.bitmap;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * 压缩行号位图，不可变
+ * <p>按行号高16位分块，每块按密度选择存储：
+ * <li>稀疏（不超过4096个）：升序char数组，每行2字节
+ * <li>稠密：1024个long的位图，固定8KB
+ * <p>与、或、差按块两两合并，空块不存放
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 00:20
+ */
+
+public final class RowBitmap {
+
+    private static final RowBitmap EMPTY = new RowBitmap(new char[0], new Object[0], 0);
+
+    /**
+     * 块内超过该行数时用位图存储
+     */
+    private static final int ARRAY_MAX = 1 << 12;
+    private static final int WORDS = 1 << 10;
+
+    /**
+     * 各块的高16位，升序
+     */
+    private final char[] keys;
+
+    /**
+     * char[]或long[]
+     */
+    private final Object[] containers;
+    private final int size;
+
+    private RowBitmap(char[] keys, Object[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    public static RowBitmap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param rowCount 行数
+     * @return [0, rowCount)
+     */
+    public static RowBitmap all(int rowCount) {
+        final Builder builder = builder();
+        for (int row = 0; row < rowCount; row++) {
+            builder.add(row);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param rows 升序行号
+     * @return 位图
+     */
+    public static RowBitmap of(int... rows) {
+        final Builder builder = builder();
+        for (int row : rows) {
+            builder.add(row);
+        }
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return 行数
+     */
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += cardinalityOf(containers[i]);
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    public boolean contains(int row) {
+        final int index = Arrays.binarySearch(keys, 0, size, (char) (row >>> 16));
+        return index >= 0 && containsLow(containers[index], (char) row);
+    }
+
+    /**
+     * 按升序遍历行号
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            final int high = keys[i] << 16;
+            final Object container = containers[i];
+            if (container instanceof char[]) {
+                for (char low : (char[]) container) {
+                    consumer.accept(high | low);
+                }
+            } else {
+                final long[] words = (long[]) container;
+                for (int w = 0; w < WORDS; w++) {
+                    long word = words[w];
+                    while (0 != word) {
+                        consumer.accept(high | (w << 6) | Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return 升序行号
+     */
+    public int[] toArray() {
+        final int[] rows = new int[cardinality()];
+        final int[] index = new int[1];
+        forEach(row -> rows[index[0]++] = row);
+        return rows;
+    }
+
+    public RowBitmap and(RowBitmap other) {
+        final char[] resultKeys = new char[Math.min(size, other.size)];
+        final Object[] resultContainers = new Object[resultKeys.length];
+        int count = 0;
+        for (int i = 0, j = 0; i < size && j < other.size; ) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                final Object container = and(containers[i], other.containers[j]);
+                if (null != container) {
+                    resultKeys[count] = keys[i];
+                    resultContainers[count++] = container;
+                }
+                i++;
+                j++;
+            }
+        }
+        return of(resultKeys, resultContainers, count);
+    }
+
+    public RowBitmap or(RowBitmap other) {
+        final char[] resultKeys = new char[size + other.size];
+        final Object[] resultContainers = new Object[resultKeys.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+                resultKeys[count] = keys[i];
+                resultContainers[count++] = containers[i++];
+            } else if (i == size || keys[i] > other.keys[j]) {
+                resultKeys[count] = other.keys[j];
+                resultContainers[count++] = other.containers[j++];
+            } else {
+                resultKeys[count] = keys[i];
+                resultContainers[count++] = or(containers[i++], other.containers[j++]);
+            }
+        }
+        return of(resultKeys, resultContainers, count);
+    }
+
+    /**
+     * @return 在当前位图而不在other中的行
+     */
+    public RowBitmap andNot(RowBitmap other) {
+        final char[] resultKeys = new char[size];
+        final Object[] resultContainers = new Object[size];
+        int count = 0;
+        for (int i = 0, j = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            final Object container = j < other.size && other.keys[j] == keys[i]
+                    ? andNot(containers[i], other.containers[j]) : containers[i];
+            if (null != container) {
+                resultKeys[count] = keys[i];
+                resultContainers[count++] = container;
+            }
+        }
+        return of(resultKeys, resultContainers, count);
+    }
+
+    private static RowBitmap of(char[] keys, Object[] containers, int size) {
+        return 0 == size ? EMPTY : new RowBitmap(keys, containers, size);
+    }
+
+    private static int cardinalityOf(Object container) {
+        if (container instanceof char[]) {
+            return ((char[]) container).length;
+        }
+        int cardinality = 0;
+        for (long word : (long[]) container) {
+            cardinality += Long.bitCount(word);
+        }
+        return cardinality;
+    }
+
+    private static boolean containsLow(Object container, char low) {
+        if (container instanceof char[]) {
+            return Arrays.binarySearch((char[]) container, low) >= 0;
+        }
+        return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+    }
+
+    private static long[] wordsOf(Object container) {
+        if (container instanceof long[]) {
+            return ((long[]) container).clone();
+        }
+        final long[] words = new long[WORDS];
+        for (char low : (char[]) container) {
+            words[low >>> 6] |= 1L << low;
+        }
+        return words;
+    }
+
+    /**
+     * 按行数选择存储，空块为null
+     */
+    private static Object compact(long[] words) {
+        final int cardinality = cardinalityOf(words);
+        if (0 == cardinality) {
+            return null;
+        }
+        if (cardinality > ARRAY_MAX) {
+            return words;
+        }
+        final char[] array = new char[cardinality];
+        int index = 0;
+        for (int w = 0; w < WORDS; w++) {
+            long word = words[w];
+            while (0 != word) {
+                array[index++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return array;
+    }
+
+    /**
+     * 数组只保留满足条件的元素
+     */
+    private static Object filter(char[] array, Object other, boolean keep) {
+        final char[] result = new char[array.length];
+        int count = 0;
+        for (char low : array) {
+            if (containsLow(other, low) == keep) {
+                result[count++] = low;
+            }
+        }
+        return 0 == count ? null : count == array.length ? array : Arrays.copyOf(result, count);
+    }
+
+    private static Object and(Object a, Object b) {
+        if (a instanceof char[] && b instanceof char[]) {
+            final char[] x = (char[]) a;
+            final char[] y = (char[]) b;
+            final char[] result = new char[Math.min(x.length, y.length)];
+            int count = 0;
+            for (int i = 0, j = 0; i < x.length && j < y.length; ) {
+                if (x[i] < y[j]) {
+                    i++;
+                } else if (x[i] > y[j]) {
+                    j++;
+                } else {
+                    result[count++] = x[i];
+                    i++;
+                    j++;
+                }
+            }
+            return 0 == count ? null : Arrays.copyOf(result, count);
+        }
+        if (a instanceof char[]) {
+            return filter((char[]) a, b, true);
+        }
+        if (b instanceof char[]) {
+            return filter((char[]) b, a, true);
+        }
+        final long[] words = ((long[]) a).clone();
+        final long[] other = (long[]) b;
+        for (int w = 0; w < WORDS; w++) {
+            words[w] &= other[w];
+        }
+        return compact(words);
+    }
+
+    private static Object or(Object a, Object b) {
+        if (a instanceof char[] && b instanceof char[]) {
+            final char[] x = (char[]) a;
+            final char[] y = (char[]) b;
+            final char[] result = new char[x.length + y.length];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < x.length || j < y.length) {
+                if (j == y.length || (i < x.length && x[i] < y[j])) {
+                    result[count++] = x[i++];
+                } else if (i == x.length || x[i] > y[j]) {
+                    result[count++] = y[j++];
+                } else {
+                    result[count++] = x[i++];
+                    j++;
+                }
+            }
+            if (count <= ARRAY_MAX) {
+                return Arrays.copyOf(result, count);
+            }
+            return wordsOf(Arrays.copyOf(result, count));
+        }
+        final long[] words = wordsOf(a);
+        if (b instanceof char[]) {
+            for (char low : (char[]) b) {
+                words[low >>> 6] |= 1L << low;
+            }
+        } else {
+            final long[] other = (long[]) b;
+            for (int w = 0; w < WORDS; w++) {
+                words[w] |= other[w];
+            }
+        }
+        return words;
+    }
+
+    private static Object andNot(Object a, Object b) {
+        if (a instanceof char[]) {
+            return filter((char[]) a, b, false);
+        }
+        final long[] words = ((long[]) a).clone();
+        if (b instanceof char[]) {
+            for (char low : (char[]) b) {
+                words[low >>> 6] &= ~(1L << low);
+            }
+        } else {
+            final long[] other = (long[]) b;
+            for (int w = 0; w < WORDS; w++) {
+                words[w] &= ~other[w];
+            }
+        }
+        return compact(words);
+    }
+
+    /**
+     * 按升序追加行号生成位图
+     */
+    public static final class Builder {
+        private char[] keys = new char[4];
+        private Object[] containers = new Object[4];
+        private int size;
+
+        /**
+         * 当前块
+         */
+        private int currentKey = -1;
+        private long[] current;
+
+        private Builder() {
+        }
+
+        /**
+         * @param row 行号，非负且不小于上一次添加的
+         * @return this
+         */
+        public Builder add(int row) {
+            if (row < 0) {
+                throw new RuntimeException("行号不能为负");
+            }
+            final int key = row >>> 16;
+            if (key != currentKey) {
+                if (key < currentKey) {
+                    throw new RuntimeException("行号需升序添加");
+                }
+                flush();
+                currentKey = key;
+                current = new long[WORDS];
+            }
+            current[(row >>> 6) & (WORDS - 1)] |= 1L << row;
+            return this;
+        }
+
+        public RowBitmap build() {
+            flush();
+            currentKey = -1;
+            return RowBitmap.of(Arrays.copyOf(keys, size), Arrays.copyOf(containers, size), size);
+        }
+
+        private void flush() {
+            if (null == current) {
+                return;
+            }
+            final Object container = compact(current);
+            current = null;
+            if (null == container) {
+                return;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size << 1);
+                containers = Arrays.copyOf(containers, size << 1);
+            }
+            keys[size] = (char) currentKey;
+            containers[size++] = container;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package sim.sql.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 查询结果缓存：以 (数据集, 版本号, 查询指纹) 为键
+ * <li>按结果行数计权重，超出上限时淘汰
+ * <li>数据集版本更新后，首次查询新版本时清除该数据集旧版本的结果
+ * <li>数据集的结果全部移除后不再记录其版本号
+ * <li>结果只读，多次命中返回同一列表
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 22:00
+ */
+
+public final class QueryCache {
+
+    private final Cache<Key, List<?>> cache;
+
+    /**
+     * 有缓存结果的数据集 -> 已见到的最新版本号及结果数
+     */
+    private final Map<Long, DatasetVersion> latestVersions = new ConcurrentHashMap<>();
+
+    private QueryCache(long maximumRows) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumRows)
+                .weigher((Key key, List<?> value) -> value.size() + 1)
+                // 在调用线程上回调，结果数及时归零
+                .executor(Runnable::run)
+                .removalListener((Key key, List<?> value, RemovalCause cause) -> released(key))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param maximumRows 缓存结果的总行数上限
+     * @return 缓存
+     */
+    public static QueryCache of(long maximumRows) {
+        return new QueryCache(maximumRows);
+    }
+
+    /**
+     * 类SQL查询，结果与{@link SimSqlQueryUtil#query(List, Where, OrderBy, GroupBy, Limit, Class)}一致
+     *
+     * @param dataset 数据集
+     * @param where   where
+     * @param orderBy 排序字段
+     * @param groupBy 分组字段
+     * @param limit   limit字段
+     * @param <T>     data类型
+     * @return 只读结果
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> query(@NonNull VersionedDataset<T> dataset, @NonNull Where where, @NonNull OrderBy orderBy,
+                             @NonNull GroupBy groupBy, @NonNull Limit limit) {
+        final VersionedDataset.Snapshot<T> snapshot = dataset.snapshot();
+        evictStale(dataset.getId(), snapshot.version);
+        final Key key = new Key(dataset.getId(), snapshot.version, QueryKey.of(where, orderBy, groupBy, limit));
+        return (List<T>) cache.get(key, k -> {
+            final List<T> result = Collections.unmodifiableList(new ArrayList<>(
+                    SimSqlQueryUtil.query(snapshot.rows, where, orderBy, groupBy, limit, dataset.getType())));
+            latestVersions.compute(k.datasetId, (id, current) -> {
+                final DatasetVersion latest = null == current ? new DatasetVersion(k.version) : current;
+                latest.version = Math.max(latest.version, k.version);
+                latest.cached++;
+                return latest;
+            });
+            return result;
+        });
+    }
+
+    /**
+     * 新版本首次出现时清除旧版本
+     */
+    private void evictStale(long datasetId, long version) {
+        final DatasetVersion previous = latestVersions.get(datasetId);
+        if (null == previous || previous.version >= version) {
+            return;
+        }
+        latestVersions.computeIfPresent(datasetId, (id, current) -> {
+            current.version = Math.max(current.version, version);
+            return current;
+        });
+        cache.asMap().keySet().removeIf(key -> key.datasetId == datasetId && key.version < version);
+    }
+
+    /**
+     * 结果被移除，数据集没有结果时不再记录
+     */
+    private void released(Key key) {
+        if (null == key) {
+            return;
+        }
+        latestVersions.computeIfPresent(key.datasetId, (id, current) -> 0 == --current.cached ? null : current);
+    }
+
+    /**
+     * @return 记录了版本号的数据集个数
+     */
+    int trackedDatasets() {
+        return latestVersions.size();
+    }
+
+    /**
+     * 清除数据集的全部结果，数据集不再使用时调用
+     *
+     * @param dataset 数据集
+     */
+    public void invalidate(@NonNull VersionedDataset<?> dataset) {
+        final long datasetId = dataset.getId();
+        cache.asMap().keySet().removeIf(key -> key.datasetId == datasetId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return 命中、未命中、淘汰等统计
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * 只在{@link ConcurrentHashMap#compute}中修改
+     */
+    private static final class DatasetVersion {
+        private volatile long version;
+        private int cached;
+
+        private DatasetVersion(long version) {
+            this.version = version;
+        }
+    }
+
+    private static final class Key {
+        private final long datasetId;
+        private final long version;
+        private final QueryKey query;
+
+        private Key(long datasetId, long version, QueryKey query) {
+            this.datasetId = datasetId;
+            this.version = version;
+            this.query = query;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return datasetId == that.datasetId && version == that.version && query.equals(that.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Long.hashCode(datasetId) + Long.hashCode(version)) + query.hashCode();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package sim.sql.cache;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.condition.Condition;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 查询指纹：where、order by、group by、limit的规范化快照，可作为哈希键
+ * <li>where展开为 (add集合, or集合)，与、或均可交换，顺序与重复不影响指纹
+ * <li>{@link sim.sql.keyword.Column}生成的条件按列、运算符、操作数比较，自定义条件按对象比较
+ * <p>生成后与原参数无关，之后修改where不影响指纹
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 22:00
+ */
+
+public final class QueryKey {
+
+    private final Object where;
+    private final OrderBy orderBy;
+    private final GroupBy groupBy;
+    private final Limit limit;
+    private final int hash;
+
+    private QueryKey(Object where, OrderBy orderBy, GroupBy groupBy, Limit limit) {
+        this.where = where;
+        this.orderBy = orderBy;
+        this.groupBy = groupBy;
+        this.limit = limit;
+        this.hash = Objects.hash(where, orderBy, groupBy, limit);
+    }
+
+    public static QueryKey of(@NonNull Where where, @NonNull OrderBy orderBy, @NonNull GroupBy groupBy,
+                              @NonNull Limit limit) {
+        // order by可通过thenOrderBy继续修改，复制一份
+        OrderBy orderBySnapshot = OrderBy.none();
+        for (OrderBy.SortColumn sortColumn : orderBy.getOrderBy()) {
+            orderBySnapshot = orderBySnapshot.getOrderBy().isEmpty()
+                    ? OrderBy.column(sortColumn.getColumn(), sortColumn.getSort())
+                    : orderBySnapshot.thenOrderBy(sortColumn.getColumn(), sortColumn.getSort());
+        }
+        return new QueryKey(canonical(where), orderBySnapshot, groupBy, limit);
+    }
+
+    private static Object canonical(Condition condition) {
+        if (!(condition instanceof Where)) {
+            return condition;
+        }
+        final Where where = (Where) condition;
+        return Arrays.asList(canonical(where.getAddConditions()), canonical(where.getOrConditions()));
+    }
+
+    private static Set<Object> canonical(List<Condition> conditions) {
+        final Set<Object> set = new HashSet<>(conditions.size() << 1);
+        for (Condition condition : conditions) {
+            set.add(canonical(condition));
+        }
+        return Collections.unmodifiableSet(set);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof QueryKey)) {
+            return false;
+        }
+        final QueryKey that = (QueryKey) o;
+        return hash == that.hash && where.equals(that.where) && orderBy.equals(that.orderBy)
+                && groupBy.equals(that.groupBy) && limit.equals(that.limit);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
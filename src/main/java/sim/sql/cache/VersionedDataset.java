@@ -0,0 +1,86 @@
+package sim.sql.cache;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 带版本号的数据集：持有只读快照，每次替换数据版本号加一
+ * <p>缓存以 (数据集, 版本号) 区分结果，替换数据后旧版本的结果不再命中
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 22:00
+ */
+
+public final class VersionedDataset<T> {
+
+    private static final AtomicLong ID_GENERATOR = new AtomicLong();
+
+    private final long id = ID_GENERATOR.incrementAndGet();
+    private final Class<T> klass;
+    private volatile Snapshot<T> snapshot;
+
+    private VersionedDataset(Class<T> klass, List<T> rows) {
+        this.klass = klass;
+        this.snapshot = new Snapshot<>(0, rows);
+    }
+
+    public static <T> VersionedDataset<T> of(@NonNull List<T> data, @NonNull Class<T> klass) {
+        return new VersionedDataset<>(klass, copyOf(data));
+    }
+
+    /**
+     * 替换数据
+     *
+     * @param data 新数据
+     * @return 新版本号
+     */
+    public synchronized long replace(@NonNull List<T> data) {
+        final long version = snapshot.version + 1;
+        snapshot = new Snapshot<>(version, copyOf(data));
+        return version;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    public Class<T> getType() {
+        return klass;
+    }
+
+    public long getVersion() {
+        return snapshot.version;
+    }
+
+    /**
+     * @return 当前数据，只读
+     */
+    public List<T> rows() {
+        return snapshot.rows;
+    }
+
+    /**
+     * 同时读取版本号与数据，二者保证对应
+     */
+    Snapshot<T> snapshot() {
+        return snapshot;
+    }
+
+    private static <T> List<T> copyOf(List<T> data) {
+        return Collections.unmodifiableList(new ArrayList<>(data));
+    }
+
+    static final class Snapshot<T> {
+        final long version;
+        final List<T> rows;
+
+        private Snapshot(long version, List<T> rows) {
+            this.version = version;
+            this.rows = rows;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package sim.sql.columnar;
+
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.OrderBy;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 在列数组上对行号排序、分组，不读取行对象
+ * <li>排序：逐列比较基础类型值或字典编码，稳定归并排序，结果与按行比较器稳定排序一致
+ * <li>分组：分组列均为字典编码时，以编码组合为下标判重，不计算哈希
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 04:30
+ */
+
+final class ColumnSort {
+
+    /**
+     * 分组编码组合数上限，超过时按行分组
+     */
+    static final int MAX_GROUP_SLOTS = 1 << 20;
+
+    /**
+     * 小于该长度的区间直接插入排序
+     */
+    private static final int INSERTION_THRESHOLD = 1 << 5;
+
+    private final ComparableColumn[] vectors;
+    private final boolean[] desc;
+
+    private ColumnSort(ComparableColumn[] vectors, boolean[] desc) {
+        this.vectors = vectors;
+        this.desc = desc;
+    }
+
+    /**
+     * @return 排序列均已转换且可比较时的排序，否则为null
+     */
+    static ColumnSort of(OrderBy orderBy, Map<String, ColumnVector> columns) {
+        final List<OrderBy.SortColumn> sortColumns = orderBy.getOrderBy();
+        final ComparableColumn[] vectors = new ComparableColumn[sortColumns.size()];
+        final boolean[] desc = new boolean[sortColumns.size()];
+        for (int i = 0; i < vectors.length; i++) {
+            final ColumnVector vector = columns.get(sortColumns.get(i).getColumn());
+            if (!(vector instanceof ComparableColumn)) {
+                return null;
+            }
+            vectors[i] = (ComparableColumn) vector;
+            desc[i] = OrderBy.Sort.DESC.equals(sortColumns.get(i).getSort());
+        }
+        return new ColumnSort(vectors, desc);
+    }
+
+    /**
+     * @param columns 排序列，按下标比较
+     * @param desc    各列是否降序
+     * @return 排序
+     */
+    static ColumnSort of(ComparableColumn[] columns, boolean[] desc) {
+        return new ColumnSort(columns, desc);
+    }
+
+    /**
+     * 稳定排序
+     *
+     * @param rows 行号
+     */
+    void sort(int[] rows) {
+        if (0 == vectors.length || rows.length < 2) {
+            return;
+        }
+        mergeSort(rows, rows.clone(), 0, rows.length);
+    }
+
+    /**
+     * 排序后的前k个，有界堆选取，结果与{@link #sort(int[])}后取前k个一致
+     *
+     * @param rows 行号
+     * @param k    个数
+     * @return 前k个行号，有序
+     */
+    int[] top(int[] rows, int k) {
+        if (k >= rows.length) {
+            final int[] sorted = rows.clone();
+            sort(sorted);
+            return sorted;
+        }
+        if (k <= 0) {
+            return new int[0];
+        }
+        // 大顶堆，存rows下标，堆顶为当前第k名；下标参与比较，相等时靠后的更大，保证稳定
+        final int[] heap = new int[k];
+        for (int i = 0; i < k; i++) {
+            heap[i] = i;
+            siftUp(rows, heap, i);
+        }
+        for (int i = k; i < rows.length; i++) {
+            if (compare(rows[i], rows[heap[0]]) < 0) {
+                heap[0] = i;
+                siftDown(rows, heap, k);
+            }
+        }
+        final int[] result = new int[k];
+        for (int size = k; size > 0; size--) {
+            result[size - 1] = rows[heap[0]];
+            heap[0] = heap[size - 1];
+            siftDown(rows, heap, size - 1);
+        }
+        return result;
+    }
+
+    private void siftUp(int[] rows, int[] heap, int index) {
+        final int value = heap[index];
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            if (compareAt(rows, heap[parent], value) >= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = value;
+    }
+
+    private void siftDown(int[] rows, int[] heap, int size) {
+        if (0 == size) {
+            return;
+        }
+        final int value = heap[0];
+        int index = 0;
+        while (true) {
+            int child = (index << 1) + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && compareAt(rows, heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (compareAt(rows, heap[child], value) <= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = value;
+    }
+
+    /**
+     * 比较rows的两个下标，值相等时按下标
+     */
+    private int compareAt(int[] rows, int index, int otherIndex) {
+        final int compareResult = compare(rows[index], rows[otherIndex]);
+        return 0 != compareResult ? compareResult : Integer.compare(index, otherIndex);
+    }
+
+    /**
+     * 排序[from, to)，结果写回rows，buffer与rows初始内容相同
+     */
+    private void mergeSort(int[] rows, int[] buffer, int from, int to) {
+        if (to - from < INSERTION_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                final int row = rows[i];
+                int j = i - 1;
+                while (j >= from && compare(rows[j], row) > 0) {
+                    rows[j + 1] = rows[j];
+                    j--;
+                }
+                rows[j + 1] = row;
+            }
+            return;
+        }
+        final int middle = (from + to) >>> 1;
+        // 交替使用两个数组，子区间排序结果写入buffer，再归并回rows
+        mergeSort(buffer, rows, from, middle);
+        mergeSort(buffer, rows, middle, to);
+        if (compare(buffer[middle - 1], buffer[middle]) <= 0) {
+            System.arraycopy(buffer, from, rows, from, to - from);
+            return;
+        }
+        for (int i = from, left = from, right = middle; i < to; i++) {
+            if (right >= to || left < middle && compare(buffer[left], buffer[right]) <= 0) {
+                rows[i] = buffer[left++];
+            } else {
+                rows[i] = buffer[right++];
+            }
+        }
+    }
+
+    private int compare(int row, int otherRow) {
+        for (int i = 0; i < vectors.length; i++) {
+            final int compareResult = vectors[i].compare(row, otherRow);
+            if (compareResult != 0) {
+                return desc[i] ? -compareResult : compareResult;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 每组保留第一行，保持顺序，结果写回rows前部
+     *
+     * @param rows 行号
+     * @return 组数；分组列不全是字典编码或组合数过多时为-1，rows不变
+     */
+    static int firstOfGroups(int[] rows, GroupBy groupBy, Map<String, ColumnVector> columns) {
+        final List<String> names = groupBy.getGroupBy();
+        final int[][] codes = new int[names.size()][];
+        final int[] strides = new int[names.size()];
+        long slots = 1;
+        for (int i = 0; i < codes.length; i++) {
+            final ColumnVector vector = columns.get(names.get(i));
+            if (!(vector instanceof DictionaryColumnVector)) {
+                return -1;
+            }
+            codes[i] = ((DictionaryColumnVector) vector).codes();
+            strides[i] = (int) slots;
+            // null编码-1，整体加1
+            slots *= ((DictionaryColumnVector) vector).cardinality() + 1;
+            if (slots > MAX_GROUP_SLOTS) {
+                return -1;
+            }
+        }
+        final long[] seen = new long[(int) ((slots + 63) >>> 6)];
+        int size = 0;
+        for (int row : rows) {
+            int slot = 0;
+            for (int i = 0; i < codes.length; i++) {
+                slot += (codes[i][row] + 1) * strides[i];
+            }
+            if ((seen[slot >>> 6] & (1L << slot)) == 0) {
+                seen[slot >>> 6] |= 1L << slot;
+                rows[size++] = row;
+            }
+        }
+        return size;
+    }
+}
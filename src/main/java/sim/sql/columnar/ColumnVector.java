@@ -0,0 +1,156 @@
+package sim.sql.columnar;
+
+import sim.sql.condition.ColumnCondition;
+import sim.sql.metrics.QueryListeners;
+import sim.sql.util.ColumnAccessor;
+
+import java.util.List;
+
+/**
+ * 单列数据，按行号存取
+ * <li>int/long/double及其包装类型存为基础类型数组 + null位图
+ * <li>不同取值较少的String列字典编码，见{@link DictionaryColumnVector}
+ * <li>其他类型存为引用数组
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 16:05
+ */
+
+public abstract class ColumnVector {
+
+    private final String name;
+    private final Class<?> type;
+
+    /**
+     * null位图，1表示null，无null时为null
+     */
+    final long[] nulls;
+
+    ColumnVector(String name, Class<?> type, long[] nulls) {
+        this.name = name;
+        this.type = type;
+        this.nulls = nulls;
+    }
+
+    /**
+     * 按列类型选择存储方式，逐行读取一次
+     *
+     * @param accessor 列访问器
+     * @param rows     数据，需支持随机访问
+     * @return 列数据
+     */
+    static ColumnVector of(ColumnAccessor accessor, List<?> rows) {
+        final Class<?> type = accessor.getType();
+        if (int.class == type || Integer.class == type) {
+            return IntColumnVector.of(accessor, rows);
+        }
+        if (long.class == type || Long.class == type) {
+            return LongColumnVector.of(accessor, rows);
+        }
+        if (double.class == type || Double.class == type) {
+            return DoubleColumnVector.of(accessor, rows);
+        }
+        if (String.class == type) {
+            final DictionaryColumnVector dictionary = DictionaryColumnVector.of(accessor, rows);
+            if (null != dictionary) {
+                return dictionary;
+            }
+        }
+        return ReferenceColumnVector.of(accessor, rows);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return 列声明类型
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    public abstract int size();
+
+    public boolean isNull(int row) {
+        return null != nulls && (nulls[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * @param row 行号
+     * @return 与逐行读取一致的装箱值
+     */
+    public abstract Object get(int row);
+
+    /**
+     * null视为最小
+     *
+     * @return 任一行为null时的比较结果，均非null时为null
+     */
+    Integer compareNull(int row, int otherRow) {
+        if (null == nulls) {
+            return null;
+        }
+        final boolean isNull = isNull(row);
+        final boolean otherIsNull = isNull(otherRow);
+        if (!isNull && !otherIsNull) {
+            return null;
+        }
+        return isNull == otherIsNull ? 0 : (isNull ? -1 : 1);
+    }
+
+    /**
+     * 在输入行上按谓词过滤，结果写入out，in与out可为同一数组
+     *
+     * @param condition 单列谓词条件
+     * @param in        输入行号，升序
+     * @param inSize    输入个数
+     * @param out       输出行号
+     * @return 输出个数
+     */
+    int filter(ColumnCondition condition, int[] in, int inSize, int[] out) {
+        int size = 0;
+        for (int i = 0; i < inSize; i++) {
+            final int row = in[i];
+            if (test(condition, get(row))) {
+                out[size++] = row;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 逐值判定，异常视为不匹配并上报，与{@link ColumnCondition#match(Object)}一致
+     */
+    static boolean test(ColumnCondition condition, Object value) {
+        try {
+            return Boolean.TRUE.equals(condition.getPredicate().apply(value));
+        } catch (Exception e) {
+            QueryListeners.onError(condition, value, e);
+            return false;
+        }
+    }
+
+    /**
+     * 选出null行
+     */
+    int filterNull(int[] in, int inSize, int[] out) {
+        if (null == nulls) {
+            return 0;
+        }
+        int size = 0;
+        for (int i = 0; i < inSize; i++) {
+            final int row = in[i];
+            if ((nulls[row >>> 6] & (1L << row)) != 0) {
+                out[size++] = row;
+            }
+        }
+        return size;
+    }
+
+    static long[] markNull(long[] nulls, int size, int row) {
+        final long[] bitmap = null == nulls ? new long[(size + 63) >>> 6] : nulls;
+        bitmap[row >>> 6] |= 1L << row;
+        return bitmap;
+    }
+}
@@ -0,0 +1,76 @@
+package sim.sql.columnar;
+
+/**
+ * 列式文件格式，数值均为大端
+ * <pre>
+ * 文件头：magic(8) 版本(4) 文件头长度(4) 行数(4) 列数(4)
+ *        每列：列名长度(2) 列名UTF-8 类型(1) null位图偏移(8) 值偏移(8) 值长度(8) 字符串数据偏移(8) 字符串数据长度(8)
+ * 每列数据：
+ *        null位图：long数组，第i位为1表示第i行为null
+ *        值：int 4字节、long/double 8字节，null行为0；字符串为 行数+1 个long偏移，第i行为 [偏移i, 偏移i+1)
+ *        字符串数据：UTF-8字节
+ * </pre>
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 22:30
+ */
+
+final class ColumnarFile {
+
+    /**
+     * "SIMSQLCF"
+     */
+    static final long MAGIC = 0x53494D53514C4346L;
+
+    static final int VERSION = 1;
+
+    /**
+     * magic、版本、文件头长度、行数、列数
+     */
+    static final int PREAMBLE_LENGTH = 8 + 4 + 4 + 4 + 4;
+
+    /**
+     * 每列元数据除列名外的长度
+     */
+    static final int COLUMN_META_LENGTH = 2 + 1 + 8 * 5;
+
+    private ColumnarFile() {
+    }
+
+    /**
+     * 可存储的列类型
+     */
+    enum Type {
+        // int/Integer、long/Long、double/Double、String
+        INT(4), LONG(8), DOUBLE(8), STRING(8);
+
+        /**
+         * 每行值的字节数，字符串为偏移的字节数
+         */
+        final int width;
+
+        Type(int width) {
+            this.width = width;
+        }
+
+        /**
+         * @param klass 字段类型
+         * @return 对应的存储类型，不支持时为null
+         */
+        static Type of(Class<?> klass) {
+            if (int.class == klass || Integer.class == klass) {
+                return INT;
+            }
+            if (long.class == klass || Long.class == klass) {
+                return LONG;
+            }
+            if (double.class == klass || Double.class == klass) {
+                return DOUBLE;
+            }
+            if (String.class == klass) {
+                return STRING;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package sim.sql.columnar;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.util.ColumnAccessor;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 把对象列表写为列式文件，格式见{@link ColumnarFile}，读取见{@link MappedTable}
+ * <p>支持int、long、double及其包装类型与String列，字符串按UTF-8编码
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 22:30
+ */
+
+public final class ColumnarFileWriter {
+
+    private ColumnarFileWriter() {
+    }
+
+    /**
+     * 写入类的全部可存储属性，其余属性忽略
+     *
+     * @param data  数据
+     * @param klass data类型
+     * @param path  文件路径，已存在时覆盖
+     * @param <T>   data类型
+     * @throws IOException 写入失败
+     */
+    public static <T> void write(@NonNull List<T> data, @NonNull Class<T> klass, @NonNull Path path) throws IOException {
+        final List<String> columns = new ArrayList<>();
+        for (String column : SimSqlQueryUtil.columnsOf(klass)) {
+            final ColumnAccessor accessor = SimSqlQueryUtil.accessorOf(klass, column);
+            if (null != accessor && null != ColumnarFile.Type.of(accessor.getType())) {
+                columns.add(column);
+            }
+        }
+        write(data, klass, columns, path);
+    }
+
+    /**
+     * 写入指定列
+     *
+     * @param data    数据
+     * @param klass   data类型
+     * @param columns 列名
+     * @param path    文件路径，已存在时覆盖
+     * @param <T>     data类型
+     * @throws IOException 写入失败
+     */
+    public static <T> void write(@NonNull List<T> data, @NonNull Class<T> klass, @NonNull Collection<String> columns,
+                                 @NonNull Path path) throws IOException {
+        final int rows = data.size();
+        final int columnCount = columns.size();
+        final byte[][] names = new byte[columnCount][];
+        final ColumnAccessor[] accessors = new ColumnAccessor[columnCount];
+        final ColumnarFile.Type[] types = new ColumnarFile.Type[columnCount];
+        int headerLength = ColumnarFile.PREAMBLE_LENGTH;
+        int index = 0;
+        for (String column : columns) {
+            accessors[index] = SimSqlQueryUtil.accessorOf(klass, column);
+            if (null == accessors[index]) {
+                throw new RuntimeException("字段无效：" + column);
+            }
+            types[index] = ColumnarFile.Type.of(accessors[index].getType());
+            if (null == types[index]) {
+                throw new RuntimeException("字段类型不支持：" + column);
+            }
+            names[index] = column.getBytes(StandardCharsets.UTF_8);
+            headerLength += names[index].length + ColumnarFile.COLUMN_META_LENGTH;
+            index++;
+        }
+        final long nullsLength = (long) ((rows + 63) >>> 6) << 3;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            out.writeLong(ColumnarFile.MAGIC);
+            out.writeInt(ColumnarFile.VERSION);
+            out.writeInt(headerLength);
+            out.writeInt(rows);
+            out.writeInt(columnCount);
+            long position = headerLength;
+            for (int i = 0; i < columnCount; i++) {
+                final long valuesLength = ColumnarFile.Type.STRING == types[i]
+                        ? (long) (rows + 1) * types[i].width : (long) rows * types[i].width;
+                final long dataLength = ColumnarFile.Type.STRING == types[i] ? stringBytes(data, accessors[i]) : 0;
+                out.writeShort(names[i].length);
+                out.write(names[i]);
+                out.writeByte(types[i].ordinal());
+                out.writeLong(position);
+                out.writeLong(position + nullsLength);
+                out.writeLong(valuesLength);
+                out.writeLong(position + nullsLength + valuesLength);
+                out.writeLong(dataLength);
+                position += nullsLength + valuesLength + dataLength;
+            }
+            for (int i = 0; i < columnCount; i++) {
+                writeColumn(out, data, accessors[i], types[i]);
+            }
+        }
+    }
+
+    private static long stringBytes(List<?> data, ColumnAccessor accessor) {
+        long length = 0;
+        for (Object row : data) {
+            final Object value = accessor.get(row);
+            if (null != value) {
+                length += ((String) value).getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        return length;
+    }
+
+    private static void writeColumn(DataOutputStream out, List<?> data, ColumnAccessor accessor,
+                                    ColumnarFile.Type type) throws IOException {
+        final int rows = data.size();
+        for (int word = 0; word < (rows + 63) >>> 6; word++) {
+            long bits = 0;
+            for (int row = word << 6; row < Math.min(rows, (word + 1) << 6); row++) {
+                if (null == accessor.get(data.get(row))) {
+                    bits |= 1L << row;
+                }
+            }
+            out.writeLong(bits);
+        }
+        switch (type) {
+            case INT:
+                for (Object row : data) {
+                    final Object value = accessor.get(row);
+                    out.writeInt(null == value ? 0 : (Integer) value);
+                }
+                break;
+            case LONG:
+                for (Object row : data) {
+                    final Object value = accessor.get(row);
+                    out.writeLong(null == value ? 0L : (Long) value);
+                }
+                break;
+            case DOUBLE:
+                for (Object row : data) {
+                    final Object value = accessor.get(row);
+                    out.writeDouble(null == value ? 0D : (Double) value);
+                }
+                break;
+            default:
+                long offset = 0;
+                out.writeLong(offset);
+                for (Object row : data) {
+                    final Object value = accessor.get(row);
+                    offset += null == value ? 0 : ((String) value).getBytes(StandardCharsets.UTF_8).length;
+                    out.writeLong(offset);
+                }
+                for (Object row : data) {
+                    final Object value = accessor.get(row);
+                    if (null != value) {
+                        out.write(((String) value).getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package sim.sql.columnar;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.condition.ColumnCondition;
+import sim.sql.condition.ColumnPredicate;
+import sim.sql.condition.Condition;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+import sim.sql.metrics.QueryListeners;
+import sim.sql.util.ColumnAccessor;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 列式快照：一次性把List转为按列存储的数组，之后多次查询无需再遍历对象
+ * <p>{@link sim.sql.keyword.Column}生成的谓词在列数组上循环求值得到选择向量，其余条件按行回退判定
+ * <p>快照不感知源数据变化，数据刷新后需重新生成
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 16:05
+ */
+
+public final class ColumnarTable<T> {
+
+    private final Class<T> klass;
+    private final List<T> rows;
+    private final Map<String, ColumnVector> columns;
+    private final WhereEvaluator evaluator;
+
+    private ColumnarTable(Class<T> klass, List<T> rows, Map<String, ColumnVector> columns) {
+        this.klass = klass;
+        this.rows = rows;
+        this.columns = columns;
+        this.evaluator = new WhereEvaluator(rows.size()) {
+            @Override
+            int evaluateLeaf(Condition condition, int[] in, int inSize, int[] out) {
+                return ColumnarTable.this.evaluateLeaf(condition, in, inSize, out);
+            }
+        };
+    }
+
+    /**
+     * 按类的全部属性生成快照
+     *
+     * @param data  数据
+     * @param klass data类型
+     * @param <T>   data类型
+     * @return 快照
+     */
+    public static <T> ColumnarTable<T> of(@NonNull List<T> data, @NonNull Class<T> klass) {
+        return of(data, klass, SimSqlQueryUtil.columnsOf(klass));
+    }
+
+    /**
+     * 按指定列生成快照，未转换的列查询时按行回退
+     *
+     * @param data    数据
+     * @param klass   data类型
+     * @param columns 列名
+     * @param <T>     data类型
+     * @return 快照
+     */
+    public static <T> ColumnarTable<T> of(@NonNull List<T> data, @NonNull Class<T> klass,
+                                          @NonNull Collection<String> columns) {
+        final List<T> rows = new ArrayList<>(data);
+        final Map<String, ColumnVector> vectors = new LinkedHashMap<>();
+        for (String column : columns) {
+            final ColumnAccessor accessor = SimSqlQueryUtil.accessorOf(klass, column);
+            if (null == accessor) {
+                throw new RuntimeException("字段无效：" + column);
+            }
+            vectors.put(column, ColumnVector.of(accessor, rows));
+        }
+        return new ColumnarTable<>(klass, Collections.unmodifiableList(rows), Collections.unmodifiableMap(vectors));
+    }
+
+    public Class<T> getType() {
+        return klass;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * @param name 列名
+     * @return 列数据，未转换时为null
+     */
+    public ColumnVector column(String name) {
+        return columns.get(name);
+    }
+
+    public T row(int row) {
+        return rows.get(row);
+    }
+
+    /**
+     * @return 全部行，只读
+     */
+    public List<T> rows() {
+        return rows;
+    }
+
+    /**
+     * 求值where
+     *
+     * @param where where
+     * @return 命中行
+     */
+    public SelectionVector filter(@NonNull Where where) {
+        final SelectionVector all = SelectionVector.all(rows.size());
+        final int[] out = new int[rows.size()];
+        return new SelectionVector(out, evaluator.evaluate(where, all.rows(), all.size(), out));
+    }
+
+    /**
+     * @param selection 命中行
+     * @return 对应的数据，保持原顺序
+     */
+    public List<T> select(@NonNull SelectionVector selection) {
+        final List<T> result = new ArrayList<>(selection.size());
+        final int[] selected = selection.rows();
+        for (int i = 0; i < selection.size(); i++) {
+            result.add(rows.get(selected[i]));
+        }
+        return result;
+    }
+
+    /**
+     * 类SQL查询，结果与{@link SimSqlQueryUtil#query(List, Where, OrderBy, GroupBy, Limit, Class)}一致
+     * <p>排序列均已转换为基础类型或字典编码时在列数组上排序；分组列均为字典编码时按编码判重
+     */
+    public List<T> query(@NonNull Where where, @NonNull OrderBy orderBy, @NonNull GroupBy groupBy, @NonNull Limit limit) {
+        final SelectionVector selection = filter(where);
+        final boolean topK = groupBy.getGroupBy().isEmpty() && !orderBy.getOrderBy().isEmpty() && null != limit.getLimit();
+        final ColumnSort sort = ColumnSort.of(orderBy, columns);
+        if (topK || null == sort) {
+            // 有界堆按行取top-k，排序列未转换时按行比较
+            return SimSqlQueryUtil.query(select(selection), orderBy, groupBy, limit, klass);
+        }
+        final int[] order = selection.toArray();
+        sort.sort(order);
+        int size = order.length;
+        if (!groupBy.getGroupBy().isEmpty()) {
+            final int groups = ColumnSort.firstOfGroups(order, groupBy, columns);
+            if (groups >= 0) {
+                size = groups;
+                groupBy = GroupBy.none();
+            }
+        }
+        final List<T> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(rows.get(order[i]));
+        }
+        return SimSqlQueryUtil.query(result, OrderBy.none(), groupBy, limit, klass);
+    }
+
+    /**
+     * 谓词在列数组上求值，其余条件按行判定
+     */
+    private int evaluateLeaf(Condition condition, int[] in, int inSize, int[] out) {
+        if (condition instanceof ColumnCondition) {
+            final ColumnCondition columnCondition = (ColumnCondition) condition;
+            final ColumnPredicate predicate = columnCondition.getPredicate();
+            final List<String> names = columnCondition.getColumns();
+            if (null != predicate && columns.containsKey(names.get(0))) {
+                return columns.get(names.get(0)).filter(columnCondition, in, inSize, out);
+            }
+            if (columns.keySet().containsAll(names)) {
+                return evaluateExpression(columnCondition, in, inSize, out);
+            }
+        }
+        // 自定义条件或未转换的列，按行判定
+        final Condition bound = condition.bind(klass);
+        int size = 0;
+        for (int i = 0; i < inSize; i++) {
+            final int row = in[i];
+            if (bound.match(rows.get(row))) {
+                out[size++] = row;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 自定义多列表达式，列值取自列数组
+     */
+    private int evaluateExpression(ColumnCondition condition, int[] in, int inSize, int[] out) {
+        final List<String> names = condition.getColumns();
+        final ColumnVector[] vectors = new ColumnVector[names.size()];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = columns.get(names.get(i));
+        }
+        int size = 0;
+        for (int i = 0; i < inSize; i++) {
+            final int row = in[i];
+            final List<Object> values = new ArrayList<>(vectors.length);
+            for (ColumnVector vector : vectors) {
+                values.add(vector.get(row));
+            }
+            boolean matched;
+            try {
+                matched = Boolean.TRUE.equals(condition.getExpression().apply(values));
+            } catch (Exception e) {
+                QueryListeners.onError(condition, values, e);
+                matched = false;
+            }
+            if (matched) {
+                out[size++] = row;
+            }
+        }
+        return size;
+    }
+}
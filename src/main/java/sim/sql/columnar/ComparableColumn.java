@@ -0,0 +1,16 @@
+package sim.sql.columnar;
+
+/**
+ * 可在列数组上直接比较两行的列，见{@link ColumnSort}
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 04:30
+ */
+
+interface ComparableColumn {
+
+    /**
+     * 比较两行的值，null视为最小，与{@link sim.sql.util.ColumnAccessor#compare(Object, Object)}一致
+     */
+    int compare(int row, int otherRow);
+}
@@ -0,0 +1,212 @@
+package sim.sql.columnar;
+
+import sim.sql.condition.ColumnCondition;
+import sim.sql.condition.ColumnPredicate;
+import sim.sql.metrics.QueryListeners;
+import sim.sql.util.ColumnAccessor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 字典编码的String列：取值按自然顺序排序成字典，每行存字典下标，null行为-1
+ * <li>编码顺序与字符串顺序一致，=、>、>=、<、<=转为编码比较，排序直接比较编码（null最小）
+ * <li>in、like等其余谓词对每个字典值只判定一次，再按编码查表
+ * <li>重复的字符串只保留一份引用
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 04:30
+ */
+
+final class DictionaryColumnVector extends ColumnVector implements ComparableColumn {
+
+    /**
+     * 不同取值不超过该数量，且不超过行数一半时才编码
+     */
+    static final int MAX_CARDINALITY = 1 << 16;
+
+    private static final int NULL_CODE = -1;
+
+    private final String[] dictionary;
+    private final int[] codes;
+
+    private DictionaryColumnVector(String name, Class<?> type, String[] dictionary, int[] codes, long[] nulls) {
+        super(name, type, nulls);
+        this.dictionary = dictionary;
+        this.codes = codes;
+    }
+
+    /**
+     * @return 不同取值过多、编码无收益时为null
+     */
+    static DictionaryColumnVector of(ColumnAccessor accessor, List<?> rows) {
+        final int size = rows.size();
+        final int maxCardinality = Math.min(MAX_CARDINALITY, size >>> 1);
+        final String[] values = new String[size];
+        final Map<String, Integer> distinct = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            values[i] = (String) accessor.get(rows.get(i));
+            if (null != values[i] && null == distinct.putIfAbsent(values[i], distinct.size())
+                    && distinct.size() > maxCardinality) {
+                return null;
+            }
+        }
+        final String[] dictionary = new TreeSet<>(distinct.keySet()).toArray(new String[0]);
+        for (int code = 0; code < dictionary.length; code++) {
+            distinct.put(dictionary[code], code);
+        }
+        final int[] codes = new int[size];
+        long[] nulls = null;
+        for (int i = 0; i < size; i++) {
+            if (null == values[i]) {
+                codes[i] = NULL_CODE;
+                nulls = markNull(nulls, size, i);
+            } else {
+                codes[i] = distinct.get(values[i]);
+            }
+        }
+        return new DictionaryColumnVector(accessor.getColumn(), accessor.getType(), dictionary, codes, nulls);
+    }
+
+    @Override
+    public int size() {
+        return codes.length;
+    }
+
+    @Override
+    public Object get(int row) {
+        final int code = codes[row];
+        return NULL_CODE == code ? null : dictionary[code];
+    }
+
+    /**
+     * @return 不同的非null取值个数
+     */
+    public int cardinality() {
+        return dictionary.length;
+    }
+
+    /**
+     * @return 编码，null行为-1，严禁修改
+     */
+    int[] codes() {
+        return codes;
+    }
+
+    @Override
+    public int compare(int row, int otherRow) {
+        return Integer.compare(codes[row], codes[otherRow]);
+    }
+
+    @Override
+    int filter(ColumnCondition condition, int[] in, int inSize, int[] out) {
+        final ColumnPredicate predicate = condition.getPredicate();
+        final Object operand = predicate.getOperand();
+        switch (predicate.getOperator()) {
+            case EQUAL:
+                if (null == operand) {
+                    return filterNull(in, inSize, out);
+                }
+                // Objects.equals：非String操作数不可能相等
+                if (!(operand instanceof String)) {
+                    return 0;
+                }
+                final int code = Arrays.binarySearch(dictionary, operand);
+                return code < 0 ? 0 : filterRange(code, code, in, inSize, out);
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+                if (operand instanceof String) {
+                    return filterRange(predicate.getOperator(), (String) operand, in, inSize, out);
+                }
+                break;
+            default:
+                break;
+        }
+        return filterByCode(condition, in, inSize, out);
+    }
+
+    /**
+     * 操作数在字典中的位置换算为编码区间，null不参与比较
+     */
+    private int filterRange(ColumnPredicate.Operator operator, String operand, int[] in, int inSize, int[] out) {
+        final int index = Arrays.binarySearch(dictionary, operand);
+        // 第一个不小于操作数的编码，及操作数是否在字典中
+        final int ceiling = index >= 0 ? index : -index - 1;
+        final boolean found = index >= 0;
+        switch (operator) {
+            case GREATER_THAN:
+                return filterRange(found ? ceiling + 1 : ceiling, dictionary.length - 1, in, inSize, out);
+            case GREATER_THAN_OR_EQUAL:
+                return filterRange(ceiling, dictionary.length - 1, in, inSize, out);
+            case LESS_THAN:
+                return filterRange(0, ceiling - 1, in, inSize, out);
+            default:
+                return filterRange(0, found ? ceiling : ceiling - 1, in, inSize, out);
+        }
+    }
+
+    /**
+     * 编码在[low, high]内，null编码为-1，不会命中
+     */
+    private int filterRange(int low, int high, int[] in, int inSize, int[] out) {
+        if (low > high) {
+            return 0;
+        }
+        final int[] codes = this.codes;
+        int size = 0;
+        for (int i = 0; i < inSize; i++) {
+            final int row = in[i];
+            final int code = codes[row];
+            if (code >= low && code <= high) {
+                out[size++] = row;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 每个字典值判定一次，语义与逐行判定一致
+     * <p>判定异常的值记下异常，输入行命中该值时逐行上报，上报次数与逐行判定一致
+     */
+    private int filterByCode(ColumnCondition condition, int[] in, int inSize, int[] out) {
+        final ColumnPredicate predicate = condition.getPredicate();
+        // 下标为编码，null在最后
+        final int nullIndex = dictionary.length;
+        final boolean[] matched = new boolean[nullIndex + 1];
+        Exception[] errors = null;
+        for (int index = 0; index <= nullIndex; index++) {
+            if (index == nullIndex && null == nulls) {
+                break;
+            }
+            try {
+                matched[index] = Boolean.TRUE.equals(predicate.apply(valueAt(index)));
+            } catch (Exception e) {
+                if (null == errors) {
+                    errors = new Exception[nullIndex + 1];
+                }
+                errors[index] = e;
+            }
+        }
+        final int[] codes = this.codes;
+        int size = 0;
+        for (int i = 0; i < inSize; i++) {
+            final int row = in[i];
+            final int index = NULL_CODE == codes[row] ? nullIndex : codes[row];
+            if (matched[index]) {
+                out[size++] = row;
+            } else if (null != errors && null != errors[index]) {
+                QueryListeners.onError(condition, valueAt(index), errors[index]);
+            }
+        }
+        return size;
+    }
+
+    private String valueAt(int index) {
+        return index < dictionary.length ? dictionary[index] : null;
+    }
+}
@@ -0,0 +1,159 @@
+package sim.sql.columnar;
+
+import sim.sql.condition.ColumnCondition;
+import sim.sql.condition.ColumnPredicate;
+import sim.sql.util.ColumnAccessor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * double / Double列，比较语义同{@link Double#compare(double, double)}
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 16:05
+ */
+
+final class DoubleColumnVector extends ColumnVector implements ComparableColumn {
+
+    private final double[] values;
+
+    private DoubleColumnVector(String name, Class<?> type, double[] values, long[] nulls) {
+        super(name, type, nulls);
+        this.values = values;
+    }
+
+    static DoubleColumnVector of(ColumnAccessor accessor, List<?> rows) {
+        final int size = rows.size();
+        final double[] values = new double[size];
+        long[] nulls = null;
+        if (accessor.getType().isPrimitive()) {
+            for (int i = 0; i < size; i++) {
+                values[i] = accessor.getDouble(rows.get(i));
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                final Object value = accessor.get(rows.get(i));
+                if (null == value) {
+                    nulls = markNull(nulls, size, i);
+                } else {
+                    values[i] = (Double) value;
+                }
+            }
+        }
+        return new DoubleColumnVector(accessor.getColumn(), accessor.getType(), values, nulls);
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public Object get(int row) {
+        return isNull(row) ? null : values[row];
+    }
+
+    /**
+     * @return 原始数组，null行为0，严禁修改
+     */
+    double[] values() {
+        return values;
+    }
+
+    @Override
+    public int compare(int row, int otherRow) {
+        final Integer nullResult = compareNull(row, otherRow);
+        return null != nullResult ? nullResult : Double.compare(values[row], values[otherRow]);
+    }
+
+    @Override
+    int filter(ColumnCondition condition, int[] in, int inSize, int[] out) {
+        final ColumnPredicate predicate = condition.getPredicate();
+        final Object operand = predicate.getOperand();
+        final ColumnPredicate.Operator operator = predicate.getOperator();
+        switch (operator) {
+            case EQUAL:
+                if (null == operand) {
+                    return filterNull(in, inSize, out);
+                }
+                if (!(operand instanceof Double)) {
+                    // Objects.equals：非Double操作数不可能相等
+                    return 0;
+                }
+                return filterCompare(operator, (Double) operand, in, inSize, out);
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+                if (operand instanceof Double) {
+                    return filterCompare(operator, (Double) operand, in, inSize, out);
+                }
+                break;
+            case IN:
+                return filterIn((Set<?>) operand, in, inSize, out);
+            default:
+                break;
+        }
+        return super.filter(condition, in, inSize, out);
+    }
+
+    private int filterCompare(ColumnPredicate.Operator operator, double x, int[] in, int inSize, int[] out) {
+        // Double.compare结果落在[low, high]内即命中
+        final int low;
+        final int high;
+        switch (operator) {
+            case GREATER_THAN:
+                low = 1;
+                high = 1;
+                break;
+            case GREATER_THAN_OR_EQUAL:
+                low = 0;
+                high = 1;
+                break;
+            case LESS_THAN:
+                low = -1;
+                high = -1;
+                break;
+            case LESS_THAN_OR_EQUAL:
+                low = -1;
+                high = 0;
+                break;
+            default:
+                low = 0;
+                high = 0;
+                break;
+        }
+        final double[] values = this.values;
+        final long[] nulls = this.nulls;
+        int size = 0;
+        for (int i = 0; i < inSize; i++) {
+            final int row = in[i];
+            final int compareResult = Integer.signum(Double.compare(values[row], x));
+            if (compareResult >= low && compareResult <= high
+                    && (null == nulls || (nulls[row >>> 6] & (1L << row)) == 0)) {
+                out[size++] = row;
+            }
+        }
+        return size;
+    }
+
+    private int filterIn(Set<?> set, int[] in, int inSize, int[] out) {
+        // 按bit排序，与Double.equals一致
+        final long[] keys = set.stream().filter(o -> o instanceof Double)
+                .mapToLong(o -> Double.doubleToLongBits((Double) o)).sorted().toArray();
+        final boolean matchNull = set.contains(null);
+        final double[] values = this.values;
+        final long[] nulls = this.nulls;
+        int size = 0;
+        for (int i = 0; i < inSize; i++) {
+            final int row = in[i];
+            final boolean isNull = null != nulls && (nulls[row >>> 6] & (1L << row)) != 0;
+            if (isNull ? matchNull : Arrays.binarySearch(keys, Double.doubleToLongBits(values[row])) >= 0) {
+                out[size++] = row;
+            }
+        }
+        return size;
+    }
+}
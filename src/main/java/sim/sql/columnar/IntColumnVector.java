@@ -0,0 +1,145 @@
+package sim.sql.columnar;
+
+import sim.sql.condition.ColumnCondition;
+import sim.sql.condition.ColumnPredicate;
+import sim.sql.util.ColumnAccessor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * int / Integer列
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 16:05
+ */
+
+final class IntColumnVector extends ColumnVector implements ComparableColumn {
+
+    private final int[] values;
+
+    private IntColumnVector(String name, Class<?> type, int[] values, long[] nulls) {
+        super(name, type, nulls);
+        this.values = values;
+    }
+
+    static IntColumnVector of(ColumnAccessor accessor, List<?> rows) {
+        final int size = rows.size();
+        final int[] values = new int[size];
+        long[] nulls = null;
+        if (accessor.getType().isPrimitive()) {
+            for (int i = 0; i < size; i++) {
+                values[i] = accessor.getInt(rows.get(i));
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                final Object value = accessor.get(rows.get(i));
+                if (null == value) {
+                    nulls = markNull(nulls, size, i);
+                } else {
+                    values[i] = (Integer) value;
+                }
+            }
+        }
+        return new IntColumnVector(accessor.getColumn(), accessor.getType(), values, nulls);
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public Object get(int row) {
+        return isNull(row) ? null : values[row];
+    }
+
+    /**
+     * @return 原始数组，null行为0，严禁修改
+     */
+    int[] values() {
+        return values;
+    }
+
+    @Override
+    public int compare(int row, int otherRow) {
+        final Integer nullResult = compareNull(row, otherRow);
+        return null != nullResult ? nullResult : Integer.compare(values[row], values[otherRow]);
+    }
+
+    @Override
+    int filter(ColumnCondition condition, int[] in, int inSize, int[] out) {
+        final ColumnPredicate predicate = condition.getPredicate();
+        final Object operand = predicate.getOperand();
+        switch (predicate.getOperator()) {
+            case EQUAL:
+                if (null == operand) {
+                    return filterNull(in, inSize, out);
+                }
+                // Objects.equals：非Integer操作数不可能相等
+                return operand instanceof Integer ? filterRange((Integer) operand, (Integer) operand, in, inSize, out) : 0;
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+                if (!(operand instanceof Integer)) {
+                    break;
+                }
+                final long x = (Integer) operand;
+                switch (predicate.getOperator()) {
+                    case GREATER_THAN:
+                        return filterRange(x + 1, Integer.MAX_VALUE, in, inSize, out);
+                    case GREATER_THAN_OR_EQUAL:
+                        return filterRange(x, Integer.MAX_VALUE, in, inSize, out);
+                    case LESS_THAN:
+                        return filterRange(Integer.MIN_VALUE, x - 1, in, inSize, out);
+                    default:
+                        return filterRange(Integer.MIN_VALUE, x, in, inSize, out);
+                }
+            case IN:
+                return filterIn((Set<?>) operand, in, inSize, out);
+            default:
+                break;
+        }
+        return super.filter(condition, in, inSize, out);
+    }
+
+    /**
+     * 非null且在[lo, hi]内
+     */
+    private int filterRange(long lo, long hi, int[] in, int inSize, int[] out) {
+        if (lo > hi) {
+            return 0;
+        }
+        final int[] values = this.values;
+        final long[] nulls = this.nulls;
+        final int low = (int) lo;
+        final int high = (int) hi;
+        int size = 0;
+        for (int i = 0; i < inSize; i++) {
+            final int row = in[i];
+            final int value = values[row];
+            if (value >= low && value <= high && (null == nulls || (nulls[row >>> 6] & (1L << row)) == 0)) {
+                out[size++] = row;
+            }
+        }
+        return size;
+    }
+
+    private int filterIn(Set<?> set, int[] in, int inSize, int[] out) {
+        final int[] keys = set.stream().filter(o -> o instanceof Integer).mapToInt(o -> (Integer) o).sorted().toArray();
+        final boolean matchNull = set.contains(null);
+        final int[] values = this.values;
+        final long[] nulls = this.nulls;
+        int size = 0;
+        for (int i = 0; i < inSize; i++) {
+            final int row = in[i];
+            final boolean isNull = null != nulls && (nulls[row >>> 6] & (1L << row)) != 0;
+            if (isNull ? matchNull : Arrays.binarySearch(keys, values[row]) >= 0) {
+                out[size++] = row;
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,144 @@
+package sim.sql.columnar;
+
+import sim.sql.condition.ColumnCondition;
+import sim.sql.condition.ColumnPredicate;
+import sim.sql.util.ColumnAccessor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * long / Long列
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 16:05
+ */
+
+final class LongColumnVector extends ColumnVector implements ComparableColumn {
+
+    private final long[] values;
+
+    private LongColumnVector(String name, Class<?> type, long[] values, long[] nulls) {
+        super(name, type, nulls);
+        this.values = values;
+    }
+
+    static LongColumnVector of(ColumnAccessor accessor, List<?> rows) {
+        final int size = rows.size();
+        final long[] values = new long[size];
+        long[] nulls = null;
+        if (accessor.getType().isPrimitive()) {
+            for (int i = 0; i < size; i++) {
+                values[i] = accessor.getLong(rows.get(i));
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                final Object value = accessor.get(rows.get(i));
+                if (null == value) {
+                    nulls = markNull(nulls, size, i);
+                } else {
+                    values[i] = (Long) value;
+                }
+            }
+        }
+        return new LongColumnVector(accessor.getColumn(), accessor.getType(), values, nulls);
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public Object get(int row) {
+        return isNull(row) ? null : values[row];
+    }
+
+    /**
+     * @return 原始数组，null行为0，严禁修改
+     */
+    long[] values() {
+        return values;
+    }
+
+    @Override
+    public int compare(int row, int otherRow) {
+        final Integer nullResult = compareNull(row, otherRow);
+        return null != nullResult ? nullResult : Long.compare(values[row], values[otherRow]);
+    }
+
+    @Override
+    int filter(ColumnCondition condition, int[] in, int inSize, int[] out) {
+        final ColumnPredicate predicate = condition.getPredicate();
+        final Object operand = predicate.getOperand();
+        switch (predicate.getOperator()) {
+            case EQUAL:
+                if (null == operand) {
+                    return filterNull(in, inSize, out);
+                }
+                // Objects.equals：非Long操作数不可能相等
+                return operand instanceof Long ? filterRange((Long) operand, (Long) operand, in, inSize, out) : 0;
+            case GREATER_THAN:
+                if (operand instanceof Long) {
+                    final long x = (Long) operand;
+                    return x == Long.MAX_VALUE ? 0 : filterRange(x + 1, Long.MAX_VALUE, in, inSize, out);
+                }
+                break;
+            case GREATER_THAN_OR_EQUAL:
+                if (operand instanceof Long) {
+                    return filterRange((Long) operand, Long.MAX_VALUE, in, inSize, out);
+                }
+                break;
+            case LESS_THAN:
+                if (operand instanceof Long) {
+                    final long x = (Long) operand;
+                    return x == Long.MIN_VALUE ? 0 : filterRange(Long.MIN_VALUE, x - 1, in, inSize, out);
+                }
+                break;
+            case LESS_THAN_OR_EQUAL:
+                if (operand instanceof Long) {
+                    return filterRange(Long.MIN_VALUE, (Long) operand, in, inSize, out);
+                }
+                break;
+            case IN:
+                return filterIn((Set<?>) operand, in, inSize, out);
+            default:
+                break;
+        }
+        return super.filter(condition, in, inSize, out);
+    }
+
+    /**
+     * 非null且在[lo, hi]内
+     */
+    private int filterRange(long lo, long hi, int[] in, int inSize, int[] out) {
+        final long[] values = this.values;
+        final long[] nulls = this.nulls;
+        int size = 0;
+        for (int i = 0; i < inSize; i++) {
+            final int row = in[i];
+            final long value = values[row];
+            if (value >= lo && value <= hi && (null == nulls || (nulls[row >>> 6] & (1L << row)) == 0)) {
+                out[size++] = row;
+            }
+        }
+        return size;
+    }
+
+    private int filterIn(Set<?> set, int[] in, int inSize, int[] out) {
+        final long[] keys = set.stream().filter(o -> o instanceof Long).mapToLong(o -> (Long) o).sorted().toArray();
+        final boolean matchNull = set.contains(null);
+        final long[] values = this.values;
+        final long[] nulls = this.nulls;
+        int size = 0;
+        for (int i = 0; i < inSize; i++) {
+            final int row = in[i];
+            final boolean isNull = null != nulls && (nulls[row >>> 6] & (1L << row)) != 0;
+            if (isNull ? matchNull : Arrays.binarySearch(keys, values[row]) >= 0) {
+                out[size++] = row;
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,312 @@
+package sim.sql.columnar;
+
+import sim.sql.condition.ColumnCondition;
+import sim.sql.condition.ColumnPredicate;
+import sim.sql.metrics.QueryListeners;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 映射文件中的一列，按行号直接读取，不生成对象
+ * <p>谓词求值语义与逐行判定一致：操作数类型与列类型一致时比较原始值，字符串的=与like比较UTF-8字节，其余装箱后调用谓词
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 22:30
+ */
+
+final class MappedColumn {
+
+    private final ColumnarFile.Type type;
+    private final MappedRegion nulls;
+    private final MappedRegion values;
+    private final MappedRegion data;
+
+    MappedColumn(ColumnarFile.Type type, MappedRegion nulls, MappedRegion values, MappedRegion data) {
+        this.type = type;
+        this.nulls = nulls;
+        this.values = values;
+        this.data = data;
+    }
+
+    ColumnarFile.Type getType() {
+        return type;
+    }
+
+    boolean isNull(int row) {
+        return (nulls.getLong((long) (row >>> 6) << 3) & (1L << row)) != 0;
+    }
+
+    int getInt(int row) {
+        return values.getInt((long) row << 2);
+    }
+
+    long getLong(int row) {
+        return values.getLong((long) row << 3);
+    }
+
+    double getDouble(int row) {
+        return values.getDouble((long) row << 3);
+    }
+
+    String getString(int row) {
+        final long start = values.getLong((long) row << 3);
+        final long end = values.getLong((long) (row + 1) << 3);
+        return new String(data.getBytes(start, (int) (end - start)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return 与{@link #valueEquals(int, int)}一致的哈希，字符串按UTF-8字节计算
+     */
+    int hashValue(int row) {
+        if (isNull(row)) {
+            return 0;
+        }
+        switch (type) {
+            case INT:
+                return getInt(row);
+            case LONG:
+                return Long.hashCode(getLong(row));
+            case DOUBLE:
+                return Long.hashCode(Double.doubleToLongBits(getDouble(row)));
+            default: {
+                final long start = values.getLong((long) row << 3);
+                final long end = values.getLong((long) (row + 1) << 3);
+                int hash = 1;
+                for (long position = start; position < end; position++) {
+                    hash = 31 * hash + data.get(position);
+                }
+                return hash;
+            }
+        }
+    }
+
+    /**
+     * 两行的值是否相等，与装箱后{@link java.util.Objects#equals(Object, Object)}一致，字符串比较UTF-8字节
+     */
+    boolean valueEquals(int row, int otherRow) {
+        final boolean isNull = isNull(row);
+        if (isNull || isNull(otherRow)) {
+            return isNull == isNull(otherRow);
+        }
+        switch (type) {
+            case INT:
+                return getInt(row) == getInt(otherRow);
+            case LONG:
+                return getLong(row) == getLong(otherRow);
+            case DOUBLE:
+                return Double.doubleToLongBits(getDouble(row)) == Double.doubleToLongBits(getDouble(otherRow));
+            default: {
+                final long start = values.getLong((long) row << 3);
+                final long length = values.getLong((long) (row + 1) << 3) - start;
+                final long otherStart = values.getLong((long) otherRow << 3);
+                final long otherLength = values.getLong((long) (otherRow + 1) << 3) - otherStart;
+                if (length != otherLength) {
+                    return false;
+                }
+                for (long i = 0; i < length; i++) {
+                    if (data.get(start + i) != data.get(otherStart + i)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return 装箱后的值，与对象上读取的类型一致
+     */
+    Object get(int row) {
+        if (isNull(row)) {
+            return null;
+        }
+        switch (type) {
+            case INT:
+                return getInt(row);
+            case LONG:
+                return getLong(row);
+            case DOUBLE:
+                return getDouble(row);
+            default:
+                return getString(row);
+        }
+    }
+
+    /**
+     * 在输入行上求值谓词，in与out可为同一数组
+     *
+     * @return 输出个数
+     */
+    int filter(ColumnCondition condition, int[] in, int inSize, int[] out) {
+        final ColumnPredicate predicate = condition.getPredicate();
+        final ColumnPredicate.Operator operator = predicate.getOperator();
+        final Object operand = predicate.getOperand();
+        switch (operator) {
+            case EQUAL:
+                if (null == operand) {
+                    return filterNull(in, inSize, out);
+                }
+                if (ColumnarFile.Type.STRING == type && operand instanceof String) {
+                    return filterBytes(operator, ((String) operand).getBytes(StandardCharsets.UTF_8), in, inSize, out);
+                }
+                return filterCompare(condition, in, inSize, out);
+            case GREATER_THAN:
+            case LESS_THAN:
+            case GREATER_THAN_OR_EQUAL:
+            case LESS_THAN_OR_EQUAL:
+                return filterCompare(condition, in, inSize, out);
+            case LIKE_INCLUDE:
+            case LIKE_LEFT:
+            case LIKE_RIGHT:
+                if (ColumnarFile.Type.STRING == type && operand instanceof String) {
+                    return filterBytes(operator, ((String) operand).getBytes(StandardCharsets.UTF_8), in, inSize, out);
+                }
+                return filterValues(condition, in, inSize, out);
+            default:
+                return filterValues(condition, in, inSize, out);
+        }
+    }
+
+    /**
+     * 数值列与同类型操作数直接比较，否则逐值判定
+     */
+    private int filterCompare(ColumnCondition condition, int[] in, int inSize, int[] out) {
+        final ColumnPredicate predicate = condition.getPredicate();
+        final ColumnPredicate.Operator operator = predicate.getOperator();
+        final Object operand = predicate.getOperand();
+        if (ColumnarFile.Type.INT == type && operand instanceof Integer) {
+            final int value = (Integer) operand;
+            int size = 0;
+            for (int i = 0; i < inSize; i++) {
+                final int row = in[i];
+                if (!isNull(row) && test(operator, Integer.compare(getInt(row), value))) {
+                    out[size++] = row;
+                }
+            }
+            return size;
+        }
+        if (ColumnarFile.Type.LONG == type && operand instanceof Long) {
+            final long value = (Long) operand;
+            int size = 0;
+            for (int i = 0; i < inSize; i++) {
+                final int row = in[i];
+                if (!isNull(row) && test(operator, Long.compare(getLong(row), value))) {
+                    out[size++] = row;
+                }
+            }
+            return size;
+        }
+        if (ColumnarFile.Type.DOUBLE == type && operand instanceof Double) {
+            final double value = (Double) operand;
+            int size = 0;
+            for (int i = 0; i < inSize; i++) {
+                final int row = in[i];
+                if (!isNull(row) && test(operator, Double.compare(getDouble(row), value))) {
+                    out[size++] = row;
+                }
+            }
+            return size;
+        }
+        return filterValues(condition, in, inSize, out);
+    }
+
+    /**
+     * 逐值判定，异常视为不匹配并上报
+     */
+    private int filterValues(ColumnCondition condition, int[] in, int inSize, int[] out) {
+        final ColumnPredicate predicate = condition.getPredicate();
+        int size = 0;
+        for (int i = 0; i < inSize; i++) {
+            final int row = in[i];
+            final Object value = get(row);
+            boolean matched;
+            try {
+                matched = Boolean.TRUE.equals(predicate.apply(value));
+            } catch (Exception e) {
+                QueryListeners.onError(condition, value, e);
+                matched = false;
+            }
+            if (matched) {
+                out[size++] = row;
+            }
+        }
+        return size;
+    }
+
+    private static boolean test(ColumnPredicate.Operator operator, int compareResult) {
+        switch (operator) {
+            case EQUAL:
+                return compareResult == 0;
+            case GREATER_THAN:
+                return compareResult > 0;
+            case LESS_THAN:
+                return compareResult < 0;
+            case GREATER_THAN_OR_EQUAL:
+                return compareResult >= 0;
+            default:
+                return compareResult <= 0;
+        }
+    }
+
+    private int filterNull(int[] in, int inSize, int[] out) {
+        int size = 0;
+        for (int i = 0; i < inSize; i++) {
+            final int row = in[i];
+            if (isNull(row)) {
+                out[size++] = row;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 字符串=、like直接比较UTF-8字节，UTF-8下字节前缀、后缀、子串与字符一一对应
+     */
+    private int filterBytes(ColumnPredicate.Operator operator, byte[] keyword, int[] in, int inSize, int[] out) {
+        int size = 0;
+        for (int i = 0; i < inSize; i++) {
+            final int row = in[i];
+            if (isNull(row)) {
+                continue;
+            }
+            final long start = values.getLong((long) row << 3);
+            final long length = values.getLong((long) (row + 1) << 3) - start;
+            final boolean matched;
+            switch (operator) {
+                case EQUAL:
+                    matched = length == keyword.length && regionMatches(start, keyword);
+                    break;
+                case LIKE_LEFT:
+                    matched = length >= keyword.length && regionMatches(start, keyword);
+                    break;
+                case LIKE_RIGHT:
+                    matched = length >= keyword.length && regionMatches(start + length - keyword.length, keyword);
+                    break;
+                default:
+                    matched = contains(start, length, keyword);
+            }
+            if (matched) {
+                out[size++] = row;
+            }
+        }
+        return size;
+    }
+
+    private boolean regionMatches(long position, byte[] keyword) {
+        for (int i = 0; i < keyword.length; i++) {
+            if (data.get(position + i) != keyword[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean contains(long start, long length, byte[] keyword) {
+        for (long position = start; position + keyword.length <= start + length; position++) {
+            if (regionMatches(position, keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
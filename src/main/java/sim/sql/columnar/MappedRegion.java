@@ -0,0 +1,62 @@
+package sim.sql.columnar;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 文件中一段连续区域的只读映射，按1GB分段，突破单个MappedByteBuffer 2GB的限制
+ * <p>段长为8的倍数，区域内按自身宽度对齐的int、long、double不会跨段
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 22:30
+ */
+
+final class MappedRegion {
+
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final MappedByteBuffer[] segments;
+
+    private MappedRegion(MappedByteBuffer[] segments) {
+        this.segments = segments;
+    }
+
+    static MappedRegion map(FileChannel channel, long offset, long length) throws IOException {
+        final int count = (int) ((length + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        final MappedByteBuffer[] segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            final long start = (long) i << SEGMENT_SHIFT;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset + start, Math.min(SEGMENT_MASK + 1, length - start));
+        }
+        return new MappedRegion(segments);
+    }
+
+    byte get(long position) {
+        return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+    }
+
+    int getInt(long position) {
+        return segments[(int) (position >>> SEGMENT_SHIFT)].getInt((int) (position & SEGMENT_MASK));
+    }
+
+    long getLong(long position) {
+        return segments[(int) (position >>> SEGMENT_SHIFT)].getLong((int) (position & SEGMENT_MASK));
+    }
+
+    double getDouble(long position) {
+        return segments[(int) (position >>> SEGMENT_SHIFT)].getDouble((int) (position & SEGMENT_MASK));
+    }
+
+    /**
+     * 读取 [position, position + length) 的字节
+     */
+    byte[] getBytes(long position, int length) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = get(position + i);
+        }
+        return bytes;
+    }
+}
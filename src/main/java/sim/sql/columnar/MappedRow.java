@@ -0,0 +1,47 @@
+package sim.sql.columnar;
+
+/**
+ * 映射文件中的一行，供{@link MappedTable}的行映射函数读取列值生成对象
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 22:30
+ */
+
+public final class MappedRow {
+
+    private final MappedTable<?> table;
+    private final int row;
+
+    MappedRow(MappedTable<?> table, int row) {
+        this.table = table;
+        this.row = row;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * @param column 列名
+     * @return 列值，类型为Integer、Long、Double或String
+     */
+    public Object get(String column) {
+        return table.columnOf(column).get(row);
+    }
+
+    public Integer getInt(String column) {
+        return (Integer) get(column);
+    }
+
+    public Long getLong(String column) {
+        return (Long) get(column);
+    }
+
+    public Double getDouble(String column) {
+        return (Double) get(column);
+    }
+
+    public String getString(String column) {
+        return (String) get(column);
+    }
+}
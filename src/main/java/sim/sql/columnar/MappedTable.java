@@ -0,0 +1,416 @@
+package sim.sql.columnar;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.condition.ColumnCondition;
+import sim.sql.condition.ColumnPredicate;
+import sim.sql.condition.Condition;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+import sim.sql.metrics.QueryListeners;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 内存映射的列式文件，文件由{@link ColumnarFileWriter}生成
+ * <p>where、order by、group by、limit直接在映射的列上执行，只有最终结果行才通过行映射函数生成对象；
+ * 列数据由操作系统按页换入，不占用堆
+ * <li>列上的谓词、自定义多列表达式直接读取列值；其余条件对该行生成对象后判定
+ * <li>order by、group by只能使用文件中的列
+ * <p>结果与对原数据执行{@link SimSqlQueryUtil#query(List, Where, OrderBy, GroupBy, Limit, Class)}一致
+ * <p>关闭后不可再查询；映射区域在被回收前仍占用地址空间
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 22:30
+ */
+
+public final class MappedTable<T> implements AutoCloseable {
+
+    private final Class<T> klass;
+    private final Function<MappedRow, T> mapper;
+    private final FileChannel channel;
+    private final int size;
+    private final Map<String, MappedColumn> columns;
+    private final WhereEvaluator evaluator;
+
+    private MappedTable(Class<T> klass, Function<MappedRow, T> mapper, FileChannel channel, int size,
+                        Map<String, MappedColumn> columns) {
+        this.klass = klass;
+        this.mapper = mapper;
+        this.channel = channel;
+        this.size = size;
+        this.columns = columns;
+        this.evaluator = new WhereEvaluator(size) {
+            @Override
+            int evaluateLeaf(Condition condition, int[] in, int inSize, int[] out) {
+                return MappedTable.this.evaluateLeaf(condition, in, inSize, out);
+            }
+        };
+    }
+
+    /**
+     * 打开列式文件
+     *
+     * @param path   文件路径
+     * @param klass  data类型
+     * @param mapper 行映射函数，由列值生成对象
+     * @param <T>    data类型
+     * @return 表
+     * @throws IOException 读取失败
+     */
+    public static <T> MappedTable<T> open(@NonNull Path path, @NonNull Class<T> klass,
+                                          @NonNull Function<MappedRow, T> mapper) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            final ByteBuffer preamble = read(channel, 0, ColumnarFile.PREAMBLE_LENGTH);
+            if (preamble.getLong() != ColumnarFile.MAGIC) {
+                throw new RuntimeException("不是列式文件：" + path);
+            }
+            final int version = preamble.getInt();
+            if (version != ColumnarFile.VERSION) {
+                throw new RuntimeException("列式文件版本不支持：" + version);
+            }
+            final int headerLength = preamble.getInt();
+            final int size = preamble.getInt();
+            final int columnCount = preamble.getInt();
+            final ByteBuffer header = read(channel, ColumnarFile.PREAMBLE_LENGTH, headerLength - ColumnarFile.PREAMBLE_LENGTH);
+            final long nullsLength = (long) ((size + 63) >>> 6) << 3;
+            final Map<String, MappedColumn> columns = new LinkedHashMap<>();
+            for (int i = 0; i < columnCount; i++) {
+                final byte[] name = new byte[header.getShort() & 0xFFFF];
+                header.get(name);
+                final ColumnarFile.Type type = ColumnarFile.Type.values()[header.get()];
+                final long nullsOffset = header.getLong();
+                final long valuesOffset = header.getLong();
+                final long valuesLength = header.getLong();
+                final long dataOffset = header.getLong();
+                final long dataLength = header.getLong();
+                columns.put(new String(name, StandardCharsets.UTF_8), new MappedColumn(type,
+                        MappedRegion.map(channel, nullsOffset, nullsLength),
+                        MappedRegion.map(channel, valuesOffset, valuesLength),
+                        MappedRegion.map(channel, dataOffset, dataLength)));
+            }
+            return new MappedTable<>(klass, mapper, channel, size, Collections.unmodifiableMap(columns));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new RuntimeException("列式文件不完整");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    public Class<T> getType() {
+        return klass;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 文件中的列名
+     */
+    public Set<String> columns() {
+        return columns.keySet();
+    }
+
+    /**
+     * @param row 行号
+     * @return 该行生成的对象
+     */
+    public T row(int row) {
+        return mapper.apply(new MappedRow(this, row));
+    }
+
+    MappedColumn columnOf(String column) {
+        final MappedColumn mappedColumn = columns.get(column);
+        if (null == mappedColumn) {
+            throw new RuntimeException("字段无效：" + column);
+        }
+        return mappedColumn;
+    }
+
+    /**
+     * 求值where
+     *
+     * @param where where
+     * @return 命中行
+     */
+    public SelectionVector filter(@NonNull Where where) {
+        final SelectionVector all = SelectionVector.all(size);
+        final int[] out = new int[size];
+        return new SelectionVector(out, evaluator.evaluate(where, all.rows(), all.size(), out));
+    }
+
+    /**
+     * @param selection 命中行
+     * @return 对应的对象，保持原顺序
+     */
+    public List<T> select(@NonNull SelectionVector selection) {
+        final List<T> result = new ArrayList<>(selection.size());
+        for (int i = 0; i < selection.size(); i++) {
+            result.add(row(selection.get(i)));
+        }
+        return result;
+    }
+
+    /**
+     * 类SQL查询
+     *
+     * @param where   where，支持add or，支持嵌套
+     * @param orderBy 排序字段
+     * @param groupBy 分组字段
+     * @param limit   limit字段
+     * @return 查询结果，分组内以第一条为准
+     */
+    public List<T> query(@NonNull Where where, @NonNull OrderBy orderBy, @NonNull GroupBy groupBy, @NonNull Limit limit) {
+        final SelectionVector selection = filter(where);
+        int[] rows = selection.rows();
+        int count = selection.size();
+        // 无分组时只需排出前offset + limit行
+        int sorted = count;
+        if (groupBy.getGroupBy().isEmpty() && null != limit.getLimit()) {
+            sorted = (int) Math.min((long) (null == limit.getOffset() ? 0 : limit.getOffset()) + limit.getLimit(), count);
+        }
+        if (!orderBy.getOrderBy().isEmpty()) {
+            rows = orderBy(orderBy, rows, count, sorted);
+        }
+        if (!groupBy.getGroupBy().isEmpty()) {
+            rows = groupBy(groupBy, rows, count);
+            count = rows.length;
+        }
+        int from = 0;
+        int to = count;
+        if (null != limit.getLimit()) {
+            from = Math.min(null == limit.getOffset() ? 0 : limit.getOffset(), count);
+            to = (int) Math.min((long) from + limit.getLimit(), count);
+        }
+        final List<T> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(row(rows[i]));
+        }
+        return result;
+    }
+
+    /**
+     * 稳定排序，排序列先按行取出为原始类型数组，再对位置做归并排序
+     * <p>只需前top行时在位置上用有界堆选取，同样稳定
+     *
+     * @return 排序后的行号，只含前top行
+     */
+    private int[] orderBy(OrderBy orderBy, int[] rows, int count, int top) {
+        final List<OrderBy.SortColumn> sortColumns = orderBy.getOrderBy();
+        final ComparableColumn[] keys = new ComparableColumn[sortColumns.size()];
+        final boolean[] desc = new boolean[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            final MappedColumn column = columns.get(sortColumns.get(i).getColumn());
+            if (null == column) {
+                throw new RuntimeException("order by字段无效");
+            }
+            keys[i] = sortKeyOf(column, rows, count);
+            desc[i] = OrderBy.Sort.DESC.equals(sortColumns.get(i).getSort());
+        }
+        final int[] positions = new int[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = i;
+        }
+        final int[] selected = ColumnSort.of(keys, desc).top(positions, top);
+        final int[] sorted = new int[selected.length];
+        for (int i = 0; i < selected.length; i++) {
+            sorted[i] = rows[selected[i]];
+        }
+        return sorted;
+    }
+
+    /**
+     * 按位置比较，null视为最小
+     */
+    private static ComparableColumn sortKeyOf(MappedColumn column, int[] rows, int count) {
+        final boolean[] nulls = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            nulls[i] = column.isNull(rows[i]);
+        }
+        switch (column.getType()) {
+            case INT:
+            case LONG: {
+                final long[] values = new long[count];
+                for (int i = 0; i < count; i++) {
+                    values[i] = ColumnarFile.Type.INT == column.getType() ? column.getInt(rows[i]) : column.getLong(rows[i]);
+                }
+                return (p, q) -> nulls[p] || nulls[q] ? Boolean.compare(!nulls[p], !nulls[q]) : Long.compare(values[p], values[q]);
+            }
+            case DOUBLE: {
+                final double[] values = new double[count];
+                for (int i = 0; i < count; i++) {
+                    values[i] = column.getDouble(rows[i]);
+                }
+                return (p, q) -> nulls[p] || nulls[q] ? Boolean.compare(!nulls[p], !nulls[q]) : Double.compare(values[p], values[q]);
+            }
+            default: {
+                final String[] values = new String[count];
+                for (int i = 0; i < count; i++) {
+                    values[i] = nulls[i] ? null : column.getString(rows[i]);
+                }
+                return (p, q) -> nulls[p] || nulls[q] ? Boolean.compare(!nulls[p], !nulls[q]) : values[p].compareTo(values[q]);
+            }
+        }
+    }
+
+    /**
+     * 每组保留第一条，保持顺序
+     * <p>开放寻址哈希，槽中存组号，键直接在映射的列上比较，逐行不生成对象
+     */
+    private int[] groupBy(GroupBy groupBy, int[] rows, int count) {
+        final List<String> names = groupBy.getGroupBy();
+        final MappedColumn[] groupColumns = new MappedColumn[names.size()];
+        for (int i = 0; i < groupColumns.length; i++) {
+            groupColumns[i] = columns.get(names.get(i));
+            if (null == groupColumns[i]) {
+                throw new RuntimeException("group by字段无效");
+            }
+        }
+        // 下标为组号：每组第一行及其哈希
+        final int[] firsts = new int[count];
+        final int[] hashes = new int[count];
+        // 组号 + 1，0为空槽
+        int[] slots = new int[1 << 5];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            final int row = rows[i];
+            int hash = 1;
+            for (MappedColumn column : groupColumns) {
+                hash = 31 * hash + column.hashValue(row);
+            }
+            hash = mix(hash);
+            final int mask = slots.length - 1;
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                final int group = slots[slot] - 1;
+                if (group < 0) {
+                    firsts[size] = row;
+                    hashes[size] = hash;
+                    slots[slot] = ++size;
+                    if (size << 1 > slots.length) {
+                        slots = rehash(slots.length << 1, hashes, size);
+                    }
+                    break;
+                }
+                if (hashes[group] == hash && sameKey(groupColumns, firsts[group], row)) {
+                    break;
+                }
+            }
+        }
+        return Arrays.copyOf(firsts, size);
+    }
+
+    private static boolean sameKey(MappedColumn[] groupColumns, int row, int otherRow) {
+        for (MappedColumn column : groupColumns) {
+            if (!column.valueEquals(row, otherRow)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] rehash(int capacity, int[] hashes, int size) {
+        final int[] slots = new int[capacity];
+        final int mask = capacity - 1;
+        for (int group = 0; group < size; group++) {
+            int slot = hashes[group] & mask;
+            while (0 != slots[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = group + 1;
+        }
+        return slots;
+    }
+
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        return hash ^ hash >>> 16;
+    }
+
+    /**
+     * 谓词、多列表达式在映射的列上求值，其余条件对该行生成对象后判定
+     */
+    private int evaluateLeaf(Condition condition, int[] in, int inSize, int[] out) {
+        if (condition instanceof ColumnCondition) {
+            final ColumnCondition columnCondition = (ColumnCondition) condition;
+            final ColumnPredicate predicate = columnCondition.getPredicate();
+            final List<String> names = columnCondition.getColumns();
+            if (null != predicate && columns.containsKey(names.get(0))) {
+                return columns.get(names.get(0)).filter(columnCondition, in, inSize, out);
+            }
+            if (columns.keySet().containsAll(names)) {
+                return evaluateExpression(columnCondition, in, inSize, out);
+            }
+        }
+        final Condition bound = condition.bind(klass);
+        int size = 0;
+        for (int i = 0; i < inSize; i++) {
+            final int row = in[i];
+            if (bound.match(row(row))) {
+                out[size++] = row;
+            }
+        }
+        return size;
+    }
+
+    private int evaluateExpression(ColumnCondition condition, int[] in, int inSize, int[] out) {
+        final List<String> names = condition.getColumns();
+        final MappedColumn[] expressionColumns = new MappedColumn[names.size()];
+        for (int i = 0; i < expressionColumns.length; i++) {
+            expressionColumns[i] = columns.get(names.get(i));
+        }
+        int size = 0;
+        for (int i = 0; i < inSize; i++) {
+            final int row = in[i];
+            final List<Object> values = new ArrayList<>(expressionColumns.length);
+            for (MappedColumn column : expressionColumns) {
+                values.add(column.get(row));
+            }
+            boolean matched;
+            try {
+                matched = Boolean.TRUE.equals(condition.getExpression().apply(values));
+            } catch (Exception e) {
+                QueryListeners.onError(condition, values, e);
+                matched = false;
+            }
+            if (matched) {
+                out[size++] = row;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
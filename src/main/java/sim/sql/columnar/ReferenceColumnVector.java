@@ -0,0 +1,45 @@
+package sim.sql.columnar;
+
+import sim.sql.util.ColumnAccessor;
+
+import java.util.List;
+
+/**
+ * 引用类型列
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 16:05
+ */
+
+final class ReferenceColumnVector extends ColumnVector {
+
+    private final Object[] values;
+
+    private ReferenceColumnVector(String name, Class<?> type, Object[] values, long[] nulls) {
+        super(name, type, nulls);
+        this.values = values;
+    }
+
+    static ReferenceColumnVector of(ColumnAccessor accessor, List<?> rows) {
+        final int size = rows.size();
+        final Object[] values = new Object[size];
+        long[] nulls = null;
+        for (int i = 0; i < size; i++) {
+            values[i] = accessor.get(rows.get(i));
+            if (null == values[i]) {
+                nulls = markNull(nulls, size, i);
+            }
+        }
+        return new ReferenceColumnVector(accessor.getColumn(), accessor.getType(), values, nulls);
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public Object get(int row) {
+        return values[row];
+    }
+}
@@ -0,0 +1,59 @@
+package sim.sql.columnar;
+
+import java.util.Arrays;
+
+/**
+ * 选择向量：命中的行号，升序
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 16:05
+ */
+
+public final class SelectionVector {
+
+    private final int[] rows;
+    private final int size;
+
+    SelectionVector(int[] rows, int size) {
+        this.rows = rows;
+        this.size = size;
+    }
+
+    /**
+     * @param size 总行数
+     * @return 全部行
+     */
+    static SelectionVector all(int size) {
+        final int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+        return new SelectionVector(rows, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index 第几个命中
+     * @return 行号
+     */
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        return rows[index];
+    }
+
+    /**
+     * @return 行号副本
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(rows, size);
+    }
+
+    int[] rows() {
+        return rows;
+    }
+}
@@ -0,0 +1,121 @@
+package sim.sql.columnar;
+
+import sim.sql.condition.Condition;
+import sim.sql.keyword.Where;
+
+import java.util.List;
+
+/**
+ * 在行号数组上求值where：add依次在存活行上收窄，or只在尚未命中的行上求值
+ * <p>叶子条件由子类按各自的存储求值
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 22:30
+ */
+
+abstract class WhereEvaluator {
+
+    /**
+     * 总行数，行号小于该值
+     */
+    private final int rowCount;
+
+    WhereEvaluator(int rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * 在输入行上求值条件，in与out可为同一数组
+     *
+     * @return 输出个数
+     */
+    final int evaluate(Condition condition, int[] in, int inSize, int[] out) {
+        if (condition instanceof Where) {
+            return evaluateWhere((Where) condition, in, inSize, out);
+        }
+        return evaluateLeaf(condition, in, inSize, out);
+    }
+
+    /**
+     * 求值非where条件，in与out可为同一数组
+     *
+     * @return 输出个数
+     */
+    abstract int evaluateLeaf(Condition condition, int[] in, int inSize, int[] out);
+
+    /**
+     * (全部add) or (任一or)
+     */
+    private int evaluateWhere(Where where, int[] in, int inSize, int[] out) {
+        final List<Condition> adds = where.getAddConditions();
+        final List<Condition> ors = where.getOrConditions();
+        if (adds.isEmpty() && ors.isEmpty()) {
+            if (in != out) {
+                System.arraycopy(in, 0, out, 0, inSize);
+            }
+            return inSize;
+        }
+        if (ors.isEmpty()) {
+            return evaluateAdd(adds, in, inSize, out);
+        }
+        final long[] matched = new long[(rowCount + 63) >>> 6];
+        final int[] buffer = new int[inSize];
+        // 尚未命中的行，null表示仍为in；in可能与out是同一数组，不能改写
+        int[] remaining = null;
+        int remainingSize = inSize;
+        if (!adds.isEmpty()) {
+            final int size = evaluateAdd(adds, in, inSize, buffer);
+            mark(matched, buffer, size);
+            remaining = new int[inSize];
+            remainingSize = exclude(in, inSize, matched, remaining);
+        }
+        for (Condition condition : ors) {
+            if (0 == remainingSize) {
+                break;
+            }
+            final int[] source = null == remaining ? in : remaining;
+            final int size = evaluate(condition, source, remainingSize, buffer);
+            mark(matched, buffer, size);
+            if (null == remaining) {
+                remaining = new int[inSize];
+            }
+            remainingSize = exclude(source, remainingSize, matched, remaining);
+        }
+        int size = 0;
+        for (int i = 0; i < inSize; i++) {
+            final int row = in[i];
+            if ((matched[row >>> 6] & (1L << row)) != 0) {
+                out[size++] = row;
+            }
+        }
+        return size;
+    }
+
+    private int evaluateAdd(List<Condition> adds, int[] in, int inSize, int[] out) {
+        int size = evaluate(adds.get(0), in, inSize, out);
+        for (int i = 1; i < adds.size() && size > 0; i++) {
+            size = evaluate(adds.get(i), out, size, out);
+        }
+        return size;
+    }
+
+    private static void mark(long[] bitmap, int[] rows, int size) {
+        for (int i = 0; i < size; i++) {
+            bitmap[rows[i] >>> 6] |= 1L << rows[i];
+        }
+    }
+
+    /**
+     * 去掉已命中行，in与out可为同一数组
+     */
+    private static int exclude(int[] in, int inSize, long[] bitmap, int[] out) {
+        int size = 0;
+        for (int i = 0; i < inSize; i++) {
+            final int row = in[i];
+            if ((bitmap[row >>> 6] & (1L << row)) == 0) {
+                out[size++] = row;
+            }
+        }
+        return size;
+    }
+}
@@ -1,12 +1,12 @@
 package sim.sql.condition;
 
+import sim.sql.metrics.QueryListeners;
+import sim.sql.util.ColumnAccessor;
 import sim.sql.util.SimSqlQueryUtil;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Function;
 
 /**
@@ -21,9 +21,21 @@ public final class ColumnCondition implements Condition {
     private final List<String> columns;
     private final Function<List<Object>, Boolean> expression;
 
-    private ColumnCondition(List<String> columns, Function<List<Object>, Boolean> expression) {
+    /**
+     * 单列表达式，单列时直接传列值，免去逐行构造列表
+     */
+    private final Function<Object, Boolean> singleExpression;
+
+    /**
+     * 最近一次解析的class及访问器，同一列表内类型一致，避免逐行查缓存
+     */
+    private volatile Binding binding;
+
+    private ColumnCondition(List<String> columns, Function<List<Object>, Boolean> expression,
+                            Function<Object, Boolean> singleExpression) {
         this.columns = columns;
         this.expression = expression;
+        this.singleExpression = singleExpression;
     }
 
     public List<String> getColumns() {
@@ -34,34 +46,166 @@ public final class ColumnCondition implements Condition {
         return expression;
     }
 
+    /**
+     * @return 由{@link sim.sql.keyword.Column}生成的单列谓词，自定义表达式时为null
+     */
+    public ColumnPredicate getPredicate() {
+        return singleExpression instanceof ColumnPredicate ? (ColumnPredicate) singleExpression : null;
+    }
+
     /**
      * @implNote 允许obj为null，但这时不允许查询其字段，否则强制置为不匹配
      */
     @Override
     public boolean match(Object obj) {
         try {
-            final Map<String, Field> fieldMap = SimSqlQueryUtil.fieldsOf(obj);
-            final List<Object> columnValues = new ArrayList<>(columns.size());
-            for (String column : columns) {
-                final Field field = fieldMap.get(column);
-                if (null == field) {
+            final ColumnAccessor[] accessors = accessorsOf(obj);
+            if (null == accessors) {
+                return false;
+            }
+            if (null != singleExpression) {
+                return Boolean.TRUE.equals(singleExpression.apply(accessors[0].get(obj)));
+            }
+            final List<Object> columnValues = new ArrayList<>(accessors.length);
+            for (ColumnAccessor accessor : accessors) {
+                columnValues.add(accessor.get(obj));
+            }
+            return Boolean.TRUE.equals(expression.apply(columnValues));
+        } catch (Exception e) {
+            onError(obj, e);
+            return false;
+        }
+    }
+
+    /**
+     * @implNote 列不存在时恒为false，与{@link #match(Object)}一致
+     */
+    @Override
+    public Condition bind(Class<?> klass) {
+        return bind(column -> SimSqlQueryUtil.accessorOf(klass, column));
+    }
+
+    /**
+     * @implNote 列不存在时恒为false，与{@link #match(Object)}一致
+     */
+    @Override
+    public Condition bind(Function<String, ColumnAccessor> resolver) {
+        final ColumnAccessor[] accessors = new ColumnAccessor[columns.size()];
+        for (int i = 0; i < accessors.length; i++) {
+            accessors[i] = resolver.apply(columns.get(i));
+            if (null == accessors[i]) {
+                return obj -> false;
+            }
+        }
+        if (null != singleExpression) {
+            final ColumnAccessor accessor = accessors[0];
+            final Function<Object, Boolean> function = singleExpression;
+            return obj -> {
+                try {
+                    return Boolean.TRUE.equals(function.apply(accessor.get(obj)));
+                } catch (Exception e) {
+                    onError(obj, e);
                     return false;
                 }
-                columnValues.add(field.get(obj));
+            };
+        }
+        return obj -> {
+            try {
+                final List<Object> columnValues = new ArrayList<>(accessors.length);
+                for (ColumnAccessor accessor : accessors) {
+                    columnValues.add(accessor.get(obj));
+                }
+                return Boolean.TRUE.equals(expression.apply(columnValues));
+            } catch (Exception e) {
+                onError(obj, e);
+                return false;
             }
-            return expression.apply(columnValues);
-        } catch (Exception e) {
-            // todo log error using slf4j
+        };
+    }
+
+    /**
+     * 判定异常时按不匹配处理，有监听器时上报
+     */
+    private void onError(Object obj, Exception e) {
+        QueryListeners.onError(this, obj, e);
+    }
+
+    /**
+     * 解析列访问器
+     *
+     * @return 任一列不存在时为null
+     */
+    private ColumnAccessor[] accessorsOf(Object obj) {
+        final Class<?> klass = SimSqlQueryUtil.classOf(obj);
+        final Binding current = binding;
+        if (null != current && current.klass == klass) {
+            return current.accessors;
+        }
+        final ColumnAccessor[] accessors = new ColumnAccessor[columns.size()];
+        for (int i = 0; i < accessors.length; i++) {
+            accessors[i] = SimSqlQueryUtil.accessorOf(klass, columns.get(i));
+            if (null == accessors[i]) {
+                return null;
+            }
+        }
+        binding = new Binding(klass, accessors);
+        return accessors;
+    }
+
+    /**
+     * 列相同且谓词相同即相等；自定义表达式按表达式对象判断
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ColumnCondition)) {
             return false;
         }
+        final ColumnCondition that = (ColumnCondition) o;
+        if (!columns.equals(that.columns)) {
+            return false;
+        }
+        final ColumnPredicate predicate = getPredicate();
+        if (null != predicate) {
+            return predicate.equals(that.getPredicate());
+        }
+        if (null != that.getPredicate()) {
+            return false;
+        }
+        return null != singleExpression ? singleExpression == that.singleExpression : expression == that.expression;
+    }
+
+    @Override
+    public int hashCode() {
+        final ColumnPredicate predicate = getPredicate();
+        final Object function = null != singleExpression ? singleExpression : expression;
+        return 31 * columns.hashCode() + (null != predicate ? predicate.hashCode() : System.identityHashCode(function));
+    }
+
+    @Override
+    public String toString() {
+        final ColumnPredicate predicate = getPredicate();
+        return columns + " " + (null != predicate ? predicate : "expression");
     }
 
     public static ColumnCondition of(String column, Function<Object, Boolean> expression) {
-        final Function<List<Object>, Boolean> function = o -> expression.apply(Collections.singletonList(o));
-        return new ColumnCondition(Collections.singletonList(column), function);
+        final Function<List<Object>, Boolean> function = o -> expression.apply(o.get(0));
+        return new ColumnCondition(Collections.singletonList(column), function, expression);
     }
 
     public static ColumnCondition of(List<String> columns, Function<List<Object>, Boolean> expression) {
-        return new ColumnCondition(columns, expression);
+        return new ColumnCondition(columns, expression, null);
+    }
+
+    private static final class Binding {
+        private final Class<?> klass;
+        private final ColumnAccessor[] accessors;
+
+        private Binding(Class<?> klass, ColumnAccessor[] accessors) {
+            this.klass = klass;
+            this.accessors = accessors;
+        }
     }
 }
@@ -0,0 +1,82 @@
+package sim.sql.condition;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 可识别的单列谓词：运算符 + 操作数，逐行判定委托给表达式
+ * <p>列式、索引等执行方式据此生成专用实现，语义必须与逐行判定一致
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 16:05
+ */
+
+public final class ColumnPredicate implements Function<Object, Boolean> {
+
+    private final Operator operator;
+    private final Object operand;
+    private final Function<Object, Boolean> expression;
+
+    private ColumnPredicate(Operator operator, Object operand, Function<Object, Boolean> expression) {
+        this.operator = operator;
+        this.operand = operand;
+        this.expression = expression;
+    }
+
+    /**
+     * @param operator   运算符
+     * @param operand    操作数，in时为Set
+     * @param expression 逐行判定
+     * @return 谓词
+     */
+    public static ColumnPredicate of(Operator operator, Object operand, Function<Object, Boolean> expression) {
+        return new ColumnPredicate(operator, operand, expression);
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public Object getOperand() {
+        return operand;
+    }
+
+    @Override
+    public Boolean apply(Object o) {
+        return expression.apply(o);
+    }
+
+    /**
+     * 运算符与操作数相同即相等，表达式由二者决定
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ColumnPredicate)) {
+            return false;
+        }
+        final ColumnPredicate that = (ColumnPredicate) o;
+        return operator == that.operator && Objects.equals(operand, that.operand);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * operator.hashCode() + Objects.hashCode(operand);
+    }
+
+    @Override
+    public String toString() {
+        return operator + " " + operand;
+    }
+
+    /**
+     * 运算符
+     */
+    public enum Operator {
+        // =、>、<、>=、<=、in、like %x%、like x%、like %x
+        EQUAL, GREATER_THAN, LESS_THAN, GREATER_THAN_OR_EQUAL, LESS_THAN_OR_EQUAL, IN,
+        LIKE_INCLUDE, LIKE_LEFT, LIKE_RIGHT
+    }
+}
@@ -1,5 +1,9 @@
 package sim.sql.condition;
 
+import sim.sql.util.ColumnAccessor;
+
+import java.util.function.Function;
+
 /**
  * 查询条件
  *
@@ -16,4 +20,26 @@ public interface Condition {
      * @return 是否满足条件
      */
     boolean match(Object obj);
+
+    /**
+     * 按数据类型预先解析列，返回的条件逐行判定时不再查询上下文类型与缓存
+     * <p>默认无需解析，返回自身
+     *
+     * @param klass 数据类型
+     * @return 与当前条件等价的条件
+     */
+    default Condition bind(Class<?> klass) {
+        return this;
+    }
+
+    /**
+     * 按列解析器预先解析列，用于行不是单一类型的场景，如连接的左右表与连接结果
+     * <p>默认无需解析，返回自身
+     *
+     * @param resolver 列名 -> 列访问器，列不存在时返回null
+     * @return 与当前条件等价的条件
+     */
+    default Condition bind(Function<String, ColumnAccessor> resolver) {
+        return this;
+    }
 }
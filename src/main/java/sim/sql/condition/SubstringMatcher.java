@@ -0,0 +1,44 @@
+package sim.sql.condition;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * 子串匹配，语义同{@link String#contains(CharSequence)}
+ * <li>空串恒匹配，单字符按字符查找
+ * <li>其余交给{@link String#indexOf(String)}，JVM对其有内建优化，比逐字符的跳跃查找更快
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 00:50
+ */
+
+public final class SubstringMatcher {
+
+    private final String keyword;
+
+    private SubstringMatcher(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public static SubstringMatcher of(@NonNull String keyword) {
+        return new SubstringMatcher(keyword);
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    /**
+     * @param text 文本
+     * @return 是否包含关键字
+     */
+    public boolean matches(@NonNull String text) {
+        switch (keyword.length()) {
+            case 0:
+                return true;
+            case 1:
+                return text.indexOf(keyword.charAt(0)) >= 0;
+            default:
+                return text.contains(keyword);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package sim.sql.index;
+
+import sim.sql.condition.ColumnPredicate;
+import sim.sql.util.ColumnAccessor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 前缀/后缀索引：排序的String值及行号，前缀相同的值在排序后连续
+ * <li>前缀索引按原值排序，支持like x%
+ * <li>后缀索引按逐字符反转后的值排序，支持like %x
+ * <p>只索引String值，与逐行判定一致
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 00:50
+ */
+
+final class AffixIndex {
+
+    private final boolean suffix;
+    private final String[] keys;
+    private final int[] rows;
+
+    private AffixIndex(boolean suffix, String[] keys, int[] rows) {
+        this.suffix = suffix;
+        this.keys = keys;
+        this.rows = rows;
+    }
+
+    /**
+     * @param suffix 是否为后缀索引
+     */
+    static AffixIndex build(ColumnAccessor accessor, List<?> data, boolean suffix) {
+        final String[] raw = new String[data.size()];
+        int size = 0;
+        for (int i = 0; i < raw.length; i++) {
+            final Object value = accessor.get(data.get(i));
+            if (value instanceof String) {
+                raw[i] = suffix ? reverse((String) value) : (String) value;
+                size++;
+            }
+        }
+        final Integer[] order = new Integer[size];
+        for (int i = 0, j = 0; i < raw.length; i++) {
+            if (null != raw[i]) {
+                order[j++] = i;
+            }
+        }
+        Arrays.sort(order, (o, p) -> raw[o].compareTo(raw[p]));
+        final String[] keys = new String[size];
+        final int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = order[i];
+            keys[i] = raw[order[i]];
+        }
+        return new AffixIndex(suffix, keys, rows);
+    }
+
+    /**
+     * 按char反转，不合并代理对，保证与{@link String#endsWith(String)}逐字符一致
+     */
+    private static String reverse(String value) {
+        final char[] chars = new char[value.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = value.charAt(chars.length - 1 - i);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @return 命中行号，不支持该谓词时为null
+     */
+    int[] lookup(ColumnPredicate predicate) {
+        if ((suffix ? ColumnPredicate.Operator.LIKE_RIGHT : ColumnPredicate.Operator.LIKE_LEFT) != predicate.getOperator()) {
+            return null;
+        }
+        final String prefix = suffix ? reverse((String) predicate.getOperand()) : (String) predicate.getOperand();
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int to = low;
+        while (to < keys.length && keys[to].startsWith(prefix)) {
+            to++;
+        }
+        if (low == to) {
+            return RowIds.EMPTY;
+        }
+        final int[] result = Arrays.copyOfRange(rows, low, to);
+        Arrays.sort(result);
+        return result;
+    }
+}
@@ -0,0 +1,71 @@
+package sim.sql.index;
+
+import sim.sql.condition.ColumnPredicate;
+import sim.sql.util.ColumnAccessor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 哈希索引：列值 -> 行号，支持 = 与 in，相等语义同{@link java.util.Objects#equals(Object, Object)}
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 17:10
+ */
+
+final class HashIndex {
+
+    private final Map<Object, int[]> postings;
+
+    private HashIndex(Map<Object, int[]> postings) {
+        this.postings = postings;
+    }
+
+    static HashIndex build(ColumnAccessor accessor, List<?> rows) {
+        // 首位存个数，其后为行号
+        final Map<Object, int[]> builders = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            final Object value = accessor.get(rows.get(i));
+            int[] builder = builders.get(value);
+            if (null == builder) {
+                builder = new int[4];
+                builders.put(value, builder);
+            } else if (builder[0] + 1 == builder.length) {
+                builder = Arrays.copyOf(builder, builder.length << 1);
+                builders.put(value, builder);
+            }
+            builder[++builder[0]] = i;
+        }
+        final Map<Object, int[]> postings = new HashMap<>(builders.size() << 1);
+        builders.forEach((value, builder) -> postings.put(value, Arrays.copyOfRange(builder, 1, builder[0] + 1)));
+        return new HashIndex(postings);
+    }
+
+    /**
+     * @return 命中行号，不支持该谓词时为null
+     */
+    int[] lookup(ColumnPredicate predicate) {
+        switch (predicate.getOperator()) {
+            case EQUAL:
+                return postings.getOrDefault(predicate.getOperand(), RowIds.EMPTY);
+            case IN:
+                // 不同值的行号互不相交
+                final List<int[]> hits = new ArrayList<>();
+                int size = 0;
+                for (Object value : (Set<?>) predicate.getOperand()) {
+                    final int[] rows = postings.get(value);
+                    if (null != rows) {
+                        hits.add(rows);
+                        size += rows.length;
+                    }
+                }
+                return RowIds.unionDisjoint(hits, size);
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package sim.sql.index;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.condition.ColumnCondition;
+import sim.sql.condition.ColumnPredicate;
+import sim.sql.condition.Condition;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+import sim.sql.util.ColumnAccessor;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 带二级索引的数据集快照
+ * <li>哈希索引：= 、in
+ * <li>有序索引：>、>=、<、<=
+ * <li>三元组索引：like %x%，前缀索引：like x%，后缀索引：like %x
+ * <p>where中可走索引的谓词先得到行号集合，与或对应集合交并，其余谓词只在候选行上逐行判定；
+ * 无法走索引时退化为全量扫描，结果与{@link SimSqlQueryUtil#query(List, Where, OrderBy, GroupBy, Limit, Class)}一致
+ * <p>快照不感知源数据变化，数据刷新后需重新生成
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 17:10
+ */
+
+public final class IndexedDataset<T> {
+
+    private final Class<T> klass;
+    private final List<T> rows;
+    private final Map<String, HashIndex> hashIndexes = new HashMap<>();
+    private final Map<String, SortedIndex> sortedIndexes = new HashMap<>();
+    private final Map<String, TrigramIndex> trigramIndexes = new HashMap<>();
+    private final Map<String, AffixIndex> prefixIndexes = new HashMap<>();
+    private final Map<String, AffixIndex> suffixIndexes = new HashMap<>();
+
+    private IndexedDataset(Class<T> klass, List<T> rows) {
+        this.klass = klass;
+        this.rows = rows;
+    }
+
+    public static <T> IndexedDataset<T> of(@NonNull List<T> data, @NonNull Class<T> klass) {
+        return new IndexedDataset<>(klass, Collections.unmodifiableList(new ArrayList<>(data)));
+    }
+
+    /**
+     * 建立哈希索引
+     *
+     * @param column 列名
+     * @return this
+     */
+    public IndexedDataset<T> hashIndex(@NonNull String column) {
+        hashIndexes.put(column, HashIndex.build(accessorOf(column), rows));
+        return this;
+    }
+
+    /**
+     * 建立有序索引
+     *
+     * @param column 列名
+     * @return this
+     */
+    public IndexedDataset<T> sortedIndex(@NonNull String column) {
+        sortedIndexes.put(column, SortedIndex.build(accessorOf(column), rows));
+        return this;
+    }
+
+    /**
+     * 建立三元组索引，用于like %x%，x不足3个字符时不走索引
+     *
+     * @param column 列名
+     * @return this
+     */
+    public IndexedDataset<T> trigramIndex(@NonNull String column) {
+        trigramIndexes.put(column, TrigramIndex.build(accessorOf(column), rows));
+        return this;
+    }
+
+    /**
+     * 建立前缀索引，用于like x%
+     *
+     * @param column 列名
+     * @return this
+     */
+    public IndexedDataset<T> prefixIndex(@NonNull String column) {
+        prefixIndexes.put(column, AffixIndex.build(accessorOf(column), rows, false));
+        return this;
+    }
+
+    /**
+     * 建立后缀索引，用于like %x
+     *
+     * @param column 列名
+     * @return this
+     */
+    public IndexedDataset<T> suffixIndex(@NonNull String column) {
+        suffixIndexes.put(column, AffixIndex.build(accessorOf(column), rows, true));
+        return this;
+    }
+
+    private ColumnAccessor accessorOf(String column) {
+        final ColumnAccessor accessor = SimSqlQueryUtil.accessorOf(klass, column);
+        if (null == accessor) {
+            throw new RuntimeException("索引字段无效：" + column);
+        }
+        return accessor;
+    }
+
+    public List<T> rows() {
+        return rows;
+    }
+
+    /**
+     * 求值where
+     *
+     * @param where where
+     * @return 命中的数据，保持原顺序
+     */
+    public List<T> filter(@NonNull Where where) {
+        final int[] resolved = resolve(where);
+        final List<T> result = new ArrayList<>(null == resolved ? rows.size() : resolved.length);
+        if (null == resolved) {
+            final Condition bound = where.bind(klass);
+            for (T row : rows) {
+                if (bound.match(row)) {
+                    result.add(row);
+                }
+            }
+        } else {
+            for (int row : resolved) {
+                result.add(rows.get(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 类SQL查询
+     */
+    public List<T> query(@NonNull Where where, @NonNull OrderBy orderBy, @NonNull GroupBy groupBy, @NonNull Limit limit) {
+        return SimSqlQueryUtil.query(filter(where), orderBy, groupBy, limit, klass);
+    }
+
+    /**
+     * 借助索引求出条件的精确命中行
+     *
+     * @return 升序行号，无法借助索引时为null
+     */
+    private int[] resolve(Condition condition) {
+        if (condition instanceof Where) {
+            return resolveWhere((Where) condition);
+        }
+        if (condition instanceof ColumnCondition) {
+            final ColumnPredicate predicate = ((ColumnCondition) condition).getPredicate();
+            if (null == predicate) {
+                return null;
+            }
+            final String column = ((ColumnCondition) condition).getColumns().get(0);
+            final HashIndex hashIndex = hashIndexes.get(column);
+            final int[] hashed = null == hashIndex ? null : hashIndex.lookup(predicate);
+            if (null != hashed) {
+                return hashed;
+            }
+            final SortedIndex sortedIndex = sortedIndexes.get(column);
+            final int[] ranged = null == sortedIndex ? null : sortedIndex.lookup(predicate);
+            if (null != ranged) {
+                return ranged;
+            }
+            switch (predicate.getOperator()) {
+                case LIKE_INCLUDE:
+                    final TrigramIndex trigramIndex = trigramIndexes.get(column);
+                    return null == trigramIndex ? null : trigramIndex.lookup(predicate);
+                case LIKE_LEFT:
+                    final AffixIndex prefixIndex = prefixIndexes.get(column);
+                    return null == prefixIndex ? null : prefixIndex.lookup(predicate);
+                case LIKE_RIGHT:
+                    final AffixIndex suffixIndex = suffixIndexes.get(column);
+                    return null == suffixIndex ? null : suffixIndex.lookup(predicate);
+                default:
+                    return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * (全部add) or (任一or)
+     * <li>add组：至少一个可走索引即可，其余add在候选行上逐行判定
+     * <li>or组：需全部可走索引
+     */
+    private int[] resolveWhere(Where where) {
+        final List<Condition> adds = where.getAddConditions();
+        final List<Condition> ors = where.getOrConditions();
+        if (adds.isEmpty() && ors.isEmpty()) {
+            return RowIds.all(rows.size());
+        }
+        int[] result = RowIds.EMPTY;
+        if (!adds.isEmpty()) {
+            int[] candidates = null;
+            final List<Condition> residuals = new ArrayList<>(adds.size());
+            for (Condition condition : adds) {
+                final int[] resolved = resolve(condition);
+                if (null == resolved) {
+                    residuals.add(condition);
+                } else {
+                    candidates = null == candidates ? resolved : RowIds.intersect(candidates, resolved);
+                }
+            }
+            if (null == candidates) {
+                return null;
+            }
+            result = residuals.isEmpty() ? candidates : check(candidates, residuals);
+        }
+        for (Condition condition : ors) {
+            final int[] resolved = resolve(condition);
+            if (null == resolved) {
+                return null;
+            }
+            result = RowIds.union(result, resolved);
+        }
+        return result;
+    }
+
+    /**
+     * 候选行上逐行判定剩余条件
+     */
+    private int[] check(int[] candidates, List<Condition> residuals) {
+        final List<Condition> bound = new ArrayList<>(residuals.size());
+        residuals.forEach(o -> bound.add(o.bind(klass)));
+        final int[] result = new int[candidates.length];
+        int size = 0;
+        for (int row : candidates) {
+            if (matchAll(rows.get(row), bound)) {
+                result[size++] = row;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static boolean matchAll(Object element, List<Condition> conditions) {
+        for (Condition condition : conditions) {
+            if (!condition.match(element)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,100 @@
+package sim.sql.index;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 行号集合运算，集合均为升序无重复的int[]
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 17:10
+ */
+
+final class RowIds {
+
+    static final int[] EMPTY = new int[0];
+
+    private RowIds() {
+    }
+
+    static int[] all(int size) {
+        final int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+        return rows;
+    }
+
+    static int[] intersect(int[] a, int[] b) {
+        final int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    static int[] union(int[] a, int[] b) {
+        if (0 == a.length) {
+            return b;
+        }
+        if (0 == b.length) {
+            return a;
+        }
+        final int[] result = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                result[size++] = a[i++];
+            } else if (a[i] > b[j]) {
+                result[size++] = b[j++];
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        while (i < a.length) {
+            result[size++] = a[i++];
+        }
+        while (j < b.length) {
+            result[size++] = b[j++];
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * 两两不相交集合的并集，拼接后排序一次，不逐个合并
+     *
+     * @param sets 集合
+     * @param size 元素总数
+     */
+    static int[] unionDisjoint(List<int[]> sets, int size) {
+        if (0 == size) {
+            return EMPTY;
+        }
+        if (1 == sets.size()) {
+            return sets.get(0);
+        }
+        final int[] result = new int[size];
+        int offset = 0;
+        for (int[] set : sets) {
+            System.arraycopy(set, 0, result, offset, set.length);
+            offset += set.length;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+}
@@ -0,0 +1,132 @@
+package sim.sql.index;
+
+import sim.sql.condition.ColumnPredicate;
+import sim.sql.util.ColumnAccessor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 有序索引：按列值排序的行号，支持 >、>=、<、<=
+ * <p>仅当非null值类型一致且与操作数类型相同时可用，否则逐行判定可能因类型不同得出不同结果；null不参与范围比较
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 17:10
+ */
+
+@SuppressWarnings({"rawtypes", "unchecked"})
+final class SortedIndex {
+
+    /**
+     * 值类型，值类型不一致时为null，索引不可用
+     */
+    private final Class<?> valueClass;
+    private final Comparable[] values;
+    private final int[] rows;
+
+    private SortedIndex(Class<?> valueClass, Comparable[] values, int[] rows) {
+        this.valueClass = valueClass;
+        this.values = values;
+        this.rows = rows;
+    }
+
+    static SortedIndex build(ColumnAccessor accessor, List<?> data) {
+        Class<?> valueClass = null;
+        int size = 0;
+        final Object[] raw = new Object[data.size()];
+        for (int i = 0; i < raw.length; i++) {
+            raw[i] = accessor.get(data.get(i));
+            if (null == raw[i]) {
+                continue;
+            }
+            if (!(raw[i] instanceof Comparable) || (null != valueClass && valueClass != raw[i].getClass())) {
+                return new SortedIndex(null, new Comparable[0], RowIds.EMPTY);
+            }
+            valueClass = raw[i].getClass();
+            size++;
+        }
+        final Integer[] order = new Integer[size];
+        for (int i = 0, j = 0; i < raw.length; i++) {
+            if (null != raw[i]) {
+                order[j++] = i;
+            }
+        }
+        // 稳定排序，值相同按行号
+        Arrays.sort(order, (o, p) -> ((Comparable) raw[o]).compareTo(raw[p]));
+        final Comparable[] values = new Comparable[size];
+        final int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = order[i];
+            values[i] = (Comparable) raw[order[i]];
+        }
+        return new SortedIndex(valueClass, values, rows);
+    }
+
+    /**
+     * @return 命中行号，不支持该谓词时为null
+     */
+    int[] lookup(ColumnPredicate predicate) {
+        final Object operand = predicate.getOperand();
+        if (null == operand || operand.getClass() != valueClass) {
+            return null;
+        }
+        switch (predicate.getOperator()) {
+            case GREATER_THAN:
+                return slice(upperBound(operand), values.length);
+            case GREATER_THAN_OR_EQUAL:
+                return slice(lowerBound(operand), values.length);
+            case LESS_THAN:
+                return slice(0, lowerBound(operand));
+            case LESS_THAN_OR_EQUAL:
+                return slice(0, upperBound(operand));
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 首个 >= value 的位置
+     */
+    private int lowerBound(Object value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (values[mid].compareTo(value) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 首个 > value 的位置
+     */
+    private int upperBound(Object value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (values[mid].compareTo(value) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * [from, to)区间内的行号，转为升序
+     */
+    private int[] slice(int from, int to) {
+        if (from >= to) {
+            return RowIds.EMPTY;
+        }
+        final int[] result = Arrays.copyOfRange(rows, from, to);
+        Arrays.sort(result);
+        return result;
+    }
+}
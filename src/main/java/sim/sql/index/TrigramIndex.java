@@ -0,0 +1,105 @@
+package sim.sql.index;
+
+import sim.sql.condition.ColumnPredicate;
+import sim.sql.condition.SubstringMatcher;
+import sim.sql.util.ColumnAccessor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 三元组索引：相邻3个字符 -> 包含它的行号，支持like %x%
+ * <p>关键字的全部三元组求交得到候选行，再按真实值校验；关键字不足3个字符时不可用。只索引String值，与逐行判定一致
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 00:50
+ */
+
+final class TrigramIndex {
+
+    private final String[] values;
+    private final Map<Long, int[]> postings;
+
+    private TrigramIndex(String[] values, Map<Long, int[]> postings) {
+        this.values = values;
+        this.postings = postings;
+    }
+
+    static TrigramIndex build(ColumnAccessor accessor, List<?> rows) {
+        final String[] values = new String[rows.size()];
+        // 首位存个数，其后为行号
+        final Map<Long, int[]> builders = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            final Object value = accessor.get(rows.get(i));
+            if (!(value instanceof String)) {
+                continue;
+            }
+            values[i] = (String) value;
+            for (int j = 0; j + 3 <= values[i].length(); j++) {
+                final Long trigram = trigramOf(values[i], j);
+                int[] builder = builders.get(trigram);
+                if (null == builder) {
+                    builder = new int[4];
+                    builders.put(trigram, builder);
+                } else if (builder[builder[0]] == i) {
+                    // 同一行内重复的三元组
+                    continue;
+                } else if (builder[0] + 1 == builder.length) {
+                    builder = Arrays.copyOf(builder, builder.length << 1);
+                    builders.put(trigram, builder);
+                }
+                builder[++builder[0]] = i;
+            }
+        }
+        final Map<Long, int[]> postings = new HashMap<>(builders.size() << 1);
+        builders.forEach((trigram, builder) -> postings.put(trigram, Arrays.copyOfRange(builder, 1, builder[0] + 1)));
+        return new TrigramIndex(values, postings);
+    }
+
+    private static long trigramOf(String value, int from) {
+        return ((long) value.charAt(from) << 32) | ((long) value.charAt(from + 1) << 16) | value.charAt(from + 2);
+    }
+
+    /**
+     * @return 命中行号，不支持该谓词时为null
+     */
+    int[] lookup(ColumnPredicate predicate) {
+        if (ColumnPredicate.Operator.LIKE_INCLUDE != predicate.getOperator()
+                || ((String) predicate.getOperand()).length() < 3) {
+            return null;
+        }
+        final String keyword = (String) predicate.getOperand();
+        final Set<Long> trigrams = new LinkedHashSet<>();
+        for (int j = 0; j + 3 <= keyword.length(); j++) {
+            trigrams.add(trigramOf(keyword, j));
+        }
+        final int[][] lists = new int[trigrams.size()][];
+        int index = 0;
+        for (Long trigram : trigrams) {
+            lists[index] = postings.get(trigram);
+            if (null == lists[index]) {
+                return RowIds.EMPTY;
+            }
+            index++;
+        }
+        // 从最短的开始求交
+        Arrays.sort(lists, (o, p) -> Integer.compare(o.length, p.length));
+        int[] candidates = lists[0];
+        for (int i = 1; i < lists.length && candidates.length > 0; i++) {
+            candidates = RowIds.intersect(candidates, lists[i]);
+        }
+        final SubstringMatcher matcher = SubstringMatcher.of(keyword);
+        final int[] result = new int[candidates.length];
+        int size = 0;
+        for (int row : candidates) {
+            if (matcher.matches(values[row])) {
+                result[size++] = row;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+}
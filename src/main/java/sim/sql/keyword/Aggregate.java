@@ -0,0 +1,127 @@
+package sim.sql.keyword;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Objects;
+
+/**
+ * 聚合函数参数，配合{@link GroupBy#aggregate(Aggregate...)}使用
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 15:20
+ */
+
+public class Aggregate {
+    private final Function function;
+    private final String column;
+    private final String alias;
+
+    private Aggregate(Function function, String column, String alias) {
+        this.function = function;
+        this.column = column;
+        this.alias = alias;
+    }
+
+    private static Aggregate of(Function function, String column) {
+        return new Aggregate(function, column, function.name().toLowerCase() + "(" + column + ")");
+    }
+
+    /**
+     * count(*)
+     */
+    public static Aggregate count() {
+        return new Aggregate(Function.COUNT, null, "count(*)");
+    }
+
+    /**
+     * count(column)，不计null
+     */
+    public static Aggregate count(@NonNull String column) {
+        return of(Function.COUNT, column);
+    }
+
+    /**
+     * count(distinct column)，不计null
+     */
+    public static Aggregate countDistinct(@NonNull String column) {
+        return new Aggregate(Function.COUNT_DISTINCT, column, "count(distinct " + column + ")");
+    }
+
+    /**
+     * sum(column)，整数列结果为Long，其余为Double，全为null时为null
+     */
+    public static Aggregate sum(@NonNull String column) {
+        return of(Function.SUM, column);
+    }
+
+    /**
+     * avg(column)，结果为Double，全为null时为null
+     */
+    public static Aggregate avg(@NonNull String column) {
+        return of(Function.AVG, column);
+    }
+
+    /**
+     * min(column)，结果类型同列
+     */
+    public static Aggregate min(@NonNull String column) {
+        return of(Function.MIN, column);
+    }
+
+    /**
+     * max(column)，结果类型同列
+     */
+    public static Aggregate max(@NonNull String column) {
+        return of(Function.MAX, column);
+    }
+
+    /**
+     * 指定结果列名
+     *
+     * @param alias 结果列名
+     * @return 新的聚合参数
+     */
+    public Aggregate as(@NonNull String alias) {
+        return new Aggregate(function, column, alias);
+    }
+
+    public Function getFunction() {
+        return function;
+    }
+
+    /**
+     * @return 聚合列，count(*)时为null
+     */
+    public String getColumn() {
+        return column;
+    }
+
+    public String getAlias() {
+        return alias;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Aggregate)) {
+            return false;
+        }
+        final Aggregate that = (Aggregate) o;
+        return function == that.function && Objects.equals(column, that.column) && Objects.equals(alias, that.alias);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(function, column, alias);
+    }
+
+    /**
+     * 聚合函数
+     */
+    public enum Function {
+        // 计数、去重计数、求和、平均、最小、最大
+        COUNT, COUNT_DISTINCT, SUM, AVG, MIN, MAX
+    }
+}
@@ -2,8 +2,12 @@ package sim.sql.keyword;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import sim.sql.condition.ColumnCondition;
+import sim.sql.condition.ColumnPredicate;
+import sim.sql.condition.ColumnPredicate.Operator;
+import sim.sql.condition.SubstringMatcher;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -27,39 +31,47 @@ public class Column {
         return new Column(name);
     }
 
+    public String getName() {
+        return name;
+    }
+
+    private ColumnCondition predicate(Operator operator, Object operand, Function<Object, Boolean> expression) {
+        return ColumnCondition.of(name, ColumnPredicate.of(operator, operand, expression));
+    }
+
     /**
      * =
      */
     public ColumnCondition isEqualTo(Object exactValue) {
-        return ColumnCondition.of(name, o -> Objects.equals(o, exactValue));
+        return predicate(Operator.EQUAL, exactValue, o -> Objects.equals(o, exactValue));
     }
 
     /**
      * >
      */
     public ColumnCondition isGreaterThan(@NonNull Comparable<?> exactValue) {
-        return ColumnCondition.of(name, new ObjectCompareFunction<>(exactValue, o -> o > 0));
+        return predicate(Operator.GREATER_THAN, exactValue, new ObjectCompareFunction<>(exactValue, o -> o > 0));
     }
 
     /**
      * <
      */
     public ColumnCondition isLessThan(@NonNull Comparable<?> exactValue) {
-        return ColumnCondition.of(name, new ObjectCompareFunction<>(exactValue, o -> o < 0));
+        return predicate(Operator.LESS_THAN, exactValue, new ObjectCompareFunction<>(exactValue, o -> o < 0));
     }
 
     /**
      * >=
      */
     public ColumnCondition isGreaterThanOrEqual(@NonNull Comparable<?> exactValue) {
-        return ColumnCondition.of(name, new ObjectCompareFunction<>(exactValue, o -> o >= 0));
+        return predicate(Operator.GREATER_THAN_OR_EQUAL, exactValue, new ObjectCompareFunction<>(exactValue, o -> o >= 0));
     }
 
     /**
      * <=
      */
     public ColumnCondition isLessThanOrEqual(@NonNull Comparable<?> exactValue) {
-        return ColumnCondition.of(name, new ObjectCompareFunction<>(exactValue, o -> o <= 0));
+        return predicate(Operator.LESS_THAN_OR_EQUAL, exactValue, new ObjectCompareFunction<>(exactValue, o -> o <= 0));
     }
 
     /**
@@ -67,7 +79,7 @@ public class Column {
      */
     public ColumnCondition in(Collection<Object> range) {
         final Set<Object> set = new HashSet<>(range);
-        return ColumnCondition.of(name, set::contains);
+        return predicate(Operator.IN, Collections.unmodifiableSet(set), set::contains);
     }
 
     @SuppressWarnings({"rawtypes", "unchecked"})
@@ -111,11 +123,12 @@ public class Column {
      * like %keyword%
      */
     public ColumnCondition likeInclude(@NonNull String keyword) {
-        return ColumnCondition.of(name, o -> {
+        final SubstringMatcher matcher = SubstringMatcher.of(keyword);
+        return predicate(Operator.LIKE_INCLUDE, keyword, o -> {
             if (!(o instanceof String)) {
                 return false;
             }
-            return ((String) o).contains(keyword);
+            return matcher.matches((String) o);
         });
     }
 
@@ -123,7 +136,7 @@ public class Column {
      * like keyword%
      */
     public ColumnCondition likeLeft(@NonNull String keyword) {
-        return ColumnCondition.of(name, o -> {
+        return predicate(Operator.LIKE_LEFT, keyword, o -> {
             if (!(o instanceof String)) {
                 return false;
             }
@@ -135,7 +148,7 @@ public class Column {
      * like %keyword
      */
     public ColumnCondition likeRight(@NonNull String keyword) {
-        return ColumnCondition.of(name, o -> {
+        return predicate(Operator.LIKE_RIGHT, keyword, o -> {
             if (!(o instanceof String)) {
                 return false;
             }
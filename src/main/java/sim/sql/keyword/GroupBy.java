@@ -1,5 +1,6 @@
 package sim.sql.keyword;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -14,19 +15,58 @@ import java.util.List;
 public class GroupBy {
     private final List<String> groupBy;
 
-    private GroupBy(List<String> groupBy) {
+    /**
+     * 聚合函数，仅聚合查询使用，普通查询仍按分组取第一条
+     */
+    private final List<Aggregate> aggregates;
+
+    private GroupBy(List<String> groupBy, List<Aggregate> aggregates) {
         this.groupBy = groupBy;
+        this.aggregates = aggregates;
     }
 
     public List<String> getGroupBy() {
         return groupBy;
     }
 
+    public List<Aggregate> getAggregates() {
+        return aggregates;
+    }
+
     public static GroupBy none() {
-        return new GroupBy(Collections.emptyList());
+        return new GroupBy(Collections.emptyList(), Collections.emptyList());
     }
 
     public static GroupBy column(String... columns) {
-        return new GroupBy(Arrays.asList(columns));
+        return new GroupBy(Arrays.asList(columns), Collections.emptyList());
+    }
+
+    /**
+     * 追加聚合函数，无分组列时对全部数据聚合
+     *
+     * @param aggregates 聚合函数
+     * @return 新的group by参数
+     */
+    public GroupBy aggregate(Aggregate... aggregates) {
+        final List<Aggregate> list = new ArrayList<>(this.aggregates);
+        list.addAll(Arrays.asList(aggregates));
+        return new GroupBy(groupBy, Collections.unmodifiableList(list));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GroupBy)) {
+            return false;
+        }
+        final GroupBy that = (GroupBy) o;
+        return groupBy.equals(that.groupBy) && aggregates.equals(that.aggregates);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * groupBy.hashCode() + aggregates.hashCode();
     }
 }
@@ -1,5 +1,7 @@
 package sim.sql.keyword;
 
+import java.util.Objects;
+
 /**
  * limit参数
  *
@@ -35,4 +37,21 @@ public class Limit {
     public Integer getLimit() {
         return limit;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Limit)) {
+            return false;
+        }
+        final Limit that = (Limit) o;
+        return Objects.equals(offset, that.offset) && Objects.equals(limit, that.limit);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, limit);
+    }
 }
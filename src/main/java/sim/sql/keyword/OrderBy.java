@@ -5,6 +5,7 @@ import org.apache.commons.collections4.list.UnmodifiableList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * order by参数
@@ -44,6 +45,19 @@ public class OrderBy {
         return orderBy;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof OrderBy && orderBy.equals(((OrderBy) o).orderBy);
+    }
+
+    @Override
+    public int hashCode() {
+        return orderBy.hashCode();
+    }
+
     /**
      * 排序方式
      */
@@ -68,5 +82,22 @@ public class OrderBy {
         public Sort getSort() {
             return sort;
         }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SortColumn)) {
+                return false;
+            }
+            final SortColumn that = (SortColumn) o;
+            return Objects.equals(column, that.column) && sort == that.sort;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(column, sort);
+        }
     }
 }
@@ -2,9 +2,13 @@ package sim.sql.keyword;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import sim.sql.condition.Condition;
+import sim.sql.util.ColumnAccessor;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 /**
  * where参数
@@ -20,7 +24,7 @@ public class Where implements Condition {
     private final List<Condition> addConditions = new ArrayList<>();
 
     /**
-     * 或，空或任一
+     * 或，任一
      */
     private final List<Condition> orConditions = new ArrayList<>();
 
@@ -50,12 +54,77 @@ public class Where implements Condition {
         return this;
     }
 
+    /**
+     * @return 与条件，只读
+     */
+    public List<Condition> getAddConditions() {
+        return Collections.unmodifiableList(addConditions);
+    }
+
+    /**
+     * @return 或条件，只读
+     */
+    public List<Condition> getOrConditions() {
+        return Collections.unmodifiableList(orConditions);
+    }
+
+    /**
+     * 语义同SQL的 a and b or c or d，即 (全部add) or (任一or)
+     * <p>两组都为空时视为无条件，全部匹配；仅一组为空时该组不参与判定
+     */
     @Override
     public boolean match(Object obj) {
-        // obj == null时的行为取决于
+        // obj == null时的行为取决于各condition
+        if (addConditions.isEmpty()) {
+            return orConditions.isEmpty() || matchOr(obj);
+        }
         return matchAdd(obj) || matchOr(obj);
     }
 
+    /**
+     * 逐个绑定子条件，语义同{@link #match(Object)}
+     */
+    @Override
+    public Condition bind(Class<?> klass) {
+        return bindEach(o -> o.bind(klass));
+    }
+
+    /**
+     * 逐个绑定子条件，语义同{@link #match(Object)}
+     */
+    @Override
+    public Condition bind(Function<String, ColumnAccessor> resolver) {
+        return bindEach(o -> o.bind(resolver));
+    }
+
+    private Condition bindEach(UnaryOperator<Condition> binder) {
+        final Condition[] adds = addConditions.stream().map(binder).toArray(Condition[]::new);
+        final Condition[] ors = orConditions.stream().map(binder).toArray(Condition[]::new);
+        if (0 == adds.length && 0 == ors.length) {
+            return obj -> true;
+        }
+        return obj -> {
+            if (adds.length > 0 && matchAll(adds, obj)) {
+                return true;
+            }
+            for (Condition condition : ors) {
+                if (condition.match(obj)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private static boolean matchAll(Condition[] conditions, Object obj) {
+        for (Condition condition : conditions) {
+            if (!condition.match(obj)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * 与条件判定
      */
@@ -72,9 +141,6 @@ public class Where implements Condition {
      * 或条件判定
      */
     private boolean matchOr(Object obj) {
-        if (orConditions.isEmpty()) {
-            return true;
-        }
         for (Condition condition : orConditions) {
             if (condition.match(obj)) {
                 return true;
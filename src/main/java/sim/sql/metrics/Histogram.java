@@ -0,0 +1,84 @@
+package sim.sql.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 非负long值的直方图，按2的幂分桶，记录无锁、不分配对象
+ * <p>分位数返回所在桶的上界，相对误差不超过2倍
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 23:50
+ */
+
+public final class Histogram {
+
+    /**
+     * 第i个桶（i > 0）计数[2^(i-1), 2^i)，第0个桶计数0
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param value 值，负数按0记录
+     */
+    public void record(long value) {
+        final long normalized = Math.max(0, value);
+        buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(normalized));
+        count.increment();
+        sum.add(normalized);
+        max.accumulate(normalized);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return 平均值，无记录时为0
+     */
+    public double getMean() {
+        final long n = getCount();
+        return 0 == n ? 0 : (double) getSum() / n;
+    }
+
+    /**
+     * @param quantile 分位，[0, 1]
+     * @return 分位数的上界，不超过最大值；无记录时为0
+     */
+    public long percentile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new RuntimeException("分位需在0到1之间");
+        }
+        long total = 0;
+        final long[] snapshot = new long[Long.SIZE];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (0 == total) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                final long upper = 0 == i ? 0 : (1L << i) - 1;
+                return Math.min(upper, getMax());
+            }
+        }
+        return getMax();
+    }
+}
@@ -0,0 +1,57 @@
+package sim.sql.metrics;
+
+import sim.sql.condition.Condition;
+
+/**
+ * 查询监听器，通过{@link QueryListeners#register(QueryListener)}注册
+ * <p>可能被多个查询线程同时回调，实现需线程安全；回调在查询线程中同步执行，应尽量轻量
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 23:50
+ */
+
+public interface QueryListener {
+
+    /**
+     * 一次查询完成
+     *
+     * @param klass   data类型
+     * @param nanos   耗时，纳秒
+     * @param rowsIn  输入行数
+     * @param rowsOut 结果行数
+     */
+    default void onQuery(Class<?> klass, long nanos, int rowsIn, int rowsOut) {
+    }
+
+    /**
+     * 一个阶段完成，只回调实际执行的阶段
+     *
+     * @param stage   阶段
+     * @param nanos   耗时，纳秒
+     * @param rowsIn  输入行数
+     * @param rowsOut 输出行数
+     */
+    default void onStage(QueryStage stage, long nanos, int rowsIn, int rowsOut) {
+    }
+
+    /**
+     * 一次查询中单个谓词的判定次数，查询结束时回调；嵌套where按其中的条件逐个回调
+     *
+     * @param condition 条件
+     * @param evaluated 判定次数，短路未判定的行不计
+     * @param matched   匹配次数
+     */
+    default void onPredicate(Condition condition, long evaluated, long matched) {
+    }
+
+    /**
+     * 判定条件时出现异常，该行按不匹配处理
+     * <p>由{@link QueryListeners#onError(Condition, Object, Exception)}调用，查询计划抽样时不调用
+     *
+     * @param condition 条件
+     * @param row       数据，列式引擎中为参与判定的列值
+     * @param e         异常
+     */
+    default void onError(Condition condition, Object row, Exception e) {
+    }
+}
@@ -0,0 +1,79 @@
+package sim.sql.metrics;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.condition.Condition;
+
+import java.util.function.Supplier;
+
+/**
+ * 全局查询监听器
+ * <p>未注册时查询只多读一次volatile，不计时、不包装条件
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 23:50
+ */
+
+public final class QueryListeners {
+
+    private static volatile QueryListener listener;
+
+    /**
+     * 当前线程是否暂停上报判定异常，只在出现异常时读取
+     */
+    private static final ThreadLocal<Boolean> ERRORS_MUTED = new ThreadLocal<>();
+
+    private QueryListeners() {
+    }
+
+    /**
+     * 注册监听器，替换已注册的
+     *
+     * @param queryListener 监听器，需要多个时自行组合
+     */
+    public static void register(@NonNull QueryListener queryListener) {
+        listener = queryListener;
+    }
+
+    public static void unregister() {
+        listener = null;
+    }
+
+    /**
+     * @return 当前监听器，未注册时为null
+     */
+    public static QueryListener current() {
+        return listener;
+    }
+
+    /**
+     * 上报判定异常，各引擎判定条件出现异常时统一经此上报
+     *
+     * @param condition 条件
+     * @param row       数据，列式引擎中为参与判定的列值
+     * @param e         异常
+     */
+    public static void onError(Condition condition, Object row, Exception e) {
+        final QueryListener queryListener = listener;
+        if (null != queryListener && !Boolean.TRUE.equals(ERRORS_MUTED.get())) {
+            queryListener.onError(condition, row, e);
+        }
+    }
+
+    /**
+     * 在当前线程执行，期间不上报判定异常，用于查询计划抽样等非查询本身的判定
+     *
+     * @param supplier 执行内容
+     * @return 执行结果
+     */
+    public static <T> T muteErrors(@NonNull Supplier<T> supplier) {
+        if (Boolean.TRUE.equals(ERRORS_MUTED.get())) {
+            return supplier.get();
+        }
+        ERRORS_MUTED.set(Boolean.TRUE);
+        try {
+            return supplier.get();
+        } finally {
+            ERRORS_MUTED.remove();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package sim.sql.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import sim.sql.condition.Condition;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 内存中的查询指标：查询与各阶段的耗时直方图、行数，谓词判定次数与通过率，条件异常
+ * <p>谓词、异常按条件的equals汇总，见{@link sim.sql.condition.ColumnCondition#equals(Object)}；
+ * 按条件汇总的指标最多保留maximumConditions个，超出时淘汰最近最少使用的，不持有已淘汰的条件及其操作数。线程安全
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 23:50
+ */
+
+public final class QueryMetrics implements QueryListener {
+
+    /**
+     * 默认按条件汇总的指标个数上限
+     */
+    public static final int DEFAULT_MAXIMUM_CONDITIONS = 1 << 10;
+
+    private final StageMetrics query = new StageMetrics();
+    private final Map<QueryStage, StageMetrics> stages;
+    private final Cache<Condition, PredicateMetrics> predicates;
+    private final Cache<Condition, LongAdder> errors;
+
+    /**
+     * 异常总数，含已淘汰的条件
+     */
+    private final LongAdder totalErrors = new LongAdder();
+    private final AtomicReference<Exception> lastError = new AtomicReference<>();
+
+    private QueryMetrics(int maximumConditions) {
+        final Map<QueryStage, StageMetrics> map = new EnumMap<>(QueryStage.class);
+        for (QueryStage stage : QueryStage.values()) {
+            map.put(stage, new StageMetrics());
+        }
+        this.stages = Collections.unmodifiableMap(map);
+        // 在调用线程上淘汰，不占用公共线程池
+        this.predicates = Caffeine.newBuilder().maximumSize(maximumConditions).executor(Runnable::run).build();
+        this.errors = Caffeine.newBuilder().maximumSize(maximumConditions).executor(Runnable::run).build();
+    }
+
+    public static QueryMetrics of() {
+        return of(DEFAULT_MAXIMUM_CONDITIONS);
+    }
+
+    /**
+     * @param maximumConditions 按条件汇总的指标个数上限
+     * @return 查询指标
+     */
+    public static QueryMetrics of(int maximumConditions) {
+        if (maximumConditions <= 0) {
+            throw new RuntimeException("条件个数上限无效");
+        }
+        return new QueryMetrics(maximumConditions);
+    }
+
+    @Override
+    public void onQuery(Class<?> klass, long nanos, int rowsIn, int rowsOut) {
+        query.record(nanos, rowsIn, rowsOut);
+    }
+
+    @Override
+    public void onStage(QueryStage stage, long nanos, int rowsIn, int rowsOut) {
+        stages.get(stage).record(nanos, rowsIn, rowsOut);
+    }
+
+    @Override
+    public void onPredicate(Condition condition, long evaluated, long matched) {
+        predicates.get(condition, o -> new PredicateMetrics()).record(evaluated, matched);
+    }
+
+    @Override
+    public void onError(Condition condition, Object row, Exception e) {
+        errors.get(condition, o -> new LongAdder()).increment();
+        totalErrors.increment();
+        lastError.set(e);
+    }
+
+    /**
+     * @return 整个查询的指标
+     */
+    public StageMetrics getQuery() {
+        return query;
+    }
+
+    /**
+     * @param stage 阶段
+     * @return 阶段指标，未执行过时计数为0
+     */
+    public StageMetrics getStage(QueryStage stage) {
+        return stages.get(stage);
+    }
+
+    /**
+     * @param condition 条件
+     * @return 谓词指标，未判定过或已淘汰时为null
+     */
+    public PredicateMetrics getPredicate(Condition condition) {
+        return predicates.getIfPresent(condition);
+    }
+
+    /**
+     * @return 条件 -> 谓词指标，只读
+     */
+    public Map<Condition, PredicateMetrics> getPredicates() {
+        return Collections.unmodifiableMap(predicates.asMap());
+    }
+
+    /**
+     * @return 条件异常总数，含已淘汰的条件
+     */
+    public long getErrors() {
+        return totalErrors.sum();
+    }
+
+    /**
+     * @param condition 条件
+     * @return 该条件的异常数，已淘汰时为0
+     */
+    public long getErrors(Condition condition) {
+        final LongAdder adder = errors.getIfPresent(condition);
+        return null == adder ? 0 : adder.sum();
+    }
+
+    /**
+     * @return 最近一次条件异常，没有时为null
+     */
+    public Exception getLastError() {
+        return lastError.get();
+    }
+
+    /**
+     * 耗时直方图（纳秒）与行数
+     */
+    public static final class StageMetrics {
+        private final Histogram nanos = new Histogram();
+        private final LongAdder rowsIn = new LongAdder();
+        private final LongAdder rowsOut = new LongAdder();
+
+        private StageMetrics() {
+        }
+
+        void record(long elapsed, int in, int out) {
+            nanos.record(elapsed);
+            rowsIn.add(in);
+            rowsOut.add(out);
+        }
+
+        public Histogram getNanos() {
+            return nanos;
+        }
+
+        public long getCount() {
+            return nanos.getCount();
+        }
+
+        public long getRowsIn() {
+            return rowsIn.sum();
+        }
+
+        public long getRowsOut() {
+            return rowsOut.sum();
+        }
+    }
+
+    /**
+     * 判定次数与匹配次数
+     */
+    public static final class PredicateMetrics {
+        private final LongAdder evaluated = new LongAdder();
+        private final LongAdder matched = new LongAdder();
+
+        private PredicateMetrics() {
+        }
+
+        void record(long evaluatedCount, long matchedCount) {
+            evaluated.add(evaluatedCount);
+            matched.add(matchedCount);
+        }
+
+        public long getEvaluated() {
+            return evaluated.sum();
+        }
+
+        public long getMatched() {
+            return matched.sum();
+        }
+
+        /**
+         * @return 通过率，未判定时为0
+         */
+        public double getPassRate() {
+            final long n = getEvaluated();
+            return 0 == n ? 0 : (double) getMatched() / n;
+        }
+    }
+}
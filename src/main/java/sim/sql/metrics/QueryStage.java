@@ -0,0 +1,13 @@
+package sim.sql.metrics;
+
+/**
+ * 查询执行阶段
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 23:50
+ */
+
+public enum QueryStage {
+    // 规划where、过滤、有界堆（过滤+排序+limit）、排序、分组、limit
+    PLAN, FILTER, TOP_K, ORDER_BY, GROUP_BY, LIMIT
+}
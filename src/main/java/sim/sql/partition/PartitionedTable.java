@@ -0,0 +1,194 @@
+package sim.sql.partition;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.condition.Condition;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 分块数据集快照：按行序切分为固定大小的块，每块记录各列最小值、最大值、null个数
+ * <li>where按块统计化简：必不匹配的块跳过，必全部匹配的块整块取出，其余块只判定剩余条件
+ * <li>=、in、>、>=、<、<=可按统计判定，like与自定义条件在块内逐行判定
+ * <p>数据按查询列聚集（如按时间追加）时跳过效果最好；结果与{@link SimSqlQueryUtil#query(List, Where, OrderBy, GroupBy, Limit, Class)}一致
+ * <p>快照不感知源数据变化，数据刷新后需重新生成
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 02:30
+ */
+
+public final class PartitionedTable<T> {
+
+    /**
+     * 默认块大小
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 12;
+
+    private final Class<T> klass;
+    private final List<T> rows;
+    private final int blockSize;
+    private final ZoneMap zoneMap;
+
+    private PartitionedTable(Class<T> klass, List<T> rows, int blockSize, ZoneMap zoneMap) {
+        this.klass = klass;
+        this.rows = rows;
+        this.blockSize = blockSize;
+        this.zoneMap = zoneMap;
+    }
+
+    /**
+     * 按默认块大小分块，统计全部字段
+     */
+    public static <T> PartitionedTable<T> of(@NonNull List<T> data, @NonNull Class<T> klass) {
+        return of(data, klass, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * 统计全部字段
+     */
+    public static <T> PartitionedTable<T> of(@NonNull List<T> data, @NonNull Class<T> klass, int blockSize) {
+        return of(data, klass, blockSize, SimSqlQueryUtil.columnsOf(klass));
+    }
+
+    /**
+     * @param data      源数据列表
+     * @param klass     data类型
+     * @param blockSize 块大小
+     * @param columns   需要统计的列
+     * @param <T>       data类型
+     * @return 分块数据集
+     */
+    public static <T> PartitionedTable<T> of(@NonNull List<T> data, @NonNull Class<T> klass, int blockSize,
+                                             @NonNull List<String> columns) {
+        if (blockSize <= 0) {
+            throw new RuntimeException("块大小无效");
+        }
+        final List<T> rows = Collections.unmodifiableList(new ArrayList<>(data));
+        return new PartitionedTable<>(klass, rows, blockSize, ZoneMap.build(rows, klass, columns, blockSize));
+    }
+
+    /**
+     * 类SQL查询
+     *
+     * @param where   where，支持add or，支持嵌套
+     * @param orderBy 排序字段
+     * @param groupBy 分组字段
+     * @param limit   limit字段
+     * @return 查询结果，分组内以第一条为准
+     */
+    public List<T> query(@NonNull Where where, @NonNull OrderBy orderBy, @NonNull GroupBy groupBy,
+                         @NonNull Limit limit) {
+        return SimSqlQueryUtil.query(filter(where), orderBy, groupBy, limit, klass);
+    }
+
+    /**
+     * 过滤，保持原顺序
+     *
+     * @param where where
+     * @return 匹配的行
+     */
+    public List<T> filter(@NonNull Where where) {
+        final List<T> result = new ArrayList<>();
+        for (int block = 0; block < blocks(); block++) {
+            final Condition pruned = zoneMap.prune(where, block);
+            if (ZoneMap.NEVER == pruned) {
+                continue;
+            }
+            final List<T> rowsOfBlock = rowsOf(block);
+            if (ZoneMap.ALWAYS == pruned) {
+                result.addAll(rowsOfBlock);
+                continue;
+            }
+            final Condition condition = pruned.bind(klass);
+            for (T row : rowsOfBlock) {
+                if (condition.match(row)) {
+                    result.add(row);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 只按块统计判定，不读取行
+     *
+     * @param where where
+     * @return 各类块的数量
+     */
+    public Pruning prune(@NonNull Where where) {
+        int skipped = 0;
+        int matched = 0;
+        for (int block = 0; block < blocks(); block++) {
+            final Condition pruned = zoneMap.prune(where, block);
+            if (ZoneMap.NEVER == pruned) {
+                skipped++;
+            } else if (ZoneMap.ALWAYS == pruned) {
+                matched++;
+            }
+        }
+        return new Pruning(skipped, matched, blocks() - skipped - matched);
+    }
+
+    /**
+     * @return 块数
+     */
+    public int blocks() {
+        return ZoneMap.blockCount(rows.size(), blockSize);
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    private List<T> rowsOf(int block) {
+        final long from = (long) block * blockSize;
+        return rows.subList((int) from, (int) Math.min(rows.size(), from + blockSize));
+    }
+
+    /**
+     * 块判定结果
+     */
+    public static final class Pruning {
+        private final int skipped;
+        private final int matched;
+        private final int scanned;
+
+        private Pruning(int skipped, int matched, int scanned) {
+            this.skipped = skipped;
+            this.matched = matched;
+            this.scanned = scanned;
+        }
+
+        /**
+         * @return 必不匹配而跳过的块数
+         */
+        public int getSkipped() {
+            return skipped;
+        }
+
+        /**
+         * @return 必全部匹配、整块取出的块数
+         */
+        public int getMatched() {
+            return matched;
+        }
+
+        /**
+         * @return 需要逐行判定的块数
+         */
+        public int getScanned() {
+            return scanned;
+        }
+
+        @Override
+        public String toString() {
+            return "skipped=" + skipped + ", matched=" + matched + ", scanned=" + scanned;
+        }
+    }
+}
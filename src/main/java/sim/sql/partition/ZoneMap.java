@@ -0,0 +1,314 @@
+package sim.sql.partition;
+
+import sim.sql.condition.ColumnCondition;
+import sim.sql.condition.ColumnPredicate;
+import sim.sql.condition.Condition;
+import sim.sql.keyword.Where;
+import sim.sql.util.ColumnAccessor;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 分块统计：每列每块的最小值、最大值、null个数
+ * <p>仅当块内非null值类型相同、且该类型的compareTo与equals一致时统计可用；操作数类型不同时不判定，
+ * 与{@link SimSqlQueryUtil#query}逐行比较的结果保持一致
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 02:30
+ */
+
+@SuppressWarnings({"rawtypes", "unchecked"})
+final class ZoneMap {
+
+    /**
+     * 块内全部匹配
+     */
+    static final Condition ALWAYS = o -> true;
+
+    /**
+     * 块内全部不匹配
+     */
+    static final Condition NEVER = o -> false;
+
+    /**
+     * compareTo与equals一致的类型，最小值等于最大值时块内值全部相等
+     */
+    private static final Set<Class<?>> ORDERED_TYPES = new HashSet<>(Arrays.asList(
+            Integer.class, Long.class, Short.class, Byte.class, Double.class, Float.class, Character.class,
+            Boolean.class, String.class, BigInteger.class, Instant.class, LocalDate.class, LocalDateTime.class,
+            LocalTime.class));
+
+    private final Class<?> klass;
+    private final Map<String, ColumnStats> columns;
+
+    private ZoneMap(Class<?> klass, Map<String, ColumnStats> columns) {
+        this.klass = klass;
+        this.columns = columns;
+    }
+
+    /**
+     * @return 块数，块大小接近int上限时也不溢出
+     */
+    static int blockCount(int size, int blockSize) {
+        return 0 == size ? 0 : (size - 1) / blockSize + 1;
+    }
+
+    static ZoneMap build(List<?> rows, Class<?> klass, List<String> columnNames, int blockSize) {
+        final int blocks = blockCount(rows.size(), blockSize);
+        final Map<String, ColumnStats> columns = new HashMap<>();
+        for (String column : columnNames) {
+            final ColumnAccessor accessor = SimSqlQueryUtil.accessorOf(klass, column);
+            if (null == accessor) {
+                throw new RuntimeException("分区统计字段无效：" + column);
+            }
+            columns.put(column, ColumnStats.build(accessor, rows, blocks, blockSize));
+        }
+        return new ZoneMap(klass, columns);
+    }
+
+    /**
+     * 按块统计化简条件
+     *
+     * @return {@link #ALWAYS}、{@link #NEVER}，或块内仍需逐行判定的剩余条件
+     */
+    Condition prune(Condition condition, int block) {
+        if (condition instanceof Where) {
+            return pruneWhere((Where) condition, block);
+        }
+        if (condition instanceof ColumnCondition) {
+            return pruneColumn((ColumnCondition) condition, block);
+        }
+        return condition;
+    }
+
+    /**
+     * (全部add) or (任一or)
+     */
+    private Condition pruneWhere(Where where, int block) {
+        final List<Condition> adds = where.getAddConditions();
+        final List<Condition> ors = where.getOrConditions();
+        if (adds.isEmpty() && ors.isEmpty()) {
+            return ALWAYS;
+        }
+        final List<Condition> residualAdds = new ArrayList<>(adds.size());
+        boolean addMatched = !adds.isEmpty();
+        for (Condition condition : adds) {
+            final Condition pruned = prune(condition, block);
+            if (NEVER == pruned) {
+                addMatched = false;
+                residualAdds.clear();
+                break;
+            }
+            if (ALWAYS != pruned) {
+                residualAdds.add(pruned);
+            }
+        }
+        if (addMatched && residualAdds.isEmpty()) {
+            return ALWAYS;
+        }
+        final List<Condition> residualOrs = new ArrayList<>(ors.size());
+        for (Condition condition : ors) {
+            final Condition pruned = prune(condition, block);
+            if (ALWAYS == pruned) {
+                return ALWAYS;
+            }
+            if (NEVER != pruned) {
+                residualOrs.add(pruned);
+            }
+        }
+        if (!addMatched && residualOrs.isEmpty()) {
+            return NEVER;
+        }
+        final Where residual = Where.newCondition();
+        if (addMatched) {
+            residualAdds.forEach(residual::add);
+        }
+        residualOrs.forEach(residual::or);
+        return residual;
+    }
+
+    private Condition pruneColumn(ColumnCondition condition, int block) {
+        final ColumnPredicate predicate = condition.getPredicate();
+        if (null == predicate) {
+            return condition;
+        }
+        final String column = condition.getColumns().get(0);
+        final ColumnStats stats = columns.get(column);
+        if (null == stats) {
+            // 列不存在时恒为false
+            return null == SimSqlQueryUtil.accessorOf(klass, column) ? NEVER : condition;
+        }
+        final Boolean decided = stats.decide(predicate, block);
+        return null == decided ? condition : decided ? ALWAYS : NEVER;
+    }
+
+    /**
+     * 单列各块统计
+     */
+    private static final class ColumnStats {
+        /**
+         * 块内非null值的类型；全为null时为null，类型不一或不可比较时为Object.class
+         */
+        private final Class<?>[] types;
+        private final Comparable[] mins;
+        private final Comparable[] maxes;
+        private final int[] nulls;
+        private final int[] counts;
+
+        private ColumnStats(int blocks) {
+            this.types = new Class<?>[blocks];
+            this.mins = new Comparable[blocks];
+            this.maxes = new Comparable[blocks];
+            this.nulls = new int[blocks];
+            this.counts = new int[blocks];
+        }
+
+        static ColumnStats build(ColumnAccessor accessor, List<?> rows, int blocks, int blockSize) {
+            final ColumnStats stats = new ColumnStats(blocks);
+            for (int i = 0; i < rows.size(); i++) {
+                final int block = i / blockSize;
+                stats.counts[block]++;
+                final Object value = accessor.get(rows.get(i));
+                if (null == value) {
+                    stats.nulls[block]++;
+                    continue;
+                }
+                final Class<?> type = stats.types[block];
+                if (Object.class == type) {
+                    continue;
+                }
+                if (null == type) {
+                    if (!ORDERED_TYPES.contains(value.getClass()) && !(value instanceof Enum)) {
+                        stats.types[block] = Object.class;
+                        continue;
+                    }
+                    stats.types[block] = value.getClass();
+                    stats.mins[block] = (Comparable) value;
+                    stats.maxes[block] = (Comparable) value;
+                } else if (type != value.getClass()) {
+                    stats.types[block] = Object.class;
+                } else if (stats.mins[block].compareTo(value) > 0) {
+                    stats.mins[block] = (Comparable) value;
+                } else if (stats.maxes[block].compareTo(value) < 0) {
+                    stats.maxes[block] = (Comparable) value;
+                }
+            }
+            return stats;
+        }
+
+        /**
+         * @return 块内全部匹配为true，全部不匹配为false，无法判定为null
+         */
+        Boolean decide(ColumnPredicate predicate, int block) {
+            final Class<?> type = types[block];
+            if (Object.class == type) {
+                return null;
+            }
+            final boolean allNull = nulls[block] == counts[block];
+            final boolean noNull = 0 == nulls[block];
+            final Object operand = predicate.getOperand();
+            switch (predicate.getOperator()) {
+                case EQUAL:
+                    if (null == operand) {
+                        return allNull ? Boolean.TRUE : noNull ? Boolean.FALSE : null;
+                    }
+                    if (allNull || operand.getClass() != type) {
+                        // 块内值的equals对其他类型恒为false
+                        return Boolean.FALSE;
+                    }
+                    return decideEqual(operand, block, noNull);
+                case IN:
+                    return decideIn((Collection<?>) operand, block, allNull, noNull);
+                case GREATER_THAN:
+                case GREATER_THAN_OR_EQUAL:
+                case LESS_THAN:
+                case LESS_THAN_OR_EQUAL:
+                    if (allNull) {
+                        return Boolean.FALSE;
+                    }
+                    if (operand.getClass() != type) {
+                        return null;
+                    }
+                    return decideRange(predicate.getOperator(), (Comparable) operand, block, noNull);
+                default:
+                    return null;
+            }
+        }
+
+        private Boolean decideEqual(Object operand, int block, boolean noNull) {
+            final Comparable value = (Comparable) operand;
+            if (value.compareTo(mins[block]) < 0 || value.compareTo(maxes[block]) > 0) {
+                return Boolean.FALSE;
+            }
+            return noNull && value.equals(mins[block]) && value.equals(maxes[block]) ? Boolean.TRUE : null;
+        }
+
+        private Boolean decideIn(Collection<?> set, int block, boolean allNull, boolean noNull) {
+            final boolean matchNull = set.contains(null);
+            if (allNull) {
+                return matchNull;
+            }
+            boolean anyInRange = false;
+            for (Object element : set) {
+                if (null == element) {
+                    continue;
+                }
+                if (element.getClass() != types[block]) {
+                    continue;
+                }
+                final Comparable value = (Comparable) element;
+                if (value.compareTo(mins[block]) >= 0 && value.compareTo(maxes[block]) <= 0) {
+                    anyInRange = true;
+                    break;
+                }
+            }
+            if (!anyInRange) {
+                return noNull || !matchNull ? Boolean.FALSE : null;
+            }
+            // 块内值全部相同且在集合中
+            final boolean single = mins[block].equals(maxes[block]) && set.contains(mins[block]);
+            return single && (noNull || matchNull) ? Boolean.TRUE : null;
+        }
+
+        private Boolean decideRange(ColumnPredicate.Operator operator, Comparable operand, int block, boolean noNull) {
+            final int minCompare = mins[block].compareTo(operand);
+            final int maxCompare = maxes[block].compareTo(operand);
+            final boolean none;
+            final boolean all;
+            switch (operator) {
+                case GREATER_THAN:
+                    none = maxCompare <= 0;
+                    all = minCompare > 0;
+                    break;
+                case GREATER_THAN_OR_EQUAL:
+                    none = maxCompare < 0;
+                    all = minCompare >= 0;
+                    break;
+                case LESS_THAN:
+                    none = minCompare >= 0;
+                    all = maxCompare < 0;
+                    break;
+                default:
+                    none = minCompare > 0;
+                    all = maxCompare <= 0;
+            }
+            if (none) {
+                return Boolean.FALSE;
+            }
+            return all && noNull ? Boolean.TRUE : null;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package sim.sql.plan;
+
+import sim.sql.condition.ColumnCondition;
+import sim.sql.condition.ColumnPredicate;
+import sim.sql.condition.Condition;
+import sim.sql.keyword.Where;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 规范化后的条件树节点：常量、叶子、与、或
+ * <p>代价为单行平均求值代价，选择率为通过比例，与或节点按子节点独立估算
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 19:10
+ */
+
+abstract class PlanNode {
+
+    private static final Condition ALWAYS_FALSE = o -> false;
+
+    /**
+     * 单行求值代价
+     */
+    double cost;
+
+    /**
+     * 通过比例
+     */
+    double selectivity;
+
+    /**
+     * 不透明：含自定义Condition，可能依赖前序条件避免异常，不参与重排
+     */
+    boolean opaque;
+
+    /**
+     * @return 与原条件等价的Condition
+     */
+    abstract Condition toCondition();
+
+    abstract void explain(StringBuilder builder, String indent);
+
+    boolean isConstant(boolean value) {
+        return this instanceof Constant && ((Constant) this).value == value;
+    }
+
+    static final class Constant extends PlanNode {
+        static final Constant TRUE = new Constant(true);
+        static final Constant FALSE = new Constant(false);
+
+        private final boolean value;
+
+        private Constant(boolean value) {
+            this.value = value;
+            this.selectivity = value ? 1 : 0;
+        }
+
+        @Override
+        Condition toCondition() {
+            return value ? Where.newCondition() : Where.newCondition().or(ALWAYS_FALSE);
+        }
+
+        @Override
+        void explain(StringBuilder builder, String indent) {
+            builder.append(indent).append(value).append('\n');
+        }
+    }
+
+    static final class Leaf extends PlanNode {
+        private final Condition condition;
+
+        Leaf(Condition condition, double cost, double selectivity) {
+            this.condition = condition;
+            this.cost = cost;
+            this.selectivity = selectivity;
+            this.opaque = !(condition instanceof ColumnCondition);
+        }
+
+        @Override
+        Condition toCondition() {
+            return condition;
+        }
+
+        @Override
+        void explain(StringBuilder builder, String indent) {
+            builder.append(indent).append(describe(condition))
+                    .append(String.format(" (cost=%.2f, selectivity=%.4f)", cost, selectivity)).append('\n');
+        }
+
+        private static String describe(Condition condition) {
+            if (!(condition instanceof ColumnCondition)) {
+                return "custom";
+            }
+            final ColumnCondition columnCondition = (ColumnCondition) condition;
+            final ColumnPredicate predicate = columnCondition.getPredicate();
+            return null == predicate
+                    ? "expression" + columnCondition.getColumns()
+                    : columnCondition.getColumns().get(0) + " " + predicate.getOperator() + " " + predicate.getOperand();
+        }
+    }
+
+    /**
+     * 与、或节点
+     */
+    static final class Junction extends PlanNode {
+        private final boolean and;
+        private final List<PlanNode> children;
+
+        Junction(boolean and, List<PlanNode> children) {
+            this.and = and;
+            this.children = reorder(children, and
+                    ? Comparator.comparingDouble(o -> o.cost / Math.max(1e-6, 1 - o.selectivity))
+                    : Comparator.comparingDouble(o -> o.cost / Math.max(1e-6, o.selectivity)));
+            // 依次求值，只有未短路的行才会继续
+            double reach = 1;
+            double cost = 0;
+            for (PlanNode child : this.children) {
+                cost += reach * child.cost;
+                reach *= and ? child.selectivity : 1 - child.selectivity;
+                this.opaque |= child.opaque;
+            }
+            this.cost = cost;
+            this.selectivity = and ? reach : 1 - reach;
+        }
+
+        /**
+         * 不透明节点位置不变，只在其间的片段内按rank排序（稳定）
+         */
+        private static List<PlanNode> reorder(List<PlanNode> children, Comparator<PlanNode> rank) {
+            final List<PlanNode> result = new ArrayList<>(children.size());
+            final List<PlanNode> segment = new ArrayList<>();
+            for (PlanNode child : children) {
+                if (child.opaque) {
+                    segment.sort(rank);
+                    result.addAll(segment);
+                    segment.clear();
+                    result.add(child);
+                } else {
+                    segment.add(child);
+                }
+            }
+            segment.sort(rank);
+            result.addAll(segment);
+            return Collections.unmodifiableList(result);
+        }
+
+        List<PlanNode> getChildren() {
+            return children;
+        }
+
+        boolean isAnd() {
+            return and;
+        }
+
+        @Override
+        Condition toCondition() {
+            final Where where = Where.newCondition();
+            for (PlanNode child : children) {
+                if (and) {
+                    where.add(child.toCondition());
+                } else {
+                    where.or(child.toCondition());
+                }
+            }
+            return where;
+        }
+
+        @Override
+        void explain(StringBuilder builder, String indent) {
+            builder.append(indent).append(and ? "AND" : "OR")
+                    .append(String.format(" (cost=%.2f, selectivity=%.4f)", cost, selectivity)).append('\n');
+            for (PlanNode child : children) {
+                child.explain(builder, indent + "  ");
+            }
+        }
+    }
+}
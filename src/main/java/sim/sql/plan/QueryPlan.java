@@ -0,0 +1,67 @@
+package sim.sql.plan;
+
+import sim.sql.condition.Condition;
+import sim.sql.keyword.Where;
+
+/**
+ * where执行计划
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 19:10
+ */
+
+public final class QueryPlan {
+
+    private final PlanNode root;
+    private final Where where;
+
+    QueryPlan(PlanNode root) {
+        this.root = root;
+        final Condition condition = root.toCondition();
+        this.where = condition instanceof Where ? (Where) condition : Where.newCondition().add(condition);
+    }
+
+    /**
+     * @return 重排、折叠后的等价where
+     */
+    public Where getWhere() {
+        return where;
+    }
+
+    /**
+     * @return 恒为true，可跳过过滤
+     */
+    public boolean isAlwaysTrue() {
+        return root.isConstant(true);
+    }
+
+    /**
+     * @return 恒为false，结果必为空
+     */
+    public boolean isAlwaysFalse() {
+        return root.isConstant(false);
+    }
+
+    /**
+     * @return 估算的单行求值代价
+     */
+    public double getCost() {
+        return root.cost;
+    }
+
+    /**
+     * @return 估算的选择率
+     */
+    public double getSelectivity() {
+        return root.selectivity;
+    }
+
+    /**
+     * @return 可读的计划树
+     */
+    public String explain() {
+        final StringBuilder builder = new StringBuilder();
+        root.explain(builder, "");
+        return builder.toString();
+    }
+}
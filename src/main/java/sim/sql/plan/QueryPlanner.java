@@ -0,0 +1,174 @@
+package sim.sql.plan;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.condition.ColumnCondition;
+import sim.sql.condition.ColumnPredicate;
+import sim.sql.condition.Condition;
+import sim.sql.keyword.Where;
+import sim.sql.metrics.QueryListeners;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * where规划：规范化条件树、折叠常量、按代价与选择率重排求值顺序
+ * <li>规范化：where拆为 or(and(全部add), 各or)，同类嵌套展开
+ * <li>常量折叠：空where为true，空in、不存在的列为false，与或中的常量按短路规则消去
+ * <li>重排：与节点按 代价/(1-选择率) 升序，或节点按 代价/选择率 升序；自定义Condition位置不变
+ * <p>选择率来自对数据的均匀抽样，代价按谓词类型估算
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 19:10
+ */
+
+public final class QueryPlanner {
+
+    /**
+     * 抽样行数
+     */
+    private static final int SAMPLE_SIZE = 1 << 8;
+
+    private final Class<?> klass;
+    private final List<?> sample;
+
+    private QueryPlanner(Class<?> klass, List<?> sample) {
+        this.klass = klass;
+        this.sample = sample;
+    }
+
+    /**
+     * 规划where
+     *
+     * @param where where
+     * @param data  用于抽样估算选择率的数据
+     * @param klass data类型
+     * @return 执行计划
+     */
+    public static QueryPlan plan(@NonNull Where where, @NonNull List<?> data, @NonNull Class<?> klass) {
+        final QueryPlanner planner = new QueryPlanner(klass, sampleOf(data));
+        return new QueryPlan(planner.normalize(where));
+    }
+
+    private static List<?> sampleOf(List<?> data) {
+        if (data.size() <= SAMPLE_SIZE) {
+            return data;
+        }
+        final List<Object> sample = new ArrayList<>(SAMPLE_SIZE);
+        final double stride = (double) data.size() / SAMPLE_SIZE;
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            sample.add(data.get((int) (i * stride)));
+        }
+        return sample;
+    }
+
+    private PlanNode normalize(Condition condition) {
+        if (condition instanceof Where) {
+            final Where where = (Where) condition;
+            final List<PlanNode> adds = new ArrayList<>(where.getAddConditions().size());
+            for (Condition add : where.getAddConditions()) {
+                adds.add(normalize(add));
+            }
+            final List<PlanNode> ors = new ArrayList<>(where.getOrConditions().size() + 1);
+            if (adds.isEmpty() && where.getOrConditions().isEmpty()) {
+                return PlanNode.Constant.TRUE;
+            }
+            if (!adds.isEmpty()) {
+                ors.add(junction(true, adds));
+            }
+            for (Condition or : where.getOrConditions()) {
+                ors.add(normalize(or));
+            }
+            return junction(false, ors);
+        }
+        if (condition instanceof ColumnCondition && isAlwaysFalse((ColumnCondition) condition)) {
+            return PlanNode.Constant.FALSE;
+        }
+        return new PlanNode.Leaf(condition, costOf(condition), selectivityOf(condition));
+    }
+
+    /**
+     * 展开同类子节点并折叠常量
+     */
+    private static PlanNode junction(boolean and, List<PlanNode> nodes) {
+        final List<PlanNode> children = new ArrayList<>(nodes.size());
+        for (PlanNode node : nodes) {
+            if (node.isConstant(!and)) {
+                // and遇false、or遇true即为常量
+                return node;
+            }
+            if (node.isConstant(and)) {
+                continue;
+            }
+            if (node instanceof PlanNode.Junction && ((PlanNode.Junction) node).isAnd() == and) {
+                children.addAll(((PlanNode.Junction) node).getChildren());
+            } else {
+                children.add(node);
+            }
+        }
+        if (children.isEmpty()) {
+            return and ? PlanNode.Constant.TRUE : PlanNode.Constant.FALSE;
+        }
+        return 1 == children.size() ? children.get(0) : new PlanNode.Junction(and, children);
+    }
+
+    /**
+     * 空in，或列不存在时{@link ColumnCondition#match(Object)}恒为false
+     */
+    private boolean isAlwaysFalse(ColumnCondition condition) {
+        for (String column : condition.getColumns()) {
+            if (null == SimSqlQueryUtil.accessorOf(klass, column)) {
+                return true;
+            }
+        }
+        final ColumnPredicate predicate = condition.getPredicate();
+        return null != predicate && ColumnPredicate.Operator.IN == predicate.getOperator()
+                && ((Collection<?>) predicate.getOperand()).isEmpty();
+    }
+
+    /**
+     * 按谓词类型估算单行代价，以单列比较为1
+     */
+    private static double costOf(Condition condition) {
+        if (!(condition instanceof ColumnCondition)) {
+            return 8;
+        }
+        final ColumnCondition columnCondition = (ColumnCondition) condition;
+        final ColumnPredicate predicate = columnCondition.getPredicate();
+        if (null == predicate) {
+            return 2 + 2 * columnCondition.getColumns().size();
+        }
+        switch (predicate.getOperator()) {
+            case LIKE_INCLUDE:
+                return 2 + predicate.getOperand().toString().length() / 8.0;
+            case LIKE_LEFT:
+            case LIKE_RIGHT:
+                return 1.5;
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * 抽样估算选择率，加一平滑避免0和1
+     * <p>抽样不是查询本身的判定，期间的判定异常不上报监听器
+     */
+    private double selectivityOf(Condition condition) {
+        final Condition bound = condition.bind(klass);
+        final int passed = QueryListeners.muteErrors(() -> {
+            int count = 0;
+            for (Object row : sample) {
+                try {
+                    if (bound.match(row)) {
+                        count++;
+                    }
+                } catch (RuntimeException e) {
+                    // 自定义条件可能依赖前序条件，异常按不通过计
+                }
+            }
+            return count;
+        });
+        return (passed + 1.0) / (sample.size() + 2.0);
+    }
+}
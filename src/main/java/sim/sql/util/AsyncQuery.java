@@ -0,0 +1,164 @@
+package sim.sql.util;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步查询：在指定执行器上执行{@link SimSqlQueryUtil#query(List, Where, OrderBy, GroupBy, Limit, Class, QueryCancellation)}
+ * <li>取消返回的Future即取消查询，执行中的查询在下次检查时停止
+ * <li>超时后Future立即以{@link QueryCancelledException}结束，执行中的查询随后自行停止
+ * <li>条件执行前已按类型绑定，不依赖线程上下文，可用于线程池与虚拟线程
+ * <p>执行期间不能修改源数据列表
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 03:10
+ */
+
+public final class AsyncQuery {
+
+    private final Executor executor;
+
+    private AsyncQuery(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @param executor 执行查询的执行器
+     * @return 异步查询
+     */
+    public static AsyncQuery of(@NonNull Executor executor) {
+        return new AsyncQuery(executor);
+    }
+
+    /**
+     * 运行时支持虚拟线程（Java 21+）时每个查询一个虚拟线程，否则使用{@link ForkJoinPool#commonPool()}
+     *
+     * @return 异步查询
+     */
+    public static AsyncQuery ofVirtualThreads() {
+        return new AsyncQuery(isVirtualThreadAvailable() ? VirtualThreads.EXECUTOR : ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @return 运行时是否支持虚拟线程
+     */
+    public static boolean isVirtualThreadAvailable() {
+        return null != VirtualThreads.EXECUTOR;
+    }
+
+    /**
+     * 异步类SQL查询，参数同{@link SimSqlQueryUtil#query(List, Where, OrderBy, GroupBy, Limit, Class)}
+     *
+     * @return 查询结果
+     */
+    public <T> CompletableFuture<List<T>> query(@NonNull List<T> data, @NonNull Where where, @NonNull OrderBy orderBy,
+                                                @NonNull GroupBy groupBy, @NonNull Limit limit,
+                                                @NonNull Class<T> klass) {
+        return query(data, where, orderBy, groupBy, limit, klass, QueryCancellation.of());
+    }
+
+    /**
+     * 带超时的异步类SQL查询
+     *
+     * @param timeout 超时时长，从调用时起算，含排队时间
+     * @param unit    时间单位
+     * @return 查询结果，超时后以{@link QueryCancelledException}结束
+     */
+    public <T> CompletableFuture<List<T>> query(@NonNull List<T> data, @NonNull Where where, @NonNull OrderBy orderBy,
+                                                @NonNull GroupBy groupBy, @NonNull Limit limit, @NonNull Class<T> klass,
+                                                long timeout, @NonNull TimeUnit unit) {
+        return query(data, where, orderBy, groupBy, limit, klass, QueryCancellation.withTimeout(timeout, unit));
+    }
+
+    /**
+     * 使用外部取消标记的异步类SQL查询，可由多个查询共用
+     *
+     * @param cancellation 取消标记，有截止时间时到期后Future以超时结束
+     * @return 查询结果
+     */
+    public <T> CompletableFuture<List<T>> query(@NonNull List<T> data, @NonNull Where where, @NonNull OrderBy orderBy,
+                                                @NonNull GroupBy groupBy, @NonNull Limit limit, @NonNull Class<T> klass,
+                                                @NonNull QueryCancellation cancellation) {
+        final QueryFuture<List<T>> future = new QueryFuture<>(cancellation);
+        if (Long.MAX_VALUE != cancellation.remainingNanos()) {
+            final ScheduledFuture<?> timer = Timer.SCHEDULER.schedule(
+                    () -> future.completeExceptionally(new QueryCancelledException("查询超时", true)),
+                    cancellation.remainingNanos(), TimeUnit.NANOSECONDS);
+            future.whenComplete((result, e) -> timer.cancel(false));
+        }
+        try {
+            executor.execute(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(SimSqlQueryUtil.query(data, where, orderBy, groupBy, limit, klass, cancellation));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            // 执行器已关闭或拒绝
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 取消时同步取消查询
+     */
+    private static final class QueryFuture<R> extends CompletableFuture<R> {
+        private final QueryCancellation cancellation;
+
+        private QueryFuture(QueryCancellation cancellation) {
+            this.cancellation = cancellation;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            cancellation.cancel();
+            return super.cancel(mayInterruptIfRunning);
+        }
+    }
+
+    /**
+     * 反射获取，源码保持Java 8兼容；不支持时为null
+     */
+    private static final class VirtualThreads {
+        private static final Executor EXECUTOR = create();
+
+        private static Executor create() {
+            try {
+                final Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (Executor) method.invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // 低版本无此方法，预览版本未开启预览时抛出UnsupportedOperationException
+                return null;
+            }
+        }
+    }
+
+    /**
+     * 超时计时，按需创建，守护线程不阻止进程退出
+     */
+    private static final class Timer {
+        private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(o -> {
+            final Thread thread = new Thread(o, "sim-sql-query-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,389 @@
+package sim.sql.util;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.condition.ColumnCondition;
+import sim.sql.condition.ColumnPredicate;
+import sim.sql.condition.Condition;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+import sim.sql.metrics.QueryListeners;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 批量查询：多个查询共享一次扫描
+ * <li>相同的条件（{@link ColumnCondition#equals(Object)}）跨查询只保留一份，每行最多判定一次
+ * <li>条件用到的列每行最多读取一次
+ * <li>条件按需判定，保持与逐行判定相同的短路顺序
+ * <li>无分组有order by与limit的查询在扫描时用有界堆，其余在扫描后各自执行 order by -> group by -> limit
+ * <p>各查询结果与{@link SimSqlQueryUtil#query(List, Where, OrderBy, GroupBy, Limit, Class)}一致；添加时对where、order by做快照，非线程安全
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 01:20
+ */
+
+public final class BatchQuery<T> {
+
+    private final Class<T> klass;
+    private final List<Query<T>> queries = new ArrayList<>();
+
+    /**
+     * 去重后的条件 -> 编号
+     */
+    private final Map<Condition, Integer> leafIndexes = new HashMap<>();
+    private final List<Leaf> leaves = new ArrayList<>();
+
+    /**
+     * 列名 -> 编号
+     */
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+    private final List<ColumnAccessor> accessors = new ArrayList<>();
+
+    private BatchQuery(Class<T> klass) {
+        this.klass = klass;
+    }
+
+    public static <T> BatchQuery<T> of(@NonNull Class<T> klass) {
+        return new BatchQuery<>(klass);
+    }
+
+    /**
+     * 添加查询，结果按添加顺序返回
+     *
+     * @param where   where，支持add or，支持嵌套
+     * @param orderBy 排序字段
+     * @param groupBy 分组字段
+     * @param limit   limit字段
+     * @return this
+     */
+    public BatchQuery<T> add(@NonNull Where where, @NonNull OrderBy orderBy, @NonNull GroupBy groupBy,
+                             @NonNull Limit limit) {
+        final boolean unconditional = where.getAddConditions().isEmpty() && where.getOrConditions().isEmpty();
+        queries.add(new Query<>(unconditional ? null : compile(where),
+                orderBy.getOrderBy().isEmpty() ? null : SimSqlQueryUtil.comparatorOf(orderBy, klass),
+                groupBy.getGroupBy().isEmpty() ? null : SimSqlQueryUtil.groupAccessorsOf(groupBy, klass),
+                limit));
+        return this;
+    }
+
+    /**
+     * @return 查询个数
+     */
+    public int size() {
+        return queries.size();
+    }
+
+    /**
+     * 一次扫描执行全部查询
+     *
+     * @param data 源数据列表，元素类型需为klass或其子类
+     * @return 各查询的结果，顺序同添加顺序
+     */
+    public List<List<T>> execute(@NonNull List<T> data) {
+        final Scan scan = new Scan(leaves.size(), accessors.size());
+        final List<Sink<T>> sinks = new ArrayList<>(queries.size());
+        for (Query<T> query : queries) {
+            sinks.add(new Sink<>(query, data.size()));
+        }
+        for (T row : data) {
+            scan.next(row);
+            for (Sink<T> sink : sinks) {
+                if (null == sink.query.node || sink.query.node.match(scan)) {
+                    sink.offer(row);
+                }
+            }
+        }
+        final List<List<T>> results = new ArrayList<>(sinks.size());
+        for (Sink<T> sink : sinks) {
+            results.add(sink.result());
+        }
+        return results;
+    }
+
+    private Node compile(Where where) {
+        final Node[] adds = where.getAddConditions().stream().map(this::compile).toArray(Node[]::new);
+        final Node[] ors = where.getOrConditions().stream().map(this::compile).toArray(Node[]::new);
+        return new WhereNode(adds, ors);
+    }
+
+    private Node compile(Condition condition) {
+        if (Where.class == condition.getClass()) {
+            return compile((Where) condition);
+        }
+        final Integer index = leafIndexes.get(condition);
+        if (null != index) {
+            return new LeafNode(index);
+        }
+        leaves.add(leafOf(condition));
+        leafIndexes.put(condition, leaves.size() - 1);
+        return new LeafNode(leaves.size() - 1);
+    }
+
+    private Leaf leafOf(Condition condition) {
+        if (!(condition instanceof ColumnCondition)) {
+            return new RowLeaf(condition.bind(klass));
+        }
+        final ColumnCondition columnCondition = (ColumnCondition) condition;
+        final List<String> columns = columnCondition.getColumns();
+        final int[] columnIds = new int[columns.size()];
+        for (int i = 0; i < columnIds.length; i++) {
+            final Integer columnId = columnIdOf(columns.get(i));
+            if (null == columnId) {
+                // 列不存在时恒为false，与逐行判定一致
+                return new RowLeaf(condition.bind(klass));
+            }
+            columnIds[i] = columnId;
+        }
+        final ColumnPredicate predicate = columnCondition.getPredicate();
+        return new ColumnLeaf(columnCondition, columnIds, predicate, null == predicate ? columnCondition.getExpression() : null);
+    }
+
+    private Integer columnIdOf(String column) {
+        final Integer index = columnIndexes.get(column);
+        if (null != index) {
+            return index;
+        }
+        final ColumnAccessor accessor = SimSqlQueryUtil.accessorOf(klass, column);
+        if (null == accessor) {
+            return null;
+        }
+        accessors.add(accessor);
+        columnIndexes.put(column, accessors.size() - 1);
+        return accessors.size() - 1;
+    }
+
+    /**
+     * 单行扫描状态：条件结果与列值按行号戳缓存，换行时无需清空
+     */
+    private final class Scan {
+        private final boolean[] results;
+        private final int[] resultStamps;
+        private final Object[] values;
+        private final int[] valueStamps;
+        private final ColumnAccessor[] columnAccessors;
+        private final Leaf[] leafArray;
+        private Object row;
+        private int stamp;
+
+        private Scan(int leafCount, int columnCount) {
+            this.results = new boolean[leafCount];
+            this.resultStamps = new int[leafCount];
+            this.values = new Object[columnCount];
+            this.valueStamps = new int[columnCount];
+            this.columnAccessors = accessors.toArray(new ColumnAccessor[0]);
+            this.leafArray = leaves.toArray(new Leaf[0]);
+        }
+
+        void next(Object nextRow) {
+            row = nextRow;
+            stamp++;
+        }
+
+        boolean leaf(int index) {
+            if (resultStamps[index] != stamp) {
+                results[index] = leafArray[index].match(this);
+                resultStamps[index] = stamp;
+            }
+            return results[index];
+        }
+
+        Object value(int column) {
+            if (valueStamps[column] != stamp) {
+                values[column] = columnAccessors[column].get(row);
+                valueStamps[column] = stamp;
+            }
+            return values[column];
+        }
+    }
+
+    private interface Node {
+        boolean match(BatchQuery<?>.Scan scan);
+    }
+
+    private static final class LeafNode implements Node {
+        private final int index;
+
+        private LeafNode(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public boolean match(BatchQuery<?>.Scan scan) {
+            return scan.leaf(index);
+        }
+    }
+
+    /**
+     * 语义同{@link Where#match(Object)}
+     */
+    private static final class WhereNode implements Node {
+        private final Node[] adds;
+        private final Node[] ors;
+
+        private WhereNode(Node[] adds, Node[] ors) {
+            this.adds = adds;
+            this.ors = ors;
+        }
+
+        @Override
+        public boolean match(BatchQuery<?>.Scan scan) {
+            if (0 == adds.length) {
+                return 0 == ors.length || matchOr(scan);
+            }
+            for (Node node : adds) {
+                if (!node.match(scan)) {
+                    return matchOr(scan);
+                }
+            }
+            return true;
+        }
+
+        private boolean matchOr(BatchQuery<?>.Scan scan) {
+            for (Node node : ors) {
+                if (node.match(scan)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private interface Leaf {
+        boolean match(BatchQuery<?>.Scan scan);
+    }
+
+    /**
+     * 非列条件，直接判定整行
+     */
+    private static final class RowLeaf implements Leaf {
+        private final Condition condition;
+
+        private RowLeaf(Condition condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        public boolean match(BatchQuery<?>.Scan scan) {
+            return condition.match(scan.row);
+        }
+    }
+
+    /**
+     * 列条件，列值取自扫描缓存；异常时视为不匹配，同{@link ColumnCondition#match(Object)}
+     */
+    private static final class ColumnLeaf implements Leaf {
+        private final ColumnCondition condition;
+        private final int[] columns;
+        private final Function<Object, Boolean> single;
+        private final Function<List<Object>, Boolean> expression;
+
+        private ColumnLeaf(ColumnCondition condition, int[] columns, Function<Object, Boolean> single,
+                           Function<List<Object>, Boolean> expression) {
+            this.condition = condition;
+            this.columns = columns;
+            this.single = single;
+            this.expression = expression;
+        }
+
+        @Override
+        public boolean match(BatchQuery<?>.Scan scan) {
+            try {
+                if (null != single) {
+                    return Boolean.TRUE.equals(single.apply(scan.value(columns[0])));
+                }
+                final Object[] columnValues = new Object[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    columnValues[i] = scan.value(columns[i]);
+                }
+                return Boolean.TRUE.equals(expression.apply(Arrays.asList(columnValues)));
+            } catch (Exception e) {
+                QueryListeners.onError(condition, scan.row, e);
+                return false;
+            }
+        }
+    }
+
+    private static final class Query<T> {
+        /**
+         * 无条件时为null
+         */
+        private final Node node;
+
+        /**
+         * 无排序时为null
+         */
+        private final Comparator<T> comparator;
+
+        /**
+         * 无分组时为null
+         */
+        private final ColumnAccessor[] groupAccessors;
+
+        private final Limit limit;
+
+        private Query(Node node, Comparator<T> comparator, ColumnAccessor[] groupAccessors, Limit limit) {
+            this.node = node;
+            this.comparator = comparator;
+            this.groupAccessors = groupAccessors;
+            this.limit = limit;
+        }
+
+        boolean isTopK() {
+            return null == groupAccessors && null != comparator && null != limit.getLimit();
+        }
+    }
+
+    /**
+     * 单个查询在扫描中收集的行
+     */
+    private static final class Sink<T> {
+        private final Query<T> query;
+        private final List<T> rows;
+        private final TopKSelector<T> selector;
+
+        private Sink(Query<T> query, int size) {
+            this.query = query;
+            if (query.isTopK()) {
+                final long k = (long) (null == query.limit.getOffset() ? 0 : query.limit.getOffset()) + query.limit.getLimit();
+                this.rows = null;
+                this.selector = new TopKSelector<>(query.comparator, (int) Math.min(k, size));
+            } else {
+                this.rows = new ArrayList<>();
+                this.selector = null;
+            }
+        }
+
+        void offer(T row) {
+            if (null == selector) {
+                rows.add(row);
+            } else {
+                selector.offer(row);
+            }
+        }
+
+        /**
+         * order by -> group by -> limit，同{@link PreparedQuery#execute(List)}
+         */
+        List<T> result() {
+            if (null != selector) {
+                return SimSqlQueryUtil.limit(query.limit, selector.toSortedList());
+            }
+            List<T> result = rows;
+            if (null != query.comparator) {
+                result.sort(query.comparator);
+            }
+            if (null != query.groupAccessors) {
+                result = SimSqlQueryUtil.firstOfGroups(result, query.groupAccessors);
+            }
+            return SimSqlQueryUtil.limit(query.limit, result);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package sim.sql.util;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 列访问器，每个class+列只生成一次，替代逐行反射
+ * <li>属性：MethodHandle直接读取
+ * <li>get方法（接口、record）：LambdaMetafactory生成函数，失败时退化为MethodHandle
+ * <li>int/long/double基础类型提供免装箱的取值方法
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 10:12
+ */
+
+public final class ColumnAccessor {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final String column;
+    private final Class<?> type;
+    private final Function<Object, Object> getter;
+    private final ToIntFunction<Object> intGetter;
+    private final ToLongFunction<Object> longGetter;
+    private final ToDoubleFunction<Object> doubleGetter;
+
+    private ColumnAccessor(String column, Class<?> type, Function<Object, Object> getter, ToIntFunction<Object> intGetter,
+                           ToLongFunction<Object> longGetter, ToDoubleFunction<Object> doubleGetter) {
+        this.column = column;
+        this.type = type;
+        this.getter = getter;
+        this.intGetter = intGetter;
+        this.longGetter = longGetter;
+        this.doubleGetter = doubleGetter;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * 列声明类型，基础类型不会为null
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    public Object get(Object row) {
+        return getter.apply(row);
+    }
+
+    /**
+     * int值，非int列按Number转换，null列值抛NPE
+     */
+    public int getInt(Object row) {
+        return null != intGetter ? intGetter.applyAsInt(row) : ((Number) getter.apply(row)).intValue();
+    }
+
+    /**
+     * long值，非long列按Number转换，null列值抛NPE
+     */
+    public long getLong(Object row) {
+        return null != longGetter ? longGetter.applyAsLong(row) : ((Number) getter.apply(row)).longValue();
+    }
+
+    /**
+     * double值，非double列按Number转换，null列值抛NPE
+     */
+    public double getDouble(Object row) {
+        return null != doubleGetter ? doubleGetter.applyAsDouble(row) : ((Number) getter.apply(row)).doubleValue();
+    }
+
+    /**
+     * 比较两行该列的值，null视为最小，int/long/double基础类型不装箱
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public int compare(Object o, Object p) {
+        if (int.class == type) {
+            return Integer.compare(getInt(o), getInt(p));
+        }
+        if (long.class == type) {
+            return Long.compare(getLong(o), getLong(p));
+        }
+        if (double.class == type) {
+            return Double.compare(getDouble(o), getDouble(p));
+        }
+        final Object valueOfO = getter.apply(o);
+        final Object valueOfP = getter.apply(p);
+        if (null == valueOfO || null == valueOfP) {
+            // null视为最小
+            return valueOfO == valueOfP ? 0 : (null == valueOfO ? -1 : 1);
+        }
+        return ((Comparable) valueOfO).compareTo(valueOfP);
+    }
+
+    /**
+     * 基于属性生成，field需已允许直接存取
+     */
+    static ColumnAccessor ofField(String column, Field field) {
+        try {
+            final MethodHandle handle = LOOKUP.unreflectGetter(field);
+            final Class<?> type = field.getType();
+            final MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+            final Function<Object, Object> getter = row -> {
+                try {
+                    return (Object) generic.invokeExact(row);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            };
+            ToIntFunction<Object> intGetter = null;
+            ToLongFunction<Object> longGetter = null;
+            ToDoubleFunction<Object> doubleGetter = null;
+            if (int.class == type) {
+                final MethodHandle typed = handle.asType(MethodType.methodType(int.class, Object.class));
+                intGetter = row -> {
+                    try {
+                        return (int) typed.invokeExact(row);
+                    } catch (Throwable e) {
+                        throw propagate(e);
+                    }
+                };
+            } else if (long.class == type) {
+                final MethodHandle typed = handle.asType(MethodType.methodType(long.class, Object.class));
+                longGetter = row -> {
+                    try {
+                        return (long) typed.invokeExact(row);
+                    } catch (Throwable e) {
+                        throw propagate(e);
+                    }
+                };
+            } else if (double.class == type) {
+                final MethodHandle typed = handle.asType(MethodType.methodType(double.class, Object.class));
+                doubleGetter = row -> {
+                    try {
+                        return (double) typed.invokeExact(row);
+                    } catch (Throwable e) {
+                        throw propagate(e);
+                    }
+                };
+            }
+            return create(column, type, getter, intGetter, longGetter, doubleGetter);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("属性不可访问：" + field, e);
+        }
+    }
+
+    /**
+     * 基于无参get方法生成
+     */
+    @SuppressWarnings("unchecked")
+    static ColumnAccessor ofMethod(String column, Method method) {
+        final Class<?> type = method.getReturnType();
+        final MethodHandle handle;
+        try {
+            handle = unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("方法不可访问：" + method, e);
+        }
+        final Class<?> owner = method.getDeclaringClass();
+        try {
+            final MethodType erased = MethodType.methodType(Object.class, Object.class);
+            final Function<Object, Object> getter = metafactory(Function.class, "apply", erased, handle,
+                    MethodType.methodType(wrap(type), owner));
+            ToIntFunction<Object> intGetter = null;
+            ToLongFunction<Object> longGetter = null;
+            ToDoubleFunction<Object> doubleGetter = null;
+            if (int.class == type) {
+                intGetter = metafactory(ToIntFunction.class, "applyAsInt",
+                        MethodType.methodType(int.class, Object.class), handle, MethodType.methodType(int.class, owner));
+            } else if (long.class == type) {
+                longGetter = metafactory(ToLongFunction.class, "applyAsLong",
+                        MethodType.methodType(long.class, Object.class), handle, MethodType.methodType(long.class, owner));
+            } else if (double.class == type) {
+                doubleGetter = metafactory(ToDoubleFunction.class, "applyAsDouble",
+                        MethodType.methodType(double.class, Object.class), handle, MethodType.methodType(double.class, owner));
+            }
+            return create(column, type, getter, intGetter, longGetter, doubleGetter);
+        } catch (Throwable e) {
+            // 类加载器不可见、非public类等情况无法生成lambda，退化为MethodHandle
+            final MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+            return create(column, type, row -> {
+                try {
+                    return (Object) generic.invokeExact(row);
+                } catch (Throwable t) {
+                    throw propagate(t);
+                }
+            }, null, null, null);
+        }
+    }
+
+    /**
+     * 基于任意取值函数生成，值按对象比较
+     */
+    static ColumnAccessor of(String column, Function<Object, Object> getter) {
+        return new ColumnAccessor(column, Object.class, getter, null, null, null);
+    }
+
+    /**
+     * 补齐typed getter：int列同时可按long/double读取，long列可按double读取
+     */
+    private static ColumnAccessor create(String column, Class<?> type, Function<Object, Object> getter,
+                                         ToIntFunction<Object> intGetter, ToLongFunction<Object> longGetter,
+                                         ToDoubleFunction<Object> doubleGetter) {
+        if (null != intGetter) {
+            longGetter = intGetter::applyAsInt;
+            doubleGetter = intGetter::applyAsInt;
+        } else if (null != longGetter) {
+            final ToLongFunction<Object> typed = longGetter;
+            doubleGetter = row -> (double) typed.applyAsLong(row);
+        }
+        return new ColumnAccessor(column, type, getter, intGetter, longGetter, doubleGetter);
+    }
+
+    private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+        try {
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            // public方法声明在非public类上
+            method.setAccessible(true);
+            return LOOKUP.unreflect(method);
+        }
+    }
+
+    private static <F> F metafactory(Class<F> samType, String samName, MethodType samMethodType, MethodHandle handle,
+                                     MethodType instantiatedMethodType) throws Throwable {
+        final CallSite site = LambdaMetafactory.metafactory(LOOKUP, samName, MethodType.methodType(samType),
+                samMethodType, handle, instantiatedMethodType);
+        return samType.cast(site.getTarget().invoke());
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+    private static RuntimeException propagate(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new RuntimeException(e);
+    }
+}
@@ -0,0 +1,547 @@
+package sim.sql.util;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.condition.Condition;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 内存受限的查询：排序、分组时内存中最多保留约memoryRows行，超出部分溢写到临时文件
+ * <li>order by：每攒满一批稳定排序后写为有序段，再多路归并；段数过多时分多趟归并
+ * <li>group by：组数超出时按分组键哈希分区写入文件，逐个分区保留每组首行；分区仍过大时换哈希种子再分区，
+ * 超过{@value #MAX_PARTITION_DEPTH}层后在内存中处理；各分区结果按原顺序归并
+ * <li>无group by且offset+limit不超过memoryRows时用有界堆，不溢写
+ * <p>溢写记录带顺序号，相等的行按原顺序，结果与{@link SimSqlQueryUtil#query(List, Where, OrderBy, GroupBy, Limit, Class)}一致；
+ * 溢写过的行是反序列化得到的副本
+ * <p>返回的Stream需关闭以删除临时文件，读完的文件会提前删除
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 05:10
+ */
+
+public final class ExternalQuery<T> {
+
+    /**
+     * 单趟归并的最多段数
+     */
+    static final int MAX_FAN_IN = 1 << 6;
+
+    /**
+     * 每层分区数
+     */
+    static final int PARTITIONS = 1 << 4;
+
+    static final int MAX_PARTITION_DEPTH = 4;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Class<T> klass;
+    private final RowSerializer<T> serializer;
+    private final int memoryRows;
+
+    /**
+     * 临时文件目录，为null时使用系统临时目录
+     */
+    private final Path directory;
+
+    private ExternalQuery(Class<T> klass, RowSerializer<T> serializer, int memoryRows, Path directory) {
+        this.klass = klass;
+        this.serializer = serializer;
+        this.memoryRows = memoryRows;
+        this.directory = directory;
+    }
+
+    /**
+     * @param klass      data类型
+     * @param serializer 行序列化
+     * @param memoryRows 排序、分组时内存中最多保留的行数
+     * @param <T>        data类型
+     * @return 内存受限的查询
+     */
+    public static <T> ExternalQuery<T> of(@NonNull Class<T> klass, @NonNull RowSerializer<T> serializer,
+                                          int memoryRows) {
+        if (memoryRows <= 0) {
+            throw new RuntimeException("内存行数无效");
+        }
+        return new ExternalQuery<>(klass, serializer, memoryRows, null);
+    }
+
+    /**
+     * @param directory 临时文件目录
+     * @return 新的查询
+     */
+    public ExternalQuery<T> directory(@NonNull Path directory) {
+        return new ExternalQuery<>(klass, serializer, memoryRows, directory);
+    }
+
+    /**
+     * 类SQL查询，参数同{@link SimSqlQueryUtil#query(List, Where, OrderBy, GroupBy, Limit, Class)}
+     *
+     * @return 查询结果，分组内以第一条为准
+     */
+    public List<T> query(@NonNull List<T> data, @NonNull Where where, @NonNull OrderBy orderBy,
+                         @NonNull GroupBy groupBy, @NonNull Limit limit) {
+        try (Stream<T> stream = stream(data.stream(), where, orderBy, groupBy, limit)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 惰性类SQL查询，首次拉取时才消费源数据
+     *
+     * @param source 源数据，可以是无法一次装入内存的Stream
+     * @return 顺序Stream，用完需关闭
+     */
+    public Stream<T> stream(@NonNull Stream<T> source, @NonNull Where where, @NonNull OrderBy orderBy,
+                            @NonNull GroupBy groupBy, @NonNull Limit limit) {
+        final SpillFiles files = new SpillFiles(directory);
+        Stream<T> result = source.sequential().onClose(files::close);
+        if (!where.getAddConditions().isEmpty() || !where.getOrConditions().isEmpty()) {
+            final Condition condition = where.bind(klass);
+            result = result.filter(condition::match);
+        }
+        if (!orderBy.getOrderBy().isEmpty()) {
+            final Comparator<T> comparator = SimSqlQueryUtil.comparatorOf(orderBy, klass);
+            if (groupBy.getGroupBy().isEmpty() && null != limit.getLimit()
+                    && (long) (null == limit.getOffset() ? 0 : limit.getOffset()) + limit.getLimit() <= memoryRows) {
+                return LazyQuery.topK(result, comparator, limit);
+            }
+            result = deferred(result, upstream -> sort(upstream, comparator, files));
+        }
+        if (!groupBy.getGroupBy().isEmpty()) {
+            final ColumnAccessor[] accessors = SimSqlQueryUtil.groupAccessorsOf(groupBy, klass);
+            result = deferred(result, upstream -> firstOfGroups(upstream, accessors, files));
+        }
+        if (null == limit.getLimit()) {
+            return result;
+        }
+        return result.skip(null == limit.getOffset() ? 0 : limit.getOffset()).limit(limit.getLimit());
+    }
+
+    /**
+     * 首次拉取时才消费上游
+     */
+    private static <T> Stream<T> deferred(Stream<T> upstream, Function<Iterator<T>, Iterator<T>> stage) {
+        return StreamSupport.stream(
+                () -> Spliterators.spliteratorUnknownSize(stage.apply(upstream.iterator()), Spliterator.ORDERED),
+                Spliterator.ORDERED, false).onClose(upstream::close);
+    }
+
+    /**
+     * 外排序：有序段中记录的顺序号为段内位置加段起点，与稳定排序的并列顺序一致
+     */
+    private Iterator<T> sort(Iterator<T> input, Comparator<T> comparator, SpillFiles files) {
+        final List<T> buffer = new ArrayList<>();
+        final List<Run> runs = new ArrayList<>();
+        long sequence = 0;
+        while (input.hasNext()) {
+            buffer.add(input.next());
+            if (buffer.size() == memoryRows) {
+                buffer.sort(comparator);
+                runs.add(write(files, sequenced(buffer.iterator(), sequence)));
+                sequence += buffer.size();
+                buffer.clear();
+            }
+        }
+        buffer.sort(comparator);
+        if (runs.isEmpty()) {
+            return buffer.iterator();
+        }
+        if (!buffer.isEmpty()) {
+            runs.add(write(files, sequenced(buffer.iterator(), sequence)));
+            buffer.clear();
+        }
+        final Comparator<Entry<T>> order = (o, p) -> {
+            final int compareResult = comparator.compare(o.row, p.row);
+            return 0 != compareResult ? compareResult : Long.compare(o.sequence, p.sequence);
+        };
+        return rows(merge(runs, order, files));
+    }
+
+    /**
+     * 每组保留第一行，保持输入顺序
+     */
+    private Iterator<T> firstOfGroups(Iterator<T> input, ColumnAccessor[] accessors, SpillFiles files) {
+        final List<Run> survivors = new ArrayList<>();
+        final List<Entry<T>> kept = firstOfGroups(sequenced(input, 0), accessors, 0, survivors, files);
+        if (null != kept) {
+            return rows(kept.iterator());
+        }
+        return rows(merge(survivors, Comparator.comparingLong(o -> o.sequence), files));
+    }
+
+    /**
+     * @param input     按顺序号递增
+     * @param survivors 溢写时各分区的结果文件，每个文件内按顺序号递增
+     * @return 未溢写时为每组首行，溢写时为null
+     */
+    private List<Entry<T>> firstOfGroups(Iterator<Entry<T>> input, ColumnAccessor[] accessors, int depth,
+                                         List<Run> survivors, SpillFiles files) {
+        GroupKeyTable table = GroupKeyTable.of(accessors, 0);
+        List<Entry<T>> kept = new ArrayList<>();
+        Partitioner partitioner = null;
+        while (input.hasNext()) {
+            final Entry<T> entry = input.next();
+            if (null != partitioner) {
+                partitioner.write(entry);
+                continue;
+            }
+            final int groups = table.size();
+            if (table.groupOf(entry.row) != groups) {
+                continue;
+            }
+            kept.add(entry);
+            if (kept.size() > memoryRows && depth < MAX_PARTITION_DEPTH) {
+                // 已保留的首行先写入，同组的后续行在分区内排在其后
+                partitioner = new Partitioner(accessors, depth, files);
+                kept.forEach(partitioner::write);
+                kept = null;
+                table = null;
+            }
+        }
+        if (null == partitioner) {
+            return kept;
+        }
+        for (Run partition : partitioner.finish()) {
+            final List<Entry<T>> partitionKept = firstOfGroups(new RunReader(partition, files), accessors, depth + 1,
+                    survivors, files);
+            if (null != partitionKept) {
+                survivors.add(write(files, partitionKept.iterator()));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 多路归并，段数过多时先把相邻的段归并成较大的段
+     */
+    private Iterator<Entry<T>> merge(List<Run> runs, Comparator<Entry<T>> order, SpillFiles files) {
+        List<Run> pending = runs;
+        while (pending.size() > MAX_FAN_IN) {
+            final List<Run> merged = new ArrayList<>();
+            for (int from = 0; from < pending.size(); from += MAX_FAN_IN) {
+                final List<Run> group = pending.subList(from, Math.min(from + MAX_FAN_IN, pending.size()));
+                merged.add(1 == group.size() ? group.get(0) : write(files, new MergeIterator(group, order, files)));
+            }
+            pending = merged;
+        }
+        return new MergeIterator(pending, order, files);
+    }
+
+    private Run write(SpillFiles files, Iterator<Entry<T>> entries) {
+        final Path path = files.create();
+        long count = 0;
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE))) {
+            while (entries.hasNext()) {
+                final Entry<T> entry = entries.next();
+                out.writeLong(entry.sequence);
+                serializer.write(out, entry.row);
+                count++;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("溢写失败", e);
+        }
+        return new Run(path, count);
+    }
+
+    private static <T> Iterator<Entry<T>> sequenced(Iterator<T> rows, long start) {
+        return new Iterator<Entry<T>>() {
+            private long sequence = start;
+
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public Entry<T> next() {
+                return new Entry<>(sequence++, rows.next());
+            }
+        };
+    }
+
+    private static <T> Iterator<T> rows(Iterator<Entry<T>> entries) {
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return entries.next().row;
+            }
+        };
+    }
+
+    /**
+     * 溢写记录：顺序号 + 行
+     */
+    private static final class Entry<T> {
+        private final long sequence;
+        private final T row;
+
+        private Entry(long sequence, T row) {
+            this.sequence = sequence;
+            this.row = row;
+        }
+    }
+
+    /**
+     * 溢写文件及记录数
+     */
+    private static final class Run {
+        private final Path path;
+        private final long count;
+
+        private Run(Path path, long count) {
+            this.path = path;
+            this.count = count;
+        }
+    }
+
+    /**
+     * 顺序读取溢写文件，读完即删除
+     */
+    private final class RunReader implements Iterator<Entry<T>>, Closeable {
+        private final Run run;
+        private final SpillFiles files;
+        private DataInputStream in;
+        private long remaining;
+
+        private RunReader(Run run, SpillFiles files) {
+            this.run = run;
+            this.files = files;
+            this.remaining = run.count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public Entry<T> next() {
+            if (remaining <= 0) {
+                throw new NoSuchElementException();
+            }
+            try {
+                if (null == in) {
+                    in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run.path), BUFFER_SIZE));
+                    files.register(this);
+                }
+                final Entry<T> entry = new Entry<>(in.readLong(), serializer.read(in));
+                if (0 == --remaining) {
+                    close();
+                    files.delete(run.path);
+                }
+                return entry;
+            } catch (IOException e) {
+                throw new RuntimeException("读取溢写文件失败", e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (null != in) {
+                in.close();
+            }
+        }
+    }
+
+    /**
+     * 多个有序段的归并，各段首行放入小顶堆，比较相等的记录不存在（顺序号唯一）
+     */
+    private final class MergeIterator implements Iterator<Entry<T>> {
+        private final PriorityQueue<Head> heads;
+
+        private MergeIterator(List<Run> runs, Comparator<Entry<T>> order, SpillFiles files) {
+            this.heads = new PriorityQueue<>(Math.max(1, runs.size()), (o, p) -> order.compare(o.entry, p.entry));
+            for (Run run : runs) {
+                final RunReader reader = new RunReader(run, files);
+                if (reader.hasNext()) {
+                    heads.add(new Head(reader.next(), reader));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public Entry<T> next() {
+            final Head head = heads.poll();
+            if (null == head) {
+                throw new NoSuchElementException();
+            }
+            final Entry<T> entry = head.entry;
+            if (head.reader.hasNext()) {
+                head.entry = head.reader.next();
+                heads.add(head);
+            }
+            return entry;
+        }
+    }
+
+    private final class Head {
+        private Entry<T> entry;
+        private final RunReader reader;
+
+        private Head(Entry<T> entry, RunReader reader) {
+            this.entry = entry;
+            this.reader = reader;
+        }
+    }
+
+    /**
+     * 按分组键哈希写入分区文件，层数不同时使用不同的哈希种子
+     */
+    private final class Partitioner {
+        private final ColumnAccessor[] accessors;
+        private final int seed;
+        private final SpillFiles files;
+        private final Path[] paths = new Path[PARTITIONS];
+        private final DataOutputStream[] outs = new DataOutputStream[PARTITIONS];
+        private final long[] counts = new long[PARTITIONS];
+
+        private Partitioner(ColumnAccessor[] accessors, int depth, SpillFiles files) {
+            this.accessors = accessors;
+            this.seed = (depth + 1) * 0x9E3779B9;
+            this.files = files;
+        }
+
+        void write(Entry<T> entry) {
+            final int partition = mix(SimSqlQueryUtil.groupKeyOf(entry.row, accessors).hashCode() ^ seed)
+                    & (PARTITIONS - 1);
+            try {
+                if (null == outs[partition]) {
+                    paths[partition] = files.create();
+                    outs[partition] = new DataOutputStream(
+                            new BufferedOutputStream(Files.newOutputStream(paths[partition]), BUFFER_SIZE));
+                    files.register(outs[partition]);
+                }
+                outs[partition].writeLong(entry.sequence);
+                serializer.write(outs[partition], entry.row);
+                counts[partition]++;
+            } catch (IOException e) {
+                throw new RuntimeException("溢写失败", e);
+            }
+        }
+
+        /**
+         * @return 非空的分区
+         */
+        List<Run> finish() {
+            final List<Run> runs = new ArrayList<>();
+            for (int i = 0; i < PARTITIONS; i++) {
+                if (null == outs[i]) {
+                    continue;
+                }
+                try {
+                    outs[i].close();
+                } catch (IOException e) {
+                    throw new RuntimeException("溢写失败", e);
+                }
+                runs.add(new Run(paths[i], counts[i]));
+            }
+            return runs;
+        }
+
+        private int mix(int hash) {
+            hash ^= hash >>> 16;
+            hash *= 0x85EBCA6B;
+            hash ^= hash >>> 13;
+            hash *= 0xC2B2AE35;
+            return hash ^ hash >>> 16;
+        }
+    }
+
+    /**
+     * 一次查询的临时文件，关闭时删除全部剩余文件
+     */
+    private static final class SpillFiles {
+        private static final String PREFIX = "sim-sql-";
+        private static final String SUFFIX = ".spill";
+
+        private final Path directory;
+        private final Set<Path> paths = new HashSet<>();
+        private final List<Closeable> streams = new ArrayList<>();
+
+        private SpillFiles(Path directory) {
+            this.directory = directory;
+        }
+
+        Path create() {
+            try {
+                final Path path = null == directory
+                        ? Files.createTempFile(PREFIX, SUFFIX)
+                        : Files.createTempFile(directory, PREFIX, SUFFIX);
+                paths.add(path);
+                return path;
+            } catch (IOException e) {
+                throw new RuntimeException("创建溢写文件失败", e);
+            }
+        }
+
+        void register(Closeable stream) {
+            streams.add(stream);
+        }
+
+        void delete(Path path) {
+            paths.remove(path);
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+                // 关闭时重试
+                paths.add(path);
+            }
+        }
+
+        void close() {
+            for (Closeable stream : streams) {
+                try {
+                    stream.close();
+                } catch (IOException ignored) {
+                    // 只为释放文件句柄
+                }
+            }
+            streams.clear();
+            for (Path path : new ArrayList<>(paths)) {
+                paths.remove(path);
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException ignored) {
+                    // 临时目录由系统清理
+                }
+            }
+        }
+    }
+}
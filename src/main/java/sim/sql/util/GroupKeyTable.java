@@ -0,0 +1,224 @@
+package sim.sql.util;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 分组键表：开放寻址哈希，键值直接从行上读取并按列存放
+ * <li>int、long、double列按原始值读取与存放，不装箱
+ * <li>其余列存放对象引用，相等性同{@link Objects#equals(Object, Object)}
+ * <li>只在出现新分组时追加键，逐行查找不分配对象
+ * <p>组号从0开始按首次出现顺序分配，键的相等性与按列值组成的List一致；非线程安全
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 23:30
+ */
+
+public final class GroupKeyTable {
+
+    private static final int INT = 0;
+    private static final int LONG = 1;
+    private static final int DOUBLE = 2;
+    private static final int REFERENCE = 3;
+
+    private final ColumnAccessor[] accessors;
+    private final int[] kinds;
+
+    /**
+     * 按列存放的键，原始类型列用primitives，其余用references，下标为组号
+     */
+    private final long[][] primitives;
+    private final Object[][] references;
+    private int[] hashes;
+
+    /**
+     * 当前行的键，逐行复用
+     */
+    private final long[] primitiveScratch;
+    private final Object[] referenceScratch;
+
+    /**
+     * 组号 + 1，0为空槽
+     */
+    private int[] slots;
+    private int size;
+
+    private GroupKeyTable(ColumnAccessor[] accessors, int expectedGroups) {
+        this.accessors = accessors;
+        this.kinds = new int[accessors.length];
+        this.primitives = new long[accessors.length][];
+        this.references = new Object[accessors.length][];
+        final int capacity = Math.max(16, Integer.highestOneBit(Math.max(1, expectedGroups) - 1) << 1);
+        for (int i = 0; i < accessors.length; i++) {
+            final Class<?> type = accessors[i].getType();
+            kinds[i] = int.class == type ? INT : long.class == type ? LONG : double.class == type ? DOUBLE : REFERENCE;
+            if (REFERENCE == kinds[i]) {
+                references[i] = new Object[capacity];
+            } else {
+                primitives[i] = new long[capacity];
+            }
+        }
+        this.hashes = new int[capacity];
+        this.primitiveScratch = new long[accessors.length];
+        this.referenceScratch = new Object[accessors.length];
+        this.slots = new int[capacity << 1];
+    }
+
+    /**
+     * @param accessors      分组列
+     * @param expectedGroups 预计组数
+     * @return 空表
+     */
+    public static GroupKeyTable of(@NonNull ColumnAccessor[] accessors, int expectedGroups) {
+        return new GroupKeyTable(accessors, expectedGroups);
+    }
+
+    /**
+     * 查找行所在的组，不存在时新建
+     *
+     * @param row 数据
+     * @return 组号，等于调用前的{@link #size()}时为新建
+     */
+    public int groupOf(Object row) {
+        int hash = 1;
+        for (int i = 0; i < accessors.length; i++) {
+            final int columnHash;
+            switch (kinds[i]) {
+                case INT: {
+                    final int value = accessors[i].getInt(row);
+                    primitiveScratch[i] = value;
+                    columnHash = value;
+                    break;
+                }
+                case LONG: {
+                    final long value = accessors[i].getLong(row);
+                    primitiveScratch[i] = value;
+                    columnHash = Long.hashCode(value);
+                    break;
+                }
+                case DOUBLE: {
+                    final long value = Double.doubleToLongBits(accessors[i].getDouble(row));
+                    primitiveScratch[i] = value;
+                    columnHash = Long.hashCode(value);
+                    break;
+                }
+                default: {
+                    final Object value = accessors[i].get(row);
+                    referenceScratch[i] = value;
+                    columnHash = Objects.hashCode(value);
+                }
+            }
+            hash = 31 * hash + columnHash;
+        }
+        hash = mix(hash);
+        final int mask = slots.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            final int group = slots[slot] - 1;
+            if (group < 0) {
+                return insert(slot, hash);
+            }
+            if (hashes[group] == hash && matches(group)) {
+                clearScratch();
+                return group;
+            }
+        }
+    }
+
+    /**
+     * @return 组数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param group  组号
+     * @param column 第几个分组列
+     * @return 键值，与从行上读取的类型一致
+     */
+    public Object key(int group, int column) {
+        switch (kinds[column]) {
+            case INT:
+                return (int) primitives[column][group];
+            case LONG:
+                return primitives[column][group];
+            case DOUBLE:
+                return Double.longBitsToDouble(primitives[column][group]);
+            default:
+                return references[column][group];
+        }
+    }
+
+    private boolean matches(int group) {
+        for (int i = 0; i < kinds.length; i++) {
+            if (REFERENCE == kinds[i]) {
+                if (!Objects.equals(references[i][group], referenceScratch[i])) {
+                    return false;
+                }
+            } else if (primitives[i][group] != primitiveScratch[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int insert(int slot, int hash) {
+        final int group = size++;
+        if (group == hashes.length) {
+            final int capacity = hashes.length << 1;
+            hashes = Arrays.copyOf(hashes, capacity);
+            for (int i = 0; i < kinds.length; i++) {
+                if (REFERENCE == kinds[i]) {
+                    references[i] = Arrays.copyOf(references[i], capacity);
+                } else {
+                    primitives[i] = Arrays.copyOf(primitives[i], capacity);
+                }
+            }
+        }
+        hashes[group] = hash;
+        for (int i = 0; i < kinds.length; i++) {
+            if (REFERENCE == kinds[i]) {
+                references[i][group] = referenceScratch[i];
+            } else {
+                primitives[i][group] = primitiveScratch[i];
+            }
+        }
+        clearScratch();
+        slots[slot] = group + 1;
+        if (size << 1 > slots.length) {
+            rehash();
+        }
+        return group;
+    }
+
+    /**
+     * 负载超过1/2时扩容
+     */
+    private void rehash() {
+        final int[] newSlots = new int[slots.length << 1];
+        final int mask = newSlots.length - 1;
+        for (int group = 0; group < size; group++) {
+            int slot = hashes[group] & mask;
+            while (newSlots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newSlots[slot] = group + 1;
+        }
+        slots = newSlots;
+    }
+
+    /**
+     * 不持有当前行的引用
+     */
+    private void clearScratch() {
+        Arrays.fill(referenceScratch, null);
+    }
+
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        return hash ^ (hash >>> 13);
+    }
+}
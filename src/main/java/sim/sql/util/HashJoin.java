@@ -0,0 +1,460 @@
+package sim.sql.util;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.condition.ColumnCondition;
+import sim.sql.condition.Condition;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 哈希连接：按连接列等值连接两个列表，再对连接结果执行 where -> order by -> group by -> limit
+ * <li>内连接、左连接、半连接；较小的一侧建哈希表，另一侧逐行探测
+ * <li>连接列为null时不匹配任何行，其余按{@link java.util.Objects#equals(Object, Object)}，与分组一致
+ * <li>列名用left.xxx、right.xxx区分两侧，只有一侧存在的列可省略前缀；左连接未匹配时右表列值为null
+ * <li>where顶层只有add时，只涉及一侧列的条件下推到连接前过滤；左连接只下推左表条件，自定义条件不下推
+ * <p>连接结果的顺序同嵌套循环：按左表顺序，同一左表行按右表顺序。
+ * 半连接每个左表行至多一行、右表行为null，where对连接对判定，任一连接对满足即保留
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 03:50
+ */
+
+public final class HashJoin<L, R> {
+
+    private static final String LEFT_PREFIX = "left.";
+    private static final String RIGHT_PREFIX = "right.";
+    private static final int LEFT_SIDE = 1;
+    private static final int RIGHT_SIDE = 2;
+
+    private final Type type;
+    private final List<L> left;
+    private final Class<L> leftClass;
+    private final List<R> right;
+    private final Class<R> rightClass;
+    private final List<String> leftKeys = new ArrayList<>();
+    private final List<String> rightKeys = new ArrayList<>();
+
+    private HashJoin(Type type, List<L> left, Class<L> leftClass, List<R> right, Class<R> rightClass) {
+        this.type = type;
+        this.left = left;
+        this.leftClass = leftClass;
+        this.right = right;
+        this.rightClass = rightClass;
+    }
+
+    public static <L, R> HashJoin<L, R> inner(@NonNull List<L> left, @NonNull Class<L> leftClass,
+                                              @NonNull List<R> right, @NonNull Class<R> rightClass) {
+        return new HashJoin<>(Type.INNER, left, leftClass, right, rightClass);
+    }
+
+    public static <L, R> HashJoin<L, R> left(@NonNull List<L> left, @NonNull Class<L> leftClass,
+                                             @NonNull List<R> right, @NonNull Class<R> rightClass) {
+        return new HashJoin<>(Type.LEFT, left, leftClass, right, rightClass);
+    }
+
+    public static <L, R> HashJoin<L, R> semi(@NonNull List<L> left, @NonNull Class<L> leftClass,
+                                             @NonNull List<R> right, @NonNull Class<R> rightClass) {
+        return new HashJoin<>(Type.SEMI, left, leftClass, right, rightClass);
+    }
+
+    /**
+     * 追加一对连接列，多次调用即多列连接
+     *
+     * @param leftColumn  左表列名
+     * @param rightColumn 右表列名
+     * @return this
+     */
+    public HashJoin<L, R> on(@NonNull String leftColumn, @NonNull String rightColumn) {
+        leftKeys.add(leftColumn);
+        rightKeys.add(rightColumn);
+        return this;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * 连接并查询
+     *
+     * @param where   where，支持add or，支持嵌套
+     * @param orderBy 排序字段
+     * @param groupBy 分组字段
+     * @param limit   limit字段
+     * @return 查询结果，分组内以第一条为准
+     */
+    public List<JoinedRow<L, R>> query(@NonNull Where where, @NonNull OrderBy orderBy, @NonNull GroupBy groupBy,
+                                       @NonNull Limit limit) {
+        if (leftKeys.isEmpty()) {
+            throw new RuntimeException("未指定连接列");
+        }
+        final List<Condition> leftFilters = new ArrayList<>();
+        final List<Condition> rightFilters = new ArrayList<>();
+        final List<Condition> residuals = new ArrayList<>();
+        pushDown(where, leftFilters, rightFilters, residuals);
+        final Probe probe = new Probe(
+                keyAccessorsOf(leftClass, leftKeys),
+                keyAccessorsOf(rightClass, rightKeys),
+                bindAll(leftFilters, this::leftAccessorOf),
+                bindAll(rightFilters, this::rightAccessorOf),
+                bindAll(residuals, this::joinedAccessorOf));
+        final Comparator<JoinedRow<L, R>> comparator = orderBy.getOrderBy().isEmpty()
+                ? null
+                : SimSqlQueryUtil.comparatorOf(orderBy, this::joinedAccessorOf);
+        final ColumnAccessor[] groupAccessors = groupBy.getGroupBy().isEmpty()
+                ? null
+                : SimSqlQueryUtil.groupAccessorsOf(groupBy, this::joinedAccessorOf);
+        if (null == groupAccessors && null != comparator && null != limit.getLimit()) {
+            // 连接结果按嵌套循环顺序流入有界堆，与稳定排序后取前k条一致
+            final long k = (long) (null == limit.getOffset() ? 0 : limit.getOffset()) + limit.getLimit();
+            final TopKSelector<JoinedRow<L, R>> selector = new TopKSelector<>(comparator,
+                    (int) Math.min(k, Integer.MAX_VALUE));
+            probe.run(selector::offer);
+            return SimSqlQueryUtil.limit(limit, selector.toSortedList());
+        }
+        List<JoinedRow<L, R>> result = new ArrayList<>();
+        probe.run(result::add);
+        if (null != comparator) {
+            result.sort(comparator);
+        }
+        if (null != groupAccessors) {
+            result = SimSqlQueryUtil.firstOfGroups(result, groupAccessors);
+        }
+        return SimSqlQueryUtil.limit(limit, result);
+    }
+
+    /**
+     * 拆分where：顶层有or时整体在连接后判定
+     */
+    private void pushDown(Where where, List<Condition> leftFilters, List<Condition> rightFilters,
+                          List<Condition> residuals) {
+        if (!where.getOrConditions().isEmpty()) {
+            residuals.add(where);
+            return;
+        }
+        for (Condition condition : where.getAddConditions()) {
+            final int sides = sidesOf(condition);
+            if (0 == (sides & RIGHT_SIDE)) {
+                // 不涉及任何列的条件（如列不存在）在哪一侧判定结果相同
+                leftFilters.add(condition);
+            } else if (RIGHT_SIDE == sides && Type.LEFT != type) {
+                rightFilters.add(condition);
+            } else {
+                residuals.add(condition);
+            }
+        }
+    }
+
+    /**
+     * @return 条件涉及的一侧或两侧，自定义条件视为两侧
+     */
+    private int sidesOf(Condition condition) {
+        if (condition instanceof Where) {
+            final Where where = (Where) condition;
+            int sides = 0;
+            for (Condition child : where.getAddConditions()) {
+                sides |= sidesOf(child);
+            }
+            for (Condition child : where.getOrConditions()) {
+                sides |= sidesOf(child);
+            }
+            return sides;
+        }
+        if (condition instanceof ColumnCondition) {
+            int sides = 0;
+            for (String column : ((ColumnCondition) condition).getColumns()) {
+                final JoinColumn joinColumn = resolve(column);
+                if (null != joinColumn) {
+                    sides |= joinColumn.left ? LEFT_SIDE : RIGHT_SIDE;
+                }
+            }
+            return sides;
+        }
+        return LEFT_SIDE | RIGHT_SIDE;
+    }
+
+    /**
+     * @return 列不存在时为null
+     */
+    private JoinColumn resolve(String column) {
+        if (column.startsWith(LEFT_PREFIX)) {
+            final ColumnAccessor accessor = SimSqlQueryUtil.accessorOf(leftClass, column.substring(LEFT_PREFIX.length()));
+            return null == accessor ? null : new JoinColumn(true, accessor);
+        }
+        if (column.startsWith(RIGHT_PREFIX)) {
+            final ColumnAccessor accessor = SimSqlQueryUtil.accessorOf(rightClass, column.substring(RIGHT_PREFIX.length()));
+            return null == accessor ? null : new JoinColumn(false, accessor);
+        }
+        final ColumnAccessor leftAccessor = SimSqlQueryUtil.accessorOf(leftClass, column);
+        final ColumnAccessor rightAccessor = SimSqlQueryUtil.accessorOf(rightClass, column);
+        if (null != leftAccessor && null != rightAccessor) {
+            throw new RuntimeException("列名不明确，需加left.或right.前缀：" + column);
+        }
+        if (null != leftAccessor) {
+            return new JoinColumn(true, leftAccessor);
+        }
+        return null == rightAccessor ? null : new JoinColumn(false, rightAccessor);
+    }
+
+    private ColumnAccessor leftAccessorOf(String column) {
+        final JoinColumn joinColumn = resolve(column);
+        return null == joinColumn || !joinColumn.left ? null : joinColumn.accessor;
+    }
+
+    private ColumnAccessor rightAccessorOf(String column) {
+        final JoinColumn joinColumn = resolve(column);
+        return null == joinColumn || joinColumn.left ? null : joinColumn.accessor;
+    }
+
+    /**
+     * 连接结果行上的列，右表行为null时列值为null
+     */
+    private ColumnAccessor joinedAccessorOf(String column) {
+        final JoinColumn joinColumn = resolve(column);
+        if (null == joinColumn) {
+            return null;
+        }
+        final ColumnAccessor accessor = joinColumn.accessor;
+        if (joinColumn.left) {
+            return ColumnAccessor.of(column, row -> accessor.get(((JoinedRow<?, ?>) row).getLeft()));
+        }
+        return ColumnAccessor.of(column, row -> {
+            final Object value = ((JoinedRow<?, ?>) row).getRight();
+            return null == value ? null : accessor.get(value);
+        });
+    }
+
+    private static ColumnAccessor[] keyAccessorsOf(Class<?> klass, List<String> columns) {
+        final ColumnAccessor[] accessors = new ColumnAccessor[columns.size()];
+        for (int i = 0; i < accessors.length; i++) {
+            accessors[i] = SimSqlQueryUtil.accessorOf(klass, columns.get(i));
+            if (null == accessors[i]) {
+                throw new RuntimeException("连接字段无效：" + columns.get(i));
+            }
+        }
+        return accessors;
+    }
+
+    /**
+     * 单列时为列值，多列时为列值List；任一列为null时为null
+     */
+    private static Object keyOf(Object row, ColumnAccessor[] accessors) {
+        if (1 == accessors.length) {
+            return accessors[0].get(row);
+        }
+        final List<Object> key = SimSqlQueryUtil.groupKeyOf(row, accessors);
+        return key.contains(null) ? null : key;
+    }
+
+    /**
+     * 全部满足，无条件时为null
+     */
+    private static Condition bindAll(List<Condition> conditions, Function<String, ColumnAccessor> resolver) {
+        if (conditions.isEmpty()) {
+            return null;
+        }
+        final Condition[] bound = conditions.stream().map(o -> o.bind(resolver)).toArray(Condition[]::new);
+        return 1 == bound.length ? bound[0] : obj -> matchAll(bound, obj);
+    }
+
+    private static boolean matchAll(Condition[] conditions, Object obj) {
+        for (Condition condition : conditions) {
+            if (!condition.match(obj)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 连接类型
+     */
+    public enum Type {
+        // 内连接、左外连接、左半连接
+        INNER, LEFT, SEMI
+    }
+
+    private static final class JoinColumn {
+        private final boolean left;
+        private final ColumnAccessor accessor;
+
+        private JoinColumn(boolean left, ColumnAccessor accessor) {
+            this.left = left;
+            this.accessor = accessor;
+        }
+    }
+
+    /**
+     * 一次连接执行，条件为null时不过滤
+     */
+    private final class Probe {
+        private final ColumnAccessor[] leftKeyAccessors;
+        private final ColumnAccessor[] rightKeyAccessors;
+        private final Condition leftFilter;
+        private final Condition rightFilter;
+        private final Condition residual;
+
+        private Probe(ColumnAccessor[] leftKeyAccessors, ColumnAccessor[] rightKeyAccessors, Condition leftFilter,
+                      Condition rightFilter, Condition residual) {
+            this.leftKeyAccessors = leftKeyAccessors;
+            this.rightKeyAccessors = rightKeyAccessors;
+            this.leftFilter = leftFilter;
+            this.rightFilter = rightFilter;
+            this.residual = residual;
+        }
+
+        void run(Consumer<JoinedRow<L, R>> sink) {
+            if (right.size() <= left.size()) {
+                probeLeft(sink);
+            } else {
+                probeRight(sink);
+            }
+        }
+
+        private boolean accept(JoinedRow<L, R> row) {
+            return null == residual || residual.match(row);
+        }
+
+        /**
+         * 右表建表，逐行探测左表，直接按嵌套循环顺序输出
+         */
+        private void probeLeft(Consumer<JoinedRow<L, R>> sink) {
+            final int[] next = new int[right.size()];
+            final Map<Object, Integer> heads = build(right, rightKeyAccessors, rightFilter, next, null);
+            for (L leftRow : left) {
+                if (null != leftFilter && !leftFilter.match(leftRow)) {
+                    continue;
+                }
+                final Object key = keyOf(leftRow, leftKeyAccessors);
+                final Integer head = null == key ? null : heads.get(key);
+                for (int i = null == head ? -1 : head; i >= 0; i = next[i]) {
+                    final JoinedRow<L, R> row = new JoinedRow<>(leftRow, right.get(i));
+                    if (accept(row)) {
+                        if (Type.SEMI == type) {
+                            sink.accept(new JoinedRow<>(leftRow, null));
+                            break;
+                        }
+                        sink.accept(row);
+                    }
+                }
+                if (Type.LEFT == type && null == head) {
+                    final JoinedRow<L, R> row = new JoinedRow<>(leftRow, null);
+                    if (accept(row)) {
+                        sink.accept(row);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 左表建表，逐行探测右表；连接对按左表行号稳定归位后输出
+         */
+        private void probeRight(Consumer<JoinedRow<L, R>> sink) {
+            final int[] next = new int[left.size()];
+            final boolean[] included = new boolean[left.size()];
+            final Map<Object, Integer> heads = build(left, leftKeyAccessors, leftFilter, next, included);
+            final boolean[] keyMatched = new boolean[left.size()];
+            final boolean[] found = new boolean[left.size()];
+            int[] pairLefts = new int[16];
+            int[] pairRights = new int[16];
+            int pairs = 0;
+            for (int j = 0; j < right.size(); j++) {
+                final R rightRow = right.get(j);
+                if (null != rightFilter && !rightFilter.match(rightRow)) {
+                    continue;
+                }
+                final Object key = keyOf(rightRow, rightKeyAccessors);
+                final Integer head = null == key ? null : heads.get(key);
+                for (int i = null == head ? -1 : head; i >= 0; i = next[i]) {
+                    keyMatched[i] = true;
+                    if (found[i] || !accept(new JoinedRow<>(left.get(i), rightRow))) {
+                        continue;
+                    }
+                    if (Type.SEMI == type) {
+                        found[i] = true;
+                        continue;
+                    }
+                    if (pairs == pairLefts.length) {
+                        pairLefts = Arrays.copyOf(pairLefts, pairs << 1);
+                        pairRights = Arrays.copyOf(pairRights, pairs << 1);
+                    }
+                    pairLefts[pairs] = i;
+                    pairRights[pairs++] = j;
+                }
+            }
+            // 按左表行号计数排序，同一左表行保持右表顺序
+            final int[] starts = new int[left.size() + 1];
+            for (int p = 0; p < pairs; p++) {
+                starts[pairLefts[p] + 1]++;
+            }
+            for (int i = 0; i < left.size(); i++) {
+                starts[i + 1] += starts[i];
+            }
+            final int[] ordered = new int[pairs];
+            final int[] cursors = Arrays.copyOf(starts, left.size());
+            for (int p = 0; p < pairs; p++) {
+                ordered[cursors[pairLefts[p]]++] = pairRights[p];
+            }
+            for (int i = 0; i < left.size(); i++) {
+                if (!included[i]) {
+                    continue;
+                }
+                final L leftRow = left.get(i);
+                if (Type.SEMI == type) {
+                    if (found[i]) {
+                        sink.accept(new JoinedRow<>(leftRow, null));
+                    }
+                    continue;
+                }
+                for (int p = starts[i]; p < starts[i + 1]; p++) {
+                    sink.accept(new JoinedRow<>(leftRow, right.get(ordered[p])));
+                }
+                if (Type.LEFT == type && !keyMatched[i]) {
+                    final JoinedRow<L, R> row = new JoinedRow<>(leftRow, null);
+                    if (accept(row)) {
+                        sink.accept(row);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 倒序插入，链表按原顺序遍历
+         *
+         * @param next     链表后继，-1为结尾
+         * @param included 非null时记录通过过滤的行
+         * @return 连接键 -> 链表头
+         */
+        private <E> Map<Object, Integer> build(List<E> rows, ColumnAccessor[] keyAccessors, Condition filter,
+                                               int[] next, boolean[] included) {
+            final Map<Object, Integer> heads = new HashMap<>();
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                final E row = rows.get(i);
+                if (null != filter && !filter.match(row)) {
+                    continue;
+                }
+                if (null != included) {
+                    included[i] = true;
+                }
+                final Object key = keyOf(row, keyAccessors);
+                if (null == key) {
+                    continue;
+                }
+                final Integer head = heads.put(key, i);
+                next[i] = null == head ? -1 : head;
+            }
+            return heads;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package sim.sql.util;
+
+import java.util.Objects;
+
+/**
+ * 连接结果行：左表行 + 右表行
+ * <p>左连接未匹配、半连接时右表行为null
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 03:50
+ */
+
+public final class JoinedRow<L, R> {
+
+    private final L left;
+    private final R right;
+
+    JoinedRow(L left, R right) {
+        this.left = left;
+        this.right = right;
+    }
+
+    public L getLeft() {
+        return left;
+    }
+
+    public R getRight() {
+        return right;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JoinedRow)) {
+            return false;
+        }
+        final JoinedRow<?, ?> that = (JoinedRow<?, ?>) o;
+        return Objects.equals(left, that.left) && Objects.equals(right, that.right);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hashCode(left) + Objects.hashCode(right);
+    }
+
+    @Override
+    public String toString() {
+        return "JoinedRow{left=" + left + ", right=" + right + '}';
+    }
+}
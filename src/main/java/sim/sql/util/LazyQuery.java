@@ -0,0 +1,148 @@
+package sim.sql.util;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.condition.Condition;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 惰性查询：返回按需拉取的Stream，各阶段逐行流过，不生成中间列表
+ * <li>无order by时，取够offset+limit条即停止扫描
+ * <li>group by按首次出现去重，内存只与组数有关；输入已按分组列连续时可只比较相邻行，内存O(1)
+ * <li>order by需要看到全部数据，首次拉取时才排序；无group by有limit时走top-k
+ * <p>列与比较器在调用时解析，Stream可在其他线程消费；结果与{@link SimSqlQueryUtil#query(List, Where, OrderBy, GroupBy, Limit, Class)}一致
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 20:40
+ */
+
+public final class LazyQuery {
+
+    private LazyQuery() {
+    }
+
+    /**
+     * 惰性类SQL查询
+     *
+     * @param data    源数据列表
+     * @param where   where
+     * @param orderBy 排序字段
+     * @param groupBy 分组字段
+     * @param limit   limit字段
+     * @param klass   data类型
+     * @param <T>     data类型
+     * @return 顺序Stream
+     */
+    public static <T> Stream<T> stream(@NonNull List<T> data, @NonNull Where where, @NonNull OrderBy orderBy,
+                                       @NonNull GroupBy groupBy, @NonNull Limit limit, @NonNull Class<T> klass) {
+        return stream(data.stream(), where, orderBy, groupBy, limit, klass, false);
+    }
+
+    /**
+     * 惰性类SQL查询
+     *
+     * @param source       源数据，可以是无法一次装入内存的Stream
+     * @param where        where
+     * @param orderBy      排序字段
+     * @param groupBy      分组字段
+     * @param limit        limit字段
+     * @param klass        data类型
+     * @param groupSorted  输入（无order by时）或排序结果中同组的行是否连续，是则按相邻行分组
+     * @param <T>          data类型
+     * @return 顺序Stream
+     */
+    public static <T> Stream<T> stream(@NonNull Stream<T> source, @NonNull Where where, @NonNull OrderBy orderBy,
+                                       @NonNull GroupBy groupBy, @NonNull Limit limit, @NonNull Class<T> klass,
+                                       boolean groupSorted) {
+        Stream<T> result = source.sequential();
+        if (!where.getAddConditions().isEmpty() || !where.getOrConditions().isEmpty()) {
+            final Condition condition = where.bind(klass);
+            result = result.filter(condition::match);
+        }
+        if (!orderBy.getOrderBy().isEmpty()) {
+            final Comparator<T> comparator = SimSqlQueryUtil.comparatorOf(orderBy, klass);
+            if (groupBy.getGroupBy().isEmpty() && null != limit.getLimit()) {
+                return topK(result, comparator, limit);
+            }
+            result = result.sorted(comparator);
+        }
+        if (!groupBy.getGroupBy().isEmpty()) {
+            final ColumnAccessor[] accessors = SimSqlQueryUtil.groupAccessorsOf(groupBy, klass);
+            result = result.filter(groupSorted ? new AdjacentFirst(accessors)::test : new SeenFirst(accessors)::test);
+        }
+        return limit(result, limit);
+    }
+
+    private static <T> Stream<T> limit(Stream<T> stream, Limit limit) {
+        if (null == limit.getLimit()) {
+            return stream;
+        }
+        return stream.skip(null == limit.getOffset() ? 0 : limit.getOffset()).limit(limit.getLimit());
+    }
+
+    /**
+     * 首次拉取时才消费上游
+     */
+    static <T> Stream<T> topK(Stream<T> filtered, Comparator<T> comparator, Limit limit) {
+        final long k = (long) (null == limit.getOffset() ? 0 : limit.getOffset()) + limit.getLimit();
+        final Stream<T> stream = StreamSupport.stream(() -> {
+            final TopKSelector<T> selector = new TopKSelector<>(comparator, (int) Math.min(k, Integer.MAX_VALUE));
+            filtered.forEach(selector::offer);
+            final List<T> sorted = selector.toSortedList();
+            return SimSqlQueryUtil.limit(limit, sorted).spliterator();
+        }, Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED, false);
+        return stream.onClose(filtered::close);
+    }
+
+    /**
+     * 每组首次出现的行通过
+     */
+    private static final class SeenFirst {
+        private final GroupKeyTable seen;
+
+        private SeenFirst(ColumnAccessor[] accessors) {
+            this.seen = GroupKeyTable.of(accessors, 0);
+        }
+
+        boolean test(Object row) {
+            final int groups = seen.size();
+            return seen.groupOf(row) == groups;
+        }
+    }
+
+    /**
+     * 与上一行分组键不同时通过，要求同组连续
+     */
+    private static final class AdjacentFirst {
+        private final ColumnAccessor[] accessors;
+        private final Object[] previous;
+        private boolean first = true;
+
+        private AdjacentFirst(ColumnAccessor[] accessors) {
+            this.accessors = accessors;
+            this.previous = new Object[accessors.length];
+        }
+
+        boolean test(Object row) {
+            boolean changed = first;
+            for (int i = 0; i < accessors.length; i++) {
+                final Object value = accessors[i].get(row);
+                if (!changed && !Objects.equals(previous[i], value)) {
+                    changed = true;
+                }
+                previous[i] = value;
+            }
+            first = false;
+            return changed;
+        }
+    }
+}
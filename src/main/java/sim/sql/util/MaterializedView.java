@@ -0,0 +1,163 @@
+package sim.sql.util;
+
+import sim.sql.condition.Condition;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * 物化视图：{@link MutableTable}上的查询结果，随表的增删改增量维护
+ * <li>变更行只重新判定where
+ * <li>命中行按 (order by, 行号) 有序存放，行号即表顺序，与稳定排序一致
+ * <li>group by按分组键维护组内有序集合，组内第一条为代表行，结果为各代表行
+ * <p>每次变更O(log n)，读取O(结果数)，有limit时O(offset + limit)；结果与对当前表执行
+ * {@link SimSqlQueryUtil#query(List, Where, OrderBy, GroupBy, Limit, Class)}一致
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 21:30
+ */
+
+public final class MaterializedView<T> {
+
+    /**
+     * 已绑定的where，无条件时为null
+     */
+    private final Condition condition;
+
+    private final Comparator<Entry<T>> entryComparator;
+
+    /**
+     * 分组列访问器，无分组时为null
+     */
+    private final ColumnAccessor[] groupAccessors;
+
+    private final Limit limit;
+
+    /**
+     * 无分组时为全部命中行，有分组时为各组代表行
+     */
+    private final NavigableSet<Entry<T>> result;
+
+    private final Map<List<Object>, NavigableSet<Entry<T>>> groups = new HashMap<>();
+
+    private MaterializedView(Condition condition, Comparator<T> comparator, ColumnAccessor[] groupAccessors, Limit limit) {
+        this.condition = condition;
+        this.entryComparator = null == comparator
+                ? Comparator.comparingLong(entry -> entry.id)
+                : (o, p) -> {
+            final int compareResult = comparator.compare(o.row, p.row);
+            return compareResult != 0 ? compareResult : Long.compare(o.id, p.id);
+        };
+        this.groupAccessors = groupAccessors;
+        this.limit = limit;
+        this.result = new TreeSet<>(entryComparator);
+    }
+
+    static <T> MaterializedView<T> of(Where where, OrderBy orderBy, GroupBy groupBy, Limit limit, Class<T> klass) {
+        final boolean unconditional = where.getAddConditions().isEmpty() && where.getOrConditions().isEmpty();
+        return new MaterializedView<>(
+                unconditional ? null : where.bind(klass),
+                orderBy.getOrderBy().isEmpty() ? null : SimSqlQueryUtil.comparatorOf(orderBy, klass),
+                groupBy.getGroupBy().isEmpty() ? null : SimSqlQueryUtil.groupAccessorsOf(groupBy, klass),
+                limit);
+    }
+
+    /**
+     * @return 当前查询结果，分组内以第一条为准
+     */
+    public List<T> rows() {
+        int skip = null == limit.getLimit() || null == limit.getOffset() ? 0 : limit.getOffset();
+        long remaining = null == limit.getLimit() ? Long.MAX_VALUE : limit.getLimit();
+        final List<T> rows = new ArrayList<>((int) Math.min(remaining, result.size()));
+        final Iterator<Entry<T>> iterator = result.iterator();
+        while (remaining > 0 && iterator.hasNext()) {
+            final Entry<T> entry = iterator.next();
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            rows.add(entry.row);
+            remaining--;
+        }
+        return rows;
+    }
+
+    /**
+     * @return 当前结果行数
+     */
+    public int size() {
+        if (null == limit.getLimit()) {
+            return result.size();
+        }
+        final int offset = null == limit.getOffset() ? 0 : limit.getOffset();
+        return (int) Math.max(0, Math.min((long) result.size() - offset, limit.getLimit()));
+    }
+
+    void onInsert(long id, T row) {
+        if (null != condition && !condition.match(row)) {
+            return;
+        }
+        final Entry<T> entry = new Entry<>(id, row);
+        if (null == groupAccessors) {
+            result.add(entry);
+            return;
+        }
+        final NavigableSet<Entry<T>> group = groups.computeIfAbsent(SimSqlQueryUtil.groupKeyOf(row, groupAccessors),
+                key -> new TreeSet<>(entryComparator));
+        final Entry<T> representative = group.isEmpty() ? null : group.first();
+        group.add(entry);
+        if (null == representative) {
+            result.add(entry);
+        } else if (entryComparator.compare(entry, representative) < 0) {
+            result.remove(representative);
+            result.add(entry);
+        }
+    }
+
+    void onDelete(long id, T row) {
+        if (null != condition && !condition.match(row)) {
+            return;
+        }
+        final Entry<T> entry = new Entry<>(id, row);
+        if (null == groupAccessors) {
+            result.remove(entry);
+            return;
+        }
+        final List<Object> key = SimSqlQueryUtil.groupKeyOf(row, groupAccessors);
+        final NavigableSet<Entry<T>> group = groups.get(key);
+        if (null == group) {
+            return;
+        }
+        final boolean representative = entryComparator.compare(entry, group.first()) == 0;
+        group.remove(entry);
+        if (representative) {
+            result.remove(entry);
+            if (!group.isEmpty()) {
+                result.add(group.first());
+            }
+        }
+        if (group.isEmpty()) {
+            groups.remove(key);
+        }
+    }
+
+    private static final class Entry<T> {
+        private final long id;
+        private final T row;
+
+        private Entry(long id, T row) {
+            this.id = id;
+            this.row = row;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package sim.sql.util;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 可变表：按行号增删改，变更同步到已注册的物化视图
+ * <p>表顺序为插入顺序，update不改变行的位置；行对象视为不可变，修改需通过update传入新对象
+ * <p>非线程安全，并发修改需外部同步
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 21:30
+ */
+
+public final class MutableTable<T> {
+
+    private final Class<T> klass;
+    private final Map<Long, T> rows = new LinkedHashMap<>();
+    private final List<MaterializedView<T>> views = new ArrayList<>();
+    private long nextId;
+
+    private MutableTable(Class<T> klass) {
+        this.klass = klass;
+    }
+
+    public static <T> MutableTable<T> of(@NonNull Class<T> klass) {
+        return new MutableTable<>(klass);
+    }
+
+    /**
+     * @param data  初始数据
+     * @param klass data类型
+     * @param <T>   data类型
+     * @return 表，行号依次为0, 1, 2...
+     */
+    public static <T> MutableTable<T> of(@NonNull List<T> data, @NonNull Class<T> klass) {
+        final MutableTable<T> table = new MutableTable<>(klass);
+        for (T row : data) {
+            table.insert(row);
+        }
+        return table;
+    }
+
+    public Class<T> getType() {
+        return klass;
+    }
+
+    /**
+     * 插入到表尾
+     *
+     * @param row 数据
+     * @return 行号
+     */
+    public long insert(@NonNull T row) {
+        final long id = nextId++;
+        rows.put(id, row);
+        for (MaterializedView<T> view : views) {
+            view.onInsert(id, row);
+        }
+        return id;
+    }
+
+    /**
+     * @param id 行号
+     * @return 删除的数据，行不存在时为null
+     */
+    public T delete(long id) {
+        final T removed = rows.remove(id);
+        if (null != removed) {
+            for (MaterializedView<T> view : views) {
+                view.onDelete(id, removed);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 替换一行，位置不变
+     *
+     * @param id  行号
+     * @param row 新数据
+     * @return 原数据
+     */
+    public T update(long id, @NonNull T row) {
+        final T previous = rows.get(id);
+        if (null == previous) {
+            throw new RuntimeException("行不存在：" + id);
+        }
+        rows.put(id, row);
+        for (MaterializedView<T> view : views) {
+            view.onDelete(id, previous);
+            view.onInsert(id, row);
+        }
+        return previous;
+    }
+
+    public T get(long id) {
+        return rows.get(id);
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * @return 按表顺序的全部数据，O(表行数)
+     */
+    public List<T> rows() {
+        return new ArrayList<>(rows.values());
+    }
+
+    /**
+     * 注册物化视图，以当前数据初始化，之后随表增量更新
+     *
+     * @param where   where
+     * @param orderBy 排序字段
+     * @param groupBy 分组字段
+     * @param limit   limit字段
+     * @return 视图
+     */
+    public MaterializedView<T> view(@NonNull Where where, @NonNull OrderBy orderBy, @NonNull GroupBy groupBy,
+                                    @NonNull Limit limit) {
+        final MaterializedView<T> view = MaterializedView.of(where, orderBy, groupBy, limit, klass);
+        for (Map.Entry<Long, T> entry : rows.entrySet()) {
+            view.onInsert(entry.getKey(), entry.getValue());
+        }
+        views.add(view);
+        return view;
+    }
+
+    /**
+     * 注销视图，之后视图不再更新
+     *
+     * @param view 视图
+     */
+    public void drop(@NonNull MaterializedView<T> view) {
+        views.remove(view);
+    }
+}
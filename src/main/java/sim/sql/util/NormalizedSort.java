@@ -0,0 +1,305 @@
+package sim.sql.util;
+
+import sim.sql.keyword.OrderBy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 规范化排序键 + LSD基数排序
+ * <p>排序列按行取值一次，编码为无符号序与比较器一致的long：
+ * <li>int、long、enum（序号）：翻转符号位
+ * <li>double：按{@link Double#compare}的位序编码
+ * <li>String：前4个char，只是前缀，相同时仍需比较器
+ * <p>降序对键取反，null单独一趟稳定划分（升序在前、降序在后），与比较器中null最小一致。
+ * 从最后一列到第一列依次稳定排序，即得多列字典序；键不能完全决定顺序时，对键相同的连续行再用比较器排序。
+ * 首列无法编码或数据量小时直接使用比较器
+ * <p>取键、基数排序的各趟循环中按{@link QueryCancellation#CHECK_INTERVAL}行检查取消
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 23:00
+ */
+
+final class NormalizedSort {
+
+    /**
+     * 小于该行数时直接使用比较器
+     */
+    static final int THRESHOLD = 1 << 10;
+
+    private static final int STRING_PREFIX_CHARS = 4;
+
+    private NormalizedSort() {
+    }
+
+    /**
+     * 稳定排序，结果与按比较器稳定排序一致
+     *
+     * @param data       数据
+     * @param orderBy    排序字段
+     * @param klass      data类型
+     * @param comparator   由orderBy生成的比较器，需自行检查取消
+     * @param cancellation 取消标记，可为null
+     * @return 新的有序列表
+     */
+    static <T> List<T> sort(List<T> data, OrderBy orderBy, Class<?> klass, Comparator<T> comparator,
+                            QueryCancellation cancellation) {
+        final int size = data.size();
+        final List<Key> keys = new ArrayList<>();
+        boolean exact = true;
+        if (size >= THRESHOLD) {
+            for (OrderBy.SortColumn sortColumn : orderBy.getOrderBy()) {
+                final Key key = Key.of(SimSqlQueryUtil.accessorOf(klass, sortColumn.getColumn()), data,
+                        OrderBy.Sort.DESC.equals(sortColumn.getSort()), cancellation);
+                if (null == key) {
+                    exact = false;
+                    break;
+                }
+                keys.add(key);
+                if (!key.exact) {
+                    exact = false;
+                    break;
+                }
+            }
+        }
+        if (keys.isEmpty()) {
+            final List<T> result = new ArrayList<>(data);
+            result.sort(comparator);
+            return result;
+        }
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        int[] buffer = new int[size];
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            final Key key = keys.get(i);
+            if (radixSort(order, buffer, key.values, cancellation)) {
+                final int[] swap = order;
+                order = buffer;
+                buffer = swap;
+            }
+            if (null != key.nulls) {
+                partitionNulls(order, buffer, key.nulls, key.desc, cancellation);
+                final int[] swap = order;
+                order = buffer;
+                buffer = swap;
+            }
+        }
+        final List<T> result = new ArrayList<>(size);
+        for (int row : order) {
+            result.add(data.get(row));
+        }
+        if (!exact) {
+            sortTies(result, order, keys, comparator);
+        }
+        return result;
+    }
+
+    /**
+     * 按无符号键排序，全部字节相同的趟跳过
+     *
+     * @return 结果是否在buffer中
+     */
+    private static boolean radixSort(int[] order, int[] buffer, long[] keys, QueryCancellation cancellation) {
+        final int size = order.length;
+        final int[][] counts = new int[Long.BYTES][256];
+        for (int i = 0; i < keys.length; i++) {
+            check(cancellation, i);
+            final long key = keys[i];
+            for (int b = 0; b < Long.BYTES; b++) {
+                counts[b][(int) (key >>> (b << 3)) & 0xFF]++;
+            }
+        }
+        int[] source = order;
+        int[] target = buffer;
+        for (int b = 0; b < Long.BYTES; b++) {
+            final int[] count = counts[b];
+            final int shift = b << 3;
+            if (count[(int) (keys[0] >>> shift) & 0xFF] == size) {
+                continue;
+            }
+            int offset = 0;
+            for (int i = 0; i < 256; i++) {
+                final int c = count[i];
+                count[i] = offset;
+                offset += c;
+            }
+            for (int i = 0; i < size; i++) {
+                check(cancellation, i);
+                final int row = source[i];
+                target[count[(int) (keys[row] >>> shift) & 0xFF]++] = row;
+            }
+            final int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        return source == buffer;
+    }
+
+    /**
+     * 稳定划分，结果写入target
+     */
+    private static void partitionNulls(int[] source, int[] target, boolean[] nulls, boolean nullsLast,
+                                       QueryCancellation cancellation) {
+        int index = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            // 第一趟放null（升序）或非null（降序）
+            final boolean takeNull = (pass == 0) != nullsLast;
+            for (int i = 0; i < source.length; i++) {
+                check(cancellation, i);
+                final int row = source[i];
+                if (nulls[row] == takeNull) {
+                    target[index++] = row;
+                }
+            }
+        }
+    }
+
+    /**
+     * 键相同的连续行用比较器排序，区间内已是输入顺序，稳定排序后即与全量比较器排序一致
+     */
+    private static <T> void sortTies(List<T> result, int[] order, List<Key> keys, Comparator<T> comparator) {
+        int from = 0;
+        for (int i = 1; i <= order.length; i++) {
+            if (i == order.length || !sameKeys(keys, order[from], order[i])) {
+                if (i - from > 1) {
+                    result.subList(from, i).sort(comparator);
+                }
+                from = i;
+            }
+        }
+    }
+
+    private static void check(QueryCancellation cancellation, int index) {
+        if (QueryCancellation.due(cancellation, index)) {
+            cancellation.check();
+        }
+    }
+
+    private static boolean sameKeys(List<Key> keys, int row, int other) {
+        for (Key key : keys) {
+            if (key.values[row] != key.values[other]
+                    || (null != key.nulls && key.nulls[row] != key.nulls[other])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 单列的规范化键
+     */
+    private static final class Key {
+        /**
+         * 无符号序，null行为0
+         */
+        private final long[] values;
+
+        /**
+         * 各行是否为null，没有null时为null
+         */
+        private final boolean[] nulls;
+
+        /**
+         * 键相同是否意味着值相同
+         */
+        private final boolean exact;
+
+        private final boolean desc;
+
+        private Key(long[] values, boolean[] nulls, boolean exact, boolean desc) {
+            this.values = values;
+            this.nulls = nulls;
+            this.exact = exact;
+            this.desc = desc;
+        }
+
+        /**
+         * @return 无法编码时为null
+         */
+        static Key of(ColumnAccessor accessor, List<?> data, boolean desc, QueryCancellation cancellation) {
+            if (null == accessor) {
+                return null;
+            }
+            final Class<?> type = accessor.getType();
+            final int size = data.size();
+            final long[] values = new long[size];
+            boolean[] nulls = null;
+            if (int.class == type) {
+                for (int i = 0; i < size; i++) {
+                    check(cancellation, i);
+                    values[i] = ofInt(accessor.getInt(data.get(i)));
+                }
+            } else if (long.class == type) {
+                for (int i = 0; i < size; i++) {
+                    check(cancellation, i);
+                    values[i] = accessor.getLong(data.get(i)) ^ Long.MIN_VALUE;
+                }
+            } else if (double.class == type) {
+                for (int i = 0; i < size; i++) {
+                    check(cancellation, i);
+                    values[i] = ofDouble(accessor.getDouble(data.get(i)));
+                }
+            } else if (Integer.class == type || Long.class == type || Double.class == type || String.class == type
+                    || type.isEnum()) {
+                for (int i = 0; i < size; i++) {
+                    check(cancellation, i);
+                    final Object value = accessor.get(data.get(i));
+                    if (null == value) {
+                        if (null == nulls) {
+                            nulls = new boolean[size];
+                        }
+                        nulls[i] = true;
+                    } else {
+                        values[i] = ofObject(value);
+                    }
+                }
+            } else {
+                return null;
+            }
+            if (desc) {
+                for (int i = 0; i < size; i++) {
+                    if (null == nulls || !nulls[i]) {
+                        values[i] = ~values[i];
+                    }
+                }
+            }
+            return new Key(values, nulls, String.class != type, desc);
+        }
+
+        private static long ofInt(int value) {
+            return (value ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+        }
+
+        /**
+         * 负数全部取反，正数翻转符号位，NaN统一后最大，-0.0小于0.0
+         */
+        private static long ofDouble(double value) {
+            final long bits = Double.doubleToLongBits(value);
+            return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+        }
+
+        private static long ofObject(Object value) {
+            if (value instanceof Integer) {
+                return ofInt((Integer) value);
+            }
+            if (value instanceof Long) {
+                return (Long) value ^ Long.MIN_VALUE;
+            }
+            if (value instanceof Double) {
+                return ofDouble((Double) value);
+            }
+            if (value instanceof String) {
+                final String string = (String) value;
+                long key = 0;
+                for (int i = 0; i < STRING_PREFIX_CHARS; i++) {
+                    key = (key << 16) | (i < string.length() ? string.charAt(i) : 0);
+                }
+                return key;
+            }
+            return ((Enum<?>) value).ordinal();
+        }
+    }
+}
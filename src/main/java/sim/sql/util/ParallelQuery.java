@@ -0,0 +1,174 @@
+package sim.sql.util;
+
+import sim.sql.condition.Condition;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 并行查询，数据按原顺序切分为连续分片，分片结果按顺序合并，结果与顺序执行一致
+ * <li>where：分片过滤后按序拼接
+ * <li>order by：分片稳定排序后两两稳定归并；无分组有limit时分片各取top-k再归并
+ * <li>group by：分片各取组内首条，按分片顺序合并，先到者保留
+ * <p>调用线程按阶段提交并等待，工作线程之间不互相等待
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 18:00
+ */
+
+final class ParallelQuery<T> {
+
+    private final Parallelism parallelism;
+    private final Class<T> klass;
+
+    ParallelQuery(Parallelism parallelism, Class<T> klass) {
+        this.parallelism = parallelism;
+        this.klass = klass;
+    }
+
+    List<T> execute(List<T> data, Where where, OrderBy orderBy, GroupBy groupBy, Limit limit) {
+        List<T> result = filterBy(where, data);
+        if (!orderBy.getOrderBy().isEmpty()) {
+            final Comparator<T> comparator = SimSqlQueryUtil.comparatorOf(orderBy, klass);
+            if (groupBy.getGroupBy().isEmpty() && null != limit.getLimit()) {
+                result = topK(comparator, limit, result);
+            } else {
+                result = orderBy(comparator, result);
+            }
+        }
+        if (!groupBy.getGroupBy().isEmpty()) {
+            result = groupBy(groupBy, result);
+        }
+        return SimSqlQueryUtil.limit(limit, result);
+    }
+
+    private List<T> filterBy(Where where, List<T> data) {
+        final Condition condition = where.bind(klass);
+        final List<List<T>> parts = forEachChunk(data, chunk -> {
+            final List<T> matched = new ArrayList<>(chunk.size());
+            for (T element : chunk) {
+                if (condition.match(element)) {
+                    matched.add(element);
+                }
+            }
+            return matched;
+        });
+        final List<T> result = new ArrayList<>(parts.stream().mapToInt(List::size).sum());
+        parts.forEach(result::addAll);
+        return result;
+    }
+
+    private List<T> orderBy(Comparator<T> comparator, List<T> data) {
+        List<List<T>> runs = forEachChunk(data, chunk -> {
+            final List<T> sorted = new ArrayList<>(chunk);
+            sorted.sort(comparator);
+            return sorted;
+        });
+        while (runs.size() > 1) {
+            runs = mergePairs(runs, comparator, Integer.MAX_VALUE);
+        }
+        return runs.isEmpty() ? new ArrayList<>() : runs.get(0);
+    }
+
+    private List<T> topK(Comparator<T> comparator, Limit limit, List<T> data) {
+        final long k = (long) (null == limit.getOffset() ? 0 : limit.getOffset()) + limit.getLimit();
+        final int bound = (int) Math.min(k, data.size());
+        List<List<T>> runs = forEachChunk(data, chunk -> {
+            final TopKSelector<T> selector = new TopKSelector<>(comparator, bound);
+            chunk.forEach(selector::offer);
+            return selector.toSortedList();
+        });
+        while (runs.size() > 1) {
+            runs = mergePairs(runs, comparator, bound);
+        }
+        return runs.isEmpty() ? new ArrayList<>() : runs.get(0);
+    }
+
+    /**
+     * 相邻两两稳定归并，相等时左侧（输入靠前）优先
+     */
+    private List<List<T>> mergePairs(List<List<T>> runs, Comparator<T> comparator, int bound) {
+        final List<CompletableFuture<List<T>>> futures = new ArrayList<>((runs.size() + 1) / 2);
+        for (int i = 0; i < runs.size(); i += 2) {
+            if (i + 1 == runs.size()) {
+                futures.add(CompletableFuture.completedFuture(runs.get(i)));
+                break;
+            }
+            final List<T> left = runs.get(i);
+            final List<T> right = runs.get(i + 1);
+            futures.add(submit(() -> merge(left, right, comparator, bound)));
+        }
+        return join(futures);
+    }
+
+    private static <T> List<T> merge(List<T> left, List<T> right, Comparator<T> comparator, int bound) {
+        final int size = (int) Math.min((long) left.size() + right.size(), bound);
+        final List<T> merged = new ArrayList<>(size);
+        int i = 0;
+        int j = 0;
+        while (merged.size() < size) {
+            if (j == right.size() || (i < left.size() && comparator.compare(left.get(i), right.get(j)) <= 0)) {
+                merged.add(left.get(i++));
+            } else {
+                merged.add(right.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    private List<T> groupBy(GroupBy groupBy, List<T> data) {
+        final ColumnAccessor[] accessors = SimSqlQueryUtil.groupAccessorsOf(groupBy, klass);
+        final List<List<T>> parts = forEachChunk(data, chunk -> SimSqlQueryUtil.firstOfGroups(chunk, accessors));
+        // 各分片的组代表按分片顺序拼接，再取每组第一条即为全局第一条
+        final List<T> candidates = new ArrayList<>();
+        for (List<T> part : parts) {
+            candidates.addAll(part);
+        }
+        return SimSqlQueryUtil.firstOfGroups(candidates, accessors);
+    }
+
+    /**
+     * 按原顺序切分为连续分片并行处理，结果按分片顺序返回
+     */
+    private <R> List<R> forEachChunk(List<T> data, Function<List<T>, R> task) {
+        final int chunks = Math.max(1, Math.min(parallelism.getParallelism(), data.size()));
+        final int chunkSize = (data.size() + chunks - 1) / chunks;
+        final List<CompletableFuture<R>> futures = new ArrayList<>(chunks);
+        for (int from = 0; from < data.size(); from += chunkSize) {
+            final List<T> chunk = data.subList(from, Math.min(from + chunkSize, data.size()));
+            futures.add(submit(() -> task.apply(chunk)));
+        }
+        return join(futures);
+    }
+
+    /**
+     * 条件与访问器已按类型解析，任务不依赖工作线程的上下文
+     */
+    private <R> CompletableFuture<R> submit(Supplier<R> supplier) {
+        return CompletableFuture.supplyAsync(supplier, parallelism.getExecutor());
+    }
+
+    private static <R> List<R> join(List<CompletableFuture<R>> futures) {
+        final List<R> result = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<R> future : futures) {
+                result.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,74 @@
+package sim.sql.util;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 并行查询参数
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 18:00
+ */
+
+public final class Parallelism {
+
+    /**
+     * 默认阈值，行数低于该值时并行收益小于调度开销
+     */
+    public static final int DEFAULT_THRESHOLD = 1 << 14;
+
+    private final Executor executor;
+    private final int parallelism;
+    private final int threshold;
+
+    private Parallelism(Executor executor, int parallelism, int threshold) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism必须大于0");
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.threshold = threshold;
+    }
+
+    /**
+     * 使用公共ForkJoinPool，并行度同CPU核数
+     */
+    public static Parallelism common() {
+        return of(ForkJoinPool.getCommonPoolParallelism() + 1, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * 使用公共ForkJoinPool
+     *
+     * @param parallelism 数据切分份数
+     * @param threshold   行数低于该值时顺序执行
+     */
+    public static Parallelism of(int parallelism, int threshold) {
+        return new Parallelism(ForkJoinPool.commonPool(), parallelism, threshold);
+    }
+
+    /**
+     * 使用指定线程池，任务间没有相互等待，有界线程池也不会死锁
+     *
+     * @param executor    线程池
+     * @param parallelism 数据切分份数
+     * @param threshold   行数低于该值时顺序执行
+     */
+    public static Parallelism of(@NonNull Executor executor, int parallelism, int threshold) {
+        return new Parallelism(executor, parallelism, threshold);
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+}
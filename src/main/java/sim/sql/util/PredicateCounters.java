@@ -0,0 +1,91 @@
+package sim.sql.util;
+
+import sim.sql.condition.Condition;
+import sim.sql.keyword.Where;
+import sim.sql.metrics.QueryListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 为where中的每个条件计数，查询结束后上报给{@link QueryListener#onPredicate(Condition, long, long)}
+ * <p>只在注册了监听器时使用；计数不加锁，要求单线程判定
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 23:50
+ */
+
+final class PredicateCounters {
+
+    private final List<Counting> leaves = new ArrayList<>();
+
+    /**
+     * @return 结构相同、条件被计数包装的where，嵌套where逐层展开
+     */
+    Where instrument(Where where) {
+        final Where result = Where.newCondition();
+        for (Condition condition : where.getAddConditions()) {
+            result.add(wrap(condition));
+        }
+        for (Condition condition : where.getOrConditions()) {
+            result.or(wrap(condition));
+        }
+        return result;
+    }
+
+    void report(QueryListener listener) {
+        for (Counting leaf : leaves) {
+            listener.onPredicate(leaf.source, leaf.evaluated, leaf.matched);
+        }
+    }
+
+    private Condition wrap(Condition condition) {
+        if (Where.class == condition.getClass()) {
+            return instrument((Where) condition);
+        }
+        final Counting counting = new Counting(condition);
+        leaves.add(counting);
+        return counting;
+    }
+
+    private static final class Counting implements Condition {
+        /**
+         * 原始条件，上报时使用
+         */
+        private final Condition source;
+        private Condition condition;
+        private long evaluated;
+        private long matched;
+
+        private Counting(Condition condition) {
+            this.source = condition;
+            this.condition = condition;
+        }
+
+        @Override
+        public boolean match(Object obj) {
+            evaluated++;
+            if (condition.match(obj)) {
+                matched++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * 就地绑定，计数仍归属本叶子
+         */
+        @Override
+        public Condition bind(Class<?> klass) {
+            condition = source.bind(klass);
+            return this;
+        }
+
+        @Override
+        public Condition bind(Function<String, ColumnAccessor> resolver) {
+            condition = source.bind(resolver);
+            return this;
+        }
+    }
+}
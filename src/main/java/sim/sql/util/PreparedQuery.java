@@ -0,0 +1,121 @@
+package sim.sql.util;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.condition.Condition;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 预编译查询：一次解析列、生成比较器，之后可重复、并发执行
+ * <p>执行时不读取{@link SimSqlQueryUtil#CURRENT_CLASS}，也不查询访问器缓存
+ * <p>编译时对where、order by做快照，之后再修改不影响已编译的查询
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 20:00
+ */
+
+public final class PreparedQuery<T> {
+
+    /**
+     * 已绑定的where，无条件时为null
+     */
+    private final Condition condition;
+
+    /**
+     * 比较器，无排序时为null
+     */
+    private final Comparator<T> comparator;
+
+    /**
+     * 分组列访问器，无分组时为null
+     */
+    private final ColumnAccessor[] groupAccessors;
+
+    private final Limit limit;
+
+    private PreparedQuery(Condition condition, Comparator<T> comparator, ColumnAccessor[] groupAccessors, Limit limit) {
+        this.condition = condition;
+        this.comparator = comparator;
+        this.groupAccessors = groupAccessors;
+        this.limit = limit;
+    }
+
+    /**
+     * 编译查询
+     *
+     * @param where   where，支持add or，支持嵌套
+     * @param orderBy 排序字段
+     * @param groupBy 分组字段
+     * @param limit   limit字段
+     * @param klass   data类型
+     * @param <T>     data类型
+     * @return 可重复执行的查询
+     */
+    public static <T> PreparedQuery<T> of(@NonNull Where where, @NonNull OrderBy orderBy, @NonNull GroupBy groupBy,
+                                          @NonNull Limit limit, @NonNull Class<T> klass) {
+        final boolean unconditional = where.getAddConditions().isEmpty() && where.getOrConditions().isEmpty();
+        return new PreparedQuery<>(
+                unconditional ? null : where.bind(klass),
+                orderBy.getOrderBy().isEmpty() ? null : SimSqlQueryUtil.comparatorOf(orderBy, klass),
+                groupBy.getGroupBy().isEmpty() ? null : SimSqlQueryUtil.groupAccessorsOf(groupBy, klass),
+                limit);
+    }
+
+    /**
+     * 执行查询，结果与{@link SimSqlQueryUtil#query(List, Where, OrderBy, GroupBy, Limit, Class)}一致
+     *
+     * @param data 源数据列表，元素类型需为编译时的类型或其子类
+     * @return 查询结果，分组内以第一条为准
+     */
+    public List<T> execute(@NonNull List<T> data) {
+        if (data.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (null == groupAccessors && null != comparator && null != limit.getLimit()) {
+            return topK(data);
+        }
+        List<T> result = filter(data);
+        if (null != comparator) {
+            result.sort(comparator);
+        }
+        if (null != groupAccessors) {
+            result = SimSqlQueryUtil.firstOfGroups(result, groupAccessors);
+        }
+        return SimSqlQueryUtil.limit(limit, result);
+    }
+
+    private List<T> filter(List<T> data) {
+        if (null == condition) {
+            return new ArrayList<>(data);
+        }
+        final List<T> result = new ArrayList<>(data.size());
+        for (T element : data) {
+            if (condition.match(element)) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+
+    private List<T> topK(List<T> data) {
+        final long k = (long) (null == limit.getOffset() ? 0 : limit.getOffset()) + limit.getLimit();
+        if (k >= data.size()) {
+            final List<T> result = filter(data);
+            result.sort(comparator);
+            return SimSqlQueryUtil.limit(limit, result);
+        }
+        final TopKSelector<T> selector = new TopKSelector<>(comparator, (int) k);
+        for (T element : data) {
+            if (null == condition || condition.match(element)) {
+                selector.offer(element);
+            }
+        }
+        return SimSqlQueryUtil.limit(limit, selector.toSortedList());
+    }
+}
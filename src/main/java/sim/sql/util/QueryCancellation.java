@@ -0,0 +1,92 @@
+package sim.sql.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 查询取消标记：可主动取消，可设置截止时间
+ * <p>查询在过滤、排序、分组等循环中每处理一批行检查一次，协作式停止，抛出{@link QueryCancelledException}；
+ * 自定义条件内部的阻塞不会被打断
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 03:10
+ */
+
+public final class QueryCancellation {
+
+    /**
+     * 每处理该数量的行（或比较次数）检查一次
+     */
+    static final int CHECK_INTERVAL = 1 << 10;
+
+    /**
+     * 截止时间（{@link System#nanoTime()}），无截止时间时不读取
+     */
+    private final long deadline;
+    private final boolean timed;
+    private volatile boolean cancelled;
+
+    private QueryCancellation(long deadline, boolean timed) {
+        this.deadline = deadline;
+        this.timed = timed;
+    }
+
+    /**
+     * @return 无截止时间，只能主动取消
+     */
+    public static QueryCancellation of() {
+        return new QueryCancellation(0, false);
+    }
+
+    /**
+     * @param timeout 超时时长，从调用时起算
+     * @param unit    时间单位
+     * @return 到期后视为超时
+     */
+    public static QueryCancellation withTimeout(long timeout, TimeUnit unit) {
+        if (timeout <= 0) {
+            throw new RuntimeException("超时时长无效");
+        }
+        return new QueryCancellation(System.nanoTime() + unit.toNanos(timeout), true);
+    }
+
+    /**
+     * 取消，正在执行的查询在下次检查时停止
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isExpired() {
+        return timed && System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * @return 剩余纳秒数，无截止时间时为{@link Long#MAX_VALUE}
+     */
+    public long remainingNanos() {
+        return timed ? Math.max(0, deadline - System.nanoTime()) : Long.MAX_VALUE;
+    }
+
+    /**
+     * 已取消或已超时则抛出异常
+     */
+    public void check() {
+        if (cancelled) {
+            throw new QueryCancelledException("查询已取消", false);
+        }
+        if (isExpired()) {
+            throw new QueryCancelledException("查询超时", true);
+        }
+    }
+
+    /**
+     * 第index行是否需要检查
+     */
+    static boolean due(QueryCancellation cancellation, int index) {
+        return null != cancellation && 0 == (index & (CHECK_INTERVAL - 1));
+    }
+}
@@ -0,0 +1,29 @@
+package sim.sql.util;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * 查询被取消或超时
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 03:10
+ */
+
+public final class QueryCancelledException extends CancellationException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean timeout;
+
+    public QueryCancelledException(String message, boolean timeout) {
+        super(message);
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return 是否因超时停止
+     */
+    public boolean isTimeout() {
+        return timeout;
+    }
+}
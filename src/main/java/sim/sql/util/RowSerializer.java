@@ -0,0 +1,64 @@
+package sim.sql.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * 行序列化，用于溢写到磁盘
+ * <p>读出的行须与写入的行在查询列上取值相同；实现需无状态或线程安全
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 05:10
+ */
+
+public interface RowSerializer<T> {
+
+    /**
+     * @param out 输出
+     * @param row 行
+     */
+    void write(DataOutput out, T row) throws IOException;
+
+    /**
+     * @param in 输入，位置为{@link #write(DataOutput, Object)}写入的起点
+     * @return 行
+     */
+    T read(DataInput in) throws IOException;
+
+    /**
+     * Java序列化，行需实现{@link java.io.Serializable}；每行单独序列化，较慢，仅作兜底
+     *
+     * @param klass 行类型
+     * @param <T>   行类型
+     * @return 序列化
+     */
+    static <T> RowSerializer<T> java(Class<T> klass) {
+        return new RowSerializer<T>() {
+            @Override
+            public void write(DataOutput out, T row) throws IOException {
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream stream = new ObjectOutputStream(bytes)) {
+                    stream.writeObject(row);
+                }
+                out.writeInt(bytes.size());
+                out.write(bytes.toByteArray());
+            }
+
+            @Override
+            public T read(DataInput in) throws IOException {
+                final byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    return klass.cast(stream.readObject());
+                } catch (ClassNotFoundException e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+    }
+}
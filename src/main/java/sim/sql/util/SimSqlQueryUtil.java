@@ -4,14 +4,27 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import org.apache.commons.collections4.CollectionUtils;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.aggregate.AggregateRow;
+import sim.sql.aggregate.HashAggregation;
+import sim.sql.condition.Condition;
 import sim.sql.keyword.GroupBy;
 import sim.sql.keyword.Limit;
 import sim.sql.keyword.OrderBy;
 import sim.sql.keyword.Where;
+import sim.sql.metrics.QueryListener;
+import sim.sql.metrics.QueryListeners;
+import sim.sql.metrics.QueryStage;
+import sim.sql.plan.QueryPlan;
+import sim.sql.plan.QueryPlanner;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 /**
@@ -24,9 +37,18 @@ import java.util.stream.Collectors;
 public final class SimSqlQueryUtil {
 
     /**
-     * 当前查询数据的类型，避免重复解析class
+     * 调用方指定的上下文类型，{@link #classOf(Object)}优先使用
+     * <p>查询不再设置该值：条件在执行前按类型绑定，不依赖线程上下文，可在线程池、虚拟线程中执行
+     *
+     * @deprecated 使用{@link sim.sql.condition.Condition#bind(Class)}预先解析列
+     */
+    @Deprecated
+    public static final ThreadLocal<Class<?>> CURRENT_CLASS = new ThreadLocal<>();
+
+    /**
+     * 行数不低于 该值 * where叶子条件数 时先规划where再执行：规划对每个叶子抽样求值，按叶子数放大后抽样代价相对扫描可以忽略
      */
-    public static final ThreadLocal<Class<?>> CURRENT_CLASS = new InheritableThreadLocal<>();
+    private static final int PLAN_ROWS_PER_LEAF = 1 << 12;
 
     private SimSqlQueryUtil() {
     }
@@ -35,9 +57,9 @@ public final class SimSqlQueryUtil {
      * 类SQL查询
      * <p>考虑到不同Object类型的意义不大，为了提升效率，以首个对象的类型作为整个列表的数据类型，因此必须满足列表其余元素类型等于或继承首元素类型
      * <p>如果确实是不同Object类型，那需要改为每个object获取一次Field
-     * <p>该方法仅支持属性，不支持按get方法取字段（e.g. interface），如需增加支持，需要将解析Field改为Field+Method，同时缓存改为Function
+     * <p>列优先按属性读取，无同名属性时按get方法读取（支持interface、record），见{@link ColumnAccessor}
      *
-     * @param data    源数据列表，要求必须是同一POJO（不支持接口类型）
+     * @param data    源数据列表，要求必须是同一类型
      * @param where   where，支持add or，支持嵌套
      * @param orderBy 排序字段
      * @param groupBy 分组字段
@@ -68,111 +90,379 @@ public final class SimSqlQueryUtil {
      * @param orderBy 排序字段
      * @param groupBy 分组字段
      * @param limit   limit字段
-     * @param klass   data类型（非接口）
-     * @param <T>     data类型（非接口）
+     * @param klass   data类型
+     * @param <T>     data类型
      * @return 查询结果，分组内以第一条为准
      */
     public static <T> List<T> query(@NonNull List<T> data, @NonNull Where where, @NonNull OrderBy orderBy,
                                     @NonNull GroupBy groupBy, @NonNull Limit limit, @NonNull Class<T> klass) {
+        return execute(data, where, orderBy, groupBy, limit, klass, (QueryCancellation) null);
+    }
+
+    /**
+     * 可取消的类SQL查询，异步执行见{@link AsyncQuery}
+     *
+     * @param data         源数据列表，要求必须是同一POJO
+     * @param where        where，支持add or，支持嵌套
+     * @param orderBy      排序字段
+     * @param groupBy      分组字段
+     * @param limit        limit字段
+     * @param klass        data类型
+     * @param cancellation 取消标记，各阶段循环中定期检查
+     * @param <T>          data类型
+     * @return 查询结果，分组内以第一条为准
+     * @throws QueryCancelledException 已取消或已超时
+     */
+    public static <T> List<T> query(@NonNull List<T> data, @NonNull Where where, @NonNull OrderBy orderBy,
+                                    @NonNull GroupBy groupBy, @NonNull Limit limit, @NonNull Class<T> klass,
+                                    @NonNull QueryCancellation cancellation) {
+        cancellation.check();
+        return execute(data, where, orderBy, groupBy, limit, klass, cancellation);
+    }
+
+    /**
+     * 并行类SQL查询，结果与顺序执行一致，见{@link ParallelQuery}
+     *
+     * @param data        源数据列表，要求必须是同一类型
+     * @param where       where，支持add or，支持嵌套，需线程安全
+     * @param orderBy     排序字段
+     * @param groupBy     分组字段
+     * @param limit       limit字段
+     * @param klass       data类型
+     * @param parallelism 并行参数，行数低于阈值时顺序执行
+     * @param <T>         data类型
+     * @return 查询结果，分组内以第一条为准
+     */
+    public static <T> List<T> query(@NonNull List<T> data, @NonNull Where where, @NonNull OrderBy orderBy,
+                                    @NonNull GroupBy groupBy, @NonNull Limit limit, @NonNull Class<T> klass,
+                                    @NonNull Parallelism parallelism) {
+        if (data.size() < parallelism.getThreshold() || parallelism.getParallelism() == 1) {
+            return query(data, where, orderBy, groupBy, limit, klass);
+        }
+        final QueryPlan plan = QueryPlanner.plan(where, data, klass);
+        if (plan.isAlwaysFalse()) {
+            return new ArrayList<>();
+        }
+        return new ParallelQuery<>(parallelism, klass).execute(data, plan.getWhere(), orderBy, groupBy, limit);
+    }
+
+    /**
+     * 对已过滤的数据执行 order by -> group by -> limit，供列式、索引等自行完成过滤的执行方式复用
+     *
+     * @param filtered 已过滤的数据
+     * @param orderBy  排序字段
+     * @param groupBy  分组字段
+     * @param limit    limit字段
+     * @param klass    data类型
+     * @param <T>      data类型
+     * @return 查询结果，分组内以第一条为准
+     */
+    public static <T> List<T> query(@NonNull List<T> filtered, @NonNull OrderBy orderBy, @NonNull GroupBy groupBy,
+                                    @NonNull Limit limit, @NonNull Class<T> klass) {
+        return execute(filtered, null, orderBy, groupBy, limit, klass, (QueryCancellation) null);
+    }
+
+    /**
+     * @param where        为null时不过滤
+     * @param cancellation 为null时不检查
+     */
+    private static <T> List<T> execute(List<T> data, Where where, OrderBy orderBy, GroupBy groupBy, Limit limit,
+                                       Class<T> klass, QueryCancellation cancellation) {
         if (CollectionUtils.isEmpty(data)) {
             return new ArrayList<>();
         }
-        CURRENT_CLASS.set(klass);
+        final QueryListener listener = QueryListeners.current();
+        if (null == listener) {
+            return execute(data, where, orderBy, groupBy, limit, klass, cancellation, null);
+        }
+        final long start = System.nanoTime();
+        final List<T> result = execute(data, where, orderBy, groupBy, limit, klass, cancellation, listener);
+        listener.onQuery(klass, System.nanoTime() - start, data.size(), result.size());
+        return result;
+    }
+
+    /**
+     * @param listener 为null时不计时、不计数
+     */
+    private static <T> List<T> execute(List<T> data, Where where, OrderBy orderBy, GroupBy groupBy, Limit limit,
+                                       Class<T> klass, QueryCancellation cancellation, QueryListener listener) {
+        PredicateCounters counters = null;
         try {
+            if (null != where && data.size() >= (long) PLAN_ROWS_PER_LEAF * Math.max(1, leavesOf(where))) {
+                final long start = null == listener ? 0 : System.nanoTime();
+                final QueryPlan plan = QueryPlanner.plan(where, data, klass);
+                if (null != listener) {
+                    listener.onStage(QueryStage.PLAN, System.nanoTime() - start, data.size(),
+                            plan.isAlwaysFalse() ? 0 : data.size());
+                }
+                if (plan.isAlwaysFalse()) {
+                    return new ArrayList<>();
+                }
+                where = plan.isAlwaysTrue() ? null : plan.getWhere();
+            }
+            if (null != listener && null != where) {
+                counters = new PredicateCounters();
+                where = counters.instrument(where);
+            }
+            final Condition filter = null == where ? null : where.bind(klass);
+            if (groupBy.getGroupBy().isEmpty() && !orderBy.getOrderBy().isEmpty() && null != limit.getLimit()) {
+                return stage(listener, QueryStage.TOP_K, data, o -> topK(filter, orderBy, limit, o, klass, cancellation));
+            }
             List<T> result = data;
-            result = filterBy(where, result);
-            result = orderBy(orderBy, result);
-            result = groupBy(groupBy, result);
-            result = limit(limit, result);
+            if (null != filter) {
+                result = stage(listener, QueryStage.FILTER, result, o -> filterBy(filter, o, cancellation));
+            }
+            if (!orderBy.getOrderBy().isEmpty()) {
+                result = stage(listener, QueryStage.ORDER_BY, result, o -> orderBy(orderBy, o, klass, cancellation));
+            }
+            if (!groupBy.getGroupBy().isEmpty()) {
+                result = stage(listener, QueryStage.GROUP_BY, result,
+                        o -> firstOfGroups(o, groupAccessorsOf(groupBy, klass), cancellation));
+            }
+            if (null != limit.getLimit()) {
+                result = stage(listener, QueryStage.LIMIT, result, o -> limit(limit, o));
+            }
             return result;
         } finally {
-            CURRENT_CLASS.remove();
+            if (null != counters) {
+                counters.report(listener);
+            }
+        }
+    }
+
+    /**
+     * @return where中非Where条件的个数
+     */
+    private static int leavesOf(Where where) {
+        int leaves = 0;
+        for (Condition condition : where.getAddConditions()) {
+            leaves += condition instanceof Where ? leavesOf((Where) condition) : 1;
+        }
+        for (Condition condition : where.getOrConditions()) {
+            leaves += condition instanceof Where ? leavesOf((Where) condition) : 1;
+        }
+        return leaves;
+    }
+
+    /**
+     * 执行一个阶段，有监听器时上报耗时与行数
+     */
+    private static <T> List<T> stage(QueryListener listener, QueryStage stage, List<T> data,
+                                     UnaryOperator<List<T>> operator) {
+        if (null == listener) {
+            return operator.apply(data);
+        }
+        final long start = System.nanoTime();
+        final List<T> result = operator.apply(data);
+        listener.onStage(stage, System.nanoTime() - start, data.size(), result.size());
+        return result;
+    }
+
+    /**
+     * 类SQL聚合查询：where -> group by + 聚合函数 -> order by -> limit
+     *
+     * @param data    源数据列表，要求必须是同一类型
+     * @param where   where，支持add or，支持嵌套
+     * @param groupBy 分组字段及聚合函数，见{@link GroupBy#aggregate(sim.sql.keyword.Aggregate...)}
+     * @param orderBy 排序字段，可用分组列名或聚合列别名
+     * @param limit   limit字段
+     * @param klass   data类型
+     * @param <T>     data类型
+     * @return 每组一行聚合结果
+     */
+    public static <T> List<AggregateRow> aggregate(@NonNull List<T> data, @NonNull Where where, @NonNull GroupBy groupBy,
+                                                   @NonNull OrderBy orderBy, @NonNull Limit limit, @NonNull Class<T> klass) {
+        final HashAggregation aggregation = HashAggregation.of(groupBy, klass);
+        List<AggregateRow> result = aggregation.aggregate(filterBy(where.bind(klass), data, null));
+        if (!orderBy.getOrderBy().isEmpty()) {
+            result.sort(rowComparatorOf(orderBy));
         }
+        return limit(limit, result);
     }
 
-    private static <T> ArrayList<T> filterBy(Where where, List<T> data) {
-        return data.stream()
-                .filter(where::match)
-                .collect(Collectors.toCollection(() -> new ArrayList<>(data.size())));
+    /**
+     * 聚合结果行按列名排序，null视为最小
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Comparator<AggregateRow> rowComparatorOf(OrderBy orderBy) {
+        final List<OrderBy.SortColumn> sortColumns = orderBy.getOrderBy();
+        return (o, p) -> {
+            for (OrderBy.SortColumn sortColumn : sortColumns) {
+                final Object valueOfO = o.get(sortColumn.getColumn());
+                final Object valueOfP = p.get(sortColumn.getColumn());
+                final int compareResult = null == valueOfO || null == valueOfP
+                        ? (valueOfO == valueOfP ? 0 : (null == valueOfO ? -1 : 1))
+                        : ((Comparable) valueOfO).compareTo(valueOfP);
+                if (compareResult != 0) {
+                    return OrderBy.Sort.DESC.equals(sortColumn.getSort()) ? negate(compareResult) : compareResult;
+                }
+            }
+            return 0;
+        };
+    }
+
+    private static <T> List<T> filterBy(Condition where, List<T> data, QueryCancellation cancellation) {
+        if (null == where) {
+            return data;
+        }
+        final List<T> result = new ArrayList<>(data.size());
+        for (int i = 0; i < data.size(); i++) {
+            if (QueryCancellation.due(cancellation, i)) {
+                cancellation.check();
+            }
+            final T element = data.get(i);
+            if (where.match(element)) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 无分组的order by + limit，过滤的同时用有界堆只保留offset+limit条，O(n log k)
+     */
+    private static <T> List<T> topK(Condition where, OrderBy orderBy, Limit limit, List<T> data, Class<?> klass,
+                                    QueryCancellation cancellation) {
+        final int offset = null == limit.getOffset() ? 0 : limit.getOffset();
+        final long k = (long) offset + limit.getLimit();
+        if (k >= data.size()) {
+            // 候选数不少于全量，堆没有收益
+            return limit(limit, orderBy(orderBy, filterBy(where, data, cancellation), klass, cancellation));
+        }
+        final TopKSelector<T> selector = new TopKSelector<>(comparatorOf(orderBy, klass), (int) k);
+        for (int i = 0; i < data.size(); i++) {
+            if (QueryCancellation.due(cancellation, i)) {
+                cancellation.check();
+            }
+            final T element = data.get(i);
+            if (null == where || where.match(element)) {
+                selector.offer(element);
+            }
+        }
+        return limit(limit, selector.toSortedList());
     }
 
-    private static <T> List<T> orderBy(OrderBy orderBy, List<T> data) {
+    private static <T> List<T> orderBy(OrderBy orderBy, List<T> data, Class<?> klass, QueryCancellation cancellation) {
         if (orderBy.getOrderBy().isEmpty()) {
             return data;
         }
-        final Map<String, Field> fieldMap = FieldCache.fieldsOf(CURRENT_CLASS.get());
-        List<OrderBy.SortColumn> sortColumns = orderBy.getOrderBy();
-        List<Field> fields = sortColumns.stream().map(OrderBy.SortColumn::getColumn).map(fieldMap::get).collect(Collectors.toList());
+        final Comparator<T> comparator = checking(comparatorOf(orderBy, klass), cancellation);
         try {
-            final Comparator<T> comparator = (o, p) -> {
-                try {
-                    for (int i = 0; i < sortColumns.size(); i++) {
-                        final int compareResult = compareField(o, p, fields.get(i));
-                        if (compareResult != 0) {
-                            OrderBy.Sort sort = sortColumns.get(i).getSort();
-                            return OrderBy.Sort.DESC.equals(sort)
-                                    ? negate(compareResult)
-                                    : compareResult;
-                        }
-                    }
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
-                return 0;
-            };
-            return data.stream()
-                    .sorted(comparator)
-                    .collect(Collectors.toCollection(() -> new ArrayList<>(data.size())));
+            return NormalizedSort.sort(data, orderBy, klass, comparator, cancellation);
+        } catch (QueryCancelledException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("排序出错，请检查字段正确性", e);
         }
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    private static <T> int compareField(T o, T p, Field field) throws IllegalAccessException {
-        final Object fieldOfO = field.get(o);
-        final Object fieldOfP = field.get(p);
-        if (null == fieldOfO || null == fieldOfP) {
-            // null视为最小
-            return fieldOfO == fieldOfP ? 0 : (null == fieldOfO ? -1 : 1);
-        }
-        return ((Comparable) fieldOfO).compareTo(fieldOfP);
+    /**
+     * 生成order by比较器
+     */
+    static <T> Comparator<T> comparatorOf(OrderBy orderBy, Class<?> klass) {
+        return comparatorOf(orderBy, column -> accessorOf(klass, column));
     }
 
-    private static <T> List<T> groupBy(GroupBy groupBy, List<T> data) {
-        final List<String> columnList = groupBy.getGroupBy();
-        if (columnList.isEmpty()) {
-            return data;
+    /**
+     * 生成order by比较器
+     *
+     * @param resolver 列名 -> 访问器，列不存在时返回null
+     */
+    static <T> Comparator<T> comparatorOf(OrderBy orderBy, Function<String, ColumnAccessor> resolver) {
+        final List<OrderBy.SortColumn> sortColumns = orderBy.getOrderBy();
+        final ColumnAccessor[] accessors = new ColumnAccessor[sortColumns.size()];
+        final boolean[] desc = new boolean[sortColumns.size()];
+        for (int i = 0; i < accessors.length; i++) {
+            accessors[i] = resolver.apply(sortColumns.get(i).getColumn());
+            if (null == accessors[i]) {
+                throw new RuntimeException("order by字段无效");
+            }
+            desc[i] = OrderBy.Sort.DESC.equals(sortColumns.get(i).getSort());
         }
-        final Map<String, Field> fieldMap = FieldCache.fieldsOf(CURRENT_CLASS.get());
-        final List<Field> fields = groupBy.getGroupBy().stream()
-                .map(fieldMap::get)
-                .peek(o -> {
-                    if (null == o) {
-                        throw new RuntimeException("group by字段无效");
-                    }
-                }).collect(Collectors.toList());
-        final Map<List<Object>, T> uniqueMap = new LinkedHashMap<>(data.size() / (1 << 3));
-        try {
-            for (T element : data) {
-                final List<Object> key = new ArrayList<>(fields.size());
-                for (Field field : fields) {
-                    key.add(field.get(element));
+        return (o, p) -> {
+            for (int i = 0; i < accessors.length; i++) {
+                final int compareResult = accessors[i].compare(o, p);
+                if (compareResult != 0) {
+                    return desc[i] ? negate(compareResult) : compareResult;
                 }
-                uniqueMap.putIfAbsent(key, element);
             }
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
+            return 0;
+        };
+    }
+
+    /**
+     * 每比较一批次检查一次取消，排序为单线程，计数无需同步
+     */
+    private static <T> Comparator<T> checking(Comparator<T> comparator, QueryCancellation cancellation) {
+        if (null == cancellation) {
+            return comparator;
         }
-        return new ArrayList<>(uniqueMap.values());
+        final int[] compared = new int[1];
+        return (o, p) -> {
+            if (QueryCancellation.due(cancellation, ++compared[0])) {
+                cancellation.check();
+            }
+            return comparator.compare(o, p);
+        };
     }
 
-    private static <T> List<T> limit(Limit limit, List<T> data) {
+    /**
+     * 每组保留第一条，保持输入顺序
+     */
+    static <T> List<T> firstOfGroups(List<T> data, ColumnAccessor[] accessors) {
+        return firstOfGroups(data, accessors, null);
+    }
+
+    private static <T> List<T> firstOfGroups(List<T> data, ColumnAccessor[] accessors,
+                                             QueryCancellation cancellation) {
+        final GroupKeyTable table = GroupKeyTable.of(accessors, data.size() / (1 << 3));
+        final List<T> result = new ArrayList<>();
+        for (int i = 0; i < data.size(); i++) {
+            if (QueryCancellation.due(cancellation, i)) {
+                cancellation.check();
+            }
+            final T element = data.get(i);
+            final int groups = table.size();
+            if (table.groupOf(element) == groups) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+
+    static ColumnAccessor[] groupAccessorsOf(GroupBy groupBy, Class<?> klass) {
+        return groupAccessorsOf(groupBy, column -> accessorOf(klass, column));
+    }
+
+    /**
+     * @param resolver 列名 -> 访问器，列不存在时返回null
+     */
+    static ColumnAccessor[] groupAccessorsOf(GroupBy groupBy, Function<String, ColumnAccessor> resolver) {
+        final List<String> columns = groupBy.getGroupBy();
+        final ColumnAccessor[] accessors = new ColumnAccessor[columns.size()];
+        for (int i = 0; i < accessors.length; i++) {
+            accessors[i] = resolver.apply(columns.get(i));
+            if (null == accessors[i]) {
+                throw new RuntimeException("group by字段无效");
+            }
+        }
+        return accessors;
+    }
+
+    static List<Object> groupKeyOf(Object element, ColumnAccessor[] accessors) {
+        final List<Object> key = new ArrayList<>(accessors.length);
+        for (ColumnAccessor accessor : accessors) {
+            key.add(accessor.get(element));
+        }
+        return key;
+    }
+
+    static <T> List<T> limit(Limit limit, List<T> data) {
         if (null == limit.getLimit()) {
             return data;
         }
-        final int fromIndex = null == limit.getOffset() ? 0 : limit.getOffset();
-        final int toIndex = Math.min(fromIndex + limit.getLimit(), data.size());
+        final int fromIndex = Math.min(null == limit.getOffset() ? 0 : limit.getOffset(), data.size());
+        final int toIndex = (int) Math.min((long) fromIndex + limit.getLimit(), data.size());
         return data.subList(fromIndex, toIndex);
     }
 
@@ -183,6 +473,20 @@ public final class SimSqlQueryUtil {
         return a == Integer.MIN_VALUE ? 1 : -a;
     }
 
+    /**
+     * 查询类的所有实例属性名（含继承，不含static、编译器生成的属性）
+     *
+     * @param klass class
+     * @return 属性名
+     */
+    public static List<String> columnsOf(@NonNull Class<?> klass) {
+        return FieldCache.fieldsOf(klass).values().stream()
+                .filter(o -> !Modifier.isStatic(o.getModifiers()) && !o.isSynthetic())
+                .map(Field::getName)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
     /**
      * 查询obj的所有属性，优先用上下文已缓存的class
      *
@@ -194,6 +498,90 @@ public final class SimSqlQueryUtil {
         return FieldCache.fieldsOf(null == cached ? obj.getClass() : cached);
     }
 
+    /**
+     * 查询obj的类型，优先用上下文已缓存的class
+     *
+     * @param obj obj
+     * @return class of current context or obj
+     */
+    public static Class<?> classOf(Object obj) {
+        final Class<?> cached = CURRENT_CLASS.get();
+        return null == cached ? obj.getClass() : cached;
+    }
+
+    /**
+     * 查询obj指定列的访问器，优先用上下文已缓存的class
+     *
+     * @param obj    obj
+     * @param column 列名
+     * @return 访问器，列不存在时为null
+     */
+    public static ColumnAccessor accessorOf(Object obj, String column) {
+        return accessorOf(classOf(obj), column);
+    }
+
+    /**
+     * 查询类指定列的访问器
+     *
+     * @param klass  class，可以是接口
+     * @param column 列名
+     * @return 访问器，列不存在时为null
+     */
+    public static ColumnAccessor accessorOf(@NonNull Class<?> klass, String column) {
+        return AccessorCache.accessorOf(klass, column);
+    }
+
+    /**
+     * 列访问器缓存，按需生成
+     * <li>优先属性（含继承），与{@link FieldCache}一致
+     * <li>无同名属性时查找public无参方法：getXxx、isXxx、xxx（record），以支持接口类型
+     */
+    private static class AccessorCache {
+
+        /**
+         * class -> column -> accessor
+         */
+        private static final LoadingCache<Class<?>, Map<String, ColumnAccessor>> ACCESSOR_CACHE = Caffeine.newBuilder()
+                .expireAfterAccess(1, TimeUnit.DAYS)
+                .softValues()
+                .build(klass -> new ConcurrentHashMap<>(1 << 4));
+
+        static ColumnAccessor accessorOf(Class<?> klass, String column) {
+            if (null == column) {
+                return null;
+            }
+            // 列不存在时返回null，不缓存
+            return ACCESSOR_CACHE.get(klass).computeIfAbsent(column, o -> genAccessor(klass, o));
+        }
+
+        private static ColumnAccessor genAccessor(Class<?> klass, String column) {
+            final Field field = FieldCache.fieldsOf(klass).get(column);
+            if (null != field) {
+                return ColumnAccessor.ofField(column, field);
+            }
+            final Method method = findGetter(klass, column);
+            return null == method ? null : ColumnAccessor.ofMethod(column, method);
+        }
+
+        private static Method findGetter(Class<?> klass, String column) {
+            if (column.isEmpty()) {
+                return null;
+            }
+            final String capitalized = Character.toUpperCase(column.charAt(0)) + column.substring(1);
+            for (String name : Arrays.asList("get" + capitalized, "is" + capitalized, column)) {
+                try {
+                    final Method method = klass.getMethod(name);
+                    if (void.class != method.getReturnType() && !Modifier.isStatic(method.getModifiers())) {
+                        return method;
+                    }
+                } catch (NoSuchMethodException ignored) {
+                    // 继续尝试下一种命名
+                }
+            }
+            return null;
+        }
+    }
+
     /**
      * Field缓存（含继承）
      */
@@ -0,0 +1,413 @@
+package sim.sql.util;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import sim.sql.aggregate.AggregateRow;
+import sim.sql.aggregate.HashAggregation;
+import sim.sql.condition.Condition;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 窗口流式查询：逐行接收，按窗口输出结果
+ * <li>时间窗口由事件时间列驱动，列值可为Number、Date、Instant；见到的最大事件时间超过 窗口结束 + 允许迟到 时输出窗口，
+ * 所属窗口均已输出的行丢弃并计数
+ * <li>行数窗口在行数满时输出
+ * <li>窗口按起点顺序输出，{@link #flush()}输出全部未结束的窗口
+ * <p>每个窗口的结果与对窗口内的行（按到达顺序）执行{@link SimSqlQueryUtil#query(List, Where, OrderBy, GroupBy, Limit, Class)}一致。
+ * 窗口状态有界：top-k只保留offset+limit行，分组只保留每组当前第一行，聚合只保留累加器；其余情况保留窗口内的行，无排序时最多offset+limit行
+ * <p>非线程安全
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 01:50
+ */
+
+public final class StreamingQuery<T, R> {
+
+    private final Window window;
+
+    /**
+     * 事件时间列，行数窗口时为null
+     */
+    private final ColumnAccessor timeAccessor;
+
+    /**
+     * 已绑定的where，无条件时为null
+     */
+    private final Condition condition;
+
+    private final Supplier<WindowState<T, R>> stateFactory;
+    private final Consumer<WindowResult<R>> sink;
+
+    /**
+     * 未输出的窗口，起点 -> 状态
+     */
+    private final TreeMap<Long, WindowState<T, R>> windows = new TreeMap<>();
+
+    /**
+     * 时间窗口为见到的最大事件时间，行数窗口为已计入的行数
+     */
+    private long position = Long.MIN_VALUE;
+
+    /**
+     * 结束位置不超过该值的窗口已输出
+     */
+    private long emittedUpTo = Long.MIN_VALUE;
+
+    private long dropped;
+
+    private StreamingQuery(Window window, ColumnAccessor timeAccessor, Condition condition,
+                           Supplier<WindowState<T, R>> stateFactory, Consumer<WindowResult<R>> sink) {
+        this.window = window;
+        this.timeAccessor = timeAccessor;
+        this.condition = condition;
+        this.stateFactory = stateFactory;
+        this.sink = sink;
+        if (!window.isTime()) {
+            position = 0;
+        }
+    }
+
+    /**
+     * 窗口查询
+     *
+     * @param window     窗口
+     * @param timeColumn 事件时间列，行数窗口时可为null
+     * @param where      where，支持add or，支持嵌套
+     * @param orderBy    排序字段
+     * @param groupBy    分组字段
+     * @param limit      limit字段
+     * @param klass      data类型
+     * @param sink       窗口结果，在{@link #accept(Object)}、{@link #flush()}中同步回调
+     * @param <T>        data类型
+     * @return 流式查询
+     */
+    public static <T> StreamingQuery<T, T> of(@NonNull Window window, String timeColumn, @NonNull Where where,
+                                              @NonNull OrderBy orderBy, @NonNull GroupBy groupBy, @NonNull Limit limit,
+                                              @NonNull Class<T> klass, @NonNull Consumer<WindowResult<T>> sink) {
+        final Comparator<T> comparator = orderBy.getOrderBy().isEmpty() ? null : SimSqlQueryUtil.comparatorOf(orderBy, klass);
+        final Supplier<WindowState<T, T>> factory;
+        if (!groupBy.getGroupBy().isEmpty()) {
+            final ColumnAccessor[] accessors = SimSqlQueryUtil.groupAccessorsOf(groupBy, klass);
+            factory = () -> new GroupState<>(accessors, comparator, limit);
+        } else if (null != comparator && null != limit.getLimit()) {
+            factory = () -> new TopKState<>(comparator, limit);
+        } else {
+            factory = () -> new RowState<>(comparator, limit);
+        }
+        return new StreamingQuery<>(window, timeAccessorOf(window, timeColumn, klass), bind(where, klass), factory, sink);
+    }
+
+    /**
+     * 窗口聚合查询：where -> group by + 聚合函数 -> order by -> limit
+     *
+     * @param window     窗口
+     * @param timeColumn 事件时间列，行数窗口时可为null
+     * @param where      where，支持add or，支持嵌套
+     * @param groupBy    分组字段及聚合函数
+     * @param orderBy    排序字段，可用分组列名或聚合列别名
+     * @param limit      limit字段
+     * @param klass      data类型
+     * @param sink       窗口结果，在{@link #accept(Object)}、{@link #flush()}中同步回调
+     * @param <T>        data类型
+     * @return 流式查询
+     */
+    public static <T> StreamingQuery<T, AggregateRow> aggregate(@NonNull Window window, String timeColumn,
+                                                                @NonNull Where where, @NonNull GroupBy groupBy,
+                                                                @NonNull OrderBy orderBy, @NonNull Limit limit,
+                                                                @NonNull Class<T> klass,
+                                                                @NonNull Consumer<WindowResult<AggregateRow>> sink) {
+        final HashAggregation aggregation = HashAggregation.of(groupBy, klass);
+        final Comparator<AggregateRow> comparator = orderBy.getOrderBy().isEmpty() ? null : SimSqlQueryUtil.rowComparatorOf(orderBy);
+        final Supplier<WindowState<T, AggregateRow>> factory = () -> new AggregateState<>(aggregation.newState(), comparator, limit);
+        return new StreamingQuery<>(window, timeAccessorOf(window, timeColumn, klass), bind(where, klass), factory, sink);
+    }
+
+    private static ColumnAccessor timeAccessorOf(Window window, String timeColumn, Class<?> klass) {
+        if (!window.isTime()) {
+            return null;
+        }
+        final ColumnAccessor accessor = SimSqlQueryUtil.accessorOf(klass, timeColumn);
+        if (null == accessor) {
+            throw new RuntimeException("事件时间字段无效");
+        }
+        return accessor;
+    }
+
+    private static Condition bind(Where where, Class<?> klass) {
+        return where.getAddConditions().isEmpty() && where.getOrConditions().isEmpty() ? null : where.bind(klass);
+    }
+
+    /**
+     * 接收一行，可能输出若干窗口
+     *
+     * @param row 数据
+     */
+    public void accept(T row) {
+        if (window.isTime()) {
+            acceptByTime(row);
+        } else if (null == condition || condition.match(row)) {
+            acceptByCount(row);
+        }
+    }
+
+    /**
+     * 输出全部未结束的窗口，之后到达的属于已输出窗口的行按迟到处理
+     */
+    public void flush() {
+        while (!windows.isEmpty()) {
+            emit(windows.firstKey());
+        }
+    }
+
+    /**
+     * @return 因迟到丢弃的行数
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * @return 未输出的窗口数
+     */
+    public int getOpenWindows() {
+        return windows.size();
+    }
+
+    private void acceptByTime(T row) {
+        final long time = timeOf(timeAccessor.get(row));
+        // 过滤掉的行同样推进事件时间
+        if (null == condition || condition.match(row)) {
+            boolean accepted = false;
+            for (long start = window.lastStartOf(time); start > time - window.getSize(); start -= window.getSlide()) {
+                if (start + window.getSize() <= emittedUpTo) {
+                    break;
+                }
+                windows.computeIfAbsent(start, o -> stateFactory.get()).add(row);
+                accepted = true;
+            }
+            if (!accepted) {
+                dropped++;
+            }
+        }
+        if (time > position) {
+            position = time;
+            emitUpTo(position - window.getLateness());
+        }
+    }
+
+    private void acceptByCount(T row) {
+        final long index = position++;
+        boolean accepted = false;
+        for (long start = window.lastStartOf(index); start > index - window.getSize() && start >= 0; start -= window.getSlide()) {
+            // flush后到达的行可能落在已输出的窗口
+            if (start + window.getSize() <= emittedUpTo) {
+                break;
+            }
+            windows.computeIfAbsent(start, o -> stateFactory.get()).add(row);
+            accepted = true;
+        }
+        if (!accepted) {
+            dropped++;
+        }
+        emitUpTo(position);
+    }
+
+    /**
+     * 输出结束位置不超过watermark的窗口
+     */
+    private void emitUpTo(long watermark) {
+        while (!windows.isEmpty() && windows.firstKey() + window.getSize() <= watermark) {
+            emit(windows.firstKey());
+        }
+        emittedUpTo = Math.max(emittedUpTo, watermark);
+    }
+
+    private void emit(long start) {
+        final WindowState<T, R> state = windows.remove(start);
+        final long end = start + window.getSize();
+        emittedUpTo = Math.max(emittedUpTo, end);
+        sink.accept(new WindowResult<>(start, end, state.result()));
+    }
+
+    private static long timeOf(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Date) {
+            return ((Date) value).getTime();
+        }
+        if (value instanceof Instant) {
+            return ((Instant) value).toEpochMilli();
+        }
+        throw new RuntimeException(null == value ? "事件时间不能为null" : "事件时间类型不支持：" + value.getClass().getName());
+    }
+
+    /**
+     * 单个窗口的状态
+     */
+    private interface WindowState<T, R> {
+        void add(T row);
+
+        List<R> result();
+    }
+
+    /**
+     * 无分组的order by + limit，有界堆
+     */
+    private static final class TopKState<T> implements WindowState<T, T> {
+        private final TopKSelector<T> selector;
+        private final Limit limit;
+
+        private TopKState(Comparator<T> comparator, Limit limit) {
+            final long k = (long) (null == limit.getOffset() ? 0 : limit.getOffset()) + limit.getLimit();
+            this.selector = new TopKSelector<>(comparator, (int) Math.min(k, Integer.MAX_VALUE));
+            this.limit = limit;
+        }
+
+        @Override
+        public void add(T row) {
+            selector.offer(row);
+        }
+
+        @Override
+        public List<T> result() {
+            return SimSqlQueryUtil.limit(limit, selector.toSortedList());
+        }
+    }
+
+    /**
+     * 每组只保留排序后的第一行：无排序时为首次出现的行，有排序时为比较器最小、相同时最早到达的行
+     * <p>排序后取每组第一行，各组的顺序即保留行按 (比较器, 到达顺序) 的顺序
+     */
+    private static final class GroupState<T> implements WindowState<T, T> {
+        private final GroupKeyTable keys;
+        private final Comparator<T> comparator;
+        private final Limit limit;
+        private final List<T> firsts = new ArrayList<>();
+
+        /**
+         * 保留行的到达序号，无排序时不记录
+         */
+        private long[] arrivals = new long[16];
+        private long arrival;
+
+        private GroupState(ColumnAccessor[] accessors, Comparator<T> comparator, Limit limit) {
+            this.keys = GroupKeyTable.of(accessors, 0);
+            this.comparator = comparator;
+            this.limit = limit;
+        }
+
+        @Override
+        public void add(T row) {
+            final long sequence = arrival++;
+            final int group = keys.groupOf(row);
+            if (group == firsts.size()) {
+                firsts.add(row);
+            } else if (null != comparator && comparator.compare(row, firsts.get(group)) < 0) {
+                firsts.set(group, row);
+            } else {
+                return;
+            }
+            if (null != comparator) {
+                if (group == arrivals.length) {
+                    arrivals = Arrays.copyOf(arrivals, group << 1);
+                }
+                arrivals[group] = sequence;
+            }
+        }
+
+        @Override
+        public List<T> result() {
+            if (null == comparator) {
+                return SimSqlQueryUtil.limit(limit, firsts);
+            }
+            final Integer[] groups = new Integer[firsts.size()];
+            for (int i = 0; i < groups.length; i++) {
+                groups[i] = i;
+            }
+            Arrays.sort(groups, (o, p) -> {
+                final int compareResult = comparator.compare(firsts.get(o), firsts.get(p));
+                return 0 != compareResult ? compareResult : Long.compare(arrivals[o], arrivals[p]);
+            });
+            final List<T> result = new ArrayList<>(groups.length);
+            for (Integer group : groups) {
+                result.add(firsts.get(group));
+            }
+            return SimSqlQueryUtil.limit(limit, result);
+        }
+    }
+
+    /**
+     * 保留窗口内的行；无排序有limit时只保留前offset+limit行
+     */
+    private static final class RowState<T> implements WindowState<T, T> {
+        private final Comparator<T> comparator;
+        private final Limit limit;
+        private final long capacity;
+        private final List<T> rows = new ArrayList<>();
+
+        private RowState(Comparator<T> comparator, Limit limit) {
+            this.comparator = comparator;
+            this.limit = limit;
+            this.capacity = null == comparator && null != limit.getLimit()
+                    ? (long) (null == limit.getOffset() ? 0 : limit.getOffset()) + limit.getLimit()
+                    : Long.MAX_VALUE;
+        }
+
+        @Override
+        public void add(T row) {
+            if (rows.size() < capacity) {
+                rows.add(row);
+            }
+        }
+
+        @Override
+        public List<T> result() {
+            if (null != comparator) {
+                rows.sort(comparator);
+            }
+            return SimSqlQueryUtil.limit(limit, rows);
+        }
+    }
+
+    /**
+     * 增量聚合，输出时排序与limit
+     */
+    private static final class AggregateState<T> implements WindowState<T, AggregateRow> {
+        private final HashAggregation.State state;
+        private final Comparator<AggregateRow> comparator;
+        private final Limit limit;
+
+        private AggregateState(HashAggregation.State state, Comparator<AggregateRow> comparator, Limit limit) {
+            this.state = state;
+            this.comparator = comparator;
+            this.limit = limit;
+        }
+
+        @Override
+        public void add(T row) {
+            state.add(row);
+        }
+
+        @Override
+        public List<AggregateRow> result() {
+            final List<AggregateRow> rows = state.rows();
+            if (null != comparator) {
+                rows.sort(comparator);
+            }
+            return SimSqlQueryUtil.limit(limit, rows);
+        }
+    }
+}
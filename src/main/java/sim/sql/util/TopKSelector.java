@@ -0,0 +1,124 @@
+package sim.sql.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 有界大顶堆，按比较器保留最小的k条
+ * <p>比较相等时按输入顺序，结果与稳定全排序后取前k条一致
+ *
+ * @author CodeInDreams
+ * @since 2026/10/17 14:30
+ */
+
+final class TopKSelector<T> {
+
+    private final Comparator<? super T> comparator;
+    private final int k;
+    private Object[] elements;
+    private long[] sequences;
+    private int size;
+    private long sequence;
+
+    TopKSelector(Comparator<? super T> comparator, int k) {
+        this.comparator = comparator;
+        this.k = k;
+        final int initialCapacity = Math.min(k, 1 << 10);
+        this.elements = new Object[initialCapacity];
+        this.sequences = new long[initialCapacity];
+    }
+
+    /**
+     * 按输入顺序逐条提供候选
+     */
+    void offer(T element) {
+        final long seq = sequence++;
+        if (size < k) {
+            if (size == elements.length) {
+                final int capacity = (int) Math.min(k, (long) size << 1);
+                elements = Arrays.copyOf(elements, capacity);
+                sequences = Arrays.copyOf(sequences, capacity);
+            }
+            elements[size] = element;
+            sequences[size] = seq;
+            siftUp(size++);
+            return;
+        }
+        if (k == 0 || compare(element, seq, 0) >= 0) {
+            // 不优于堆顶（当前第k条），直接丢弃
+            return;
+        }
+        elements[0] = element;
+        sequences[0] = seq;
+        siftDown(0);
+    }
+
+    /**
+     * 依次弹出堆顶得到升序结果，调用后不可再使用
+     */
+    @SuppressWarnings("unchecked")
+    List<T> toSortedList() {
+        final Object[] sorted = new Object[size];
+        while (size > 0) {
+            sorted[size - 1] = elements[0];
+            size--;
+            elements[0] = elements[size];
+            sequences[0] = sequences[size];
+            elements[size] = null;
+            siftDown(0);
+        }
+        final List<T> result = new ArrayList<>(sorted.length);
+        for (Object o : sorted) {
+            result.add((T) o);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object element, long seq, int index) {
+        final int compareResult = comparator.compare((T) element, (T) elements[index]);
+        return compareResult != 0 ? compareResult : Long.compare(seq, sequences[index]);
+    }
+
+    private void siftUp(int index) {
+        final Object element = elements[index];
+        final long seq = sequences[index];
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            if (compare(element, seq, parent) <= 0) {
+                break;
+            }
+            elements[index] = elements[parent];
+            sequences[index] = sequences[parent];
+            index = parent;
+        }
+        elements[index] = element;
+        sequences[index] = seq;
+    }
+
+    private void siftDown(int index) {
+        if (size == 0) {
+            return;
+        }
+        final Object element = elements[index];
+        final long seq = sequences[index];
+        final int half = size >>> 1;
+        while (index < half) {
+            int child = (index << 1) + 1;
+            final int right = child + 1;
+            if (right < size && compare(elements[right], sequences[right], child) > 0) {
+                child = right;
+            }
+            if (compare(element, seq, child) >= 0) {
+                break;
+            }
+            elements[index] = elements[child];
+            sequences[index] = sequences[child];
+            index = child;
+        }
+        elements[index] = element;
+        sequences[index] = seq;
+    }
+}
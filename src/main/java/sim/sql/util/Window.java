@@ -0,0 +1,103 @@
+package sim.sql.util;
+
+/**
+ * 窗口定义
+ * <li>时间窗口：按事件时间列划分，窗口为[start, start + size)，start为slide的整数倍
+ * <li>行数窗口：按过滤后的到达顺序划分，第i行（从0开始）属于 start <= i < start + size 的窗口
+ * <p>滚动窗口slide等于size，滑动窗口slide小于size，一行属于多个窗口
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 01:50
+ */
+
+public final class Window {
+
+    private final boolean time;
+    private final long size;
+    private final long slide;
+
+    /**
+     * 允许迟到的时间，仅时间窗口有效
+     */
+    private final long lateness;
+
+    private Window(boolean time, long size, long slide, long lateness) {
+        if (size <= 0 || slide <= 0 || slide > size || lateness < 0) {
+            throw new RuntimeException("窗口参数无效");
+        }
+        this.time = time;
+        this.size = size;
+        this.slide = slide;
+        this.lateness = lateness;
+    }
+
+    /**
+     * @param size 窗口时长，与事件时间同单位
+     * @return 滚动时间窗口
+     */
+    public static Window tumbling(long size) {
+        return new Window(true, size, size, 0);
+    }
+
+    /**
+     * @param size  窗口时长，与事件时间同单位
+     * @param slide 滑动步长，不大于size
+     * @return 滑动时间窗口
+     */
+    public static Window sliding(long size, long slide) {
+        return new Window(true, size, slide, 0);
+    }
+
+    /**
+     * @param size 每个窗口的行数
+     * @return 滚动行数窗口
+     */
+    public static Window tumblingRows(long size) {
+        return new Window(false, size, size, 0);
+    }
+
+    /**
+     * @param size  每个窗口的行数
+     * @param slide 滑动行数，不大于size
+     * @return 滑动行数窗口
+     */
+    public static Window slidingRows(long size, long slide) {
+        return new Window(false, size, slide, 0);
+    }
+
+    /**
+     * 事件时间达到 窗口结束 + lateness 时才输出窗口，之前到达的乱序行仍计入
+     *
+     * @param allowedLateness 允许迟到的时间
+     * @return 新的窗口定义
+     */
+    public Window allowLateness(long allowedLateness) {
+        if (!time) {
+            throw new RuntimeException("行数窗口不支持迟到");
+        }
+        return new Window(true, size, slide, allowedLateness);
+    }
+
+    public boolean isTime() {
+        return time;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getSlide() {
+        return slide;
+    }
+
+    public long getLateness() {
+        return lateness;
+    }
+
+    /**
+     * @return 包含position的最后一个窗口的起点
+     */
+    long lastStartOf(long position) {
+        return Math.floorDiv(position, slide) * slide;
+    }
+}
@@ -0,0 +1,46 @@
+package sim.sql.util;
+
+import java.util.List;
+
+/**
+ * 单个窗口的查询结果
+ *
+ * @author CodeInDreams
+ * @since 2026/10/18 01:50
+ */
+
+public final class WindowResult<R> {
+
+    private final long start;
+    private final long end;
+    private final List<R> rows;
+
+    WindowResult(long start, long end, List<R> rows) {
+        this.start = start;
+        this.end = end;
+        this.rows = rows;
+    }
+
+    /**
+     * @return 窗口起点（含），时间窗口为事件时间，行数窗口为行序号
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * @return 窗口终点（不含）
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    public List<R> getRows() {
+        return rows;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + start + ", " + end + ") " + rows;
+    }
+}
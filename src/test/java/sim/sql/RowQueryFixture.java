@@ -0,0 +1,79 @@
+package sim.sql;
+
+import sim.sql.dto.ExampleDTO;
+import sim.sql.keyword.GroupBy;
+import sim.sql.keyword.Limit;
+import sim.sql.keyword.OrderBy;
+import sim.sql.keyword.Where;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 各查询引擎测试共用的数据与对照断言，结果须与{@link SimSqlQueryUtil}逐行查询一致
+ */
+public final class RowQueryFixture {
+
+    private static final OrderBy BY_LONG_DESC_STR = OrderBy.column("longValue", OrderBy.Sort.DESC).thenOrderBy("strValue", OrderBy.Sort.ASC);
+    private static final OrderBy BY_INT = OrderBy.column("intValue", OrderBy.Sort.ASC);
+
+    private RowQueryFixture() {
+    }
+
+    /**
+     * 查询引擎，与{@link SimSqlQueryUtil#query}参数一致
+     */
+    @FunctionalInterface
+    public interface Engine {
+        List<ExampleDTO> query(Where where, OrderBy orderBy, GroupBy groupBy, Limit limit);
+    }
+
+    /**
+     * strValue部分为null、含多字节字符，intValue部分为null，各列取值大量重复
+     */
+    public static List<ExampleDTO> examples(int size) {
+        final List<ExampleDTO> data = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            data.add(new ExampleDTO(i % 31 == 0 ? null : (i % 3 == 0 ? "串" : "str") + i % 29, i % 7 == 0 ? null : i % 13, (long) i % 19));
+        }
+        return data;
+    }
+
+    /**
+     * 各列值，用于比较重新生成对象的结果
+     */
+    public static List<String> valuesOf(List<ExampleDTO> rows) {
+        return rows.stream().map(o -> o.getStrValue() + "," + o.getIntValue() + "," + o.getLongValue()).collect(Collectors.toList());
+    }
+
+    /**
+     * 在排序、分组、limit的多种组合下与逐行查询比较，结果须为同一批对象
+     */
+    public static void assertSameAsRowQuery(List<ExampleDTO> data, Engine engine, Where where) {
+        assertSameAsRowQuery(data, engine, where, Function.identity());
+    }
+
+    /**
+     * @param view 比较前对结果的转换，如{@link #valuesOf(List)}
+     */
+    public static void assertSameAsRowQuery(List<ExampleDTO> data, Engine engine, Where where, Function<List<ExampleDTO>, ?> view) {
+        assertSame(data, engine, where, BY_LONG_DESC_STR, GroupBy.none(), Limit.none(), view);
+        assertSame(data, engine, where, BY_LONG_DESC_STR, GroupBy.none(), Limit.of(3, 10), view);
+        assertSame(data, engine, where, OrderBy.none(), GroupBy.column("intValue"), Limit.none(), view);
+        assertSame(data, engine, where, OrderBy.none(), GroupBy.column("longValue"), Limit.of(5), view);
+        assertSame(data, engine, where, BY_INT, GroupBy.column("strValue"), Limit.of(3, 10), view);
+        // 多列分组，组数较多
+        assertSame(data, engine, where, BY_LONG_DESC_STR, GroupBy.column("strValue", "intValue"), Limit.none(), view);
+    }
+
+    private static void assertSame(List<ExampleDTO> data, Engine engine, Where where, OrderBy orderBy, GroupBy groupBy,
+                                   Limit limit, Function<List<ExampleDTO>, ?> view) {
+        assertEquals(view.apply(SimSqlQueryUtil.query(data, where, orderBy, groupBy, limit, ExampleDTO.class)),
+                view.apply(engine.query(where, orderBy, groupBy, limit)));
+    }
+}
@@ -0,0 +1,62 @@
+package sim.sql.aggregate;
+
+import org.junit.jupiter.api.Test;
+import sim.sql.dto.ExampleDTO;
+import sim.sql.keyword.*;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class HashAggregationTest {
+
+    private static List<ExampleDTO> data() {
+        final List<ExampleDTO> data = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            data.add(new ExampleDTO("str" + i % 3, i % 5 == 0 ? null : i, (long) i));
+        }
+        return data;
+    }
+
+    @Test
+    public void testAggregate() {
+        final GroupBy groupBy = GroupBy.column("strValue").aggregate(
+                Aggregate.count(),
+                Aggregate.count("intValue").as("cnt"),
+                Aggregate.countDistinct("longValue"),
+                Aggregate.sum("intValue").as("sum"),
+                Aggregate.avg("longValue").as("avg"),
+                Aggregate.min("intValue").as("min"),
+                Aggregate.max("strValue").as("max"));
+        final List<AggregateRow> rows = SimSqlQueryUtil.aggregate(data(), Where.newCondition(), groupBy,
+                OrderBy.column("count(*)", OrderBy.Sort.DESC).thenOrderBy("strValue", OrderBy.Sort.DESC),
+                Limit.none(), ExampleDTO.class);
+        assertEquals(Arrays.asList("str0", "str2", "str1"), Arrays.asList(rows.get(0).get("strValue"),
+                rows.get(1).get("strValue"), rows.get(2).get("strValue")));
+        final AggregateRow str0 = rows.get(0);
+        // i = 0, 3, ..., 99，其中 0, 15, ..., 90 的intValue为null
+        assertEquals(34L, str0.get("count(*)"));
+        assertEquals(27L, str0.get("cnt"));
+        assertEquals(34L, str0.get("count(distinct longValue)"));
+        assertEquals(1683L - 315L, str0.get("sum"));
+        assertEquals(49.5, str0.get("avg"));
+        assertEquals(3, str0.get("min"));
+        assertEquals("str0", str0.get("max"));
+    }
+
+    @Test
+    public void testAggregateWithoutGroup() {
+        final GroupBy groupBy = GroupBy.none().aggregate(Aggregate.count(), Aggregate.sum("longValue"), Aggregate.max("intValue"));
+        final List<AggregateRow> rows = SimSqlQueryUtil.aggregate(data(),
+                Where.newCondition().add(Column.of("longValue").isGreaterThanOrEqual(1000L)),
+                groupBy, OrderBy.none(), Limit.none(), ExampleDTO.class);
+        assertEquals(1, rows.size());
+        assertEquals(0L, rows.get(0).get("count(*)"));
+        assertNull(rows.get(0).get("sum(longValue)"));
+        assertNull(rows.get(0).get("max(intValue)"));
+    }
+}
@@ -0,0 +1,115 @@
+package sim.sql.bitmap;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import sim.sql.RowQueryFixture;
+import sim.sql.condition.ColumnCondition;
+import sim.sql.dto.ExampleDTO;
+import sim.sql.keyword.*;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BitmapDatasetTest {
+
+    private static List<ExampleDTO> data;
+    private static BitmapDataset<ExampleDTO> dataset;
+
+    @BeforeAll
+    public static void setup() {
+        data = RowQueryFixture.examples(200_000);
+        dataset = BitmapDataset.of(data, ExampleDTO.class);
+    }
+
+    private static void assertSameAsRowQuery(Where where) {
+        RowQueryFixture.assertSameAsRowQuery(data, dataset::query, where);
+    }
+
+    @Test
+    public void testQuery() {
+        assertSameAsRowQuery(Where.newCondition());
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("intValue").isEqualTo(null)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("intValue").in(Arrays.asList(1, 2, 4)))
+                .add(Column.of("longValue").isGreaterThan(10L)));
+        assertSameAsRowQuery(Where.newCondition()
+                .or(Column.of("strValue").likeLeft("str1"))
+                .or(Column.of("longValue").in(Arrays.asList(3L, 5L)))
+                .or(Column.of("missing").isEqualTo(null)));
+        final Where nested = Where.newCondition()
+                .or(Column.of("strValue").likeRight("7"))
+                .or(Column.of("longValue").isLessThanOrEqual(2L));
+        assertSameAsRowQuery(Where.newCondition()
+                .add(Column.of("intValue").isLessThan(5))
+                .add(nested)
+                .or(ColumnCondition.of(Arrays.asList("intValue", "longValue"), list -> ((Long) list.get(1)) == 5 * ((Integer) list.get(0)) - 2))
+                .or(o -> null != ((ExampleDTO) o).getStrValue() && ((ExampleDTO) o).getStrValue().endsWith("9")));
+    }
+
+    @Test
+    public void testPredicateCache() {
+        final BitmapDataset<ExampleDTO> cached = BitmapDataset.of(data, ExampleDTO.class);
+        final Where first = Where.newCondition().add(Column.of("intValue").isGreaterThan(3)).add(Column.of("longValue").isLessThan(9L));
+        final Where second = Where.newCondition().or(Column.of("longValue").isLessThan(9L)).or(Column.of("intValue").isGreaterThan(3));
+        assertEquals(SimSqlQueryUtil.query(data, first, OrderBy.none(), GroupBy.none(), Limit.none(), ExampleDTO.class),
+                cached.query(first, OrderBy.none(), GroupBy.none(), Limit.none()));
+        assertEquals(0, cached.stats().hitCount());
+        // 同一谓词在新的where中重复出现时复用位图
+        assertEquals(SimSqlQueryUtil.query(data, second, OrderBy.none(), GroupBy.none(), Limit.none(), ExampleDTO.class),
+                cached.query(second, OrderBy.none(), GroupBy.none(), Limit.none()));
+        assertEquals(2, cached.stats().hitCount());
+        assertEquals(2, cached.stats().missCount());
+        // 自定义条件只判定候选行
+        final AtomicInteger evaluated = new AtomicInteger();
+        final Where custom = Where.newCondition().add(Column.of("intValue").isEqualTo(3)).add(o -> evaluated.incrementAndGet() > 0);
+        assertEquals(cached.filter(Where.newCondition().add(Column.of("intValue").isEqualTo(3))).cardinality(),
+                cached.filter(custom).cardinality());
+        assertEquals(cached.filter(custom).cardinality() * 2, evaluated.get());
+    }
+
+    @Test
+    public void testRowBitmap() {
+        final Random random = new Random(17);
+        // 稀疏、稠密块交错，跨多个块
+        final BitSet[] sets = new BitSet[3];
+        final RowBitmap[] bitmaps = new RowBitmap[3];
+        for (int k = 0; k < sets.length; k++) {
+            sets[k] = new BitSet();
+            final RowBitmap.Builder builder = RowBitmap.builder();
+            for (int row = 0; row < 400_000; row++) {
+                final int chunk = row >>> 16;
+                if (random.nextInt(100) < ((chunk + k) % 2 == 0 ? 1 : 60)) {
+                    sets[k].set(row);
+                    builder.add(row);
+                }
+            }
+            bitmaps[k] = builder.build();
+            assertArrayEquals(sets[k].stream().toArray(), bitmaps[k].toArray());
+        }
+        for (int x = 0; x < sets.length; x++) {
+            for (int y = 0; y < sets.length; y++) {
+                final BitSet and = (BitSet) sets[x].clone();
+                and.and(sets[y]);
+                final BitSet or = (BitSet) sets[x].clone();
+                or.or(sets[y]);
+                final BitSet andNot = (BitSet) sets[x].clone();
+                andNot.andNot(sets[y]);
+                assertArrayEquals(and.stream().toArray(), bitmaps[x].and(bitmaps[y]).toArray());
+                assertArrayEquals(or.stream().toArray(), bitmaps[x].or(bitmaps[y]).toArray());
+                assertArrayEquals(andNot.stream().toArray(), bitmaps[x].andNot(bitmaps[y]).toArray());
+                assertEquals(or.cardinality(), bitmaps[x].or(bitmaps[y]).cardinality());
+            }
+        }
+        assertTrue(bitmaps[0].andNot(bitmaps[0]).isEmpty());
+        assertEquals(70_000, RowBitmap.all(70_000).cardinality());
+        assertTrue(RowBitmap.of(5, 70_000).contains(70_000));
+        assertTrue(!RowBitmap.of(5, 70_000).contains(6));
+    }
+}
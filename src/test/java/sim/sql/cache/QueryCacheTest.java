@@ -0,0 +1,96 @@
+package sim.sql.cache;
+
+import org.junit.jupiter.api.Test;
+import sim.sql.dto.ExampleDTO;
+import sim.sql.keyword.*;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QueryCacheTest {
+
+    private static List<ExampleDTO> dataOf(int size, int seed) {
+        final List<ExampleDTO> data = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            data.add(new ExampleDTO("str" + (i * seed) % 29, (i * seed) % 13, (long) i % 19));
+        }
+        return data;
+    }
+
+    @Test
+    public void testQueryKey() {
+        final Where where = Where.newCondition()
+                .add(Column.of("intValue").in(Arrays.asList(3, 5)))
+                .add(Column.of("strValue").likeLeft("str1"))
+                .or(Column.of("longValue").isGreaterThan(10L));
+        // add顺序不同、重新构造的条件，指纹相同
+        final Where same = Where.newCondition()
+                .add(Column.of("strValue").likeLeft("str1"))
+                .add(Column.of("intValue").in(Arrays.asList(5, 3)))
+                .or(Column.of("longValue").isGreaterThan(10L));
+        final OrderBy orderBy = OrderBy.column("longValue", OrderBy.Sort.DESC).thenOrderBy("strValue", OrderBy.Sort.ASC);
+        final OrderBy sameOrderBy = OrderBy.column("longValue", OrderBy.Sort.DESC).thenOrderBy("strValue", OrderBy.Sort.ASC);
+        final QueryKey key = QueryKey.of(where, orderBy, GroupBy.column("intValue"), Limit.of(1, 5));
+        assertEquals(key, QueryKey.of(same, sameOrderBy, GroupBy.column("intValue"), Limit.of(1, 5)));
+        assertEquals(key.hashCode(), QueryKey.of(same, sameOrderBy, GroupBy.column("intValue"), Limit.of(1, 5)).hashCode());
+        // Integer与Long操作数语义不同
+        assertNotEquals(QueryKey.of(Where.newCondition().add(Column.of("longValue").isEqualTo(1)), orderBy, GroupBy.none(), Limit.none()),
+                QueryKey.of(Where.newCondition().add(Column.of("longValue").isEqualTo(1L)), orderBy, GroupBy.none(), Limit.none()));
+        assertNotEquals(key, QueryKey.of(where, orderBy, GroupBy.column("intValue"), Limit.of(5)));
+        // 生成指纹后修改where不影响指纹
+        final QueryKey before = QueryKey.of(where, orderBy, GroupBy.none(), Limit.none());
+        where.add(Column.of("intValue").isEqualTo(3));
+        assertNotEquals(before, QueryKey.of(where, orderBy, GroupBy.none(), Limit.none()));
+        assertEquals(before, QueryKey.of(same, orderBy, GroupBy.none(), Limit.none()));
+    }
+
+    @Test
+    public void testQueryCache() {
+        final VersionedDataset<ExampleDTO> dataset = VersionedDataset.of(dataOf(10_000, 1), ExampleDTO.class);
+        final QueryCache cache = QueryCache.of(100_000);
+        final OrderBy orderBy = OrderBy.column("longValue", OrderBy.Sort.ASC);
+        final List<ExampleDTO> first = cache.query(dataset, Where.newCondition().add(Column.of("intValue").isLessThan(5)),
+                orderBy, GroupBy.column("strValue"), Limit.none());
+        final List<ExampleDTO> second = cache.query(dataset, Where.newCondition().add(Column.of("intValue").isLessThan(5)),
+                orderBy, GroupBy.column("strValue"), Limit.none());
+        assertSame(first, second);
+        assertEquals(SimSqlQueryUtil.query(dataset.rows(), Where.newCondition().add(Column.of("intValue").isLessThan(5)),
+                orderBy, GroupBy.column("strValue"), Limit.none(), ExampleDTO.class), first);
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+
+        // 数据更新后不再命中旧结果，旧版本被清除
+        assertEquals(1, dataset.replace(dataOf(10_000, 7)));
+        final List<ExampleDTO> third = cache.query(dataset, Where.newCondition().add(Column.of("intValue").isLessThan(5)),
+                orderBy, GroupBy.column("strValue"), Limit.none());
+        assertEquals(SimSqlQueryUtil.query(dataset.rows(), Where.newCondition().add(Column.of("intValue").isLessThan(5)),
+                orderBy, GroupBy.column("strValue"), Limit.none(), ExampleDTO.class), third);
+        assertEquals(2, cache.stats().missCount());
+        cache.query(dataset, Where.newCondition(), orderBy, GroupBy.none(), Limit.of(3));
+        cache.invalidate(dataset);
+        cache.query(dataset, Where.newCondition(), orderBy, GroupBy.none(), Limit.of(3));
+        assertEquals(4, cache.stats().missCount());
+    }
+
+    @Test
+    public void testVersionsReleased() {
+        final QueryCache cache = QueryCache.of(1_000);
+        final List<ExampleDTO> data = dataOf(100, 3);
+        // 每个数据集的结果都会被后来的淘汰
+        for (int i = 0; i < 200; i++) {
+            cache.query(VersionedDataset.of(data, ExampleDTO.class), Where.newCondition(), OrderBy.none(), GroupBy.none(), Limit.none());
+        }
+        assertTrue(cache.trackedDatasets() <= 10);
+        final VersionedDataset<ExampleDTO> dataset = VersionedDataset.of(data, ExampleDTO.class);
+        cache.query(dataset, Where.newCondition(), OrderBy.none(), GroupBy.none(), Limit.of(3));
+        cache.invalidateAll();
+        assertEquals(0, cache.trackedDatasets());
+    }
+}
@@ -0,0 +1,99 @@
+package sim.sql.columnar;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import sim.sql.RowQueryFixture;
+import sim.sql.condition.ColumnCondition;
+import sim.sql.dto.ExampleDTO;
+import sim.sql.keyword.*;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ColumnarTableTest {
+
+    private static List<ExampleDTO> data;
+    private static ColumnarTable<ExampleDTO> table;
+
+    @BeforeAll
+    public static void setup() {
+        data = RowQueryFixture.examples(10_000);
+        table = ColumnarTable.of(data, ExampleDTO.class);
+    }
+
+    private static void assertSameAsRowQuery(Where where) {
+        RowQueryFixture.assertSameAsRowQuery(data, table::query, where);
+    }
+
+    @Test
+    public void testPredicates() {
+        assertSameAsRowQuery(Where.newCondition());
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("intValue").isEqualTo(3)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("intValue").isEqualTo(null)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("intValue").isEqualTo(3L)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("intValue").isGreaterThan(10)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("longValue").isLessThanOrEqual(4L))
+                .add(Column.of("intValue").isGreaterThanOrEqual(6)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("longValue").isLessThan(Long.MIN_VALUE)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("intValue").in(Arrays.asList(1, 2, null, 4L))));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("strValue").likeRight("7")));
+    }
+
+    @Test
+    public void testNestedWhere() {
+        final Where nested = Where.newCondition()
+                .or(Column.of("strValue").likeLeft("str1"))
+                .or(Column.of("longValue").in(Arrays.asList(3L, 5L)));
+        assertSameAsRowQuery(Where.newCondition()
+                .add(Column.of("intValue").isLessThan(5))
+                .add(nested)
+                .or(ColumnCondition.of(Arrays.asList("intValue", "longValue"), list -> ((Long) list.get(1)) == 5 * ((Integer) list.get(0)) - 2))
+                .or(o -> null != ((ExampleDTO) o).getStrValue() && ((ExampleDTO) o).getStrValue().endsWith("9")));
+    }
+
+    @Test
+    public void testDictionaryColumn() {
+        final List<ExampleDTO> rows = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            rows.add(new ExampleDTO(i % 11 == 0 ? null : "s" + (i * 7) % 23, i % 5 == 0 ? null : i % 17, (long) i));
+        }
+        final ColumnarTable<ExampleDTO> dictionaryTable = ColumnarTable.of(rows, ExampleDTO.class);
+        assertTrue(dictionaryTable.column("strValue") instanceof DictionaryColumnVector);
+        final List<Where> wheres = Arrays.asList(
+                Where.newCondition(),
+                Where.newCondition().add(Column.of("strValue").isEqualTo("s3")),
+                Where.newCondition().add(Column.of("strValue").isEqualTo("absent")),
+                Where.newCondition().add(Column.of("strValue").isEqualTo(null)),
+                Where.newCondition().add(Column.of("strValue").isGreaterThan("s15")),
+                Where.newCondition().add(Column.of("strValue").isGreaterThanOrEqual("s150")),
+                Where.newCondition().add(Column.of("strValue").isLessThan("s2")),
+                Where.newCondition().add(Column.of("strValue").isLessThanOrEqual("s20")),
+                Where.newCondition().add(Column.of("strValue").in(Arrays.asList("s1", "s9", null, 9))),
+                Where.newCondition().add(Column.of("strValue").likeInclude("1")),
+                Where.newCondition().add(Column.of("strValue").isGreaterThan(1)));
+        final List<OrderBy> orderBys = Arrays.asList(
+                OrderBy.column("strValue", OrderBy.Sort.ASC),
+                OrderBy.column("strValue", OrderBy.Sort.DESC).thenOrderBy("intValue", OrderBy.Sort.ASC),
+                OrderBy.column("intValue", OrderBy.Sort.DESC));
+        for (Where where : wheres) {
+            for (OrderBy orderBy : orderBys) {
+                assertEquals(SimSqlQueryUtil.query(rows, where, orderBy, GroupBy.none(), Limit.none(), ExampleDTO.class),
+                        dictionaryTable.query(where, orderBy, GroupBy.none(), Limit.none()));
+                assertEquals(SimSqlQueryUtil.query(rows, where, orderBy, GroupBy.column("strValue"), Limit.of(2, 8), ExampleDTO.class),
+                        dictionaryTable.query(where, orderBy, GroupBy.column("strValue"), Limit.of(2, 8)));
+                assertEquals(SimSqlQueryUtil.query(rows, where, orderBy, GroupBy.column("strValue", "intValue"), Limit.none(), ExampleDTO.class),
+                        dictionaryTable.query(where, orderBy, GroupBy.column("strValue", "intValue"), Limit.none()));
+            }
+            assertEquals(SimSqlQueryUtil.query(rows, where, OrderBy.none(), GroupBy.column("strValue"), Limit.none(), ExampleDTO.class),
+                    dictionaryTable.query(where, OrderBy.none(), GroupBy.column("strValue"), Limit.none()));
+        }
+        // 不同取值过多时不编码
+        assertFalse(ColumnarTable.of(rows.subList(0, 30), ExampleDTO.class).column("strValue") instanceof DictionaryColumnVector);
+    }
+}
@@ -0,0 +1,94 @@
+package sim.sql.columnar;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sim.sql.RowQueryFixture;
+import sim.sql.condition.ColumnCondition;
+import sim.sql.dto.ExampleDTO;
+import sim.sql.keyword.*;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MappedTableTest {
+
+    @TempDir
+    static Path directory;
+
+    private static List<ExampleDTO> data;
+    private static MappedTable<ExampleDTO> table;
+
+    @BeforeAll
+    public static void setup() throws IOException {
+        data = RowQueryFixture.examples(10_000);
+        final Path path = directory.resolve("example.col");
+        ColumnarFileWriter.write(data, ExampleDTO.class, path);
+        table = MappedTable.open(path, ExampleDTO.class,
+                row -> new ExampleDTO(row.getString("strValue"), row.getInt("intValue"), row.getLong("longValue")));
+    }
+
+    @AfterAll
+    public static void close() throws IOException {
+        table.close();
+    }
+
+    /**
+     * 行由映射函数重新生成，按列值比较
+     */
+    private static void assertSameAsRowQuery(Where where) {
+        RowQueryFixture.assertSameAsRowQuery(data, table::query, where, RowQueryFixture::valuesOf);
+    }
+
+    @Test
+    public void testPredicates() {
+        assertEquals(data.size(), table.size());
+        assertSameAsRowQuery(Where.newCondition());
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("intValue").isEqualTo(3)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("intValue").isEqualTo(null)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("intValue").isEqualTo(3L)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("intValue").isGreaterThan(10)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("longValue").isLessThanOrEqual(4L))
+                .add(Column.of("intValue").isGreaterThanOrEqual(6)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("intValue").in(Arrays.asList(1, 2, null, 4L))));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("strValue").isEqualTo("串12")));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("strValue").isGreaterThan("str2")));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("strValue").likeLeft("串1")));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("strValue").likeRight("7")));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("strValue").likeInclude("r2")));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("missing").isEqualTo(null)));
+    }
+
+    @Test
+    public void testNestedWhere() {
+        final Where nested = Where.newCondition()
+                .or(Column.of("strValue").likeLeft("str1"))
+                .or(Column.of("longValue").in(Arrays.asList(3L, 5L)));
+        assertSameAsRowQuery(Where.newCondition()
+                .add(Column.of("intValue").isLessThan(5))
+                .add(nested)
+                .or(ColumnCondition.of(Arrays.asList("intValue", "longValue"), list -> ((Long) list.get(1)) == 5 * ((Integer) list.get(0)) - 2))
+                .or(o -> null != ((ExampleDTO) o).getStrValue() && ((ExampleDTO) o).getStrValue().endsWith("9")));
+    }
+
+    @Test
+    public void testOrderByLimit() {
+        // 排序列大量重复，结果须与稳定排序后截取一致
+        final OrderBy byLong = OrderBy.column("longValue", OrderBy.Sort.DESC);
+        final OrderBy byIntAndStr = OrderBy.column("intValue", OrderBy.Sort.ASC).thenOrderBy("strValue", OrderBy.Sort.DESC);
+        final Where where = Where.newCondition().add(Column.of("intValue").isLessThan(9));
+        for (OrderBy orderBy : Arrays.asList(byLong, byIntAndStr)) {
+            for (Limit limit : Arrays.asList(Limit.of(0), Limit.of(1), Limit.of(10), Limit.of(37, 100), Limit.of(5000),
+                    Limit.of(20_000), Limit.of(20_000, 5))) {
+                assertEquals(RowQueryFixture.valuesOf(SimSqlQueryUtil.query(data, where, orderBy, GroupBy.none(), limit, ExampleDTO.class)),
+                        RowQueryFixture.valuesOf(table.query(where, orderBy, GroupBy.none(), limit)));
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package sim.sql.condition;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SubstringMatcherTest {
+
+    @Test
+    public void testMatches() {
+        final String text = "abcabdabcabcabe-长关键字匹配测试-xyz";
+        for (String keyword : Arrays.asList("", "a", "长", "q", "abcabcab", "abcabcabe", "bcabe-长关键字", "关键字匹配测试-xyz", "关键字匹配测试-xy-", "xyzxyzxyz")) {
+            assertEquals(text.contains(keyword), SubstringMatcher.of(keyword).matches(text), keyword);
+        }
+        assertEquals(true, SubstringMatcher.of("").matches(""));
+        assertEquals(false, SubstringMatcher.of("a").matches(""));
+    }
+}
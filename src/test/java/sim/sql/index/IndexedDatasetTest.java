@@ -0,0 +1,85 @@
+package sim.sql.index;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import sim.sql.RowQueryFixture;
+import sim.sql.dto.ExampleDTO;
+import sim.sql.keyword.*;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class IndexedDatasetTest {
+
+    private static List<ExampleDTO> data;
+    private static IndexedDataset<ExampleDTO> dataset;
+
+    @BeforeAll
+    public static void setup() {
+        data = RowQueryFixture.examples(10_000);
+        dataset = IndexedDataset.of(data, ExampleDTO.class)
+                .hashIndex("strValue")
+                .hashIndex("intValue")
+                .sortedIndex("longValue")
+                .sortedIndex("intValue");
+    }
+
+    private static void assertSameAsRowQuery(Where where) {
+        RowQueryFixture.assertSameAsRowQuery(data, dataset::query, where);
+    }
+
+    @Test
+    public void testIndexedPredicates() {
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("strValue").isEqualTo("str3")));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("intValue").isEqualTo(null)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("intValue").in(Arrays.asList(1, 2, null))));
+        // 多个值，含不存在的值
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("strValue").in(Arrays.asList("str28", "str0", "none", "str7", "str13", "str21"))));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("strValue").in(Arrays.asList("none", "str5"))));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("longValue").isGreaterThan(10L))
+                .add(Column.of("longValue").isLessThanOrEqual(12L)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("intValue").isLessThan(3))
+                .or(Column.of("strValue").in(Arrays.asList("str1", "str2"))));
+        // 操作数类型不一致，不能走有序索引
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("longValue").isGreaterThan(10)));
+    }
+
+    @Test
+    public void testLikeIndexes() {
+        final List<ExampleDTO> texts = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            texts.add(new ExampleDTO(i % 17 == 0 ? null : "用户" + i % 97 + "-订单-" + Integer.toHexString(i * 31) + "-完成", i % 13, (long) i));
+        }
+        final IndexedDataset<ExampleDTO> indexed = IndexedDataset.of(texts, ExampleDTO.class)
+                .trigramIndex("strValue")
+                .prefixIndex("strValue")
+                .suffixIndex("strValue");
+        for (String keyword : Arrays.asList("", "1", "-订", "订单-a", "用户3", "用户12-", "a-完成", "不存在", "单-1f-完成", "户4-订单-1")) {
+            for (Where where : Arrays.asList(
+                    Where.newCondition().add(Column.of("strValue").likeInclude(keyword)),
+                    Where.newCondition().add(Column.of("strValue").likeLeft(keyword)),
+                    Where.newCondition().add(Column.of("strValue").likeRight(keyword)),
+                    Where.newCondition().add(Column.of("strValue").likeInclude(keyword)).or(Column.of("strValue").likeLeft("用户9")))) {
+                assertEquals(SimSqlQueryUtil.query(texts, where, OrderBy.none(), GroupBy.none(), Limit.none(), ExampleDTO.class),
+                        indexed.filter(where));
+            }
+        }
+    }
+
+    @Test
+    public void testResidualPredicates() {
+        // 索引收窄后逐行判定剩余条件
+        assertSameAsRowQuery(Where.newCondition()
+                .add(Column.of("strValue").isEqualTo("str5"))
+                .add(Column.of("strValue").likeRight("5"))
+                .add(Where.newCondition().or(Column.of("longValue").isGreaterThanOrEqual(9L)).or(o -> ((ExampleDTO) o).getIntValue() == null)));
+        // or组中有无法走索引的条件，退化为扫描
+        assertSameAsRowQuery(Where.newCondition()
+                .add(Column.of("intValue").isEqualTo(3))
+                .or(Column.of("strValue").likeLeft("str2")));
+    }
+}
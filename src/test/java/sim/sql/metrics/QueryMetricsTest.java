@@ -0,0 +1,203 @@
+package sim.sql.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sim.sql.columnar.ColumnarFileWriter;
+import sim.sql.columnar.ColumnarTable;
+import sim.sql.columnar.MappedTable;
+import sim.sql.condition.ColumnCondition;
+import sim.sql.condition.Condition;
+import sim.sql.dto.ExampleDTO;
+import sim.sql.keyword.*;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QueryMetricsTest {
+
+    private static List<ExampleDTO> data(int size) {
+        final List<ExampleDTO> data = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            data.add(new ExampleDTO(i % 10 == 0 ? null : "str" + i % 29, i % 13, (long) i % 19));
+        }
+        return data;
+    }
+
+    @AfterEach
+    public void unregister() {
+        QueryListeners.unregister();
+    }
+
+    @Test
+    public void testStagesAndPredicates() {
+        final List<ExampleDTO> data = data(1000);
+        final Condition intIn = Column.of("intValue").in(Arrays.asList(3, 5, 7));
+        // strValue为null时抛出异常，按不匹配处理
+        final Condition length = ColumnCondition.of("strValue", o -> ((String) o).length() > 4);
+        final Where where = Where.newCondition().add(intIn).add(length);
+        final OrderBy orderBy = OrderBy.column("longValue", OrderBy.Sort.DESC);
+        final List<ExampleDTO> expected = SimSqlQueryUtil.query(data, where, orderBy, GroupBy.column("strValue"), Limit.of(1, 5), ExampleDTO.class);
+
+        final QueryMetrics metrics = QueryMetrics.of();
+        QueryListeners.register(metrics);
+        assertEquals(expected, SimSqlQueryUtil.query(data, where, orderBy, GroupBy.column("strValue"), Limit.of(1, 5), ExampleDTO.class));
+
+        final long inCount = data.stream().filter(o -> Arrays.asList(3, 5, 7).contains(o.getIntValue())).count();
+        final long filtered = data.stream().filter(o -> Arrays.asList(3, 5, 7).contains(o.getIntValue())
+                && null != o.getStrValue() && o.getStrValue().length() > 4).count();
+        assertEquals(1, metrics.getQuery().getCount());
+        assertEquals(data.size(), metrics.getQuery().getRowsIn());
+        assertEquals(expected.size(), metrics.getQuery().getRowsOut());
+        assertEquals(data.size(), metrics.getStage(QueryStage.FILTER).getRowsIn());
+        assertEquals(filtered, metrics.getStage(QueryStage.FILTER).getRowsOut());
+        assertEquals(filtered, metrics.getStage(QueryStage.ORDER_BY).getRowsOut());
+        assertEquals(metrics.getStage(QueryStage.GROUP_BY).getRowsOut(), metrics.getStage(QueryStage.LIMIT).getRowsIn());
+        assertEquals(expected.size(), metrics.getStage(QueryStage.LIMIT).getRowsOut());
+        assertEquals(0, metrics.getStage(QueryStage.PLAN).getCount());
+        assertEquals(0, metrics.getStage(QueryStage.TOP_K).getCount());
+
+        assertEquals(data.size(), metrics.getPredicate(intIn).getEvaluated());
+        assertEquals(inCount, metrics.getPredicate(intIn).getMatched());
+        assertEquals((double) inCount / data.size(), metrics.getPredicate(intIn).getPassRate());
+        assertEquals(inCount, metrics.getPredicate(length).getEvaluated());
+        assertEquals(filtered, metrics.getPredicate(length).getMatched());
+        final long nullStrings = data.stream().filter(o -> Arrays.asList(3, 5, 7).contains(o.getIntValue())
+                && null == o.getStrValue()).count();
+        assertTrue(nullStrings > 0);
+        assertEquals(nullStrings, metrics.getErrors(length));
+        assertEquals(nullStrings, metrics.getErrors());
+        assertTrue(metrics.getLastError() instanceof NullPointerException);
+    }
+
+    @Test
+    public void testPlanAndTopK() {
+        final List<ExampleDTO> data = data(10_000);
+        final Where where = Where.newCondition().add(Column.of("longValue").isLessThan(5L));
+        final OrderBy orderBy = OrderBy.column("intValue", OrderBy.Sort.ASC);
+        final QueryMetrics metrics = QueryMetrics.of();
+        QueryListeners.register(metrics);
+        SimSqlQueryUtil.query(data, where, orderBy, GroupBy.none(), Limit.of(0, 10), ExampleDTO.class);
+        SimSqlQueryUtil.query(data, Where.newCondition().add(Column.of("missing").isEqualTo(3)), orderBy,
+                GroupBy.none(), Limit.none(), ExampleDTO.class);
+        assertEquals(2, metrics.getQuery().getCount());
+        assertEquals(2, metrics.getStage(QueryStage.PLAN).getCount());
+        assertEquals(1, metrics.getStage(QueryStage.TOP_K).getCount());
+        assertEquals(10, metrics.getStage(QueryStage.TOP_K).getRowsOut());
+        // 规划为恒false，不再过滤
+        assertEquals(data.size(), metrics.getStage(QueryStage.PLAN).getRowsOut());
+        assertEquals(0, metrics.getStage(QueryStage.FILTER).getCount());
+        assertEquals(10, metrics.getQuery().getRowsOut());
+    }
+
+    @Test
+    public void testPlanThresholdScalesWithLeaves() {
+        final List<ExampleDTO> data = data(10_000);
+        final QueryMetrics metrics = QueryMetrics.of();
+        QueryListeners.register(metrics);
+        SimSqlQueryUtil.query(data, Where.newCondition().add(Column.of("longValue").isLessThan(5L)), OrderBy.none(),
+                GroupBy.none(), Limit.none(), ExampleDTO.class);
+        assertEquals(1, metrics.getStage(QueryStage.PLAN).getCount());
+        // 叶子越多，需要的行数越多
+        SimSqlQueryUtil.query(data, Where.newCondition().add(Column.of("longValue").isLessThan(5L))
+                        .add(Column.of("intValue").isGreaterThan(3)).or(Column.of("strValue").likeLeft("str1")),
+                OrderBy.none(), GroupBy.none(), Limit.none(), ExampleDTO.class);
+        assertEquals(1, metrics.getStage(QueryStage.PLAN).getCount());
+        assertEquals(2, metrics.getStage(QueryStage.FILTER).getCount());
+    }
+
+    @Test
+    public void testBoundedConditions() {
+        final List<ExampleDTO> data = data(100);
+        final QueryMetrics metrics = QueryMetrics.of(16);
+        QueryListeners.register(metrics);
+        // 每次查询的操作数不同
+        for (long i = 0; i < 1_000; i++) {
+            SimSqlQueryUtil.query(data, Where.newCondition().add(Column.of("longValue").isEqualTo(i)), OrderBy.none(),
+                    GroupBy.none(), Limit.none(), ExampleDTO.class);
+        }
+        assertTrue(metrics.getPredicates().size() <= 16);
+        assertEquals(data.size(), metrics.getPredicate(Column.of("longValue").isEqualTo(999L)).getEvaluated());
+    }
+
+    @Test
+    public void testPlanSamplingErrorsNotReported() {
+        final List<ExampleDTO> data = data(10_000);
+        final Condition length = ColumnCondition.of("strValue", o -> ((String) o).length() > 4);
+        final QueryMetrics metrics = QueryMetrics.of();
+        QueryListeners.register(metrics);
+        SimSqlQueryUtil.query(data, Where.newCondition().add(length), OrderBy.none(), GroupBy.none(), Limit.none(), ExampleDTO.class);
+        assertEquals(1, metrics.getStage(QueryStage.PLAN).getCount());
+        // 只计查询本身判定的行，不计抽样
+        assertEquals(data.stream().filter(o -> null == o.getStrValue()).count(), metrics.getErrors());
+    }
+
+    @Test
+    public void testColumnarErrors(@TempDir Path directory) throws IOException {
+        final List<ExampleDTO> data = data(1000);
+        // 字典列、数值列、多列表达式
+        final Condition length = ColumnCondition.of("strValue", o -> ((String) o).length() > 4);
+        final Condition divide = ColumnCondition.of("longValue", o -> 100 / (Long) o > 10);
+        final Condition expression = ColumnCondition.of(Arrays.asList("strValue", "intValue"),
+                o -> ((String) o.get(0)).length() > (Integer) o.get(1));
+        final long nullStrings = data.stream().filter(o -> null == o.getStrValue()).count();
+        final long zeros = data.stream().filter(o -> 0 == o.getLongValue()).count();
+
+        final Path path = directory.resolve("example.col");
+        ColumnarFileWriter.write(data, ExampleDTO.class, path);
+        final ColumnarTable<ExampleDTO> columnar = ColumnarTable.of(data, ExampleDTO.class);
+        try (MappedTable<ExampleDTO> mapped = MappedTable.open(path, ExampleDTO.class,
+                row -> new ExampleDTO(row.getString("strValue"), row.getInt("intValue"), row.getLong("longValue")))) {
+            for (Condition condition : Arrays.asList(length, divide, expression)) {
+                final Where where = Where.newCondition().add(condition);
+                final QueryMetrics metrics = QueryMetrics.of();
+                QueryListeners.register(metrics);
+                SimSqlQueryUtil.query(data, where, OrderBy.none(), GroupBy.none(), Limit.none(), ExampleDTO.class);
+                final long expected = metrics.getErrors();
+                assertEquals(divide == condition ? zeros : nullStrings, expected);
+                columnar.filter(where);
+                assertEquals(expected * 2, metrics.getErrors(condition));
+                mapped.filter(where);
+                assertEquals(expected * 3, metrics.getErrors(condition));
+            }
+        }
+    }
+
+    @Test
+    public void testNoListener() {
+        final List<ExampleDTO> data = data(100);
+        final QueryMetrics metrics = QueryMetrics.of();
+        QueryListeners.register(metrics);
+        QueryListeners.unregister();
+        SimSqlQueryUtil.query(data, Where.newCondition().add(ColumnCondition.of("strValue", o -> ((String) o).isEmpty())),
+                OrderBy.none(), GroupBy.none(), Limit.none(), ExampleDTO.class);
+        assertEquals(0, metrics.getQuery().getCount());
+        assertEquals(0, metrics.getErrors());
+    }
+
+    @Test
+    public void testHistogram() {
+        final Histogram histogram = new Histogram();
+        assertEquals(0, histogram.percentile(0.5));
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500500, histogram.getSum());
+        assertEquals(1000, histogram.getMax());
+        assertEquals(500.5, histogram.getMean());
+        // 中位数500落在[256, 512)
+        assertEquals(511, histogram.percentile(0.5));
+        assertEquals(1000, histogram.percentile(1));
+        assertEquals(1, histogram.percentile(0));
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.percentile(1));
+    }
+}
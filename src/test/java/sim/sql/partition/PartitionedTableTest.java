@@ -0,0 +1,94 @@
+package sim.sql.partition;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import sim.sql.RowQueryFixture;
+import sim.sql.condition.Condition;
+import sim.sql.dto.ExampleDTO;
+import sim.sql.keyword.*;
+import sim.sql.util.SimSqlQueryUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PartitionedTableTest {
+
+    private static List<ExampleDTO> data;
+    private static PartitionedTable<ExampleDTO> table;
+
+    @BeforeAll
+    public static void setup() {
+        data = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            // longValue按行序递增，intValue每块内取值有限，strValue部分块全为null
+            data.add(new ExampleDTO(i / 1000 % 3 == 0 ? null : "str" + i % 29, i % 7 == 0 ? null : i / 500, (long) i));
+        }
+        table = PartitionedTable.of(data, ExampleDTO.class, 1000);
+    }
+
+    private static void assertSameAsRowQuery(Where where) {
+        RowQueryFixture.assertSameAsRowQuery(data, table::query, where);
+    }
+
+    @Test
+    public void testSameAsRowQuery() {
+        final Condition custom = o -> ((ExampleDTO) o).getLongValue() % 3 == 0;
+        assertSameAsRowQuery(Where.newCondition());
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("longValue").isGreaterThan(2500L)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("longValue").isGreaterThanOrEqual(2000L))
+                .add(Column.of("longValue").isLessThan(4000L)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("longValue").isLessThanOrEqual(999L))
+                .or(Column.of("intValue").isEqualTo(15)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("intValue").isEqualTo(null)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("intValue").in(Arrays.asList(3, 7, null))));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("strValue").isEqualTo(null)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("strValue").isGreaterThan("str5")));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("strValue").likeLeft("str1")));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("missing").isEqualTo(1)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("longValue").isLessThan(3000L)).add(custom));
+        assertSameAsRowQuery(Where.newCondition()
+                .add(Where.newCondition().add(Column.of("longValue").isGreaterThan(8000L)).or(custom))
+                .add(Column.of("intValue").isLessThan(18)));
+        // 操作数类型不一致，不能按统计判定
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("longValue").isGreaterThan(2500)));
+        assertSameAsRowQuery(Where.newCondition().add(Column.of("longValue").isEqualTo(10)));
+    }
+
+    @Test
+    public void testPruning() {
+        // 块0-1跳过，块2跨越边界，块3-9整块匹配
+        final PartitionedTable.Pruning range = table.prune(Where.newCondition()
+                .add(Column.of("longValue").isGreaterThan(2500L)));
+        assertEquals(2, range.getSkipped());
+        assertEquals(7, range.getMatched());
+        assertEquals(1, range.getScanned());
+        // intValue含null，不能整块匹配
+        final PartitionedTable.Pruning equal = table.prune(Where.newCondition()
+                .add(Column.of("intValue").isEqualTo(4)));
+        assertEquals(9, equal.getSkipped());
+        assertEquals(1, equal.getScanned());
+        // 全为null的块必匹配is null
+        final PartitionedTable.Pruning nulls = table.prune(Where.newCondition()
+                .add(Column.of("strValue").isEqualTo(null)));
+        assertEquals(4, nulls.getMatched());
+        assertEquals(6, nulls.getSkipped());
+        assertEquals(10, table.prune(Where.newCondition().add(Column.of("missing").isEqualTo(1))).getSkipped());
+        assertEquals(10, table.prune(Where.newCondition().add(Column.of("longValue").isGreaterThan(2500))).getScanned());
+    }
+
+    @Test
+    public void testBlockLargerThanRows() {
+        final List<ExampleDTO> rows = data.subList(0, 10);
+        final Where where = Where.newCondition().add(Column.of("longValue").isGreaterThan(4L));
+        for (int blockSize : new int[]{11, Integer.MAX_VALUE}) {
+            final PartitionedTable<ExampleDTO> large = PartitionedTable.of(rows, ExampleDTO.class, blockSize);
+            assertEquals(1, large.blocks());
+            assertEquals(SimSqlQueryUtil.query(rows, where, OrderBy.none(), GroupBy.none(), Limit.none(), ExampleDTO.class),
+                    large.filter(where));
+        }
+        assertEquals(0, PartitionedTable.of(new ArrayList<>(), ExampleDTO.class, Integer.MAX_VALUE).blocks());
+    }
+}
@@ -0,0 +1,75 @@
+package sim.sql.plan;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import sim.sql.condition.Condition;
+import sim.sql.dto.ExampleDTO;
+import sim.sql.keyword.Column;
+import sim.sql.keyword.Where;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryPlannerTest {
+
+    private static List<ExampleDTO> data;
+
+    @BeforeAll
+    public static void setup() {
+        data = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            data.add(new ExampleDTO("str" + i % 29, i % 13, (long) i % 19));
+        }
+    }
+
+    private static List<ExampleDTO> filter(Where where) {
+        return data.stream().filter(where::match).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testReorder() {
+        final Where where = Where.newCondition()
+                .add(Column.of("strValue").likeInclude("str"))
+                .add(Column.of("longValue").isGreaterThan(1L))
+                .add(Column.of("intValue").isEqualTo(3));
+        final QueryPlan plan = QueryPlanner.plan(where, data, ExampleDTO.class);
+        final List<Condition> adds = plan.getWhere().getAddConditions();
+        assertSame(where.getAddConditions().get(2), adds.get(0));
+        assertSame(where.getAddConditions().get(0), adds.get(2));
+        assertEquals(filter(where), filter(plan.getWhere()));
+    }
+
+    @Test
+    public void testConstantFolding() {
+        assertTrue(QueryPlanner.plan(Where.newCondition().or(Where.newCondition()), data, ExampleDTO.class).isAlwaysTrue());
+        assertTrue(QueryPlanner.plan(Where.newCondition()
+                .add(Column.of("intValue").isEqualTo(3))
+                .add(Column.of("intValue").in(Collections.emptyList())), data, ExampleDTO.class).isAlwaysFalse());
+        assertTrue(QueryPlanner.plan(Where.newCondition().add(Column.of("missing").isEqualTo(3)), data, ExampleDTO.class).isAlwaysFalse());
+        // and中的false分支消去后只剩or
+        final Where where = Where.newCondition()
+                .add(Column.of("missing").isEqualTo(1))
+                .or(Column.of("intValue").isEqualTo(4));
+        final QueryPlan plan = QueryPlanner.plan(where, data, ExampleDTO.class);
+        assertEquals(1, plan.getWhere().getAddConditions().size());
+        assertEquals(filter(where), filter(plan.getWhere()));
+    }
+
+    @Test
+    public void testCustomConditionIsBarrier() {
+        final Condition custom = o -> ((ExampleDTO) o).getStrValue().length() > 3;
+        final Where where = Where.newCondition()
+                .add(Column.of("strValue").likeInclude("1"))
+                .add(custom)
+                .add(Column.of("longValue").isGreaterThan(17L))
+                .add(Column.of("intValue").isEqualTo(3));
+        final List<Condition> adds = QueryPlanner.plan(where, data, ExampleDTO.class).getWhere().getAddConditions();
+        assertEquals(Arrays.asList(where.getAddConditions().get(0), custom), adds.subList(0, 2));
+        assertEquals(filter(where), filter(QueryPlanner.plan(where, data, ExampleDTO.class).getWhere()));
+    }
+}
@@ -0,0 +1,133 @@
+package sim.sql.util;
+
+import org.junit.jupiter.api.Test;
+import sim.sql.condition.Condition;
+import sim.sql.dto.ExampleDTO;
+import sim.sql.keyword.*;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncQueryTest {
+
+    private static List<ExampleDTO> dataOf(int size) {
+        final List<ExampleDTO> data = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            data.add(new ExampleDTO("str" + i % 29, i % 7 == 0 ? null : i % 13, (long) i));
+        }
+        return data;
+    }
+
+    @Test
+    public void testSameAsSyncQuery() {
+        final List<ExampleDTO> data = dataOf(20_000);
+        final Where where = Where.newCondition().add(Column.of("intValue").isGreaterThan(3))
+                .or(Column.of("strValue").likeLeft("str1"));
+        final AsyncQuery asyncQuery = AsyncQuery.ofVirtualThreads();
+        assertEquals(SimSqlQueryUtil.query(data, where, OrderBy.column("longValue", OrderBy.Sort.DESC),
+                        GroupBy.column("strValue"), Limit.of(10), ExampleDTO.class),
+                asyncQuery.query(data, where, OrderBy.column("longValue", OrderBy.Sort.DESC),
+                        GroupBy.column("strValue"), Limit.of(10), ExampleDTO.class).join());
+        assertEquals(SimSqlQueryUtil.query(data, where, OrderBy.column("intValue", OrderBy.Sort.ASC),
+                        GroupBy.none(), Limit.of(5, 20), ExampleDTO.class),
+                asyncQuery.query(data, where, OrderBy.column("intValue", OrderBy.Sort.ASC),
+                        GroupBy.none(), Limit.of(5, 20), ExampleDTO.class, 1, TimeUnit.MINUTES).join());
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        final List<ExampleDTO> data = dataOf(1_000_000);
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicInteger evaluated = new AtomicInteger();
+        final Condition slow = o -> {
+            started.countDown();
+            evaluated.incrementAndGet();
+            spin();
+            return true;
+        };
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final CompletableFuture<List<ExampleDTO>> future = AsyncQuery.of(executor).query(data,
+                    Where.newCondition().add(slow), OrderBy.none(), GroupBy.none(), Limit.none(), ExampleDTO.class);
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            assertTrue(future.cancel(true));
+            assertThrows(CancellationException.class, future::join);
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            assertTrue(evaluated.get() < data.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTimeout() {
+        final List<ExampleDTO> data = dataOf(1_000_000);
+        final Condition slow = o -> {
+            spin();
+            return true;
+        };
+        final CompletableFuture<List<ExampleDTO>> future = AsyncQuery.ofVirtualThreads().query(data,
+                Where.newCondition().add(slow), OrderBy.none(), GroupBy.none(), Limit.none(), ExampleDTO.class,
+                50, TimeUnit.MILLISECONDS);
+        final QueryCancelledException e = assertThrows(QueryCancelledException.class, future::join);
+        assertTrue(e.isTimeout());
+    }
+
+    @Test
+    public void testCancelledBeforeStart() {
+        final QueryCancellation cancellation = QueryCancellation.of();
+        cancellation.cancel();
+        final QueryCancelledException e = assertThrows(QueryCancelledException.class, () -> SimSqlQueryUtil.query(
+                dataOf(10), Where.newCondition(), OrderBy.none(), GroupBy.none(), Limit.none(), ExampleDTO.class,
+                cancellation));
+        assertFalse(e.isTimeout());
+    }
+
+    @Test
+    public void testCancelDuringRadixSort() {
+        final List<ExampleDTO> data = dataOf(1_000_000);
+        final QueryCancellation cancellation = QueryCancellation.of();
+        final AtomicInteger read = new AtomicInteger();
+        // 取排序键读到一半时取消，整数列走基数排序，不经过比较器
+        final List<ExampleDTO> source = new AbstractList<ExampleDTO>() {
+            @Override
+            public ExampleDTO get(int index) {
+                if (index == data.size() / 2 + 1) {
+                    cancellation.cancel();
+                }
+                read.incrementAndGet();
+                return data.get(index);
+            }
+
+            @Override
+            public int size() {
+                return data.size();
+            }
+        };
+        assertThrows(QueryCancelledException.class, () -> SimSqlQueryUtil.query(source, Where.newCondition(),
+                OrderBy.column("intValue", OrderBy.Sort.ASC), GroupBy.none(), Limit.none(), ExampleDTO.class,
+                cancellation));
+        assertTrue(read.get() < data.size());
+    }
+
+    /**
+     * 每行约10微秒
+     */
+    private static void spin() {
+        final long until = System.nanoTime() + 10_000;
+        while (System.nanoTime() < until) {
+            // busy wait
+        }
+    }
+}
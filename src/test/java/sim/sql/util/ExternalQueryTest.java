@@ -0,0 +1,168 @@
+package sim.sql.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sim.sql.dto.ExampleDTO;
+import sim.sql.keyword.*;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExternalQueryTest {
+
+    private static final RowSerializer<ExampleDTO> SERIALIZER = new RowSerializer<ExampleDTO>() {
+        @Override
+        public void write(DataOutput out, ExampleDTO row) throws IOException {
+            out.writeBoolean(null != row.getStrValue());
+            if (null != row.getStrValue()) {
+                out.writeUTF(row.getStrValue());
+            }
+            out.writeBoolean(null != row.getIntValue());
+            if (null != row.getIntValue()) {
+                out.writeInt(row.getIntValue());
+            }
+            out.writeLong(row.getLongValue());
+        }
+
+        @Override
+        public ExampleDTO read(DataInput in) throws IOException {
+            final String strValue = in.readBoolean() ? in.readUTF() : null;
+            final Integer intValue = in.readBoolean() ? in.readInt() : null;
+            return new ExampleDTO(strValue, intValue, in.readLong());
+        }
+    };
+
+    @TempDir
+    Path directory;
+
+    private static List<ExampleDTO> dataOf(int size) {
+        final List<ExampleDTO> data = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            data.add(new ExampleDTO(i % 31 == 0 ? null : "str" + i % 997, i % 7 == 0 ? null : i % 13, (long) i % 101));
+        }
+        return data;
+    }
+
+    /**
+     * 溢写后是副本，按取值比较
+     */
+    private static List<List<Object>> keysOf(List<ExampleDTO> rows) {
+        return rows.stream().map(o -> Arrays.<Object>asList(o.getStrValue(), o.getIntValue(), o.getLongValue()))
+                .collect(Collectors.toList());
+    }
+
+    private void assertSameAsQuery(List<ExampleDTO> data, Where where, OrderBy orderBy, GroupBy groupBy,
+                                   Limit limit, int memoryRows) throws IOException {
+        final ExternalQuery<ExampleDTO> query = ExternalQuery.of(ExampleDTO.class, SERIALIZER, memoryRows)
+                .directory(directory);
+        assertEquals(keysOf(SimSqlQueryUtil.query(data, where, orderBy, groupBy, limit, ExampleDTO.class)),
+                keysOf(query.query(data, where, orderBy, groupBy, limit)));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testOrderBy() throws IOException {
+        final List<ExampleDTO> data = dataOf(20_000);
+        final OrderBy orderBy = OrderBy.column("intValue", OrderBy.Sort.DESC).thenOrderBy("strValue", OrderBy.Sort.ASC);
+        assertSameAsQuery(data, Where.newCondition(), orderBy, GroupBy.none(), Limit.none(), 1_000);
+        // 段数超过单趟归并上限，走多趟归并
+        assertSameAsQuery(data, Where.newCondition(), orderBy, GroupBy.none(), Limit.none(), 100);
+        assertSameAsQuery(data, Where.newCondition().add(Column.of("intValue").isGreaterThan(3)),
+                OrderBy.column("longValue", OrderBy.Sort.ASC), GroupBy.none(), Limit.of(500, 2_000), 300);
+        // 不溢写
+        assertSameAsQuery(data, Where.newCondition(), orderBy, GroupBy.none(), Limit.none(), 100_000);
+    }
+
+    @Test
+    public void testTopK() throws IOException {
+        final List<ExampleDTO> data = dataOf(20_000);
+        assertSameAsQuery(data, Where.newCondition(), OrderBy.column("longValue", OrderBy.Sort.DESC), GroupBy.none(),
+                Limit.of(10, 20), 100);
+    }
+
+    @Test
+    public void testGroupBy() throws IOException {
+        final List<ExampleDTO> data = dataOf(20_000);
+        // 组数远超内存行数，多层分区
+        assertSameAsQuery(data, Where.newCondition(), OrderBy.none(), GroupBy.column("strValue", "intValue"),
+                Limit.none(), 50);
+        assertSameAsQuery(data, Where.newCondition(), OrderBy.none(), GroupBy.column("strValue"), Limit.of(100, 50),
+                200);
+        assertSameAsQuery(data, Where.newCondition().or(Column.of("strValue").likeLeft("str1")),
+                OrderBy.column("longValue", OrderBy.Sort.DESC), GroupBy.column("strValue", "intValue"),
+                Limit.none(), 300);
+        assertSameAsQuery(data, Where.newCondition(), OrderBy.column("intValue", OrderBy.Sort.ASC),
+                GroupBy.column("intValue"), Limit.of(5), 300);
+    }
+
+    @Test
+    public void testCloseEarly() throws IOException {
+        final List<ExampleDTO> data = dataOf(20_000);
+        final ExternalQuery<ExampleDTO> query = ExternalQuery.of(ExampleDTO.class, SERIALIZER, 500)
+                .directory(directory);
+        final List<ExampleDTO> expected = SimSqlQueryUtil.query(data, Where.newCondition(),
+                OrderBy.column("strValue", OrderBy.Sort.ASC), GroupBy.none(), Limit.none(), ExampleDTO.class);
+        try (Stream<ExampleDTO> stream = query.stream(data.stream(), Where.newCondition(),
+                OrderBy.column("strValue", OrderBy.Sort.ASC), GroupBy.none(), Limit.none())) {
+            final Iterator<ExampleDTO> iterator = stream.iterator();
+            for (int i = 0; i < 10; i++) {
+                assertEquals(expected.get(i).getLongValue(), iterator.next().getLongValue());
+            }
+            try (Stream<Path> files = Files.list(directory)) {
+                assertTrue(files.count() > 0);
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testJavaSerializer() throws IOException {
+        final List<Row> data = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            data.add(new Row(i % 17, i));
+        }
+        final List<Row> result = ExternalQuery.of(Row.class, RowSerializer.java(Row.class), 100).directory(directory)
+                .query(data, Where.newCondition(), OrderBy.column("group", OrderBy.Sort.DESC), GroupBy.column("group"),
+                        Limit.none());
+        final List<Row> expected = SimSqlQueryUtil.query(data, Where.newCondition(),
+                OrderBy.column("group", OrderBy.Sort.DESC), GroupBy.column("group"), Limit.none(), Row.class);
+        assertEquals(expected.stream().map(Row::getIndex).collect(Collectors.toList()),
+                result.stream().map(Row::getIndex).collect(Collectors.toList()));
+    }
+
+    public static class Row implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Integer group;
+        private final Integer index;
+
+        public Row(Integer group, Integer index) {
+            this.group = group;
+            this.index = index;
+        }
+
+        public Integer getGroup() {
+            return group;
+        }
+
+        public Integer getIndex() {
+            return index;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package sim.sql.util;
+
+import org.junit.jupiter.api.Test;
+import sim.sql.condition.ColumnCondition;
+import sim.sql.dto.ExampleDTO;
+import sim.sql.keyword.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HashJoinTest {
+
+    private static List<ExampleDTO> examples(int size, Random random) {
+        final List<ExampleDTO> data = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            data.add(new ExampleDTO("str" + random.nextInt(7), random.nextInt(10) == 0 ? null : random.nextInt(20),
+                    (long) i));
+        }
+        return data;
+    }
+
+    private static List<Dept> depts(int size, Random random) {
+        final List<Dept> data = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            data.add(new Dept(random.nextInt(8) == 0 ? null : random.nextInt(25), "dept" + random.nextInt(4), i));
+        }
+        return data;
+    }
+
+    /**
+     * 嵌套循环参照实现
+     */
+    private static List<JoinedRow<ExampleDTO, Dept>> nestedLoop(HashJoin.Type type, List<ExampleDTO> left,
+                                                                List<Dept> right,
+                                                                Predicate<JoinedRow<ExampleDTO, Dept>> where) {
+        final List<JoinedRow<ExampleDTO, Dept>> result = new ArrayList<>();
+        for (ExampleDTO l : left) {
+            boolean matched = false;
+            for (Dept r : right) {
+                if (null == l.getIntValue() || !Objects.equals(l.getIntValue(), r.id)) {
+                    continue;
+                }
+                matched = true;
+                final JoinedRow<ExampleDTO, Dept> row = new JoinedRow<>(l, r);
+                if (where.test(row)) {
+                    result.add(HashJoin.Type.SEMI == type ? new JoinedRow<>(l, null) : row);
+                    if (HashJoin.Type.SEMI == type) {
+                        break;
+                    }
+                }
+            }
+            if (HashJoin.Type.LEFT == type && !matched && where.test(new JoinedRow<>(l, null))) {
+                result.add(new JoinedRow<>(l, null));
+            }
+        }
+        return result;
+    }
+
+    private static HashJoin<ExampleDTO, Dept> join(HashJoin.Type type, List<ExampleDTO> left, List<Dept> right) {
+        switch (type) {
+            case INNER:
+                return HashJoin.inner(left, ExampleDTO.class, right, Dept.class).on("intValue", "id");
+            case LEFT:
+                return HashJoin.left(left, ExampleDTO.class, right, Dept.class).on("intValue", "id");
+            default:
+                return HashJoin.semi(left, ExampleDTO.class, right, Dept.class).on("intValue", "id");
+        }
+    }
+
+    @Test
+    public void testSameAsNestedLoop() {
+        final Random random = new Random(7);
+        final List<ExampleDTO> examples = examples(600, random);
+        final List<Dept> depts = depts(60, random);
+        // 左右两侧分别作为建表侧
+        for (boolean swap : new boolean[]{false, true}) {
+            final List<ExampleDTO> left = swap ? examples.subList(0, 40) : examples;
+            for (HashJoin.Type type : HashJoin.Type.values()) {
+                assertEquals(nestedLoop(type, left, depts, o -> true),
+                        join(type, left, depts).query(Where.newCondition(), OrderBy.none(), GroupBy.none(), Limit.none()));
+                // 单侧条件下推，跨两侧的or在连接后判定
+                assertEquals(nestedLoop(type, left, depts, o -> "str3".compareTo(o.getLeft().getStrValue()) < 0
+                                && null != o.getRight() && "dept1".equals(o.getRight().name)),
+                        join(type, left, depts).query(Where.newCondition()
+                                        .add(Column.of("strValue").isGreaterThan("str3"))
+                                        .add(Column.of("name").isEqualTo("dept1")),
+                                OrderBy.none(), GroupBy.none(), Limit.none()));
+                assertEquals(nestedLoop(type, left, depts, o -> o.getLeft().getLongValue() < 100
+                                || null == o.getRight() || o.getRight().seq > 50),
+                        join(type, left, depts).query(Where.newCondition()
+                                        .add(Column.of("left.longValue").isLessThan(100L))
+                                        .or(Column.of("right.id").isEqualTo(null))
+                                        .or(Column.of("seq").isGreaterThan(50)),
+                                OrderBy.none(), GroupBy.none(), Limit.none()));
+                // 嵌套的跨两侧条件
+                assertEquals(nestedLoop(type, left, depts, o -> o.getLeft().getLongValue() % 3 == 0
+                                && ("str3".compareTo(o.getLeft().getStrValue()) < 0 || null != o.getRight() && o.getRight().seq > 50)),
+                        join(type, left, depts).query(Where.newCondition()
+                                        .add(ColumnCondition.of("longValue", v -> (Long) v % 3 == 0))
+                                        .add(Where.newCondition().or(Column.of("strValue").isGreaterThan("str3"))
+                                                .or(Column.of("seq").isGreaterThan(50))),
+                                OrderBy.none(), GroupBy.none(), Limit.none()));
+            }
+        }
+    }
+
+    @Test
+    public void testOrderGroupLimit() {
+        final Random random = new Random(11);
+        final List<ExampleDTO> left = examples(500, random);
+        final List<Dept> right = depts(40, random);
+        final List<JoinedRow<ExampleDTO, Dept>> joined = nestedLoop(HashJoin.Type.INNER, left, right, o -> true);
+        final Comparator<JoinedRow<ExampleDTO, Dept>> bySeqDesc = Comparator.comparing(o -> -o.getRight().seq);
+        final List<JoinedRow<ExampleDTO, Dept>> sorted = joined.stream().sorted(bySeqDesc).collect(Collectors.toList());
+        final HashJoin<ExampleDTO, Dept> join = HashJoin.inner(left, ExampleDTO.class, right, Dept.class)
+                .on("intValue", "id");
+        assertEquals(sorted.subList(3, 13), join.query(Where.newCondition(),
+                OrderBy.column("seq", OrderBy.Sort.DESC), GroupBy.none(), Limit.of(3, 10)));
+        final List<JoinedRow<ExampleDTO, Dept>> firstOfNames = new ArrayList<>();
+        final List<String> seen = new ArrayList<>();
+        for (JoinedRow<ExampleDTO, Dept> row : sorted) {
+            if (!seen.contains(row.getRight().name)) {
+                seen.add(row.getRight().name);
+                firstOfNames.add(row);
+            }
+        }
+        assertEquals(firstOfNames, join.query(Where.newCondition(),
+                OrderBy.column("seq", OrderBy.Sort.DESC), GroupBy.column("right.name"), Limit.none()));
+    }
+
+    @Test
+    public void testMultiColumnKeyAndQualifiedNames() {
+        final Random random = new Random(3);
+        final List<ExampleDTO> left = examples(300, random);
+        final List<ExampleDTO> right = examples(200, random);
+        final HashJoin<ExampleDTO, ExampleDTO> join = HashJoin.inner(left, ExampleDTO.class, right, ExampleDTO.class)
+                .on("strValue", "strValue")
+                .on("intValue", "intValue");
+        final List<JoinedRow<ExampleDTO, ExampleDTO>> expected = new ArrayList<>();
+        for (ExampleDTO l : left) {
+            for (ExampleDTO r : right) {
+                if (null != l.getIntValue() && l.getStrValue().equals(r.getStrValue())
+                        && l.getIntValue().equals(r.getIntValue()) && r.getLongValue() > l.getLongValue()) {
+                    expected.add(new JoinedRow<>(l, r));
+                }
+            }
+        }
+        assertEquals(expected, join.query(Where.newCondition()
+                        .add(ColumnCondition.of(Arrays.asList("left.longValue", "right.longValue"),
+                                o -> (Long) o.get(0) < (Long) o.get(1))),
+                OrderBy.none(), GroupBy.none(), Limit.none()));
+        // 两侧同名列必须加前缀
+        assertThrows(RuntimeException.class, () -> join.query(Where.newCondition()
+                .add(Column.of("longValue").isEqualTo(1L)), OrderBy.none(), GroupBy.none(), Limit.none()));
+    }
+
+    public static class Dept {
+        private final Integer id;
+        private final String name;
+        private final int seq;
+
+        Dept(Integer id, String name, int seq) {
+            this.id = id;
+            this.name = name;
+            this.seq = seq;
+        }
+
+        @Override
+        public String toString() {
+            return "Dept{id=" + id + ", name='" + name + "', seq=" + seq + '}';
+        }
+    }
+}
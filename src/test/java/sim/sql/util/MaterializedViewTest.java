@@ -0,0 +1,82 @@
+package sim.sql.util;
+
+import org.junit.jupiter.api.Test;
+import sim.sql.dto.ExampleDTO;
+import sim.sql.keyword.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MaterializedViewTest {
+
+    @Test
+    public void testIncrementalMaintenance() {
+        final Random random = new Random(11);
+        final List<ExampleDTO> initial = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            initial.add(randomRow(random));
+        }
+        final MutableTable<ExampleDTO> table = MutableTable.of(initial, ExampleDTO.class);
+        final Where where = Where.newCondition()
+                .add(Column.of("intValue").isLessThan(8))
+                .or(Column.of("strValue").likeLeft("str1"));
+        final OrderBy orderBy = OrderBy.column("longValue", OrderBy.Sort.DESC);
+        final List<Query> queries = new ArrayList<>();
+        for (OrderBy order : Arrays.asList(OrderBy.none(), orderBy)) {
+            for (GroupBy groupBy : Arrays.asList(GroupBy.none(), GroupBy.column("intValue"))) {
+                for (Limit limit : Arrays.asList(Limit.none(), Limit.of(5, 20))) {
+                    queries.add(new Query(order, groupBy, limit, table.view(where, order, groupBy, limit)));
+                }
+            }
+        }
+        final List<Long> ids = new ArrayList<>();
+        for (long id = 0; id < initial.size(); id++) {
+            ids.add(id);
+        }
+        for (int step = 0; step < 3_000; step++) {
+            final int op = random.nextInt(3);
+            if (op == 0 || ids.isEmpty()) {
+                ids.add(table.insert(randomRow(random)));
+            } else if (op == 1) {
+                table.delete(ids.remove(random.nextInt(ids.size())));
+            } else {
+                table.update(ids.get(random.nextInt(ids.size())), randomRow(random));
+            }
+            if (step % 100 == 0) {
+                verify(table, where, queries);
+            }
+        }
+        verify(table, where, queries);
+    }
+
+    private static void verify(MutableTable<ExampleDTO> table, Where where, List<Query> queries) {
+        final List<ExampleDTO> rows = table.rows();
+        for (Query query : queries) {
+            final List<ExampleDTO> expected = SimSqlQueryUtil.query(rows, where, query.orderBy, query.groupBy, query.limit, ExampleDTO.class);
+            assertEquals(expected, query.view.rows());
+            assertEquals(expected.size(), query.view.size());
+        }
+    }
+
+    private static ExampleDTO randomRow(Random random) {
+        return new ExampleDTO("str" + random.nextInt(29), random.nextInt(13), (long) random.nextInt(19));
+    }
+
+    private static final class Query {
+        private final OrderBy orderBy;
+        private final GroupBy groupBy;
+        private final Limit limit;
+        private final MaterializedView<ExampleDTO> view;
+
+        private Query(OrderBy orderBy, GroupBy groupBy, Limit limit, MaterializedView<ExampleDTO> view) {
+            this.orderBy = orderBy;
+            this.groupBy = groupBy;
+            this.limit = limit;
+            this.view = view;
+        }
+    }
+}
@@ -3,12 +3,20 @@ package sim.sql.util;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import sim.sql.condition.ColumnCondition;
+import sim.sql.condition.Condition;
 import sim.sql.dto.ExampleDTO;
 import sim.sql.keyword.*;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -42,7 +50,215 @@ public class SimSqlQueryUtilTest {
         final Limit limit = Limit.none();
         final List<ExampleDTO> result = SimSqlQueryUtil.query(data, where, orderBy, groupBy, limit, ExampleDTO.class);
         assertEquals(29, result.size());
+        // longValue = 0 只能来自 in (3, 5, 7) 分支
+        assertTrue(result.stream().allMatch(o -> o.getLongValue() == 0 && Arrays.asList(3, 5, 7).contains(o.getIntValue())));
+    }
+
+    @Test
+    public void testQueryOrBranch() {
+        // where intValue in (3, 5, 7) or longValue = 5 * intValue - 2，排除in分支后仅剩or分支
+        final Where where = Where.newCondition()
+                .add(Column.of("intValue").in(Arrays.asList(3, 5, 7)))
+                .add(Column.of("longValue").isGreaterThan(100L))
+                .or(ColumnCondition.of(Arrays.asList("intValue", "longValue"), list -> ((Long) list.get(1)) == 5 * ((Integer) list.get(0)) - 2));
+        final OrderBy orderBy = OrderBy.column("longValue", OrderBy.Sort.ASC)
+                .thenOrderBy("strValue", OrderBy.Sort.DESC);
+        final List<ExampleDTO> result = SimSqlQueryUtil.query(data, where, orderBy, GroupBy.column("strValue"), Limit.none(), ExampleDTO.class);
+        assertEquals(29, result.size());
         assertTrue(result.stream().allMatch(o -> o.getIntValue() == 1 && o.getLongValue() == 3));
     }
 
+    @Test
+    public void testTopK() {
+        final Where where = Where.newCondition().add(Column.of("intValue").isLessThan(6));
+        final OrderBy orderBy = OrderBy.column("longValue", OrderBy.Sort.DESC)
+                .thenOrderBy("strValue", OrderBy.Sort.ASC);
+        final List<ExampleDTO> all = SimSqlQueryUtil.query(data, where, orderBy, GroupBy.none(), Limit.none(), ExampleDTO.class);
+        final List<ExampleDTO> top = SimSqlQueryUtil.query(data, where, orderBy, GroupBy.none(), Limit.of(100, 50), ExampleDTO.class);
+        assertEquals(all.subList(100, 150), top);
+        assertTrue(SimSqlQueryUtil.query(data, where, orderBy, GroupBy.none(), Limit.of(all.size() + 1, 1), ExampleDTO.class).isEmpty());
+    }
+
+    @Test
+    public void testParallelQuery() {
+        final Where where = Where.newCondition()
+                .add(Column.of("intValue").in(Arrays.asList(3, 5, 7)))
+                .or(Column.of("strValue").likeRight("1"));
+        final OrderBy orderBy = OrderBy.column("longValue", OrderBy.Sort.DESC)
+                .thenOrderBy("intValue", OrderBy.Sort.ASC);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Parallelism parallelism = Parallelism.of(executor, 5, 1000);
+            for (GroupBy groupBy : Arrays.asList(GroupBy.none(), GroupBy.column("strValue", "intValue"))) {
+                for (Limit limit : Arrays.asList(Limit.none(), Limit.of(7, 100))) {
+                    assertEquals(SimSqlQueryUtil.query(data, where, orderBy, groupBy, limit, ExampleDTO.class),
+                            SimSqlQueryUtil.query(data, where, orderBy, groupBy, limit, ExampleDTO.class, parallelism));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(SimSqlQueryUtil.query(data, where, OrderBy.none(), GroupBy.column("longValue"), Limit.none(), ExampleDTO.class),
+                SimSqlQueryUtil.query(data, where, OrderBy.none(), GroupBy.column("longValue"), Limit.none(), ExampleDTO.class, Parallelism.common()));
+    }
+
+    @Test
+    public void testPreparedQuery() {
+        final Where where = Where.newCondition()
+                .add(Column.of("intValue").in(Arrays.asList(3, 5, 7)))
+                .add(Column.of("missing").isEqualTo(null))
+                .or(Column.of("strValue").likeLeft("str2"))
+                .or(Where.newCondition().add(Column.of("longValue").isLessThan(2L)).add(Column.of("intValue").isEqualTo(0)));
+        final OrderBy orderBy = OrderBy.column("strValue", OrderBy.Sort.DESC);
+        for (GroupBy groupBy : Arrays.asList(GroupBy.none(), GroupBy.column("longValue"))) {
+            for (Limit limit : Arrays.asList(Limit.none(), Limit.of(3, 5))) {
+                final PreparedQuery<ExampleDTO> prepared = PreparedQuery.of(where, orderBy, groupBy, limit, ExampleDTO.class);
+                assertEquals(SimSqlQueryUtil.query(data, where, orderBy, groupBy, limit, ExampleDTO.class), prepared.execute(data));
+            }
+        }
+    }
+
+    @Test
+    public void testLazyQuery() {
+        final Where where = Where.newCondition()
+                .add(Column.of("intValue").in(Arrays.asList(3, 5, 7)))
+                .or(Column.of("strValue").likeLeft("str2"));
+        for (OrderBy orderBy : Arrays.asList(OrderBy.none(), OrderBy.column("strValue", OrderBy.Sort.DESC))) {
+            for (GroupBy groupBy : Arrays.asList(GroupBy.none(), GroupBy.column("longValue"))) {
+                for (Limit limit : Arrays.asList(Limit.none(), Limit.of(3, 5))) {
+                    assertEquals(SimSqlQueryUtil.query(data, where, orderBy, groupBy, limit, ExampleDTO.class),
+                            LazyQuery.stream(data, where, orderBy, groupBy, limit, ExampleDTO.class).collect(Collectors.toList()));
+                }
+            }
+        }
+        // 取够即停止扫描
+        final AtomicInteger scanned = new AtomicInteger();
+        final Where counting = Where.newCondition().add(obj -> scanned.incrementAndGet() > 0).add(where);
+        assertEquals(SimSqlQueryUtil.query(data, where, OrderBy.none(), GroupBy.none(), Limit.of(2, 10), ExampleDTO.class),
+                LazyQuery.stream(data, counting, OrderBy.none(), GroupBy.none(), Limit.of(2, 10), ExampleDTO.class)
+                        .collect(Collectors.toList()));
+        assertTrue(scanned.get() < 1_000);
+        // 已按分组列排序的输入，相邻分组与哈希分组一致
+        final OrderBy byLong = OrderBy.column("longValue", OrderBy.Sort.ASC);
+        final List<ExampleDTO> sorted = SimSqlQueryUtil.query(data, Where.newCondition(), byLong, GroupBy.none(), Limit.none(), ExampleDTO.class);
+        assertEquals(SimSqlQueryUtil.query(sorted, where, OrderBy.none(), GroupBy.column("longValue"), Limit.of(1, 5), ExampleDTO.class),
+                LazyQuery.stream(sorted.stream(), where, OrderBy.none(), GroupBy.column("longValue"), Limit.of(1, 5), ExampleDTO.class, true)
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testNormalizedSort() {
+        final Random random = new Random(5);
+        final double[] doubles = {-0.0, 0.0, Double.NaN, Double.NEGATIVE_INFINITY, 1.5, -1.5, Double.MAX_VALUE};
+        final List<Sample> samples = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            samples.add(new Sample(
+                    random.nextInt(5) == 0 ? null : random.nextInt(7) - 3,
+                    random.nextInt(9) == 0 ? null : (long) random.nextInt() * random.nextInt(3),
+                    doubles[random.nextInt(doubles.length)],
+                    OrderBy.Sort.values()[random.nextInt(2)],
+                    random.nextInt(6) == 0 ? null : "k" + Integer.toString(random.nextInt(50), 36) + (random.nextBoolean() ? "\u0000" : "")));
+        }
+        final List<OrderBy> orders = Arrays.asList(
+                OrderBy.column("intValue", OrderBy.Sort.DESC).thenOrderBy("doubleValue", OrderBy.Sort.ASC),
+                OrderBy.column("sort", OrderBy.Sort.ASC).thenOrderBy("longValue", OrderBy.Sort.DESC).thenOrderBy("intValue", OrderBy.Sort.ASC),
+                OrderBy.column("strValue", OrderBy.Sort.DESC).thenOrderBy("doubleValue", OrderBy.Sort.DESC),
+                OrderBy.column("doubleValue", OrderBy.Sort.ASC).thenOrderBy("strValue", OrderBy.Sort.ASC).thenOrderBy("intValue", OrderBy.Sort.DESC));
+        for (OrderBy orderBy : orders) {
+            final List<Sample> expected = new ArrayList<>(samples);
+            expected.sort(SimSqlQueryUtil.comparatorOf(orderBy, Sample.class));
+            assertEquals(expected, SimSqlQueryUtil.query(samples, orderBy, GroupBy.none(), Limit.none(), Sample.class));
+        }
+    }
+
+    @Test
+    public void testBatchQuery() {
+        final List<ExampleDTO> rows = data.subList(0, 100_000);
+        final AtomicInteger evaluated = new AtomicInteger();
+        final Condition shared = o -> evaluated.incrementAndGet() > 0 && ((ExampleDTO) o).getIntValue() % 2 == 0;
+        final List<Where> wheres = Arrays.asList(
+                Where.newCondition(),
+                Where.newCondition().add(Column.of("intValue").in(Arrays.asList(3, 5, 7))).add(shared),
+                Where.newCondition().add(Column.of("intValue").in(Arrays.asList(3, 5, 7))).or(Column.of("strValue").likeLeft("str2")),
+                Where.newCondition().or(shared).or(Column.of("missing").isEqualTo(null)),
+                Where.newCondition().add(Column.of("longValue").isGreaterThan(10L))
+                        .add(Where.newCondition().or(Column.of("strValue").likeRight("7")).or(Column.of("intValue").isEqualTo(0)))
+                        .or(ColumnCondition.of(Arrays.asList("intValue", "longValue"), list -> ((Long) list.get(1)) == 5 * ((Integer) list.get(0)) - 2)));
+        final OrderBy orderBy = OrderBy.column("longValue", OrderBy.Sort.DESC).thenOrderBy("strValue", OrderBy.Sort.ASC);
+        final BatchQuery<ExampleDTO> batch = BatchQuery.of(ExampleDTO.class);
+        for (Where where : wheres) {
+            batch.add(where, OrderBy.none(), GroupBy.none(), Limit.none())
+                    .add(where, orderBy, GroupBy.column("strValue"), Limit.none())
+                    .add(where, orderBy, GroupBy.none(), Limit.of(3, 20));
+        }
+        final List<List<ExampleDTO>> results = batch.execute(rows);
+        assertEquals(wheres.size() * 3, results.size());
+        // 共享条件每行最多判定一次
+        assertTrue(evaluated.get() <= rows.size());
+        final int sharedEvaluated = evaluated.get();
+        for (int i = 0; i < wheres.size(); i++) {
+            assertEquals(SimSqlQueryUtil.query(rows, wheres.get(i), OrderBy.none(), GroupBy.none(), Limit.none(), ExampleDTO.class), results.get(i * 3));
+            assertEquals(SimSqlQueryUtil.query(rows, wheres.get(i), orderBy, GroupBy.column("strValue"), Limit.none(), ExampleDTO.class), results.get(i * 3 + 1));
+            assertEquals(SimSqlQueryUtil.query(rows, wheres.get(i), orderBy, GroupBy.none(), Limit.of(3, 20), ExampleDTO.class), results.get(i * 3 + 2));
+        }
+        assertTrue(sharedEvaluated > 0);
+    }
+
+    @Test
+    public void testGroupKeyTable() {
+        final Random random = new Random(9);
+        final double[] doubles = {-0.0, 0.0, Double.NaN, 1.5};
+        final List<Sample> samples = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            samples.add(new Sample(
+                    random.nextInt(4) == 0 ? null : random.nextInt(40),
+                    random.nextInt(3) == 0 ? null : (long) random.nextInt(5),
+                    doubles[random.nextInt(doubles.length)],
+                    OrderBy.Sort.values()[random.nextInt(2)],
+                    random.nextInt(5) == 0 ? null : "s" + random.nextInt(7)));
+        }
+        final List<List<String>> groupings = Arrays.asList(Arrays.asList("intValue"), Arrays.asList("doubleValue", "sort"),
+                Arrays.asList("strValue", "longValue", "intValue", "doubleValue"));
+        for (List<String> columns : groupings) {
+            final GroupBy groupBy = GroupBy.column(columns.toArray(new String[0]));
+            final ColumnAccessor[] accessors = SimSqlQueryUtil.groupAccessorsOf(groupBy, Sample.class);
+            // 按列值组成List作为键，与分组键表结果一致
+            final Map<List<Object>, Sample> expected = new LinkedHashMap<>();
+            for (Sample sample : samples) {
+                expected.putIfAbsent(SimSqlQueryUtil.groupKeyOf(sample, accessors), sample);
+            }
+            assertEquals(new ArrayList<>(expected.values()),
+                    SimSqlQueryUtil.query(samples, OrderBy.none(), groupBy, Limit.none(), Sample.class));
+        }
+    }
+
+    @Test
+    public void testQueryByGetter() {
+        // 接口类型无属性，按get方法取列
+        final List<Named> named = Arrays.asList(() -> "b", () -> "a", () -> "c", () -> "a");
+        final List<Named> result = SimSqlQueryUtil.query(named, Where.newCondition().add(Column.of("name").isGreaterThan("a")),
+                OrderBy.column("name", OrderBy.Sort.DESC), GroupBy.none(), Limit.none(), Named.class);
+        assertEquals(Arrays.asList("c", "b"), result.stream().map(Named::getName).collect(Collectors.toList()));
+    }
+
+    public interface Named {
+        String getName();
+    }
+
+    public static class Sample {
+        private final Integer intValue;
+        private final Long longValue;
+        private final double doubleValue;
+        private final OrderBy.Sort sort;
+        private final String strValue;
+
+        public Sample(Integer intValue, Long longValue, double doubleValue, OrderBy.Sort sort, String strValue) {
+            this.intValue = intValue;
+            this.longValue = longValue;
+            this.doubleValue = doubleValue;
+            this.sort = sort;
+            this.strValue = strValue;
+        }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+package sim.sql.util;
+
+import org.junit.jupiter.api.Test;
+import sim.sql.aggregate.AggregateRow;
+import sim.sql.dto.ExampleDTO;
+import sim.sql.keyword.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StreamingQueryTest {
+
+    /**
+     * 事件时间（longValue）整体递增，局部乱序不超过10
+     */
+    private static List<ExampleDTO> events() {
+        final Random random = new Random(5);
+        final List<ExampleDTO> events = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            events.add(new ExampleDTO(i % 17 == 0 ? null : "str" + random.nextInt(7), random.nextInt(20), (long) i * 3 + random.nextInt(11) - 5));
+        }
+        return events;
+    }
+
+    private static List<ExampleDTO> between(List<ExampleDTO> events, long start, long end) {
+        return events.stream().filter(o -> o.getLongValue() >= start && o.getLongValue() < end).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testTimeWindows() {
+        final List<ExampleDTO> events = events();
+        final Where where = Where.newCondition().add(Column.of("intValue").isGreaterThan(3)).or(Column.of("strValue").likeLeft("str1"));
+        final OrderBy orderBy = OrderBy.column("intValue", OrderBy.Sort.DESC).thenOrderBy("strValue", OrderBy.Sort.ASC);
+        final List<Object[]> cases = Arrays.asList(
+                new Object[]{OrderBy.none(), GroupBy.none(), Limit.none()},
+                new Object[]{OrderBy.none(), GroupBy.none(), Limit.of(2, 5)},
+                new Object[]{orderBy, GroupBy.none(), Limit.of(1, 4)},
+                new Object[]{orderBy, GroupBy.none(), Limit.none()},
+                new Object[]{OrderBy.none(), GroupBy.column("strValue"), Limit.none()},
+                new Object[]{orderBy, GroupBy.column("strValue"), Limit.of(1, 3)},
+                new Object[]{OrderBy.column("intValue", OrderBy.Sort.ASC), GroupBy.column("strValue"), Limit.none()});
+        for (Window window : Arrays.asList(Window.tumbling(100).allowLateness(10), Window.sliding(100, 30).allowLateness(10))) {
+            for (Object[] parameters : cases) {
+                final OrderBy order = (OrderBy) parameters[0];
+                final GroupBy groupBy = (GroupBy) parameters[1];
+                final Limit limit = (Limit) parameters[2];
+                final List<WindowResult<ExampleDTO>> results = new ArrayList<>();
+                final StreamingQuery<ExampleDTO, ExampleDTO> query = StreamingQuery.of(window, "longValue", where, order, groupBy, limit,
+                        ExampleDTO.class, results::add);
+                events.forEach(query::accept);
+                query.flush();
+                assertEquals(0, query.getDropped());
+                assertEquals(0, query.getOpenWindows());
+                long previous = Long.MIN_VALUE;
+                for (WindowResult<ExampleDTO> result : results) {
+                    assertEquals(window.getSize(), result.getEnd() - result.getStart());
+                    assertEquals(true, result.getStart() > previous);
+                    previous = result.getStart();
+                    assertEquals(SimSqlQueryUtil.query(between(events, result.getStart(), result.getEnd()), where, order, groupBy, limit, ExampleDTO.class),
+                            result.getRows());
+                }
+                final long first = Math.floorDiv(-5 - window.getSize() + window.getSlide(), window.getSlide()) * window.getSlide();
+                assertEquals(first, results.get(0).getStart());
+            }
+        }
+    }
+
+    @Test
+    public void testLateRows() {
+        final List<WindowResult<ExampleDTO>> results = new ArrayList<>();
+        final StreamingQuery<ExampleDTO, ExampleDTO> query = StreamingQuery.of(Window.tumbling(10).allowLateness(5), "longValue",
+                Where.newCondition(), OrderBy.none(), GroupBy.none(), Limit.none(), ExampleDTO.class, results::add);
+        query.accept(new ExampleDTO("a", 1, 3L));
+        query.accept(new ExampleDTO("b", 1, 14L));
+        assertEquals(0, results.size());
+        // 迟到但窗口未输出，仍计入
+        query.accept(new ExampleDTO("c", 1, 9L));
+        query.accept(new ExampleDTO("d", 1, 15L));
+        assertEquals(1, results.size());
+        assertEquals(Arrays.asList("a", "c"), results.get(0).getRows().stream().map(ExampleDTO::getStrValue).collect(Collectors.toList()));
+        // 窗口已输出，丢弃
+        query.accept(new ExampleDTO("e", 1, 8L));
+        assertEquals(1, query.getDropped());
+        assertEquals(1, query.getOpenWindows());
+        query.flush();
+        assertEquals(Arrays.asList("b", "d"), results.get(1).getRows().stream().map(ExampleDTO::getStrValue).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testRowWindows() {
+        final List<ExampleDTO> events = events();
+        final Where where = Where.newCondition().add(Column.of("intValue").isLessThan(12));
+        final List<ExampleDTO> filtered = SimSqlQueryUtil.query(events, where, OrderBy.none(), GroupBy.none(), Limit.none(), ExampleDTO.class);
+        final OrderBy orderBy = OrderBy.column("strValue", OrderBy.Sort.ASC);
+        final List<WindowResult<ExampleDTO>> results = new ArrayList<>();
+        final StreamingQuery<ExampleDTO, ExampleDTO> query = StreamingQuery.of(Window.slidingRows(50, 20), null, where, orderBy,
+                GroupBy.column("intValue"), Limit.none(), ExampleDTO.class, results::add);
+        events.forEach(query::accept);
+        // 行数满才输出
+        assertEquals((filtered.size() - 50) / 20 + 1, results.size());
+        for (WindowResult<ExampleDTO> result : results) {
+            assertEquals(SimSqlQueryUtil.query(filtered.subList((int) result.getStart(), (int) result.getEnd()), orderBy, GroupBy.column("intValue"),
+                    Limit.none(), ExampleDTO.class), result.getRows());
+        }
+        query.flush();
+        final WindowResult<ExampleDTO> last = results.get(results.size() - 1);
+        assertEquals(SimSqlQueryUtil.query(filtered.subList((int) last.getStart(), filtered.size()), orderBy, GroupBy.column("intValue"),
+                Limit.none(), ExampleDTO.class), last.getRows());
+    }
+
+    @Test
+    public void testRowsAfterFlush() {
+        final List<WindowResult<ExampleDTO>> results = new ArrayList<>();
+        final StreamingQuery<ExampleDTO, ExampleDTO> query = StreamingQuery.of(Window.tumblingRows(3), null, Where.newCondition(),
+                OrderBy.none(), GroupBy.none(), Limit.none(), ExampleDTO.class, results::add);
+        query.accept(new ExampleDTO("a", 1, 1L));
+        query.flush();
+        // [0, 3)已输出，按迟到丢弃
+        query.accept(new ExampleDTO("b", 1, 2L));
+        query.accept(new ExampleDTO("c", 1, 3L));
+        assertEquals(2, query.getDropped());
+        assertEquals(0, query.getOpenWindows());
+        query.accept(new ExampleDTO("d", 1, 4L));
+        query.flush();
+        assertEquals(2, results.size());
+        assertEquals(0, results.get(0).getStart());
+        assertEquals(Arrays.asList("a"), results.get(0).getRows().stream().map(ExampleDTO::getStrValue).collect(Collectors.toList()));
+        assertEquals(3, results.get(1).getStart());
+        assertEquals(Arrays.asList("d"), results.get(1).getRows().stream().map(ExampleDTO::getStrValue).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testAggregate() {
+        final List<ExampleDTO> events = events();
+        final GroupBy groupBy = GroupBy.column("strValue").aggregate(Aggregate.count(), Aggregate.sum("intValue").as("sum"), Aggregate.max("longValue"));
+        final OrderBy orderBy = OrderBy.column("sum", OrderBy.Sort.DESC);
+        final List<WindowResult<AggregateRow>> results = new ArrayList<>();
+        final StreamingQuery<ExampleDTO, AggregateRow> query = StreamingQuery.aggregate(Window.tumbling(500).allowLateness(10), "longValue",
+                Where.newCondition(), groupBy, orderBy, Limit.of(3), ExampleDTO.class, results::add);
+        events.forEach(query::accept);
+        query.flush();
+        assertEquals(19, results.size());
+        for (WindowResult<AggregateRow> result : results) {
+            assertEquals(SimSqlQueryUtil.aggregate(between(events, result.getStart(), result.getEnd()), Where.newCondition(), groupBy, orderBy,
+                    Limit.of(3), ExampleDTO.class), result.getRows());
+        }
+    }
+}